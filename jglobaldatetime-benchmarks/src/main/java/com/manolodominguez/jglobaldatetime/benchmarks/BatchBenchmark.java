@@ -0,0 +1,108 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeBatch;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare the column oriented
+ * operations of JGlobalDateTimeBatch with the same operations done wrapping
+ * every element in a JGlobalDateTime.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BatchBenchmark {
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            this.epochMillis[i] = FIRST_EPOCH_MILLIS + (long) (random.nextDouble() * PERIOD_MILLIS);
+        }
+        this.zoneId = ZoneId.of(ZONE_ID);
+    }
+
+    @Benchmark
+    public long[] batchLocalEpochMillis() {
+        JGlobalDateTimeBatch.toLocalEpochMillis(this.epochMillis, this.zoneId, this.output);
+        return this.output;
+    }
+
+    @Benchmark
+    public long[] batchTruncateToHours() {
+        JGlobalDateTimeBatch.truncate(this.epochMillis, this.zoneId, ChronoUnit.HOURS, this.output);
+        return this.output;
+    }
+
+    @Benchmark
+    public boolean[] batchIsBefore() {
+        JGlobalDateTimeBatch.isBefore(this.epochMillis, PIVOT_EPOCH_MILLIS, this.flags);
+        return this.flags;
+    }
+
+    @Benchmark
+    public long[] perElementTruncateToHours() throws JGlobalDateTimeException {
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            JGlobalDateTime globalDateTime = new JGlobalDateTime(this.epochMillis[i]);
+            globalDateTime.changeZoneID(this.zoneId);
+            this.output[i] = globalDateTime.getNormalizedDateTime().truncatedTo(ChronoUnit.HOURS).toInstant().toEpochMilli();
+        }
+        return this.output;
+    }
+
+    @Benchmark
+    public boolean[] perElementIsBefore() throws JGlobalDateTimeException {
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            this.flags[i] = new JGlobalDateTime(this.epochMillis[i]).isBefore(PIVOT_EPOCH_MILLIS);
+        }
+        return this.flags;
+    }
+
+    private final long[] epochMillis = new long[COLUMN_LENGTH];
+    private final long[] output = new long[COLUMN_LENGTH];
+    private final boolean[] flags = new boolean[COLUMN_LENGTH];
+    private ZoneId zoneId;
+
+    private static final int COLUMN_LENGTH = 4096;
+    private static final long SEED = 20170820L;
+    private static final long FIRST_EPOCH_MILLIS = 1483228800000L;
+    private static final long PERIOD_MILLIS = 7L * 24L * 3600L * 1000L;
+    private static final long PIVOT_EPOCH_MILLIS = FIRST_EPOCH_MILLIS + (PERIOD_MILLIS / 2);
+    private static final String ZONE_ID = "Europe/Madrid";
+}
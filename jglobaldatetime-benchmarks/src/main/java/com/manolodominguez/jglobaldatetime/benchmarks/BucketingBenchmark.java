@@ -0,0 +1,93 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeBucketCounter;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeBuckets;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare grouping datetimes by
+ * hour and by day with JGlobalDateTimeBuckets and JGlobalDateTimeBucketCounter
+ * against truncating getNormalizedDateTime() and counting into a HashMap.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BucketingBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        this.values = new JGlobalDateTime[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            this.values[i] = new JGlobalDateTime(FIRST_EPOCH_MILLI + (long) (random.nextDouble() * PERIOD_MILLIS));
+        }
+        this.buckets = new JGlobalDateTimeBuckets(1, this.unit);
+    }
+
+    @Benchmark
+    public JGlobalDateTimeBucketCounter bucketCounter() {
+        JGlobalDateTimeBucketCounter counter = new JGlobalDateTimeBucketCounter(this.buckets);
+        for (int i = 0; i < this.values.length; i++) {
+            counter.count(this.values[i]);
+        }
+        return counter;
+    }
+
+    @Benchmark
+    public Map<ZonedDateTime, Long> truncatedToHashMap() {
+        Map<ZonedDateTime, Long> counter = new HashMap<>();
+        for (int i = 0; i < this.values.length; i++) {
+            counter.merge(this.values[i].getNormalizedDateTime().truncatedTo(this.unit), 1L, Long::sum);
+        }
+        return counter;
+    }
+
+    @Param({"HOURS", "DAYS"})
+    private ChronoUnit unit;
+    private JGlobalDateTime[] values;
+    private JGlobalDateTimeBuckets buckets;
+
+    private static final int SIZE = 100000;
+    private static final long SEED = 20170820L;
+    private static final long FIRST_EPOCH_MILLI = 1483228800000L;
+    private static final long PERIOD_MILLIS = 365L * 24L * 3600L * 1000L;
+}
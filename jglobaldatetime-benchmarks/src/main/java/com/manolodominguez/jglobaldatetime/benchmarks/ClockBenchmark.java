@@ -0,0 +1,99 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeCachedClock;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks of the checks that depend on the
+ * current date (alreadyHappened(), happenedSinceMoreThan()...) using the
+ * system clock, a JGlobalDateTimeCachedClock and a fixed clock.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ClockBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(EPOCH_MILLIS);
+        this.systemClock = Clock.systemUTC();
+        this.cachedClock = new JGlobalDateTimeCachedClock(1, TimeUnit.MILLISECONDS);
+        this.fixedClock = Clock.fixed(Instant.now(), ZoneOffset.UTC);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.cachedClock.close();
+    }
+
+    @Benchmark
+    public boolean alreadyHappenedSystemClock() {
+        return this.globalDateTime.alreadyHappened(this.systemClock);
+    }
+
+    @Benchmark
+    public boolean alreadyHappenedCachedClock() {
+        return this.globalDateTime.alreadyHappened(this.cachedClock);
+    }
+
+    @Benchmark
+    public boolean alreadyHappenedFixedClock() {
+        return this.globalDateTime.alreadyHappened(this.fixedClock);
+    }
+
+    @Benchmark
+    public boolean happenedSinceMoreThanHoursCachedClock() {
+        return this.globalDateTime.happenedSinceMoreThan(AMOUNT, ChronoUnit.HOURS, this.cachedClock);
+    }
+
+    @Benchmark
+    public boolean happenedSinceMoreThanDaysCachedClock() {
+        return this.globalDateTime.happenedSinceMoreThan(AMOUNT, ChronoUnit.DAYS, this.cachedClock);
+    }
+
+    private JGlobalDateTime globalDateTime;
+    private Clock systemClock;
+    private JGlobalDateTimeCachedClock cachedClock;
+    private Clock fixedClock;
+
+    private static final long EPOCH_MILLIS = 1503226800000L;
+    private static final long AMOUNT = 36L;
+}
@@ -0,0 +1,130 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeCodec;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare writing and reading a
+ * batch of JGlobalDateTime with JGlobalDateTimeCodec against doing it through
+ * toNormalizedDateTimeString() and the String constructor, encoding the
+ * strings as UTF-8 bytes.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CodecBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        ZoneId[] zones = new ZoneId[ZONE_IDS.length];
+        for (int i = 0; i < ZONE_IDS.length; i++) {
+            zones[i] = ZoneId.of(ZONE_IDS[i]);
+        }
+        this.values = new JGlobalDateTime[BATCH_SIZE];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            Instant instant = Instant.ofEpochSecond(FIRST_EPOCH_SECOND + random.nextInt(PERIOD_SECONDS), random.nextInt(NANOS_PER_SECOND));
+            this.values[i] = new JGlobalDateTime(ZonedDateTime.ofInstant(instant, zones[i % zones.length]));
+        }
+        this.buffer = ByteBuffer.allocate(BUFFER_LENGTH);
+        this.writer = new JGlobalDateTimeCodec();
+        this.reader = new JGlobalDateTimeCodec();
+        this.encodedBinary = this.writeBinary().duplicate();
+        this.encodedStrings = this.writeStrings();
+        this.buffer = ByteBuffer.allocate(BUFFER_LENGTH);
+    }
+
+    @Benchmark
+    public ByteBuffer writeBinary() {
+        this.buffer.clear();
+        this.writer.reset();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            this.writer.write(this.values[i], this.buffer);
+        }
+        this.buffer.flip();
+        return this.buffer;
+    }
+
+    @Benchmark
+    public JGlobalDateTime readBinary() throws JGlobalDateTimeException {
+        ByteBuffer input = this.encodedBinary.duplicate();
+        JGlobalDateTime last = null;
+        this.reader.reset();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            last = this.reader.read(input);
+        }
+        return last;
+    }
+
+    @Benchmark
+    public byte[][] writeStrings() {
+        byte[][] encoded = new byte[BATCH_SIZE][];
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            encoded[i] = this.values[i].toNormalizedDateTimeString().getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    @Benchmark
+    public JGlobalDateTime readStrings() throws JGlobalDateTimeException {
+        JGlobalDateTime last = null;
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            last = new JGlobalDateTime(new String(this.encodedStrings[i], StandardCharsets.UTF_8));
+        }
+        return last;
+    }
+
+    private JGlobalDateTime[] values;
+    private ByteBuffer buffer;
+    private JGlobalDateTimeCodec writer;
+    private JGlobalDateTimeCodec reader;
+    private ByteBuffer encodedBinary;
+    private byte[][] encodedStrings;
+
+    private static final long SEED = 20170820L;
+    private static final int BATCH_SIZE = 1000;
+    private static final int BUFFER_LENGTH = 64 * BATCH_SIZE;
+    private static final long FIRST_EPOCH_SECOND = 1483228800L;
+    private static final int PERIOD_SECONDS = 365 * 24 * 3600;
+    private static final int NANOS_PER_SECOND = 1000000000;
+    private static final String[] ZONE_IDS = {"Europe/Madrid", "America/Chicago", "Asia/Tokyo", "Australia/Sydney"};
+}
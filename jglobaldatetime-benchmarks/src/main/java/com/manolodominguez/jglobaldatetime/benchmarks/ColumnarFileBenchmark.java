@@ -0,0 +1,139 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeColumnarReader;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeColumnarWriter;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.io.IOException;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare scanning a columnar
+ * file, through a cursor and through the primitive column views, with parsing
+ * the same datetimes stored as text lines, counting how many of them are
+ * before a given JGlobalDateTime.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ColumnarFileBenchmark {
+
+    @Setup
+    public void setup() throws IOException, JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        ZoneId[] zones = new ZoneId[ZONE_IDS.length];
+        for (int i = 0; i < ZONE_IDS.length; i++) {
+            zones[i] = ZoneId.of(ZONE_IDS[i]);
+        }
+        this.path = Files.createTempFile("jglobaldatetime-benchmark", ".bin");
+        this.lines = new String[ROWS];
+        try (JGlobalDateTimeColumnarWriter writer = new JGlobalDateTimeColumnarWriter(this.path)) {
+            for (int i = 0; i < ROWS; i++) {
+                Instant instant = Instant.ofEpochSecond(FIRST_EPOCH_SECOND + random.nextInt(PERIOD_SECONDS), random.nextInt(NANOS_PER_SECOND));
+                JGlobalDateTime value = new JGlobalDateTime(ZonedDateTime.ofInstant(instant, zones[i % zones.length]));
+                writer.append(value);
+                this.lines[i] = value.getOriginalDateTime().toString();
+            }
+        }
+        this.reader = new JGlobalDateTimeColumnarReader(this.path);
+        this.cursor = this.reader.cursor();
+        this.limit = new JGlobalDateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(FIRST_EPOCH_SECOND + (PERIOD_SECONDS / 2)), zones[0]));
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.reader.close();
+        Files.deleteIfExists(this.path);
+    }
+
+    @Benchmark
+    public int scanWithCursor() {
+        int count = 0;
+        this.cursor.moveTo(0);
+        do {
+            if (this.cursor.isBefore(this.limit)) {
+                count++;
+            }
+        } while (this.cursor.next());
+        return count;
+    }
+
+    @Benchmark
+    public int scanColumns() {
+        long limitEpochMilli = this.limit.toEpochMilli();
+        long limitEpochSecond = Math.floorDiv(limitEpochMilli, 1000L);
+        int count = 0;
+        for (int block = 0; block < this.reader.getBlockCount(); block++) {
+            LongBuffer epochSeconds = this.reader.getEpochSeconds(block);
+            for (int i = 0; i < epochSeconds.limit(); i++) {
+                if (epochSeconds.get(i) < limitEpochSecond) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public int parseTextLines() throws JGlobalDateTimeException {
+        int count = 0;
+        for (int i = 0; i < ROWS; i++) {
+            if (new JGlobalDateTime(this.lines[i]).isBefore(this.limit)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private Path path;
+    private String[] lines;
+    private JGlobalDateTimeColumnarReader reader;
+    private JGlobalDateTimeColumnarReader.Cursor cursor;
+    private JGlobalDateTime limit;
+
+    private static final long SEED = 20170820L;
+    private static final int ROWS = 100000;
+    private static final long FIRST_EPOCH_SECOND = 1483228800L;
+    private static final int PERIOD_SECONDS = 365 * 24 * 3600;
+    private static final int NANOS_PER_SECOND = 1000000000;
+    private static final String[] ZONE_IDS = {"Europe/Madrid", "America/Chicago", "Asia/Tokyo", "Australia/Sydney"};
+}
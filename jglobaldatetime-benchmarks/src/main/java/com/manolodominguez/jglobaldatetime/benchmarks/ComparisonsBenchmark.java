@@ -0,0 +1,141 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks of the isBefore, isAfter and
+ * isEqualTo families of JGlobalDateTime, one benchmark per overload.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComparisonsBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(EPOCH_MILLIS);
+        this.anotherZonedDateTime = ZonedDateTime.parse(ANOTHER_ZONED_DATE_TIME_STRING);
+        this.anotherGlobalDateTime = new JGlobalDateTime(this.anotherZonedDateTime);
+        this.anotherTimestamp = new Timestamp(this.anotherGlobalDateTime.toEpochMilli());
+        this.anotherEpochMillis = this.anotherGlobalDateTime.toEpochMilli();
+    }
+
+    @Benchmark
+    public boolean isBeforeEpochMillis() {
+        return this.globalDateTime.isBefore(this.anotherEpochMillis);
+    }
+
+    @Benchmark
+    public boolean isBeforeTimestamp() {
+        return this.globalDateTime.isBefore(this.anotherTimestamp);
+    }
+
+    @Benchmark
+    public boolean isBeforeZonedDateTime() {
+        return this.globalDateTime.isBefore(this.anotherZonedDateTime);
+    }
+
+    @Benchmark
+    public boolean isBeforeJGlobalDateTime() {
+        return this.globalDateTime.isBefore(this.anotherGlobalDateTime);
+    }
+
+    @Benchmark
+    public boolean isBeforeString() throws JGlobalDateTimeException {
+        return this.globalDateTime.isBefore(ANOTHER_ZONED_DATE_TIME_STRING);
+    }
+
+    @Benchmark
+    public boolean isAfterEpochMillis() {
+        return this.globalDateTime.isAfter(this.anotherEpochMillis);
+    }
+
+    @Benchmark
+    public boolean isAfterTimestamp() {
+        return this.globalDateTime.isAfter(this.anotherTimestamp);
+    }
+
+    @Benchmark
+    public boolean isAfterZonedDateTime() {
+        return this.globalDateTime.isAfter(this.anotherZonedDateTime);
+    }
+
+    @Benchmark
+    public boolean isAfterJGlobalDateTime() {
+        return this.globalDateTime.isAfter(this.anotherGlobalDateTime);
+    }
+
+    @Benchmark
+    public boolean isAfterString() throws JGlobalDateTimeException {
+        return this.globalDateTime.isAfter(ANOTHER_ZONED_DATE_TIME_STRING);
+    }
+
+    @Benchmark
+    public boolean isEqualToEpochMillis() {
+        return this.globalDateTime.isEqualTo(this.anotherEpochMillis);
+    }
+
+    @Benchmark
+    public boolean isEqualToTimestamp() {
+        return this.globalDateTime.isEqualTo(this.anotherTimestamp);
+    }
+
+    @Benchmark
+    public boolean isEqualToZonedDateTime() {
+        return this.globalDateTime.isEqualTo(this.anotherZonedDateTime);
+    }
+
+    @Benchmark
+    public boolean isEqualToJGlobalDateTime() {
+        return this.globalDateTime.isEqualTo(this.anotherGlobalDateTime);
+    }
+
+    @Benchmark
+    public boolean isEqualToString() throws JGlobalDateTimeException {
+        return this.globalDateTime.isEqualTo(ANOTHER_ZONED_DATE_TIME_STRING);
+    }
+
+    private JGlobalDateTime globalDateTime;
+    private ZonedDateTime anotherZonedDateTime;
+    private JGlobalDateTime anotherGlobalDateTime;
+    private Timestamp anotherTimestamp;
+    private long anotherEpochMillis;
+
+    private static final String ANOTHER_ZONED_DATE_TIME_STRING = "2017-08-20T14:20:18.811-05:00[America/Chicago]";
+    private static final long EPOCH_MILLIS = 1428348018845L;
+}
@@ -0,0 +1,66 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements the JMH benchmarks that compare the current
+ * JGlobalDateTime construction path, which reuses a static logger and a cached
+ * reference ZoneId, with the per-instance work the former constructors did
+ * (resolving the reference ZoneId and looking up a logger for every new
+ * instance).
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstructionOverheadBenchmark {
+
+    @Benchmark
+    public JGlobalDateTime cachedConstruction() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(EPOCH_MILLIS);
+    }
+
+    @Benchmark
+    public JGlobalDateTime perInstanceLookupsConstruction(Blackhole blackhole) throws JGlobalDateTimeException {
+        blackhole.consume(ZoneId.of(DEFAULT_REFERENCE_ZONEID));
+        blackhole.consume(LoggerFactory.getLogger(JGlobalDateTime.class));
+        return new JGlobalDateTime(EPOCH_MILLIS);
+    }
+
+    private static final String DEFAULT_REFERENCE_ZONEID = "Europe/Madrid";
+    private static final long EPOCH_MILLIS = 1428348018845L;
+}
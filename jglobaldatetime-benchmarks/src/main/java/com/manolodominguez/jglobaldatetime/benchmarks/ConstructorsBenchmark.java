@@ -0,0 +1,92 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.sql.Timestamp;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks of every JGlobalDateTime
+ * constructor.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConstructorsBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        this.zonedDateTime = ZonedDateTime.parse(ZONED_DATE_TIME_STRING);
+        this.globalDateTime = new JGlobalDateTime(this.zonedDateTime);
+        this.timestamp = new Timestamp(EPOCH_MILLIS);
+    }
+
+    @Benchmark
+    public JGlobalDateTime fromNow() throws JGlobalDateTimeException {
+        return new JGlobalDateTime();
+    }
+
+    @Benchmark
+    public JGlobalDateTime fromZonedDateTime() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(this.zonedDateTime);
+    }
+
+    @Benchmark
+    public JGlobalDateTime fromJGlobalDateTime() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(this.globalDateTime);
+    }
+
+    @Benchmark
+    public JGlobalDateTime fromString() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(ZONED_DATE_TIME_STRING);
+    }
+
+    @Benchmark
+    public JGlobalDateTime fromEpochMillis() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(EPOCH_MILLIS);
+    }
+
+    @Benchmark
+    public JGlobalDateTime fromTimestamp() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(this.timestamp);
+    }
+
+    private ZonedDateTime zonedDateTime;
+    private JGlobalDateTime globalDateTime;
+    private Timestamp timestamp;
+
+    private static final String ZONED_DATE_TIME_STRING = "2017-08-20T14:20:18.811-05:00[America/Chicago]";
+    private static final long EPOCH_MILLIS = 1428348018845L;
+}
@@ -0,0 +1,133 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks of the zone conversion and
+ * formatting methods of JGlobalDateTime. Zone changes alternate between two
+ * zones so that every invocation performs an actual conversion; round trip
+ * benchmarks read the normalized datetime after each change.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ConversionsBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(ZONED_DATE_TIME_STRING);
+        this.zoneIds = new ZoneId[ZONE_IDS.length];
+        for (int i = 0; i < ZONE_IDS.length; i++) {
+            this.zoneIds[i] = ZoneId.of(ZONE_IDS[i]);
+        }
+        this.zonedDateTime = this.globalDateTime.getNormalizedDateTime();
+    }
+
+    @Benchmark
+    public JGlobalDateTime changeZoneIDString() throws JGlobalDateTimeException {
+        this.globalDateTime.changeZoneID(ZONE_IDS[this.nextZone()]);
+        return this.globalDateTime;
+    }
+
+    @Benchmark
+    public JGlobalDateTime changeZoneIDZoneId() {
+        this.globalDateTime.changeZoneID(this.zoneIds[this.nextZone()]);
+        return this.globalDateTime;
+    }
+
+    @Benchmark
+    public String toNormalizedMySQLDateTime() {
+        return this.globalDateTime.toNormalizedMySQLDateTime();
+    }
+
+    @Benchmark
+    public int writeNormalizedMySQLDateTimeToCharArray() {
+        return this.globalDateTime.writeNormalizedMySQLDateTime(this.charBuffer, 0);
+    }
+
+    @Benchmark
+    public StringBuilder writeNormalizedMySQLDateTimeToStringBuilder() {
+        this.stringBuilder.setLength(0);
+        this.globalDateTime.writeNormalizedMySQLDateTime(this.stringBuilder);
+        return this.stringBuilder;
+    }
+
+    @Benchmark
+    public String toNormalizedDateTimeString() {
+        return this.globalDateTime.toNormalizedDateTimeString();
+    }
+
+    @Benchmark
+    public StringBuilder writeNormalizedDateTimeStringToStringBuilder() {
+        this.stringBuilder.setLength(0);
+        this.globalDateTime.writeNormalizedDateTimeString(this.stringBuilder);
+        return this.stringBuilder;
+    }
+
+    @Benchmark
+    public String zonedDateTimeToString() {
+        return this.zonedDateTime.toString();
+    }
+
+    @Benchmark
+    public String changeZoneIDRoundTripToNormalizedDateTimeString() {
+        this.globalDateTime.changeZoneID(this.zoneIds[this.nextZone()]);
+        return this.globalDateTime.toNormalizedDateTimeString();
+    }
+
+    @Benchmark
+    public ZonedDateTime changeZoneIDRoundTripGetNormalizedDateTime() {
+        this.globalDateTime.changeZoneID(this.zoneIds[this.nextZone()]);
+        return this.globalDateTime.getNormalizedDateTime();
+    }
+
+    private int nextZone() {
+        this.zoneIndex = (this.zoneIndex + 1) % ZONE_IDS.length;
+        return this.zoneIndex;
+    }
+
+    private JGlobalDateTime globalDateTime;
+    private ZoneId[] zoneIds;
+    private ZonedDateTime zonedDateTime;
+    private final char[] charBuffer = new char[64];
+    private final StringBuilder stringBuilder = new StringBuilder(64);
+    private int zoneIndex;
+
+    private static final String ZONED_DATE_TIME_STRING = "2017-08-20T14:20:18.811-05:00[America/Chicago]";
+    private static final String[] ZONE_IDS = {"Europe/Lisbon", "Australia/Sydney"};
+}
@@ -0,0 +1,91 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeMetrics;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that measure the overhead of
+ * JGlobalDateTimeMetrics on the instrumented hot paths (construction, parsing
+ * and reference Zone ID changes), with metrics disabled and enabled.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MetricsBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.setEnabled(this.enabled);
+        this.globalDateTime = new JGlobalDateTime(EPOCH_MILLIS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        JGlobalDateTimeMetrics.setEnabled(false);
+        JGlobalDateTimeMetrics.clear();
+    }
+
+    @Benchmark
+    public JGlobalDateTime millisConstructor() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(EPOCH_MILLIS);
+    }
+
+    @Benchmark
+    public JGlobalDateTime stringConstructor() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(ZONED_DATE_TIME_STRING);
+    }
+
+    @Benchmark
+    public JGlobalDateTime changeZoneID() {
+        this.globalDateTime.changeZoneID(this.zoneIndex ? ZONE_ID_A : ZONE_ID_B);
+        this.zoneIndex = !this.zoneIndex;
+        return this.globalDateTime;
+    }
+
+    @Param({"false", "true"})
+    private boolean enabled;
+
+    private JGlobalDateTime globalDateTime;
+    private boolean zoneIndex;
+
+    private static final long EPOCH_MILLIS = 1428348018845L;
+    private static final String ZONED_DATE_TIME_STRING = "2017-08-20T14:20:18.811-05:00[America/Chicago]";
+    private static final ZoneId ZONE_ID_A = ZoneId.of("America/Chicago");
+    private static final ZoneId ZONE_ID_B = ZoneId.of("Asia/Tokyo");
+}
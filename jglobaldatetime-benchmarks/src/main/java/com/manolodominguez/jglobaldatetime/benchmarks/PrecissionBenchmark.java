@@ -0,0 +1,94 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that measure how the precission of
+ * a JGlobalDateTime affects the cost of the operations that truncate its
+ * value, compared with truncating a ZonedDateTime.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class PrecissionBenchmark {
+
+    @Param({"NANOS", "MILLIS", "MINUTES", "DAYS"})
+    private String precission;
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        this.unit = ChronoUnit.valueOf(this.precission);
+        this.globalDateTime = new JGlobalDateTime(FIRST_EPOCH_MILLI);
+        this.globalDateTime.changeDefaultPrecission(this.unit);
+    }
+
+    @Benchmark
+    public long changeZoneID() {
+        this.zoneIndex = (this.zoneIndex + 1) % ZONE_IDS.length;
+        this.globalDateTime.changeZoneID(ZONE_IDS[this.zoneIndex]);
+        return this.globalDateTime.toEpochMilli();
+    }
+
+    @Benchmark
+    public long increase() {
+        this.steps = (this.steps + 1) % MAX_STEPS;
+        this.globalDateTime.resetToOriginal();
+        this.globalDateTime.increase(this.steps * MILLIS_STEP, ChronoUnit.MILLIS);
+        return this.globalDateTime.toEpochMilli();
+    }
+
+    @Benchmark
+    public long zonedDateTimeTruncatedTo() {
+        this.steps = (this.steps + 1) % MAX_STEPS;
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(FIRST_EPOCH_MILLI + (this.steps * MILLIS_STEP)), REFERENCE_ZONE).truncatedTo(this.unit).toInstant().toEpochMilli();
+    }
+
+    private ChronoUnit unit;
+    private JGlobalDateTime globalDateTime;
+    private int zoneIndex = 0;
+    private long steps = 0L;
+
+    private static final ZoneId REFERENCE_ZONE = ZoneId.of("Europe/Madrid");
+    private static final ZoneId[] ZONE_IDS = {ZoneId.of("Europe/Madrid"), ZoneId.of("America/Chicago"), ZoneId.of("Asia/Kolkata"), ZoneId.of("Australia/Sydney")};
+    private static final long FIRST_EPOCH_MILLI = 1483228800000L;
+    private static final long MILLIS_STEP = 1000003L;
+    private static final long MAX_STEPS = 100000L;
+}
@@ -0,0 +1,119 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeRangeIndex;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare range queries over a
+ * JGlobalDateTimeRangeIndex with a linear scan using isBefore() and isAfter(),
+ * and the cost of building the index from a batch of insertions.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RangeIndexBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        ZoneId[] zones = new ZoneId[ZONE_IDS.length];
+        for (int i = 0; i < ZONE_IDS.length; i++) {
+            zones[i] = ZoneId.of(ZONE_IDS[i]);
+        }
+        this.values = new JGlobalDateTime[this.size];
+        this.payloads = new Integer[this.size];
+        for (int i = 0; i < this.size; i++) {
+            Instant instant = Instant.ofEpochSecond(FIRST_EPOCH_SECOND + random.nextInt(PERIOD_SECONDS), random.nextInt(NANOS_PER_SECOND));
+            this.values[i] = new JGlobalDateTime(ZonedDateTime.ofInstant(instant, zones[i % zones.length]));
+            this.payloads[i] = i;
+        }
+        this.index = new JGlobalDateTimeRangeIndex<>(this.size);
+        this.index.addAll(this.values, this.payloads);
+        this.from = new JGlobalDateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(FIRST_EPOCH_SECOND + (PERIOD_SECONDS / 2)), zones[0]));
+        this.to = new JGlobalDateTime(ZonedDateTime.ofInstant(Instant.ofEpochSecond(FIRST_EPOCH_SECOND + (PERIOD_SECONDS / 2) + QUERY_SECONDS), zones[1]));
+    }
+
+    @Benchmark
+    public List<Integer> rangeIndexFind() {
+        return this.index.find(this.from, this.to);
+    }
+
+    @Benchmark
+    public int rangeIndexCount() {
+        return this.index.count(this.from, this.to);
+    }
+
+    @Benchmark
+    public List<Integer> linearScanFind() {
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < this.values.length; i++) {
+            if (!this.values[i].isBefore(this.from) && this.values[i].isBefore(this.to)) {
+                found.add(this.payloads[i]);
+            }
+        }
+        return found;
+    }
+
+    @Benchmark
+    public JGlobalDateTimeRangeIndex<Integer> rangeIndexBatchBuild() {
+        JGlobalDateTimeRangeIndex<Integer> newIndex = new JGlobalDateTimeRangeIndex<>(this.size);
+        newIndex.addAll(this.values, this.payloads);
+        newIndex.count(this.from, this.to);
+        return newIndex;
+    }
+
+    @Param({"100000", "1000000"})
+    private int size;
+    private JGlobalDateTime[] values;
+    private Integer[] payloads;
+    private JGlobalDateTimeRangeIndex<Integer> index;
+    private JGlobalDateTime from;
+    private JGlobalDateTime to;
+
+    private static final long SEED = 20170820L;
+    private static final long FIRST_EPOCH_SECOND = 1483228800L;
+    private static final int PERIOD_SECONDS = 365 * 24 * 3600;
+    private static final int QUERY_SECONDS = 3600;
+    private static final int NANOS_PER_SECOND = 1000000000;
+    private static final String[] ZONE_IDS = {"Europe/Madrid", "America/Chicago", "Asia/Tokyo", "Australia/Sydney"};
+}
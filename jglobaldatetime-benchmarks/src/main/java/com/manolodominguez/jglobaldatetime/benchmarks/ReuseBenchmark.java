@@ -0,0 +1,90 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimePool;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare creating a new
+ * JGlobalDateTime per record with re-initializing a reused one by means of
+ * its reset() methods, either directly or through a JGlobalDateTimePool.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ReuseBenchmark {
+
+    @Benchmark
+    public long constructorFromMillis() throws JGlobalDateTimeException {
+        this.epochMilli += MILLIS_STEP;
+        return new JGlobalDateTime(this.epochMilli).toEpochMilli();
+    }
+
+    @Benchmark
+    public long resetFromMillis() throws JGlobalDateTimeException {
+        this.epochMilli += MILLIS_STEP;
+        this.globalDateTime.reset(this.epochMilli);
+        return this.globalDateTime.toEpochMilli();
+    }
+
+    @Benchmark
+    public long pooledFromMillis() throws JGlobalDateTimeException {
+        this.epochMilli += MILLIS_STEP;
+        JGlobalDateTime pooled = this.pool.acquire();
+        pooled.reset(this.epochMilli);
+        long result = pooled.toEpochMilli();
+        this.pool.release(pooled);
+        return result;
+    }
+
+    @Benchmark
+    public long constructorFromString() throws JGlobalDateTimeException {
+        return new JGlobalDateTime(ZONED_DATE_TIME_STRING).toEpochMilli();
+    }
+
+    @Benchmark
+    public long resetFromCharSequence() throws JGlobalDateTimeException {
+        this.globalDateTime.reset(this.zonedDateTimeBuffer);
+        return this.globalDateTime.toEpochMilli();
+    }
+
+    private final JGlobalDateTime globalDateTime = JGlobalDateTimePool.forCurrentThread().acquire();
+    private final JGlobalDateTimePool pool = new JGlobalDateTimePool(JGlobalDateTimePool.DEFAULT_CAPACITY);
+    private final StringBuilder zonedDateTimeBuffer = new StringBuilder(ZONED_DATE_TIME_STRING);
+    private long epochMilli = FIRST_EPOCH_MILLI;
+
+    private static final String ZONED_DATE_TIME_STRING = "2017-08-20T14:20:18.811-05:00[America/Chicago]";
+    private static final long FIRST_EPOCH_MILLI = 1483228800000L;
+    private static final long MILLIS_STEP = 1000003L;
+}
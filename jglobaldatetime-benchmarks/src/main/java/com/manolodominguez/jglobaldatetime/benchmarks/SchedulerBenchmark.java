@@ -0,0 +1,96 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeScheduler;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare scheduling and
+ * cancelling timers in a JGlobalDateTimeScheduler with polling
+ * isGoingToHappenInLessThan() over a set of due times.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchedulerBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        this.scheduler = new JGlobalDateTimeScheduler(Runnable::run);
+        this.dueTimes = new JGlobalDateTime[DUE_TIMES];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < DUE_TIMES; i++) {
+            this.dueTimes[i] = new JGlobalDateTime(now + HOUR_MILLIS + (i * SECOND_MILLIS));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.scheduler.close();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancel(ThreadState state) {
+        JGlobalDateTimeScheduler.Timer timer = this.scheduler.schedule(this.dueTimes[state.next()], TASK);
+        return timer.cancel();
+    }
+
+    @Benchmark
+    public boolean pollIsGoingToHappenInLessThan(ThreadState state) {
+        return this.dueTimes[state.next()].isGoingToHappenInLessThan(1, ChronoUnit.MINUTES);
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+
+        int next() {
+            this.position = (this.position + 1) & (DUE_TIMES - 1);
+            return this.position;
+        }
+
+        private int position;
+    }
+
+    private JGlobalDateTimeScheduler scheduler;
+    private JGlobalDateTime[] dueTimes;
+
+    private static final int DUE_TIMES = 1024;
+    private static final long SECOND_MILLIS = 1000L;
+    private static final long HOUR_MILLIS = 3600L * SECOND_MILLIS;
+    private static final Runnable TASK = () -> {
+    };
+}
@@ -0,0 +1,130 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeSort;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare JGlobalDateTimeSort
+ * with Arrays.parallelSort() and Arrays.sort() using a comparator, and the
+ * k-way merge of sorted streams with sorting their concatenation.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SortBenchmark {
+
+    @Setup
+    public void setup() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        ZoneId[] zones = new ZoneId[ZONE_IDS.length];
+        for (int i = 0; i < ZONE_IDS.length; i++) {
+            zones[i] = ZoneId.of(ZONE_IDS[i]);
+        }
+        this.values = new JGlobalDateTime[this.size];
+        for (int i = 0; i < this.size; i++) {
+            Instant instant = Instant.ofEpochSecond(FIRST_EPOCH_SECOND + random.nextInt(PERIOD_SECONDS), random.nextInt(NANOS_PER_SECOND));
+            this.values[i] = new JGlobalDateTime(ZonedDateTime.ofInstant(instant, zones[i % zones.length]));
+        }
+        JGlobalDateTime[] sorted = this.values.clone();
+        JGlobalDateTimeSort.sort(sorted);
+        this.streams = new ArrayList<>(STREAMS);
+        for (int i = 0; i < STREAMS; i++) {
+            this.streams.add(new ArrayList<>());
+        }
+        for (int i = 0; i < sorted.length; i++) {
+            this.streams.get(random.nextInt(STREAMS)).add(sorted[i]);
+        }
+    }
+
+    @Benchmark
+    public JGlobalDateTime[] jGlobalDateTimeSort() {
+        JGlobalDateTime[] copy = this.values.clone();
+        JGlobalDateTimeSort.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public JGlobalDateTime[] arraysParallelSortWithComparator() {
+        JGlobalDateTime[] copy = this.values.clone();
+        Arrays.parallelSort(copy, JGlobalDateTime.INSTANT_COMPARATOR);
+        return copy;
+    }
+
+    @Benchmark
+    public JGlobalDateTime[] arraysSortWithComparator() {
+        JGlobalDateTime[] copy = this.values.clone();
+        Arrays.sort(copy, JGlobalDateTime.INSTANT_COMPARATOR);
+        return copy;
+    }
+
+    @Benchmark
+    public List<JGlobalDateTime> mergeSortedStreams() {
+        return JGlobalDateTimeSort.merge(this.streams);
+    }
+
+    @Benchmark
+    public JGlobalDateTime[] sortConcatenatedStreams() {
+        JGlobalDateTime[] concatenated = new JGlobalDateTime[this.size];
+        int position = 0;
+        for (List<JGlobalDateTime> stream : this.streams) {
+            for (JGlobalDateTime value : stream) {
+                concatenated[position++] = value;
+            }
+        }
+        Arrays.parallelSort(concatenated, JGlobalDateTime.INSTANT_COMPARATOR);
+        return concatenated;
+    }
+
+    @Param({"100000", "1000000"})
+    private int size;
+    private JGlobalDateTime[] values;
+    private List<List<JGlobalDateTime>> streams;
+
+    private static final long SEED = 20170820L;
+    private static final long FIRST_EPOCH_SECOND = 1483228800L;
+    private static final int PERIOD_SECONDS = 365 * 24 * 3600;
+    private static final int NANOS_PER_SECOND = 1000000000;
+    private static final int STREAMS = 32;
+    private static final String[] ZONE_IDS = {"Europe/Madrid", "America/Chicago", "Asia/Tokyo", "Australia/Sydney"};
+}
@@ -0,0 +1,100 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeStreamParser;
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare parsing a newline
+ * delimited input of ZonedDateTime strings with JGlobalDateTimeStreamParser
+ * against reading it with BufferedReader.readLine() and creating a
+ * JGlobalDateTime per line.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StreamParsingBenchmark {
+
+    @Setup
+    public void setup() {
+        ZoneId zone = ZoneId.of(ZONE_ID);
+        StringBuilder input = new StringBuilder();
+        for (int i = 0; i < LINES; i++) {
+            input.append(ZonedDateTime.ofInstant(Instant.ofEpochSecond(FIRST_EPOCH_SECOND + (i * STEP_SECONDS), i * STEP_NANOS), zone)).append('\n');
+        }
+        this.input = input.toString().getBytes(StandardCharsets.US_ASCII);
+        this.streamParser = new JGlobalDateTimeStreamParser();
+    }
+
+    @Benchmark
+    public long streamParserSink() throws IOException, JGlobalDateTimeException {
+        long[] checksum = new long[1];
+        this.streamParser.parse(new ByteArrayInputStream(this.input), (epochSecond, nano, zoneId) -> checksum[0] += epochSecond);
+        return checksum[0];
+    }
+
+    @Benchmark
+    public long streamParserLongStream() {
+        return this.streamParser.epochMillis(new ByteArrayInputStream(this.input)).sum();
+    }
+
+    @Benchmark
+    public long readLineAndConstructor() throws IOException, JGlobalDateTimeException {
+        long checksum = 0;
+        BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(this.input), StandardCharsets.US_ASCII));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            checksum += new JGlobalDateTime(line).toEpochMilli();
+        }
+        return checksum;
+    }
+
+    private byte[] input;
+    private JGlobalDateTimeStreamParser streamParser;
+
+    private static final int LINES = 100000;
+    private static final long FIRST_EPOCH_SECOND = 1483228800L;
+    private static final long STEP_SECONDS = 317L;
+    private static final int STEP_NANOS = 1001;
+    private static final String ZONE_ID = "Europe/Madrid";
+}
@@ -0,0 +1,86 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTime;
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeException;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that measure the cost of rejecting
+ * invalid ZonedDateTime strings: through the String constructor of
+ * JGlobalDateTime, that throws an exception (with or without stack trace),
+ * and through tryParse() and validate(), that do not throw at all.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ValidationBenchmark {
+
+    @Setup
+    public void setup() {
+        JGlobalDateTimeException.setStacklessMode(this.stackless);
+    }
+
+    @TearDown
+    public void tearDown() {
+        JGlobalDateTimeException.setStacklessMode(false);
+    }
+
+    @Benchmark
+    public int constructor() {
+        try {
+            return new JGlobalDateTime(this.zonedDateTimeString).hashCode();
+        } catch (JGlobalDateTimeException ex) {
+            return ex.getReasonCode();
+        }
+    }
+
+    @Benchmark
+    public Optional<JGlobalDateTime> tryParse() {
+        return JGlobalDateTime.tryParse(this.zonedDateTimeString);
+    }
+
+    @Benchmark
+    public int validate() {
+        return JGlobalDateTime.validate(this.zonedDateTimeString);
+    }
+
+    @Param({"2017-08-20T14:20:18.811-05:00[America/Chicago]", "2017-08-20T14:20:18.811-05:00[America/Chicag]", "2017-08-20 14:20:18"})
+    private String zonedDateTimeString;
+
+    @Param({"false", "true"})
+    private boolean stackless;
+}
@@ -0,0 +1,109 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime.benchmarks;
+
+import com.manolodominguez.jglobaldatetime.JGlobalDateTimeZoneTransitions;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRules;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * This class implements the JMH benchmarks that compare the resolution of zone
+ * offsets through JGlobalDateTimeZoneTransitions with ZoneRules and with
+ * ZonedDateTime.withZoneSameInstant(), over a column of instants spread along
+ * several decades.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ZoneTransitionsBenchmark {
+
+    @Setup
+    public void setup() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            this.epochSeconds[i] = FIRST_EPOCH_SECOND + (long) (random.nextDouble() * PERIOD_SECONDS);
+        }
+        this.zoneId = ZoneId.of(ZONE_ID);
+        this.rules = this.zoneId.getRules();
+        this.zoneTransitions = JGlobalDateTimeZoneTransitions.of(this.zoneId);
+        this.zonedDateTimes = new ZonedDateTime[COLUMN_LENGTH];
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            this.zonedDateTimes[i] = ZonedDateTime.ofInstant(Instant.ofEpochSecond(this.epochSeconds[i]), ZoneOffset.UTC);
+        }
+    }
+
+    @Benchmark
+    public long[] transitionsLocalEpochSeconds() {
+        this.zoneTransitions.toLocalEpochSeconds(this.epochSeconds, this.output);
+        return this.output;
+    }
+
+    @Benchmark
+    public long[] zoneRulesLocalEpochSeconds() {
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            this.output[i] = this.epochSeconds[i] + this.rules.getOffset(Instant.ofEpochSecond(this.epochSeconds[i])).getTotalSeconds();
+        }
+        return this.output;
+    }
+
+    @Benchmark
+    public long[] withZoneSameInstantLocalEpochSeconds() {
+        for (int i = 0; i < COLUMN_LENGTH; i++) {
+            this.output[i] = this.zonedDateTimes[i].withZoneSameInstant(this.zoneId).toLocalDateTime().toEpochSecond(ZoneOffset.UTC);
+        }
+        return this.output;
+    }
+
+    @Benchmark
+    public long[] transitionsEpochSeconds() {
+        this.zoneTransitions.toEpochSeconds(this.epochSeconds, this.output);
+        return this.output;
+    }
+
+    private final long[] epochSeconds = new long[COLUMN_LENGTH];
+    private final long[] output = new long[COLUMN_LENGTH];
+    private ZonedDateTime[] zonedDateTimes;
+    private ZoneId zoneId;
+    private ZoneRules rules;
+    private JGlobalDateTimeZoneTransitions zoneTransitions;
+
+    private static final int COLUMN_LENGTH = 4096;
+    private static final long SEED = 20170820L;
+    private static final long FIRST_EPOCH_SECOND = 0L;
+    private static final long PERIOD_SECONDS = 60L * 365L * 24L * 3600L;
+    private static final String ZONE_ID = "Europe/Madrid";
+}
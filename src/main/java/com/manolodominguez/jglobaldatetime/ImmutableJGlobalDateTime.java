@@ -0,0 +1,994 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.Optional;
+
+/**
+ * This class implements an immutable counterpart of JGlobalDateTime. It offers
+ * the same functionalities but every method that would modify a
+ * JGlobalDateTime returns a new ImmutableJGlobalDateTime instead, leaving the
+ * current one unchanged. Therefore, instances are thread-safe and can be
+ * shared among threads without copies or locks.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class ImmutableJGlobalDateTime implements Comparable<ImmutableJGlobalDateTime> {
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of ImmutableJGlobalDateTime using as input the local date and time and
+     * the default system zone ID. After that, it uses the default ZoneID and
+     * precission to generate the normalized version of that datetime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime() throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime();
+    }
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of ImmutableJGlobalDateTime using as input the one specified as an
+     * argument (in ZonedDateTime format), that includes its own Zone ID. After
+     * that, it uses the default reference ZoneID and precission generate the
+     * normalized version of that datetime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The original ZonedDateTime that needs to be
+     * normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime(ZonedDateTime originalZonedDateTime) throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(originalZonedDateTime);
+    }
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of ImmutableJGlobalDateTime using as input the one specified as an
+     * argument (in Java String format), that includes its own Zone ID. After
+     * that, it uses the default reference ZoneID and precission to generate
+     * the normalized version of that datetime. Examples of ZonedDateTime
+     * String representation in Java are:
+     *
+     * 2015-04-06T14:20:18.811-05:00[America/Chicago]
+     * 2017-04-06T21:20:18.811+02:00[Europe/Madrid]
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The String representing the original
+     * ZonedDateTime that needs to be normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID and also if the specified string is not a valid
+     * ZonedDateTime string representation.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime(String originalZonedDateTime) throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(originalZonedDateTime);
+    }
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of ImmutableJGlobalDateTime using as input the one specified as an
+     * argument (in long format, as millisecond from Epoch). After that, it
+     * uses the default reference ZoneID and precission to generate the
+     * normalized version of that datetime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalDateTimeMillis The original instant, as number of
+     * millisecond since Epoch withouth Zone ID, that needs to be normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime(long originalDateTimeMillis) throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(originalDateTimeMillis);
+    }
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of ImmutableJGlobalDateTime using as input the one specified as an
+     * argument (in Timestamp format). After that, it uses the default
+     * reference ZoneID and precission to generate the normalized version of
+     * that datetime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalDateTime The original instant, as a Timestamp withouth
+     * Zone ID, that needs to be normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime(Timestamp originalDateTime) throws JGlobalDateTimeException {
+        this.globalDateTime = new JGlobalDateTime(originalDateTime);
+    }
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of ImmutableJGlobalDateTime that takes the ownership of the specified
+     * JGlobalDateTime. That JGlobalDateTime must not be modified nor exposed
+     * afterwards.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param globalDateTime The JGlobalDateTime holding the status of the new
+     * instance.
+     * @since 2.4
+     */
+    ImmutableJGlobalDateTime(JGlobalDateTime globalDateTime) {
+        this.globalDateTime = globalDateTime;
+    }
+
+    /**
+     * This methods creates a new ImmutableJGlobalDateTime from a
+     * ZonedDateTime string, as the ImmutableJGlobalDateTime(String)
+     * constructor does, but without throwing any exception if the string is
+     * not valid.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The String representing the original
+     * ZonedDateTime that needs to be normalized.
+     * @return the new ImmutableJGlobalDateTime, or an empty Optional if the
+     * string is not a valid ZonedDateTime string representation.
+     * @since 2.4
+     */
+    public static Optional<ImmutableJGlobalDateTime> tryParse(String originalZonedDateTime) {
+        return JGlobalDateTime.tryParse(originalZonedDateTime).map(ImmutableJGlobalDateTime::new);
+    }
+
+    /**
+     * This methods gets a new, mutable, JGlobalDateTime with the status of
+     * this ImmutableJGlobalDateTime (original and normalized datetimes,
+     * reference Zone ID and precission).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a mutable copy of this ImmutableJGlobalDateTime.
+     * @since 2.4
+     */
+    public JGlobalDateTime toMutable() {
+        return this.globalDateTime.getAnExactCopy();
+    }
+
+    /**
+     * This methods gets the normalized date and time, in ZonedDateTime format.
+     * A normalized datetime is a datetime that has been referenced to the
+     * current default reference ZoneID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the normalized date and time.
+     * @since 2.4
+     */
+    public ZonedDateTime getNormalizedDateTime() {
+        return this.globalDateTime.getNormalizedDateTime();
+    }
+
+    /**
+     * This methods gets the not-normalized date and time used to create this
+     * ImmutableJGlobalDateTime, in ZonedDateTime format.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the not-normalized date and time used to create this
+     * ImmutableJGlobalDateTime.
+     * @since 2.4
+     */
+    public ZonedDateTime getOriginalDateTime() {
+        return this.globalDateTime.getOriginalDateTime();
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime with the initial values
+     * of this one, removing any "increase" or "decrease" operation that could
+     * have happened.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a new ImmutableJGlobalDateTime set to its initial values.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime resetToOriginal() {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.resetToOriginal();
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods gets the normalized date and time, in Java String format.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the normalized date and time, in Java String format.
+     * @since 2.4
+     */
+    public String toNormalizedDateTimeString() {
+        return this.globalDateTime.toNormalizedDateTimeString();
+    }
+
+    /**
+     * This methods appends the normalized date and time, in Java String
+     * format, to the specified StringBuilder, without creating intermediate
+     * objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The StringBuilder the normalized date and time will be
+     * appended to.
+     * @since 2.4
+     */
+    public void writeNormalizedDateTimeString(StringBuilder output) {
+        this.globalDateTime.writeNormalizedDateTimeString(output);
+    }
+
+    /**
+     * This methods appends the normalized date and time, in Java String
+     * format, to the specified Appendable, without creating intermediate
+     * objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The Appendable the normalized date and time will be
+     * appended to.
+     * @throws IOException if the Appendable cannot be written.
+     * @since 2.4
+     */
+    public void writeNormalizedDateTimeString(Appendable output) throws IOException {
+        this.globalDateTime.writeNormalizedDateTimeString(output);
+    }
+
+    /**
+     * This methods gets the instant represented by this
+     * ImmutableJGlobalDateTime, as a the number of millisecond since Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the instant represented by this ImmutableJGlobalDateTime, as a
+     * the number of millisecond since Epoch.
+     * @since 2.4
+     */
+    public long toEpochMilli() {
+        return this.globalDateTime.toEpochMilli();
+    }
+
+    /**
+     * This methods gets a String representation of this
+     * ImmutableJGlobalDateTime to be used as input for MySQL DATETIME fields.
+     * The format is the one of JGlobalDateTime.toNormalizedMySQLDateTime().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a String representation of this ImmutableJGlobalDateTime to be
+     * used as input for MySQL DATETIME fields.
+     * @since 2.4
+     */
+    public String toNormalizedMySQLDateTime() {
+        return this.globalDateTime.toNormalizedMySQLDateTime();
+    }
+
+    /**
+     * This methods appends the representation of this ImmutableJGlobalDateTime
+     * to be used as input for MySQL DATETIME fields to the specified
+     * StringBuilder, without creating intermediate objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The StringBuilder the MySQL DATETIME will be appended to.
+     * @since 2.4
+     */
+    public void writeNormalizedMySQLDateTime(StringBuilder output) {
+        this.globalDateTime.writeNormalizedMySQLDateTime(output);
+    }
+
+    /**
+     * This methods writes the representation of this ImmutableJGlobalDateTime
+     * to be used as input for MySQL DATETIME fields into the specified char
+     * array, without creating intermediate objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The char array the MySQL DATETIME will be written to.
+     * @param offset The position of the array where the first character will
+     * be written.
+     * @return the number of characters written.
+     * @throws IndexOutOfBoundsException if the array has not enough room for
+     * the MySQL DATETIME. In that case, nothing is written.
+     * @since 2.4
+     */
+    public int writeNormalizedMySQLDateTime(char[] output, int offset) {
+        return this.globalDateTime.writeNormalizedMySQLDateTime(output, offset);
+    }
+
+    /**
+     * This methods writes the representation of this ImmutableJGlobalDateTime
+     * to be used as input for MySQL DATETIME fields into the specified
+     * ByteBuffer, as ASCII bytes, without creating intermediate objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The ByteBuffer the MySQL DATETIME will be written to,
+     * starting at its current position.
+     * @throws BufferOverflowException if the buffer has not enough remaining
+     * room for the MySQL DATETIME. In that case, nothing is written.
+     * @since 2.4
+     */
+    public void writeNormalizedMySQLDateTime(ByteBuffer output) {
+        this.globalDateTime.writeNormalizedMySQLDateTime(output);
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime increased in a given
+     * number of units (hours, days, minutes...).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The number of units the new ImmutableJGlobalDateTime will
+     * be increased.
+     * @param unit The type of units the new ImmutableJGlobalDateTime will be
+     * increased (Months, hours, secods...)
+     * @return a new, increased, ImmutableJGlobalDateTime.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime increase(long amount, ChronoUnit unit) {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.increase(amount, unit);
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime decreased in a given
+     * number of units (hours, days, minutes...).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The number of units the new ImmutableJGlobalDateTime will
+     * be decreased.
+     * @param unit The type of units the new ImmutableJGlobalDateTime will be
+     * decreased (Months, hours, secods...)
+     * @return a new, decreased, ImmutableJGlobalDateTime.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime decrease(long amount, ChronoUnit unit) {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.decrease(amount, unit);
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is over (if current
+     * date is greater).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return true, if this ImmutableJGlobalDateTime is over. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean alreadyHappened() {
+        return this.globalDateTime.alreadyHappened();
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is over (if current
+     * date is greater). The current date is taken from the specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param clock The clock the current date is taken from.
+     * @return true, if this ImmutableJGlobalDateTime is over. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean alreadyHappened(Clock clock) {
+        return this.globalDateTime.alreadyHappened(clock);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is over since a
+     * given amount of time.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the date is
+     * over.
+     * @param unit The period unit (days, months, hours...)
+     * @return true, if this ImmutableJGlobalDateTime is over since the
+     * specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean happenedSinceMoreThan(long amount, ChronoUnit unit) {
+        return this.globalDateTime.happenedSinceMoreThan(amount, unit);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is over since a
+     * given amount of time. The current date is taken from the specified
+     * clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the date is
+     * over.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this ImmutableJGlobalDateTime is over since the
+     * specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean happenedSinceMoreThan(long amount, ChronoUnit unit, Clock clock) {
+        return this.globalDateTime.happenedSinceMoreThan(amount, unit, clock);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime happened since less
+     * than a given amount of time.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the date is
+     * over.
+     * @param unit The period unit (days, months, hours...)
+     * @return true, if this ImmutableJGlobalDateTime happened since less than
+     * the specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean happenedSinceLessThan(long amount, ChronoUnit unit) {
+        return this.globalDateTime.happenedSinceLessThan(amount, unit);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime happened since less
+     * than a given amount of time. The current date is taken from the
+     * specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the date is
+     * over.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this ImmutableJGlobalDateTime happened since less than
+     * the specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean happenedSinceLessThan(long amount, ChronoUnit unit, Clock clock) {
+        return this.globalDateTime.happenedSinceLessThan(amount, unit, clock);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is coming in less
+     * than a given amount of time.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the is coming.
+     * @param unit The period unit (days, months, hours...)
+     * @return true, if this ImmutableJGlobalDateTime is going to happen in less
+     * than a specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isGoingToHappenInLessThan(long amount, ChronoUnit unit) {
+        return this.globalDateTime.isGoingToHappenInLessThan(amount, unit);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is coming in less
+     * than a given amount of time. The current date is taken from the
+     * specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the is coming.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this ImmutableJGlobalDateTime is going to happen in less
+     * than a specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isGoingToHappenInLessThan(long amount, ChronoUnit unit, Clock clock) {
+        return this.globalDateTime.isGoingToHappenInLessThan(amount, unit, clock);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is going to happen
+     * in more than a given amount of time.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the is coming.
+     * @param unit The period unit (days, months, hours...)
+     * @return true, if this ImmutableJGlobalDateTime is going to happen in more
+     * than a specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isGoingToHappenInMoreThan(long amount, ChronoUnit unit) {
+        return this.globalDateTime.isGoingToHappenInMoreThan(amount, unit);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is going to happen
+     * in more than a given amount of time. The current date is taken from the
+     * specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the is coming.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this ImmutableJGlobalDateTime is going to happen in more
+     * than a specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isGoingToHappenInMoreThan(long amount, ChronoUnit unit, Clock clock) {
+        return this.globalDateTime.isGoingToHappenInMoreThan(amount, unit, clock);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is equal to another
+     * instant represented in milliseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherDateTimeMillis an instant represented in milliseconds from
+     * Epoch.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is the same
+     * than the instant specified as a parameter. Oterwise, false.
+     * @since 2.4
+     */
+    public boolean isEqualTo(long anotherDateTimeMillis) {
+        return this.globalDateTime.isEqualTo(anotherDateTimeMillis);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is equal to another
+     * instant represented a a Timestamp.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherDateTime an instant represented as a Timestamp.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is the same
+     * than the instant specified as a parameter. Oterwise, false.
+     * @since 2.4
+     */
+    public boolean isEqualTo(Timestamp anotherDateTime) {
+        return this.globalDateTime.isEqualTo(anotherDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is equal to another
+     * date time represented a ZonedDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a ZonedDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is the same
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isEqualTo(ZonedDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isEqualTo(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is equal to another
+     * date time represented as a JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a JGlobalDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is equal
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isEqualTo(JGlobalDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isEqualTo(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is equal to another
+     * date time represented as another ImmutableJGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as an
+     * ImmutableJGlobalDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is equal
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isEqualTo(ImmutableJGlobalDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isEqualTo(anotherZonedDateTime.globalDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is equal to another
+     * date time represented as a Java datetime String.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a Java datetime
+     * String.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is equal
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @throws JGlobalDateTimeException if the specified datetime string is not
+     * valid.
+     * @since 2.4
+     */
+    public boolean isEqualTo(String anotherZonedDateTime) throws JGlobalDateTimeException {
+        return this.globalDateTime.isEqualTo(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is before another
+     * instant represented in milliseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherDateTimeMillis an instant represented in milliseconds from
+     * Epoch.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is before
+     * than the instant specified as a parameter. Oterwise, false.
+     * @since 2.4
+     */
+    public boolean isBefore(long anotherDateTimeMillis) {
+        return this.globalDateTime.isBefore(anotherDateTimeMillis);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is before another
+     * instant represented a a Timestamp.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherDateTime an instant represented as a Timestamp.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is before
+     * than the instant specified as a parameter. Oterwise, false.
+     * @since 2.4
+     */
+    public boolean isBefore(Timestamp anotherDateTime) {
+        return this.globalDateTime.isBefore(anotherDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is before another
+     * date time represented a ZonedDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a ZonedDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is before
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isBefore(ZonedDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isBefore(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is before another
+     * date time represented as a JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a JGlobalDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is before
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isBefore(JGlobalDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isBefore(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is before another
+     * date time represented as another ImmutableJGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as an
+     * ImmutableJGlobalDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is before
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isBefore(ImmutableJGlobalDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isBefore(anotherZonedDateTime.globalDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is before another
+     * date time represented as a Java datetime String.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a Java datetime
+     * String.
+     * @return true, if the instant of this ImmutableJGlobalDateTime before than
+     * the datetime specified as a parameter. Otherwise, false.
+     * @throws JGlobalDateTimeException if the specified datetime string is not
+     * valid.
+     * @since 2.4
+     */
+    public boolean isBefore(String anotherZonedDateTime) throws JGlobalDateTimeException {
+        return this.globalDateTime.isBefore(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is after another
+     * instant represented in milliseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherDateTimeMillis an instant represented in milliseconds from
+     * Epoch.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is after
+     * than the instant specified as a parameter. Oterwise, false.
+     * @since 2.4
+     */
+    public boolean isAfter(long anotherDateTimeMillis) {
+        return this.globalDateTime.isAfter(anotherDateTimeMillis);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is after another
+     * instant represented a a Timestamp.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherDateTime an instant represented as a Timestamp.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is after
+     * than the instant specified as a parameter. Oterwise, false.
+     * @since 2.4
+     */
+    public boolean isAfter(Timestamp anotherDateTime) {
+        return this.globalDateTime.isAfter(anotherDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is after another
+     * date time represented a ZonedDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a ZonedDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is after
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isAfter(ZonedDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isAfter(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is after another
+     * date time represented as a JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a JGlobalDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is after
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isAfter(JGlobalDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isAfter(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is after another
+     * date time represented as another ImmutableJGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as an
+     * ImmutableJGlobalDateTime.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is after
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isAfter(ImmutableJGlobalDateTime anotherZonedDateTime) {
+        return this.globalDateTime.isAfter(anotherZonedDateTime.globalDateTime);
+    }
+
+    /**
+     * This methods checks if this ImmutableJGlobalDateTime is after another
+     * date time represented as a Java datetime String.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a Java datetime
+     * String.
+     * @return true, if the instant of this ImmutableJGlobalDateTime is after
+     * than the datetime specified as a parameter. Otherwise, false.
+     * @throws JGlobalDateTimeException if the specified datetime string is not
+     * valid.
+     * @since 2.4
+     */
+    public boolean isAfter(String anotherZonedDateTime) throws JGlobalDateTimeException {
+        return this.globalDateTime.isAfter(anotherZonedDateTime);
+    }
+
+    /**
+     * This methods compares this ImmutableJGlobalDateTime with another one, by
+     * the instant they represent, with nanosecond resolution, as
+     * JGlobalDateTime.compareTo() does. Datetimes representing the same
+     * instant are then sorted by their original instant and Zone ID, their
+     * reference Zone ID and their precission, so that this ordering is
+     * consistent with equals(). Use INSTANT_COMPARATOR to sort them only by
+     * the instant they represent.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as an
+     * ImmutableJGlobalDateTime.
+     * @return a negative value if this ImmutableJGlobalDateTime is before the
+     * specified one, zero if they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    @Override
+    public int compareTo(ImmutableJGlobalDateTime anotherZonedDateTime) {
+        JGlobalDateTime other = anotherZonedDateTime.globalDateTime;
+        int result = this.globalDateTime.compareTo(other);
+        if (result != 0) {
+            return result;
+        }
+        result = Long.compare(this.globalDateTime.getOriginalEpochSecond(), other.getOriginalEpochSecond());
+        if (result != 0) {
+            return result;
+        }
+        result = Integer.compare(this.globalDateTime.getOriginalNano(), other.getOriginalNano());
+        if (result != 0) {
+            return result;
+        }
+        result = this.globalDateTime.getOriginalZoneID().getId().compareTo(other.getOriginalZoneID().getId());
+        if (result != 0) {
+            return result;
+        }
+        result = this.globalDateTime.getReferenceZoneID().getId().compareTo(other.getReferenceZoneID().getId());
+        if (result != 0) {
+            return result;
+        }
+        return this.globalDateTime.getReferencePrecission().compareTo(other.getReferencePrecission());
+    }
+
+    /**
+     * This methods checks whether this ImmutableJGlobalDateTime is equal to
+     * the specified object. Both are equal if the object is an
+     * ImmutableJGlobalDateTime with the same original instant and Zone ID, the
+     * same normalized instant, the same reference Zone ID and the same
+     * precission. Use isEqualTo() to check whether two datetimes represent the
+     * same instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param object The object to compare with.
+     * @return true, if both are equal. Otherwise, false.
+     * @since 2.4
+     */
+    @Override
+    public boolean equals(Object object) {
+        if (this == object) {
+            return true;
+        }
+        if (!(object instanceof ImmutableJGlobalDateTime)) {
+            return false;
+        }
+        JGlobalDateTime other = ((ImmutableJGlobalDateTime) object).globalDateTime;
+        return (this.globalDateTime.getOriginalEpochSecond() == other.getOriginalEpochSecond())
+                && (this.globalDateTime.getOriginalNano() == other.getOriginalNano())
+                && (this.globalDateTime.getNormalizedEpochSecond() == other.getNormalizedEpochSecond())
+                && (this.globalDateTime.getNormalizedNano() == other.getNormalizedNano())
+                && (this.globalDateTime.getReferencePrecission() == other.getReferencePrecission())
+                && this.globalDateTime.getOriginalZoneID().equals(other.getOriginalZoneID())
+                && this.globalDateTime.getReferenceZoneID().equals(other.getReferenceZoneID());
+    }
+
+    /**
+     * This methods gets a hash code of this ImmutableJGlobalDateTime,
+     * consistent with equals().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the hash code.
+     * @since 2.4
+     */
+    @Override
+    public int hashCode() {
+        int hash = Long.hashCode(this.globalDateTime.getOriginalEpochSecond());
+        hash = (31 * hash) + this.globalDateTime.getOriginalNano();
+        hash = (31 * hash) + this.globalDateTime.getOriginalZoneID().hashCode();
+        hash = (31 * hash) + Long.hashCode(this.globalDateTime.getNormalizedEpochSecond());
+        hash = (31 * hash) + this.globalDateTime.getNormalizedNano();
+        hash = (31 * hash) + this.globalDateTime.getReferenceZoneID().hashCode();
+        return (31 * hash) + this.globalDateTime.getReferencePrecission().hashCode();
+    }
+
+    /**
+     * This methods gets a String representation of this
+     * ImmutableJGlobalDateTime, including its original datetime, its
+     * normalized datetime in the reference Zone ID and its precission. For
+     * instance:
+     *
+     * ImmutableJGlobalDateTime[original=2017-04-06T14:20:18.811-05:00[America/Chicago],
+     * normalized=2017-04-06T21:20:18.811+02:00[Europe/Madrid], precission=Nanos]
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the String representation of this ImmutableJGlobalDateTime.
+     * @since 2.4
+     */
+    @Override
+    public String toString() {
+        return "ImmutableJGlobalDateTime[original=" + this.globalDateTime.getOriginalDateTime()
+                + ", normalized=" + this.globalDateTime.toNormalizedDateTimeString()
+                + ", precission=" + this.globalDateTime.getReferencePrecission() + "]";
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime that represents the
+     * same instant as a date and time for the selected new reference Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The new default reference Zone ID, as a string.
+     * @return a new ImmutableJGlobalDateTime referenced to the specified Zone
+     * ID.
+     * @throws JGlobalDateTimeException if the specified default reference Zone
+     * is not valid one.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime changeZoneID(String zoneId) throws JGlobalDateTimeException {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.changeZoneID(zoneId);
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime that represents the
+     * same instant as a date and time for the selected new reference Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The new default reference Zone.
+     * @return a new ImmutableJGlobalDateTime referenced to the specified Zone
+     * ID.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime changeZoneID(ZoneId zoneId) {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.changeZoneID(zoneId);
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime with the specified
+     * default precission. Its value will be truncated to that precission.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param precission The desired precission (seconds, minutes,
+     * millisecond...)
+     * @return a new ImmutableJGlobalDateTime with the specified precission.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime changeDefaultPrecission(ChronoUnit precission) {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.changeDefaultPrecission(precission);
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime that represents the
+     * same instant as a date and time for the default reference Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a new ImmutableJGlobalDateTime referenced to the default
+     * reference Zone ID.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime resetToDefaultReferenceZoneID() {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.resetToDefaultReferenceZoneID();
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    /**
+     * This methods gets a new ImmutableJGlobalDateTime with the default
+     * precission.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a new ImmutableJGlobalDateTime with the default precission.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime resetToDefaultPrecission() {
+        JGlobalDateTime copy = this.globalDateTime.getAnExactCopy();
+        copy.resetToDefaultPrecission();
+        return new ImmutableJGlobalDateTime(copy);
+    }
+
+    // Never modified nor exposed once assigned. Its final modifier guarantees
+    // that the status is visible to every thread without synchronization.
+    private final JGlobalDateTime globalDateTime;
+
+    /**
+     * Comparator that sorts ImmutableJGlobalDateTime by the instant they
+     * represent, with nanosecond resolution, as JGlobalDateTime.compareTo()
+     * does. Unlike compareTo(), it is not consistent with equals().
+     */
+    public static final Comparator<ImmutableJGlobalDateTime> INSTANT_COMPARATOR = (first, second) -> first.globalDateTime.compareTo(second.globalDateTime);
+}
@@ -16,13 +16,21 @@ package com.manolodominguez.jglobaldatetime;
  * limitations under the License.
  */
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
 import java.sql.Timestamp;
+import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
 import java.time.ZonedDateTime;
-import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
 import java.time.zone.ZoneRulesException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -30,10 +38,21 @@ import org.slf4j.LoggerFactory;
  * This class implements functionalities to handle DateTime object taking into
  * account the international context and the corresponding time zones.
  *
+ * Each instance memoizes the derived views of its datetimes: the
+ * ZonedDateTime and, once requested, the String of the normalized and of the
+ * original datetime, each one in its own slot, allocated the first time it is
+ * requested. Besides, when the reference Zone ID changes and the instant does
+ * not, the views of the last few Zone IDs are kept, ordered by last use, so
+ * that changing the reference Zone ID back and forth (user zone, reference
+ * zone, UTC) does not compute them again; that array is allocated the first
+ * time the reference Zone ID changes and its views are forgotten as soon as
+ * the instant changes. Thus, an instance whose datetimes are never requested
+ * only pays for three null references.
+ *
  * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
  * @version 1.0
  */
-public class JGlobalDateTime {
+public class JGlobalDateTime implements Comparable<JGlobalDateTime> {
 
     /**
      * This methods is the constructor of the class. It creates a new instance
@@ -47,13 +66,15 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public JGlobalDateTime() throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_CURRENT_TIME);
+
         try {
-            this.currentReferenceZoneID = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-            this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-            this.originalDateTime = ZonedDateTime.now(ZoneId.systemDefault()).truncatedTo(this.currentReferencePrecission);
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(ZonedDateTime.now(ZoneId.systemDefault()));
+            this.resetToOriginal();
         } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
         }
     }
 
@@ -72,13 +93,15 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public JGlobalDateTime(ZonedDateTime originalZonedDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_ZONED_DATE_TIME);
+
         try {
-            this.currentReferenceZoneID = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-            this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-            this.originalDateTime = originalZonedDateTime.truncatedTo(this.currentReferencePrecission);
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(originalZonedDateTime);
+            this.resetToOriginal();
         } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
         }
     }
 
@@ -97,13 +120,15 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public JGlobalDateTime(JGlobalDateTime originalZonedDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_JGLOBALDATETIME);
+
         try {
-            this.currentReferenceZoneID = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-            this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-            this.originalDateTime = originalZonedDateTime.getOriginalDateTime().truncatedTo(this.currentReferencePrecission);
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(originalZonedDateTime.originalEpochSecond, originalZonedDateTime.originalNano, originalZonedDateTime.originalZoneID);
+            this.resetToOriginal();
         } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
         }
     }
 
@@ -128,16 +153,17 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public JGlobalDateTime(String originalZonedDateTime) throws JGlobalDateTimeException {
-        try {
-            this.currentReferenceZoneID = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-            this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-            this.originalDateTime = ZonedDateTime.parse(originalZonedDateTime).truncatedTo(this.currentReferencePrecission);
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
-        } catch (DateTimeParseException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONEDDATETIME_STRING, JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING);
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_STRING);
+
+        this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+        this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+        JGlobalDateTimeParser parser = JGlobalDateTime.PARSERS.get();
+        int reasonCode = parser.parse(originalZonedDateTime);
+        if (reasonCode != JGlobalDateTimeException.RC_OK) {
+            throw JGlobalDateTimeException.newInstance(reasonCode);
         }
+        this.setOriginal(parser.getEpochSecond(), parser.getNano(), parser.getZoneID());
+        this.resetToOriginal();
     }
 
     /**
@@ -155,21 +181,24 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public JGlobalDateTime(long originalDateTimeMillis) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_MILLIS);
+
         try {
-            this.currentReferenceZoneID = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-            this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-            this.originalDateTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(originalDateTimeMillis), this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(Math.floorDiv(originalDateTimeMillis, MILLIS_PER_SECOND), (int) Math.floorMod(originalDateTimeMillis, MILLIS_PER_SECOND) * NANOS_PER_MILLI, this.currentReferenceZoneID);
+            this.resetToOriginal();
         } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
         }
     }
 
     /**
      * This methods is the constructor of the class. It creates a new instance
      * of JGlobalDateTime using as input the one specified as an argument (in
-     * Timestamp format). After that, it uses the default reference ZoneID and
-     * precission to generate the normalized version of that datetime.
+     * Timestamp format), including its nanoseconds. After that, it uses the
+     * default reference ZoneID and precission to generate the normalized
+     * version of that datetime.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @param originalDateTime The original instant, as a Timestamp withouth
@@ -179,27 +208,124 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public JGlobalDateTime(Timestamp originalDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_TIMESTAMP);
+
         try {
-            this.currentReferenceZoneID = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-            this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-            this.originalDateTime = ZonedDateTime.ofInstant(Instant.ofEpochMilli(originalDateTime.toInstant().toEpochMilli()), this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(Math.floorDiv(originalDateTime.getTime(), MILLIS_PER_SECOND), originalDateTime.getNanos(), this.currentReferenceZoneID);
+            this.resetToOriginal();
         } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
+        }
+    }
+
+    /**
+     * This methods creates a new JGlobalDateTime from a ZonedDateTime string,
+     * as the JGlobalDateTime(String) constructor does, but without throwing
+     * any exception if the string is not valid. It is intended for input
+     * where invalid strings are frequent.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The String representing the original
+     * ZonedDateTime that needs to be normalized.
+     * @return the new JGlobalDateTime, or an empty Optional if the string is
+     * not a valid ZonedDateTime string representation.
+     * @since 2.4
+     */
+    public static Optional<JGlobalDateTime> tryParse(String originalZonedDateTime) {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_STRING);
+
+        JGlobalDateTimeParser parser = JGlobalDateTime.PARSERS.get();
+        if (parser.parse(originalZonedDateTime) != JGlobalDateTimeException.RC_OK) {
+            return Optional.empty();
+        }
+        return Optional.of(JGlobalDateTime.newInstance(parser.getEpochSecond(), parser.getNano(), parser.getZoneID()));
+    }
+
+    /**
+     * This methods checks whether a String is a valid ZonedDateTime string
+     * representation, that can be used to create a JGlobalDateTime, without
+     * throwing any exception.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zonedDateTime The String to be checked.
+     * @return JGlobalDateTimeException.RC_OK, if the string is valid.
+     * Otherwise, the reason code of the exception the JGlobalDateTime(String)
+     * constructor would throw (JGlobalDateTimeException.RC_INVALID_ZONE or
+     * JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING).
+     * @since 2.4
+     */
+    public static int validate(String zonedDateTime) {
+        return JGlobalDateTime.PARSERS.get().parse(zonedDateTime);
+    }
+
+    /**
+     * This methods is the constructor of the class. It creates a new instance
+     * of JGlobalDateTime with exactly the specified status, without any
+     * validation or truncation. It is used to create exact copies of other
+     * instances and to restore instances from their binary representation.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalEpochSecond The original instant, as seconds from Epoch.
+     * @param originalNano The nanosecond of second of the original instant.
+     * @param originalZoneID The original Zone ID.
+     * @param normalizedEpochSecond The normalized instant, as seconds from
+     * Epoch.
+     * @param normalizedNano The nanosecond of second of the normalized
+     * instant.
+     * @param currentReferenceZoneID The reference Zone ID.
+     * @param currentReferencePrecission The precission.
+     * @since 2.4
+     */
+    JGlobalDateTime(long originalEpochSecond, int originalNano, ZoneId originalZoneID, long normalizedEpochSecond, int normalizedNano, ZoneId currentReferenceZoneID, ChronoUnit currentReferencePrecission) {
+        this.originalEpochSecond = originalEpochSecond;
+        this.originalNano = originalNano;
+        this.originalZoneID = originalZoneID;
+        this.normalizedEpochSecond = normalizedEpochSecond;
+        this.normalizedNano = normalizedNano;
+        this.currentReferenceZoneID = currentReferenceZoneID;
+        this.currentReferencePrecission = currentReferencePrecission;
+    }
+
+    /**
+     * This methods creates a new JGlobalDateTime from an instant and the Zone
+     * ID it is expressed in, as the JGlobalDateTime(ZonedDateTime) constructor
+     * would do, but without creating a ZonedDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The original instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the original instant.
+     * @param zoneId The original Zone ID.
+     * @return a new JGlobalDateTime referenced to the default reference Zone
+     * ID and precission.
+     * @since 2.4
+     */
+    static JGlobalDateTime newInstance(long epochSecond, int nano, ZoneId zoneId) {
+        ChronoUnit precission = JGlobalDateTime.defaultPrecission;
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(epochSecond, nano, zoneId, epochSecond, nano, JGlobalDateTime.DEFAULT_REFERENCE_ZONE, precission);
+        if (precission != ChronoUnit.NANOS) {
+            globalDateTime.setOriginal(epochSecond, nano, zoneId);
+            globalDateTime.resetToOriginal();
         }
+        return globalDateTime;
     }
 
     /**
      * This methods gets the normalized date and time, in ZonedDateTime format.
      * A normalized datetime is a datetime that has been referenced to the
-     * current default reference ZoneID.
+     * current default reference ZoneID. The ZonedDateTime is computed the
+     * first time it is requested and reused until this JGlobalDateTime
+     * changes; the ones of the last few reference Zone IDs are kept, so that
+     * changing the reference Zone ID back and forth does not compute them
+     * again.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @return the normalized date and time.
      * @since 1.0
      */
     public ZonedDateTime getNormalizedDateTime() {
-        return this.normalizedDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+        return this.getNormalizedView().dateTime;
     }
 
     /**
@@ -216,7 +342,21 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public ZonedDateTime getOriginalDateTime() {
-        return this.originalDateTime.withZoneSameInstant(this.originalDateTime.getZone()).truncatedTo(this.currentReferencePrecission);
+        ChronoUnit precission = this.currentReferencePrecission;
+        long epochSecond = this.originalEpochSecond;
+        int nano = this.originalNano;
+        if (precission != ChronoUnit.NANOS) {
+            // The precission may have been lowered since the original date
+            // and time was set.
+            epochSecond = JGlobalDateTime.truncateEpochSecond(epochSecond, nano, this.originalZoneID, precission);
+            nano = JGlobalDateTime.truncateNano(nano, precission);
+        }
+        DerivedView view = this.originalView;
+        if ((view == null) || !view.isViewOf(epochSecond, nano, this.originalZoneID)) {
+            view = new DerivedView(epochSecond, nano, this.originalZoneID);
+            this.originalView = view;
+        }
+        return view.dateTime;
     }
 
     /**
@@ -228,7 +368,134 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public void resetToOriginal() {
-        this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+        if (this.currentReferencePrecission == ChronoUnit.NANOS) {
+            this.normalizedEpochSecond = this.originalEpochSecond;
+            this.normalizedNano = this.originalNano;
+        } else {
+            this.setNormalized(this.originalEpochSecond, this.originalNano);
+        }
+    }
+
+    /**
+     * This methods re-initializes this JGlobalDateTime, leaving it as the
+     * JGlobalDateTime(long) constructor would create it. It allows reusing
+     * the same instance for many datetimes, instead of creating a new one for
+     * each of them.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalDateTimeMillis The original instant, as number of
+     * millisecond since Epoch withouth Zone ID, that needs to be normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public void reset(long originalDateTimeMillis) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_MILLIS);
+
+        try {
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(Math.floorDiv(originalDateTimeMillis, MILLIS_PER_SECOND), (int) Math.floorMod(originalDateTimeMillis, MILLIS_PER_SECOND) * NANOS_PER_MILLI, this.currentReferenceZoneID);
+            this.resetToOriginal();
+        } catch (ZoneRulesException ex) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
+        }
+    }
+
+    /**
+     * This methods re-initializes this JGlobalDateTime, leaving it as the
+     * JGlobalDateTime(String) constructor would create it. If the specified
+     * text is not valid, this JGlobalDateTime is not modified.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The text representing the original
+     * ZonedDateTime that needs to be normalized. It does not need to be a
+     * String; a reused buffer, as a StringBuilder, can be specified.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID and also if the specified text is not a valid
+     * ZonedDateTime string representation.
+     * @since 2.4
+     */
+    public void reset(CharSequence originalZonedDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_STRING);
+
+        JGlobalDateTimeParser parser = JGlobalDateTime.PARSERS.get();
+        int reasonCode = parser.parse(originalZonedDateTime);
+        if (reasonCode != JGlobalDateTimeException.RC_OK) {
+            throw JGlobalDateTimeException.newInstance(reasonCode);
+        }
+        this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+        this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+        this.setOriginal(parser.getEpochSecond(), parser.getNano(), parser.getZoneID());
+        this.resetToOriginal();
+    }
+
+    /**
+     * This methods re-initializes this JGlobalDateTime, leaving it as the
+     * JGlobalDateTime(Timestamp) constructor would create it, including the
+     * nanoseconds of the Timestamp.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalDateTime The original instant, as a Timestamp withouth
+     * Zone ID, that needs to be normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public void reset(Timestamp originalDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_TIMESTAMP);
+        try {
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(Math.floorDiv(originalDateTime.getTime(), MILLIS_PER_SECOND), originalDateTime.getNanos(), this.currentReferenceZoneID);
+            this.resetToOriginal();
+        } catch (ZoneRulesException ex) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
+        }
+    }
+
+    /**
+     * This methods re-initializes this JGlobalDateTime, leaving it as the
+     * JGlobalDateTime(ZonedDateTime) constructor would create it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The original ZonedDateTime that needs to be
+     * normalized.
+     * @throws JGlobalDateTimeException if the default reference zone ID is not
+     * a valid Zone ID.
+     * @since 2.4
+     */
+    public void reset(ZonedDateTime originalZonedDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_ZONED_DATE_TIME);
+
+        try {
+            this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+            this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+            this.setOriginal(originalZonedDateTime);
+            this.resetToOriginal();
+        } catch (ZoneRulesException ex) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
+        }
+    }
+
+    /**
+     * This methods re-initializes this JGlobalDateTime from an instant and the
+     * Zone ID it is expressed in, leaving it as the
+     * JGlobalDateTime(ZonedDateTime) constructor would create it, but without
+     * creating a ZonedDateTime. Metrics are not updated; that is up to the
+     * caller.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The original instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the original instant.
+     * @param zoneId The original Zone ID.
+     * @since 2.4
+     */
+    void reset(long epochSecond, int nano, ZoneId zoneId) {
+        this.currentReferenceZoneID = JGlobalDateTime.DEFAULT_REFERENCE_ZONE;
+        this.currentReferencePrecission = JGlobalDateTime.defaultPrecission;
+        this.setOriginal(epochSecond, nano, zoneId);
+        this.resetToOriginal();
     }
 
     /**
@@ -241,13 +508,86 @@ public class JGlobalDateTime {
      * 2017-04-06T21:20:18.811+02:00[Europe/Madrid]
      * 2015-04-06T21:20:18.811+02:00[Europe/Madrid]
      *
+     * The string is the same ZonedDateTime.toString() would generate, but it
+     * is written directly from the normalized instant, with the cached zone
+     * suffix, and it is computed the first time it is requested and reused
+     * until this JGlobalDateTime changes, along with the normalized
+     * ZonedDateTime.
+     *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @return originalDateTime the normalized date and time, in Java String
      * format.
      * @since 1.0
      */
     public String toNormalizedDateTimeString() {
-        return this.normalizedDateTime.toString();
+        DerivedView view = this.getNormalizedView();
+        String string = view.string;
+        if (string == null) {
+            char[] buffer = JGlobalDateTimeFormatter.getScratchBuffer();
+            int offsetSeconds = this.getReferenceOffsetSeconds();
+            int length = JGlobalDateTimeFormatter.formatISOLocalDateTime(this.normalizedEpochSecond + offsetSeconds, this.normalizedNano, buffer, 0);
+            String suffix = JGlobalDateTimeFormatter.getZoneSuffix(offsetSeconds, this.currentReferenceZoneID);
+            if ((length + suffix.length()) <= buffer.length) {
+                suffix.getChars(0, suffix.length(), buffer, length);
+                string = new String(buffer, 0, length + suffix.length());
+            } else {
+                string = new String(buffer, 0, length).concat(suffix);
+            }
+            view.string = string;
+        }
+        return string;
+    }
+
+    /**
+     * This methods appends the normalized date and time, in the format of
+     * toNormalizedDateTimeString(), to the specified StringBuilder, without
+     * creating intermediate objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The StringBuilder the normalized date and time will be
+     * appended to.
+     * @since 2.4
+     */
+    public void writeNormalizedDateTimeString(StringBuilder output) {
+        String string = this.getMemoizedNormalizedDateTimeString();
+        if (string != null) {
+            output.append(string);
+            return;
+        }
+        char[] buffer = JGlobalDateTimeFormatter.getScratchBuffer();
+        int offsetSeconds = this.getReferenceOffsetSeconds();
+        int length = JGlobalDateTimeFormatter.formatISOLocalDateTime(this.normalizedEpochSecond + offsetSeconds, this.normalizedNano, buffer, 0);
+        output.append(buffer, 0, length).append(JGlobalDateTimeFormatter.getZoneSuffix(offsetSeconds, this.currentReferenceZoneID));
+    }
+
+    /**
+     * This methods appends the normalized date and time, in the format of
+     * toNormalizedDateTimeString(), to the specified Appendable (a Writer, for
+     * instance), without creating intermediate objects.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The Appendable the normalized date and time will be
+     * appended to.
+     * @throws IOException if the Appendable cannot be written.
+     * @since 2.4
+     */
+    public void writeNormalizedDateTimeString(Appendable output) throws IOException {
+        String string = this.getMemoizedNormalizedDateTimeString();
+        if (string != null) {
+            output.append(string);
+            return;
+        }
+        char[] buffer = JGlobalDateTimeFormatter.getScratchBuffer();
+        int offsetSeconds = this.getReferenceOffsetSeconds();
+        int length = JGlobalDateTimeFormatter.formatISOLocalDateTime(this.normalizedEpochSecond + offsetSeconds, this.normalizedNano, buffer, 0);
+        if (output instanceof Writer) {
+            ((Writer) output).write(buffer, 0, length);
+        } else {
+            for (int i = 0; i < length; i++) {
+                output.append(buffer[i]);
+            }
+        }
+        output.append(JGlobalDateTimeFormatter.getZoneSuffix(offsetSeconds, this.currentReferenceZoneID));
     }
 
     /**
@@ -260,7 +600,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public long toEpochMilli() {
-        return this.normalizedDateTime.toInstant().toEpochMilli();
+        return JGlobalDateTime.toEpochMilli(this.normalizedEpochSecond, this.normalizedNano);
     }
 
     /**
@@ -273,18 +613,128 @@ public class JGlobalDateTime {
      */
     public JGlobalDateTime getACopyWithCurrentStatus() {
         try {
-            return new JGlobalDateTime(this.normalizedDateTime.truncatedTo(this.currentReferencePrecission));
+            return new JGlobalDateTime(this.getNormalizedDateTime());
         } catch (JGlobalDateTimeException ex) {
             logger.warn("Cannot get a copy of a valid JGlobalDateTime. So extrange!!");
             return null;
         }
     }
 
+    /**
+     * This methods gets the normalized instant of this JGlobalDateTime, as
+     * seconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the normalized instant, as seconds from Epoch.
+     * @since 2.4
+     */
+    long getNormalizedEpochSecond() {
+        return this.normalizedEpochSecond;
+    }
+
+    /**
+     * This methods gets the nanosecond of second of the normalized instant of
+     * this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the nanosecond of second of the normalized instant.
+     * @since 2.4
+     */
+    int getNormalizedNano() {
+        return this.normalizedNano;
+    }
+
+    /**
+     * This methods gets the original instant of this JGlobalDateTime, as
+     * seconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the original instant, as seconds from Epoch.
+     * @since 2.4
+     */
+    long getOriginalEpochSecond() {
+        return this.originalEpochSecond;
+    }
+
+    /**
+     * This methods gets the nanosecond of second of the original instant of
+     * this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the nanosecond of second of the original instant.
+     * @since 2.4
+     */
+    int getOriginalNano() {
+        return this.originalNano;
+    }
+
+    /**
+     * This methods gets the original Zone ID of this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the original Zone ID.
+     * @since 2.4
+     */
+    ZoneId getOriginalZoneID() {
+        return this.originalZoneID;
+    }
+
+    /**
+     * This methods gets the current reference Zone ID of this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the current reference Zone ID.
+     * @since 2.4
+     */
+    ZoneId getReferenceZoneID() {
+        return this.currentReferenceZoneID;
+    }
+
+    /**
+     * This methods gets the current precission of this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the current precission.
+     * @since 2.4
+     */
+    ChronoUnit getReferencePrecission() {
+        return this.currentReferencePrecission;
+    }
+
+    /**
+     * This methods gets an immutable ImmutableJGlobalDateTime with the current
+     * status of this JGlobalDateTime (original and normalized datetimes,
+     * reference Zone ID and precission), that can be shared among threads
+     * without further copies. Later changes in this JGlobalDateTime do not
+     * affect it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return an immutable copy of this JGlobalDateTime.
+     * @since 2.4
+     */
+    public ImmutableJGlobalDateTime toImmutable() {
+        return new ImmutableJGlobalDateTime(this.getAnExactCopy());
+    }
+
+    /**
+     * This methods gets an exact copy of this JGlobalDateTime. Unlike
+     * getACopyWithCurrentStatus(), the copy keeps the original datetime, the
+     * reference Zone ID and the precission of this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return an exact copy of this JGlobalDateTime.
+     * @since 2.4
+     */
+    JGlobalDateTime getAnExactCopy() {
+        return new JGlobalDateTime(this.originalEpochSecond, this.originalNano, this.originalZoneID, this.normalizedEpochSecond, this.normalizedNano, this.currentReferenceZoneID, this.currentReferencePrecission);
+    }
+
     /**
      * This methods gets a String representation of this ZonedDateTime to be
-     * used as input for MySQL DATETIME fields.
+     * used as input for MySQL DATETIME fields. All fields are zero-padded and
+     * the fractional part always has nine digits.
      *
-     * For instance "2015-02-16 18:01:12.022034"
+     * For instance "2015-02-16 18:01:12.022034000"
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @return a String representation of this ZonedDateTime to be used as input
@@ -292,14 +742,69 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public String toNormalizedMySQLDateTime() {
-        String year = this.normalizedDateTime.getYear() + "";
-        String month = this.normalizedDateTime.getMonthValue() + "";
-        String day = this.normalizedDateTime.getDayOfMonth() + "";
-        String hour = this.normalizedDateTime.getHour() + "";
-        String minute = this.normalizedDateTime.getMinute() + "";
-        String second = this.normalizedDateTime.getSecond() + "";
-        String nanosecond = this.normalizedDateTime.getNano() + "";
-        return year + "-" + month + "-" + day + " " + hour + ":" + minute + ":" + second + "." + nanosecond;
+        char[] buffer = JGlobalDateTimeFormatter.getScratchBuffer();
+        int length = this.writeNormalizedMySQLDateTime(buffer, 0);
+        return new String(buffer, 0, length);
+    }
+
+    /**
+     * This methods appends the representation of this ZonedDateTime to be used
+     * as input for MySQL DATETIME fields to the specified StringBuilder,
+     * without creating intermediate objects. The format is the one of
+     * toNormalizedMySQLDateTime().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The StringBuilder the MySQL DATETIME will be appended to.
+     * @since 2.4
+     */
+    public void writeNormalizedMySQLDateTime(StringBuilder output) {
+        char[] buffer = JGlobalDateTimeFormatter.getScratchBuffer();
+        int length = this.writeNormalizedMySQLDateTime(buffer, 0);
+        output.append(buffer, 0, length);
+    }
+
+    /**
+     * This methods writes the representation of this ZonedDateTime to be used
+     * as input for MySQL DATETIME fields into the specified char array,
+     * without creating intermediate objects. The format is the one of
+     * toNormalizedMySQLDateTime(). 29 characters are written for years from 0
+     * to 9999 and, in any case, never more than 35.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The char array the MySQL DATETIME will be written to.
+     * @param offset The position of the array where the first character will
+     * be written.
+     * @return the number of characters written.
+     * @throws IndexOutOfBoundsException if the array has not enough room for
+     * the MySQL DATETIME. In that case, nothing is written.
+     * @since 2.4
+     */
+    public int writeNormalizedMySQLDateTime(char[] output, int offset) {
+        return JGlobalDateTimeFormatter.formatMySQLDateTime(this.normalizedEpochSecond + this.getReferenceOffsetSeconds(), this.normalizedNano, output, offset);
+    }
+
+    /**
+     * This methods writes the representation of this ZonedDateTime to be used
+     * as input for MySQL DATETIME fields into the specified ByteBuffer, as
+     * ASCII bytes, without creating intermediate objects. The format is the
+     * one of toNormalizedMySQLDateTime().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param output The ByteBuffer the MySQL DATETIME will be written to,
+     * starting at its current position.
+     * @throws BufferOverflowException if the buffer has not enough remaining
+     * room for the MySQL DATETIME. In that case, nothing is written.
+     * @since 2.4
+     */
+    public void writeNormalizedMySQLDateTime(ByteBuffer output) {
+        char[] buffer = JGlobalDateTimeFormatter.getScratchBuffer();
+        int length = this.writeNormalizedMySQLDateTime(buffer, 0);
+        if (output.remaining() < length) {
+            throw new BufferOverflowException();
+        }
+        for (int i = 0; i < length; i++) {
+            output.put((byte) buffer[i]);
+        }
     }
 
     /**
@@ -313,7 +818,9 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public void increase(long amount, ChronoUnit unit) {
-        this.normalizedDateTime = this.normalizedDateTime.plus(amount, unit).truncatedTo(this.currentReferencePrecission);
+        if (!this.moveNormalized(amount, unit)) {
+            this.setNormalized(this.getNormalizedDateTime().plus(amount, unit));
+        }
     }
 
     /**
@@ -327,25 +834,39 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public void decrease(long amount, ChronoUnit unit) {
-        this.normalizedDateTime = this.normalizedDateTime.minus(amount, unit).truncatedTo(this.currentReferencePrecission);
+        if ((amount == Long.MIN_VALUE) || !this.moveNormalized(-amount, unit)) {
+            this.setNormalized(this.getNormalizedDateTime().minus(amount, unit));
+        }
     }
 
     /**
      * This methods checks if this JGlobalDateTime is over (if current date is
-     * greater).
+     * greater). The current date is taken from the default clock.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @return true, if this JGlobalDateTime is over. Otherwise, false.
      * @since 1.0
      */
     public boolean alreadyHappened() {
-        ZonedDateTime current = ZonedDateTime.now(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        return this.normalizedDateTime.toInstant().toEpochMilli() < current.toInstant().toEpochMilli();
+        return this.alreadyHappened(JGlobalDateTime.defaultClock);
+    }
+
+    /**
+     * This methods checks if this JGlobalDateTime is over (if current date is
+     * greater). The current date is taken from the specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param clock The clock the current date is taken from.
+     * @return true, if this JGlobalDateTime is over. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean alreadyHappened(Clock clock) {
+        return this.compareToEpochMilli(this.getReferenceNow(clock.millis(), 0, ChronoUnit.NANOS)) < 0;
     }
 
     /**
      * This methods checks if this JGlobalDateTime is over since a given amount
-     * of time.
+     * of time. The current date is taken from the default clock.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @param amount The period within which we want to check if the date is
@@ -356,13 +877,29 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean happenedSinceMoreThan(long amount, ChronoUnit unit) {
-        ZonedDateTime nowMinusAmountUnit = ZonedDateTime.now(this.currentReferenceZoneID).minus(amount, unit).truncatedTo(this.currentReferencePrecission);
-        return this.normalizedDateTime.toInstant().toEpochMilli() < nowMinusAmountUnit.toInstant().toEpochMilli();
+        return this.happenedSinceMoreThan(amount, unit, JGlobalDateTime.defaultClock);
+    }
+
+    /**
+     * This methods checks if this JGlobalDateTime is over since a given amount
+     * of time. The current date is taken from the specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the date is
+     * over.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this JGlobalDateTime is over since the specified amount
+     * of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean happenedSinceMoreThan(long amount, ChronoUnit unit, Clock clock) {
+        return this.compareToEpochMilli(this.getReferenceNow(clock.millis(), Math.negateExact(amount), unit)) < 0;
     }
 
     /**
      * This methods checks if this JGlobalDateTime happened since less than a
-     * given amount of time.
+     * given amount of time. The current date is taken from the default clock.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @param amount The period within which we want to check if the date is
@@ -373,17 +910,34 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean happenedSinceLessThan(long amount, ChronoUnit unit) {
-        ZonedDateTime nowMinusAmountUnit = ZonedDateTime.now(this.currentReferenceZoneID).minus(amount, unit).truncatedTo(this.currentReferencePrecission);
-        ZonedDateTime now = ZonedDateTime.now(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        if (this.normalizedDateTime.toInstant().toEpochMilli() < now.toInstant().toEpochMilli()) {
-            return this.normalizedDateTime.toInstant().toEpochMilli() < nowMinusAmountUnit.toInstant().toEpochMilli();
+        return this.happenedSinceLessThan(amount, unit, JGlobalDateTime.defaultClock);
+    }
+
+    /**
+     * This methods checks if this JGlobalDateTime happened since less than a
+     * given amount of time. The current date is taken from the specified
+     * clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the date is
+     * over.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this JGlobalDateTime happened since less than the
+     * specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean happenedSinceLessThan(long amount, ChronoUnit unit, Clock clock) {
+        long nowMillis = clock.millis();
+        if (this.compareToEpochMilli(this.getReferenceNow(nowMillis, 0, ChronoUnit.NANOS)) < 0) {
+            return this.compareToEpochMilli(this.getReferenceNow(nowMillis, Math.negateExact(amount), unit)) < 0;
         }
         return false;
     }
 
     /**
      * This methods checks if this JGlobalDateTime is coming in less than a a
-     * given amount of time.
+     * given amount of time. The current date is taken from the default clock.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @param amount The period within which we want to check if the is coming.
@@ -393,17 +947,34 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isGoingToHappenInLessThan(long amount, ChronoUnit unit) {
-        ZonedDateTime nowPlusAmountUnit = ZonedDateTime.now(this.currentReferenceZoneID).plus(amount, unit).truncatedTo(this.currentReferencePrecission);
-        ZonedDateTime now = ZonedDateTime.now(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        if (this.normalizedDateTime.toInstant().toEpochMilli() > now.toInstant().toEpochMilli()) {
-            return this.normalizedDateTime.toInstant().toEpochMilli() < nowPlusAmountUnit.toInstant().toEpochMilli();
+        return this.isGoingToHappenInLessThan(amount, unit, JGlobalDateTime.defaultClock);
+    }
+
+    /**
+     * This methods checks if this JGlobalDateTime is coming in less than a a
+     * given amount of time. The current date is taken from the specified
+     * clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the is coming.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this JGlobalDateTime is going to happen in less than a
+     * specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isGoingToHappenInLessThan(long amount, ChronoUnit unit, Clock clock) {
+        long nowMillis = clock.millis();
+        if (this.compareToEpochMilli(this.getReferenceNow(nowMillis, 0, ChronoUnit.NANOS)) > 0) {
+            return this.compareToEpochMilli(this.getReferenceNow(nowMillis, amount, unit)) < 0;
         }
         return false;
     }
 
     /**
      * This methods checks if this JGlobalDateTime is going to happen in more
-     * than a given amount of time.
+     * than a given amount of time. The current date is taken from the default
+     * clock.
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @param amount The period within which we want to check if the is coming.
@@ -413,8 +984,89 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isGoingToHappenInMoreThan(long amount, ChronoUnit unit) {
-        ZonedDateTime nowPlusAmountUnit = ZonedDateTime.now(this.currentReferenceZoneID).plus(amount, unit).truncatedTo(this.currentReferencePrecission);
-        return this.normalizedDateTime.toInstant().toEpochMilli() > nowPlusAmountUnit.toInstant().toEpochMilli();
+        return this.isGoingToHappenInMoreThan(amount, unit, JGlobalDateTime.defaultClock);
+    }
+
+    /**
+     * This methods checks if this JGlobalDateTime is going to happen in more
+     * than a given amount of time. The current date is taken from the
+     * specified clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The period within which we want to check if the is coming.
+     * @param unit The period unit (days, months, hours...)
+     * @param clock The clock the current date is taken from.
+     * @return true, if this JGlobalDateTime is going to happen in more than a
+     * specified amount of time. Otherwise, false.
+     * @since 2.4
+     */
+    public boolean isGoingToHappenInMoreThan(long amount, ChronoUnit unit, Clock clock) {
+        return this.compareToEpochMilli(this.getReferenceNow(clock.millis(), amount, unit)) > 0;
+    }
+
+    /**
+     * This methods sets the clock used by alreadyHappened(),
+     * happenedSinceMoreThan(), happenedSinceLessThan(),
+     * isGoingToHappenInLessThan() and isGoingToHappenInMoreThan() when no
+     * clock is specified. By default, the system clock is used. A
+     * JGlobalDateTimeCachedClock avoids reading the system clock on every
+     * check and Clock.fixed() allows using the same current date for a whole
+     * batch of checks.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param clock The new default clock.
+     * @throws IllegalArgumentException if the clock is null.
+     * @since 2.4
+     */
+    public static void setDefaultClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("The default clock cannot be null");
+        }
+        JGlobalDateTime.defaultClock = clock;
+    }
+
+    /**
+     * This methods gets the clock used by alreadyHappened(),
+     * happenedSinceMoreThan(), happenedSinceLessThan(),
+     * isGoingToHappenInLessThan() and isGoingToHappenInMoreThan() when no
+     * clock is specified.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the default clock.
+     * @since 2.4
+     */
+    public static Clock getDefaultClock() {
+        return JGlobalDateTime.defaultClock;
+    }
+
+    /**
+     * This methods changes the precission new JGlobalDateTime are created
+     * with, and the one resetToDefaultPrecission() restores. Existing
+     * instances are not modified. By default, it is nanoseconds, so that no
+     * information is lost.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param precission The new default precission (seconds, minutes,
+     * millisecond...)
+     * @throws IllegalArgumentException if the precission is null.
+     * @throws UnsupportedTemporalTypeException if the precission is larger
+     * than a day.
+     * @since 2.4
+     */
+    public static void setDefaultPrecission(ChronoUnit precission) {
+        JGlobalDateTime.checkPrecission(precission);
+        JGlobalDateTime.defaultPrecission = precission;
+    }
+
+    /**
+     * This methods gets the precission new JGlobalDateTime are created with.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the default precission.
+     * @since 2.4
+     */
+    public static ChronoUnit getDefaultPrecission() {
+        return JGlobalDateTime.defaultPrecission;
     }
 
     /**
@@ -429,7 +1081,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isEqualTo(long anotherDateTimeMillis) {
-        return this.normalizedDateTime.toInstant().toEpochMilli() == anotherDateTimeMillis;
+        return this.compareToEpochMilli(anotherDateTimeMillis) == 0;
     }
 
     /**
@@ -443,7 +1095,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isEqualTo(Timestamp anotherDateTime) {
-        return this.normalizedDateTime.toInstant().toEpochMilli() == anotherDateTime.toInstant().toEpochMilli();
+        return this.compareTo(anotherDateTime) == 0;
     }
 
     /**
@@ -457,8 +1109,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isEqualTo(ZonedDateTime anotherZonedDateTime) {
-        ZonedDateTime zdtAux = anotherZonedDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        return this.isEqualTo(zdtAux.toInstant().toEpochMilli());
+        return this.compareToReference(anotherZonedDateTime) == 0;
     }
 
     /**
@@ -472,7 +1123,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isEqualTo(JGlobalDateTime anotherZonedDateTime) {
-        return this.isEqualTo(anotherZonedDateTime.toEpochMilli());
+        return this.compareTo(anotherZonedDateTime) == 0;
     }
 
     /**
@@ -494,12 +1145,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isEqualTo(String anotherZonedDateTime) throws JGlobalDateTimeException {
-        try {
-            ZonedDateTime zdtAux = ZonedDateTime.parse(anotherZonedDateTime).withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-            return this.isEqualTo(zdtAux.toInstant().toEpochMilli());
-        } catch (DateTimeParseException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONEDDATETIME_STRING, JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING);
-        }
+        return this.compareToReference(anotherZonedDateTime) == 0;
     }
 
     /**
@@ -514,7 +1160,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isBefore(long anotherDateTimeMillis) {
-        return this.normalizedDateTime.toInstant().toEpochMilli() < anotherDateTimeMillis;
+        return this.compareToEpochMilli(anotherDateTimeMillis) < 0;
     }
 
     /**
@@ -528,7 +1174,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isBefore(Timestamp anotherDateTime) {
-        return this.normalizedDateTime.toInstant().toEpochMilli() < anotherDateTime.toInstant().toEpochMilli();
+        return this.compareTo(anotherDateTime) < 0;
     }
 
     /**
@@ -542,8 +1188,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isBefore(ZonedDateTime anotherZonedDateTime) {
-        ZonedDateTime zdtAux = anotherZonedDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        return this.isBefore(zdtAux.toInstant().toEpochMilli());
+        return this.compareToReference(anotherZonedDateTime) < 0;
     }
 
     /**
@@ -557,7 +1202,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isBefore(JGlobalDateTime anotherZonedDateTime) {
-        return this.isBefore(anotherZonedDateTime.toEpochMilli());
+        return this.compareTo(anotherZonedDateTime) < 0;
     }
 
     /**
@@ -579,12 +1224,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isBefore(String anotherZonedDateTime) throws JGlobalDateTimeException {
-        try {
-            ZonedDateTime zdtAux = ZonedDateTime.parse(anotherZonedDateTime).withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-            return this.isBefore(zdtAux.toInstant().toEpochMilli());
-        } catch (DateTimeParseException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONEDDATETIME_STRING, JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING);
-        }
+        return this.compareToReference(anotherZonedDateTime) < 0;
     }
 
     /**
@@ -599,7 +1239,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isAfter(long anotherDateTimeMillis) {
-        return this.normalizedDateTime.toInstant().toEpochMilli() > anotherDateTimeMillis;
+        return this.compareToEpochMilli(anotherDateTimeMillis) > 0;
     }
 
     /**
@@ -613,7 +1253,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isAfter(Timestamp anotherDateTime) {
-        return this.normalizedDateTime.toInstant().toEpochMilli() > anotherDateTime.toInstant().toEpochMilli();
+        return this.compareTo(anotherDateTime) > 0;
     }
 
     /**
@@ -627,8 +1267,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isAfter(ZonedDateTime anotherZonedDateTime) {
-        ZonedDateTime zdtAux = anotherZonedDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-        return this.isAfter(zdtAux.toInstant().toEpochMilli());
+        return this.compareToReference(anotherZonedDateTime) > 0;
     }
 
     /**
@@ -642,7 +1281,7 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isAfter(JGlobalDateTime anotherZonedDateTime) {
-        return this.isAfter(anotherZonedDateTime.toEpochMilli());
+        return this.compareTo(anotherZonedDateTime) > 0;
     }
 
     /**
@@ -664,12 +1303,26 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public boolean isAfter(String anotherZonedDateTime) throws JGlobalDateTimeException {
-        try {
-            ZonedDateTime zdtAux = ZonedDateTime.parse(anotherZonedDateTime).withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-            return this.isAfter(zdtAux.toInstant().toEpochMilli());
-        } catch (DateTimeParseException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONEDDATETIME_STRING, JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING);
-        }
+        return this.compareToReference(anotherZonedDateTime) > 0;
+    }
+
+    /**
+     * This methods compares this JGlobalDateTime with another one, by the
+     * instant they represent, with nanosecond resolution. Each of them is
+     * compared as truncated to its own precission. This ordering is not
+     * consistent with equals(): JGlobalDateTime representing the same instant
+     * in different Zone IDs are equal for this method.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param anotherZonedDateTime a datetime represented as a JGlobalDateTime.
+     * @return a negative value if this JGlobalDateTime is before the specified
+     * one, zero if they represent the same instant and a positive value
+     * otherwise.
+     * @since 2.4
+     */
+    @Override
+    public int compareTo(JGlobalDateTime anotherZonedDateTime) {
+        return this.compareTo(anotherZonedDateTime.normalizedEpochSecond, anotherZonedDateTime.normalizedNano);
     }
 
     /**
@@ -686,12 +1339,9 @@ public class JGlobalDateTime {
      */
     public void changeZoneID(String zoneId) throws JGlobalDateTimeException {
         try {
-            this.currentReferenceZoneID = ZoneId.of(zoneId);
-            if (this.originalDateTime != null) {
-                this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
-            }
+            this.changeZoneID(JGlobalDateTimeZoneCache.getZoneID(zoneId));
         } catch (ZoneRulesException ex) {
-            throw new JGlobalDateTimeException(JGlobalDateTimeException.RM_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONE);
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
         }
     }
 
@@ -705,9 +1355,12 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public void changeZoneID(ZoneId zoneId) {
+        boolean measured = JGlobalDateTimeMetrics.isEnabled();
+        long start = measured ? System.nanoTime() : 0L;
         this.currentReferenceZoneID = zoneId;
-        if (this.originalDateTime != null) {
-            this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+        this.resetToOriginal();
+        if (measured) {
+            JGlobalDateTimeMetrics.recordZoneChange(System.nanoTime() - start);
         }
     }
 
@@ -721,11 +1374,15 @@ public class JGlobalDateTime {
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @param precission The desired precission (seconds, minutes,
      * millisecond...)
+     * @throws IllegalArgumentException if the precission is null.
+     * @throws UnsupportedTemporalTypeException if the precission is larger
+     * than a day.
      * @since 1.0
      */
     public void changeDefaultPrecission(ChronoUnit precission) {
-        this.currentReferencePrecission = JGlobalDateTime.DEFAULT_PRECISSION;
-        this.normalizedDateTime = this.originalDateTime.withZoneSameInstant(this.currentReferenceZoneID).truncatedTo(this.currentReferencePrecission);
+        JGlobalDateTime.checkPrecission(precission);
+        this.currentReferencePrecission = precission;
+        this.resetToOriginal();
     }
 
     /**
@@ -738,32 +1395,565 @@ public class JGlobalDateTime {
      * @since 1.0
      */
     public void resetToDefaultReferenceZoneID() {
-        try {
-            this.changeZoneID(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
-        } catch (JGlobalDateTimeException ex) {
-            logger.warn("Cannot reset to default ZoneID. So extrange!!");
-        }
+        this.changeZoneID(JGlobalDateTime.DEFAULT_REFERENCE_ZONE);
     }
 
     /**
      * This methods changes the default precission for this JGlobalDateTime. Its
      * value will be truncated to the new default precission. The new default
-     * precission will be set to JGlobalDateTime.DEFAULT_PRECISSION.
+     * precission will be set to the global default precission (see
+     * setDefaultPrecission()).
      *
      * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
      * @since 1.0
      */
     public void resetToDefaultPrecission() {
-        this.changeDefaultPrecission(JGlobalDateTime.DEFAULT_PRECISSION);
+        this.changeDefaultPrecission(JGlobalDateTime.defaultPrecission);
     }
 
-    private ZonedDateTime originalDateTime;
-    private ZonedDateTime normalizedDateTime;
+    /**
+     * This methods sets the original date and time of this JGlobalDateTime,
+     * truncated to the current precission. The original date and time is
+     * stored as an instant (seconds and nanoseconds from Epoch) plus the
+     * original Zone ID; it is not kept as a ZonedDateTime. The Zone ID is
+     * taken from the zone cache so that equal zones share the same instance.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param originalZonedDateTime The original date and time.
+     * @since 2.4
+     */
+    private void setOriginal(ZonedDateTime originalZonedDateTime) {
+        this.setOriginal(originalZonedDateTime.toEpochSecond(), originalZonedDateTime.getNano(), JGlobalDateTimeZoneCache.getZoneID(originalZonedDateTime.getZone()));
+    }
+
+    /**
+     * This methods sets the original date and time of this JGlobalDateTime,
+     * truncated to the current precission, from its primitive components.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The original instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the original instant.
+     * @param zoneId The original Zone ID.
+     * @since 2.4
+     */
+    private void setOriginal(long epochSecond, int nano, ZoneId zoneId) {
+        ChronoUnit precission = this.currentReferencePrecission;
+        if (precission == ChronoUnit.NANOS) {
+            this.originalEpochSecond = epochSecond;
+            this.originalNano = nano;
+        } else {
+            this.originalEpochSecond = JGlobalDateTime.truncateEpochSecond(epochSecond, nano, zoneId, precission);
+            this.originalNano = JGlobalDateTime.truncateNano(nano, precission);
+        }
+        this.originalZoneID = zoneId;
+    }
+
+    /**
+     * This methods sets the normalized date and time of this JGlobalDateTime,
+     * truncated to the current precission in the current reference Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param normalizedZonedDateTime The new normalized date and time.
+     * @since 2.4
+     */
+    private void setNormalized(ZonedDateTime normalizedZonedDateTime) {
+        this.setNormalized(normalizedZonedDateTime.toEpochSecond(), normalizedZonedDateTime.getNano());
+    }
+
+    /**
+     * This methods sets the normalized date and time of this JGlobalDateTime,
+     * truncated to the current precission in the current reference Zone ID,
+     * from its primitive components.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The new normalized instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the new normalized instant.
+     * @since 2.4
+     */
+    private void setNormalized(long epochSecond, int nano) {
+        ChronoUnit precission = this.currentReferencePrecission;
+        if (precission == ChronoUnit.NANOS) {
+            this.normalizedEpochSecond = epochSecond;
+            this.normalizedNano = nano;
+        } else {
+            this.normalizedEpochSecond = JGlobalDateTime.truncateEpochSecond(epochSecond, nano, this.currentReferenceZoneID, precission);
+            this.normalizedNano = JGlobalDateTime.truncateNano(nano, precission);
+        }
+    }
+
+    /**
+     * This methods moves the normalized date and time of this JGlobalDateTime
+     * a given amount of time, using primitive arithmetic, and truncates it to
+     * the current precission. Only time based units, except half days, are
+     * supported, and only far enough from the limits of ZonedDateTime; in any
+     * other case nothing is done and ZonedDateTime has to be used instead.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The amount of time (negative to move it backwards).
+     * @param unit The unit of the amount of time.
+     * @return true, if the normalized date and time has been moved.
+     * Otherwise, false.
+     * @since 2.4
+     */
+    private boolean moveNormalized(long amount, ChronoUnit unit) {
+        if (!unit.isTimeBased() || (unit == ChronoUnit.HALF_DAYS)) {
+            // Half days are left to ZonedDateTime, because some JDK versions
+            // do not add them as an exact number of hours.
+            return false;
+        }
+        long unitNanos = unit.getDuration().toNanos();
+        long epochSecond;
+        long nano;
+        try {
+            if ((unitNanos % NANOS_PER_SECOND) == 0) {
+                epochSecond = Math.addExact(this.normalizedEpochSecond, Math.multiplyExact(amount, unitNanos / NANOS_PER_SECOND));
+                nano = this.normalizedNano;
+            } else {
+                long amountNanos = Math.multiplyExact(amount, unitNanos);
+                epochSecond = Math.addExact(this.normalizedEpochSecond, Math.floorDiv(amountNanos, NANOS_PER_SECOND));
+                nano = this.normalizedNano + Math.floorMod(amountNanos, NANOS_PER_SECOND);
+                if (nano >= NANOS_PER_SECOND) {
+                    epochSecond = Math.addExact(epochSecond, 1L);
+                    nano -= NANOS_PER_SECOND;
+                }
+            }
+        } catch (ArithmeticException ex) {
+            return false;
+        }
+        if (Math.abs(epochSecond) > JGlobalDateTime.MAX_ARITHMETIC_EPOCH_SECOND) {
+            return false;
+        }
+        this.setNormalized(epochSecond, (int) nano);
+        return true;
+    }
+
+    /**
+     * This methods gets the offset of the current reference Zone ID at the
+     * normalized instant of this JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the offset, in seconds.
+     * @since 2.4
+     */
+    int getReferenceOffsetSeconds() {
+        return JGlobalDateTimeZoneTransitions.of(this.currentReferenceZoneID).getOffsetSeconds(this.normalizedEpochSecond);
+    }
+
+    /**
+     * This methods gets the current date, moved a given amount of time and
+     * truncated to the current precission in the current reference Zone ID,
+     * as the number of milliseconds since Epoch. It is computed with
+     * primitive arithmetic; ZonedDateTime is only used for date based units
+     * (days, months...), that depend on the zone rules, and half days.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param nowMillis The current date, as milliseconds since Epoch.
+     * @param amount The amount of time the current date is moved (negative to
+     * move it backwards).
+     * @param unit The unit of the amount of time.
+     * @return the moved and truncated current date, as milliseconds since
+     * Epoch.
+     * @since 2.4
+     */
+    private long getReferenceNow(long nowMillis, long amount, ChronoUnit unit) {
+        long movedMillis;
+        if (amount == 0) {
+            movedMillis = nowMillis;
+        } else if (unit.isTimeBased() && (unit != ChronoUnit.HALF_DAYS)) {
+            // Half days are left to ZonedDateTime, because some JDK versions
+            // do not add them as an exact number of hours.
+            long unitNanos = unit.getDuration().toNanos();
+            if ((unitNanos % NANOS_PER_MILLI) == 0) {
+                movedMillis = Math.addExact(nowMillis, Math.multiplyExact(amount, unitNanos / NANOS_PER_MILLI));
+            } else {
+                movedMillis = Math.addExact(nowMillis, Math.floorDiv(Math.multiplyExact(amount, unitNanos), NANOS_PER_MILLI));
+            }
+        } else {
+            movedMillis = ZonedDateTime.ofInstant(Instant.ofEpochMilli(nowMillis), this.currentReferenceZoneID).plus(amount, unit).toInstant().toEpochMilli();
+        }
+        return JGlobalDateTimeBatch.truncate(movedMillis, this.currentReferenceZoneID, this.currentReferencePrecission);
+    }
+
+    /**
+     * This methods truncates an instant to the specified precission, as seen
+     * from the specified Zone ID, and gets the seconds from Epoch of the
+     * result. That is, the value toEpochSecond() would return for the
+     * corresponding ZonedDateTime once truncated. It is computed with
+     * primitive arithmetic on the local time line of the zone; ZonedDateTime
+     * is only used when the truncated local date and time is at the other
+     * side of an offset transition or far from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @param zoneId The Zone ID the truncation is done in.
+     * @param precission The precission.
+     * @return the truncated instant, as seconds from Epoch.
+     * @since 2.4
+     */
+    private static long truncateEpochSecond(long epochSecond, int nano, ZoneId zoneId, ChronoUnit precission) {
+        long unitSeconds = precission.getDuration().getSeconds();
+        if (unitSeconds <= 1) {
+            return epochSecond;
+        }
+        if (Math.abs(epochSecond) <= JGlobalDateTime.MAX_ARITHMETIC_EPOCH_SECOND) {
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+            int offsetSeconds = zoneTransitions.getOffsetSeconds(epochSecond);
+            long localEpochSecond = epochSecond + offsetSeconds;
+            long truncated = (localEpochSecond - Math.floorMod(localEpochSecond, unitSeconds)) - offsetSeconds;
+            if (zoneTransitions.getOffsetSeconds(truncated) == offsetSeconds) {
+                return truncated;
+            }
+        }
+        return JGlobalDateTime.toZonedDateTime(epochSecond, nano, zoneId).truncatedTo(precission).toEpochSecond();
+    }
+
+    /**
+     * This methods truncates the nanosecond of second of an instant to the
+     * specified precission. It does not depend on the Zone ID, because zone
+     * offsets are whole seconds.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param nano The nanosecond of second of the instant.
+     * @param precission The precission.
+     * @return the truncated nanosecond of second.
+     * @since 2.4
+     */
+    private static int truncateNano(int nano, ChronoUnit precission) {
+        long unitNanos = precission.getDuration().toNanos();
+        if (unitNanos >= NANOS_PER_SECOND) {
+            return 0;
+        }
+        return nano - (int) (nano % unitNanos);
+    }
+
+    /**
+     * This methods checks that a unit can be used as the precission of a
+     * JGlobalDateTime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param precission The unit to be checked.
+     * @throws IllegalArgumentException if the unit is null.
+     * @throws UnsupportedTemporalTypeException if the unit is larger than a
+     * day.
+     * @since 2.4
+     */
+    static void checkPrecission(ChronoUnit precission) {
+        if (precission == null) {
+            throw new IllegalArgumentException("The precission cannot be null");
+        }
+        if (precission.getDuration().getSeconds() > JGlobalDateTimeCalendar.SECONDS_PER_DAY) {
+            throw new UnsupportedTemporalTypeException("Unit is too large to be used for truncation");
+        }
+    }
+
+    /**
+     * This methods compares the normalized instant of this JGlobalDateTime
+     * with another instant, with nanosecond resolution.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The other instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the other instant.
+     * @return a negative value if this JGlobalDateTime is before the other
+     * instant, zero if they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    private int compareTo(long epochSecond, int nano) {
+        int result = Long.compare(this.normalizedEpochSecond, epochSecond);
+        if (result != 0) {
+            return result;
+        }
+        return Integer.compare(this.normalizedNano, nano);
+    }
+
+    /**
+     * This methods compares the normalized instant of this JGlobalDateTime
+     * with another instant represented in milliseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMilli The other instant, as milliseconds from Epoch.
+     * @return a negative value if this JGlobalDateTime is before the other
+     * instant, zero if they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    private int compareToEpochMilli(long epochMilli) {
+        return this.compareTo(Math.floorDiv(epochMilli, MILLIS_PER_SECOND), (int) Math.floorMod(epochMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI);
+    }
+
+    /**
+     * This methods compares the normalized instant of this JGlobalDateTime
+     * with another instant represented as a Timestamp, including its
+     * nanoseconds.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param timestamp The other instant, as a Timestamp.
+     * @return a negative value if this JGlobalDateTime is before the other
+     * instant, zero if they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    private int compareTo(Timestamp timestamp) {
+        return this.compareTo(Math.floorDiv(timestamp.getTime(), MILLIS_PER_SECOND), timestamp.getNanos());
+    }
+
+    /**
+     * This methods compares the normalized instant of this JGlobalDateTime
+     * with the instant represented by a ZonedDateTime, once referenced to the
+     * current reference Zone ID and truncated to the current precission. No
+     * intermediate object is created when the precission is nanoseconds.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zonedDateTime The ZonedDateTime to be compared.
+     * @return a negative value if this JGlobalDateTime is before the
+     * ZonedDateTime, zero if they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    private int compareToReference(ZonedDateTime zonedDateTime) {
+        return this.compareToReference(zonedDateTime.toEpochSecond(), zonedDateTime.getNano());
+    }
+
+    /**
+     * This methods compares the normalized instant of this JGlobalDateTime
+     * with another instant, once truncated to the current precission in the
+     * current reference Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The other instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the other instant.
+     * @return a negative value if this JGlobalDateTime is before the other
+     * instant, zero if they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    private int compareToReference(long epochSecond, int nano) {
+        ChronoUnit precission = this.currentReferencePrecission;
+        if (precission == ChronoUnit.NANOS) {
+            return this.compareTo(epochSecond, nano);
+        }
+        return this.compareTo(JGlobalDateTime.truncateEpochSecond(epochSecond, nano, this.currentReferenceZoneID, precission), JGlobalDateTime.truncateNano(nano, precission));
+    }
+
+    /**
+     * This methods compares the normalized instant of this JGlobalDateTime
+     * with the instant represented by a ZonedDateTime string, once referenced
+     * to the current reference Zone ID and truncated to the current
+     * precission.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zonedDateTime The ZonedDateTime string to be compared.
+     * @return a negative value if this JGlobalDateTime is before the
+     * ZonedDateTime string, zero if they are equal and a positive value
+     * otherwise.
+     * @throws JGlobalDateTimeException if the specified string is not a valid
+     * ZonedDateTime string.
+     * @since 2.4
+     */
+    private int compareToReference(String zonedDateTime) throws JGlobalDateTimeException {
+        JGlobalDateTimeParser parser = JGlobalDateTime.PARSERS.get();
+        int reasonCode = parser.parse(zonedDateTime);
+        if (reasonCode != JGlobalDateTimeException.RC_OK) {
+            throw JGlobalDateTimeException.newInstance(reasonCode);
+        }
+        return this.compareToReference(parser.getEpochSecond(), parser.getNano());
+    }
+
+    /**
+     * This methods converts an instant, as seconds and nanoseconds from Epoch,
+     * to a ZonedDateTime referenced to the specified Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @param zoneId The Zone ID the ZonedDateTime will be referenced to.
+     * @return the ZonedDateTime representing the instant in the specified Zone
+     * ID.
+     * @since 2.4
+     */
+    private static ZonedDateTime toZonedDateTime(long epochSecond, int nano, ZoneId zoneId) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond, nano), zoneId);
+    }
+
+    /**
+     * This methods converts an instant, as seconds and nanoseconds from Epoch,
+     * to the number of milliseconds since Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @return the instant as the number of milliseconds since Epoch.
+     * @since 2.4
+     */
+    private static long toEpochMilli(long epochSecond, int nano) {
+        return Math.addExact(Math.multiplyExact(epochSecond, MILLIS_PER_SECOND), nano / NANOS_PER_MILLI);
+    }
+
+    /**
+     * This methods gets the normalized date and time string if it has already
+     * been computed by toNormalizedDateTimeString() for the current status of
+     * this JGlobalDateTime. It does not compute anything.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the normalized date and time string, or null if it has not been
+     * computed yet.
+     * @since 2.4
+     */
+    private String getMemoizedNormalizedDateTimeString() {
+        DerivedView view = this.normalizedView;
+        if ((view != null) && view.isViewOf(this.normalizedEpochSecond, this.normalizedNano, this.currentReferenceZoneID)) {
+            return view.string;
+        }
+        return null;
+    }
+
+    /**
+     * This methods gets the derived view of the current normalized date and
+     * time. It is only computed when neither the current view nor the views
+     * of the last reference Zone IDs match the normalized instant and the
+     * reference Zone ID, so mutators do not have to invalidate anything. The
+     * views of other Zone IDs are forgotten when the instant changes.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the derived view of the normalized date and time.
+     * @since 2.4
+     */
+    private DerivedView getNormalizedView() {
+        long epochSecond = this.normalizedEpochSecond;
+        int nano = this.normalizedNano;
+        ZoneId zoneId = this.currentReferenceZoneID;
+        DerivedView currentView = this.normalizedView;
+        if ((currentView != null) && currentView.isViewOf(epochSecond, nano, zoneId)) {
+            return currentView;
+        }
+        DerivedView[] views = this.recentViews;
+        DerivedView view = null;
+        if ((currentView != null) && !currentView.isViewOf(epochSecond, nano)) {
+            // A real change of the instant; views of other Zone IDs are stale.
+            if (views != null) {
+                Arrays.fill(views, null);
+            }
+            currentView = null;
+        } else if (views != null) {
+            for (int i = 0; i < views.length; i++) {
+                DerivedView recentView = views[i];
+                if ((recentView != null) && recentView.isViewOf(epochSecond, nano, zoneId)) {
+                    view = recentView;
+                    System.arraycopy(views, i + 1, views, i, views.length - i - 1);
+                    views[views.length - 1] = null;
+                    break;
+                }
+            }
+        }
+        if (currentView != null) {
+            // The reference Zone ID changed; the current view becomes the most
+            // recently used one.
+            if (views == null) {
+                views = new DerivedView[JGlobalDateTime.RECENT_VIEWS];
+                this.recentViews = views;
+            }
+            System.arraycopy(views, 0, views, 1, views.length - 1);
+            views[0] = currentView;
+        }
+        if (view == null) {
+            view = new DerivedView(epochSecond, nano, zoneId);
+        }
+        this.normalizedView = view;
+        return view;
+    }
+
+    /**
+     * This class implements a view of an instant in a Zone ID, as a
+     * ZonedDateTime and, once requested, as a String. Its key fields are final,
+     * so a view can be read by other threads (ImmutableJGlobalDateTime shares
+     * its JGlobalDateTime) without further synchronization; at worst, the
+     * string is computed twice.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class DerivedView {
+
+        /**
+         * This is the constructor of the class. It creates the view of an
+         * instant in a Zone ID.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param epochSecond The instant, as seconds from Epoch.
+         * @param nano The nanosecond of second of the instant.
+         * @param zoneId The Zone ID.
+         * @since 2.4
+         */
+        DerivedView(long epochSecond, int nano, ZoneId zoneId) {
+            this.epochSecond = epochSecond;
+            this.nano = nano;
+            this.zoneId = zoneId;
+            this.dateTime = JGlobalDateTime.toZonedDateTime(epochSecond, nano, zoneId);
+        }
+
+        /**
+         * This methods checks whether this is the view of the specified
+         * instant in the specified Zone ID.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param anotherEpochSecond The instant, as seconds from Epoch.
+         * @param anotherNano The nanosecond of second of the instant.
+         * @param anotherZoneId The Zone ID.
+         * @return true, if this is the view of that instant in that Zone ID.
+         * Otherwise, false.
+         * @since 2.4
+         */
+        boolean isViewOf(long anotherEpochSecond, int anotherNano, ZoneId anotherZoneId) {
+            return this.isViewOf(anotherEpochSecond, anotherNano) && ((this.zoneId == anotherZoneId) || this.zoneId.equals(anotherZoneId));
+        }
+
+        /**
+         * This methods checks whether this is a view of the specified instant,
+         * in any Zone ID.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param anotherEpochSecond The instant, as seconds from Epoch.
+         * @param anotherNano The nanosecond of second of the instant.
+         * @return true, if this is a view of that instant. Otherwise, false.
+         * @since 2.4
+         */
+        boolean isViewOf(long anotherEpochSecond, int anotherNano) {
+            return (this.epochSecond == anotherEpochSecond) && (this.nano == anotherNano);
+        }
+
+        private final long epochSecond;
+        private final int nano;
+        private final ZoneId zoneId;
+        private final ZonedDateTime dateTime;
+        private String string;
+    }
+
+    private long originalEpochSecond;
+    private int originalNano;
+    private ZoneId originalZoneID;
+    private long normalizedEpochSecond;
+    private int normalizedNano;
     private ZoneId currentReferenceZoneID;
     private ChronoUnit currentReferencePrecission;
+    private DerivedView normalizedView;
+    private DerivedView originalView;
+    private DerivedView[] recentViews;
+
+    /**
+     * Comparator that sorts JGlobalDateTime by the instant they represent,
+     * with nanosecond resolution, as compareTo() does.
+     */
+    public static final Comparator<JGlobalDateTime> INSTANT_COMPARATOR = JGlobalDateTime::compareTo;
 
     private static final String DEFAULT_REFERENCE_ZONEID = "Europe/Madrid";
-    private static final ChronoUnit DEFAULT_PRECISSION = ChronoUnit.NANOS;
+    static final ZoneId DEFAULT_REFERENCE_ZONE = ZoneId.of(JGlobalDateTime.DEFAULT_REFERENCE_ZONEID);
+    static final ChronoUnit DEFAULT_PRECISSION = ChronoUnit.NANOS;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long MAX_ARITHMETIC_EPOCH_SECOND = 1L << 44;
+    private static final int RECENT_VIEWS = 3;
+
+    private static volatile Clock defaultClock = Clock.systemUTC();
+    private static volatile ChronoUnit defaultPrecission = JGlobalDateTime.DEFAULT_PRECISSION;
+
+    private static final ThreadLocal<JGlobalDateTimeParser> PARSERS = ThreadLocal.withInitial(JGlobalDateTimeParser::new);
 
-    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+    private static final Logger logger = LoggerFactory.getLogger(JGlobalDateTime.class);
 }
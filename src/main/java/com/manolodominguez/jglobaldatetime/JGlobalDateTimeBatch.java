@@ -0,0 +1,335 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * This class implements the JGlobalDateTime operations over whole columns of
+ * instants represented as milliseconds from Epoch (long arrays). Every
+ * element is processed as a JGlobalDateTime created from that number of
+ * milliseconds would be, but without creating any object per element. Results
+ * are written into arrays supplied by the caller, that have to be, at least,
+ * as long as the input arrays.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeBatch {
+
+    /**
+     * This is the constructor of the class. It is private because this class
+     * only has static methods and should not be instantiated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeBatch() {
+    }
+
+    /**
+     * This methods normalizes a column of instants using the default reference
+     * Zone ID and precission. Each output element is the value toEpochMilli()
+     * would return for a JGlobalDateTime created from the corresponding input
+     * element.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The instants, as milliseconds from Epoch.
+     * @param output The array where normalized instants will be written to. It
+     * can be the input array itself.
+     * @since 2.4
+     */
+    public static void normalize(long[] epochMillis, long[] output) {
+        JGlobalDateTimeBatch.truncate(epochMillis, JGlobalDateTime.DEFAULT_REFERENCE_ZONE, JGlobalDateTime.getDefaultPrecission(), output);
+    }
+
+    /**
+     * This methods truncates a column of instants to the specified precission,
+     * as seen from the specified Zone ID. That is, as the getNormalizedDateTime()
+     * method of a JGlobalDateTime referenced to that Zone ID and precission
+     * would do.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The instants, as milliseconds from Epoch.
+     * @param zoneId The Zone ID the truncation is done in.
+     * @param precission The desired precission (seconds, minutes, days...).
+     * @param output The array where truncated instants will be written to. It
+     * can be the input array itself.
+     * @throws UnsupportedTemporalTypeException if the precission is larger
+     * than a day.
+     * @since 2.4
+     */
+    public static void truncate(long[] epochMillis, ZoneId zoneId, ChronoUnit precission, long[] output) {
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, output.length);
+        long unitMillis = JGlobalDateTimeBatch.getTruncationMillis(precission);
+        if (unitMillis <= 1) {
+            if (output != epochMillis) {
+                System.arraycopy(epochMillis, 0, output, 0, epochMillis.length);
+            }
+        } else if (unitMillis <= JGlobalDateTimeBatch.MILLIS_PER_SECOND) {
+            for (int i = 0; i < epochMillis.length; i++) {
+                output[i] = epochMillis[i] - Math.floorMod(epochMillis[i], unitMillis);
+            }
+        } else {
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+            int index = 0;
+            for (int i = 0; i < epochMillis.length; i++) {
+                long instant = epochMillis[i];
+                long epochSecond = Math.floorDiv(instant, JGlobalDateTimeBatch.MILLIS_PER_SECOND);
+                long truncated;
+                if (zoneTransitions.isIndexed(epochSecond)) {
+                    index = zoneTransitions.indexOf(epochSecond, index);
+                    long offsetMillis = zoneTransitions.getOffsetSecondsAt(index) * JGlobalDateTimeBatch.MILLIS_PER_SECOND;
+                    long localMillis = instant + offsetMillis;
+                    truncated = (localMillis - Math.floorMod(localMillis, unitMillis)) - offsetMillis;
+                    if (zoneTransitions.indexOf(Math.floorDiv(truncated, JGlobalDateTimeBatch.MILLIS_PER_SECOND), index) != index) {
+                        // The truncated local datetime is at the other side of
+                        // an offset transition; let ZonedDateTime resolve it.
+                        truncated = JGlobalDateTimeBatch.truncateWithZonedDateTime(instant, zoneId, precission);
+                    }
+                } else {
+                    truncated = JGlobalDateTimeBatch.truncateWithZonedDateTime(instant, zoneId, precission);
+                }
+                output[i] = truncated;
+            }
+        }
+    }
+
+    /**
+     * This methods converts a column of instants to the local date and time
+     * they represent in the specified Zone ID, expressed as milliseconds from
+     * 1970-01-01T00:00:00 in the local time line of that zone. This is the
+     * batch counterpart of changing the reference Zone ID of a set of
+     * JGlobalDateTime and reading their local date and time.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The instants, as milliseconds from Epoch.
+     * @param zoneId The Zone ID the instants will be referenced to.
+     * @param output The array where local date and times will be written to.
+     * It can be the input array itself.
+     * @since 2.4
+     */
+    public static void toLocalEpochMillis(long[] epochMillis, ZoneId zoneId, long[] output) {
+        JGlobalDateTimeZoneTransitions.of(zoneId).toLocalEpochMillis(epochMillis, output);
+    }
+
+    /**
+     * This methods compares two columns of instants, element by element.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The first column of instants, as milliseconds from
+     * Epoch.
+     * @param anotherEpochMillis The second column of instants, as milliseconds
+     * from Epoch. It has to be, at least, as long as the first one.
+     * @param output The array where comparison results will be written to: a
+     * negative value if the element of the first column is before the one of
+     * the second column, zero if they are equal and a positive value
+     * otherwise.
+     * @since 2.4
+     */
+    public static void compare(long[] epochMillis, long[] anotherEpochMillis, int[] output) {
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, anotherEpochMillis.length);
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, output.length);
+        for (int i = 0; i < epochMillis.length; i++) {
+            output[i] = Long.compare(epochMillis[i], anotherEpochMillis[i]);
+        }
+    }
+
+    /**
+     * This methods compares each instant of a column with another instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The column of instants, as milliseconds from Epoch.
+     * @param anotherEpochMillis The instant every element will be compared
+     * with, as milliseconds from Epoch.
+     * @param output The array where comparison results will be written to: a
+     * negative value if the element is before the specified instant, zero if
+     * they are equal and a positive value otherwise.
+     * @since 2.4
+     */
+    public static void compare(long[] epochMillis, long anotherEpochMillis, int[] output) {
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, output.length);
+        for (int i = 0; i < epochMillis.length; i++) {
+            output[i] = Long.compare(epochMillis[i], anotherEpochMillis);
+        }
+    }
+
+    /**
+     * This methods checks which instants of a column are before another
+     * instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The column of instants, as milliseconds from Epoch.
+     * @param anotherEpochMillis The instant every element will be compared
+     * with, as milliseconds from Epoch.
+     * @param output The array where results will be written to.
+     * @return the number of instants that are before the specified one.
+     * @since 2.4
+     */
+    public static int isBefore(long[] epochMillis, long anotherEpochMillis, boolean[] output) {
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, output.length);
+        int count = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            output[i] = epochMillis[i] < anotherEpochMillis;
+            if (output[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This methods checks which instants of a column are after another
+     * instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The column of instants, as milliseconds from Epoch.
+     * @param anotherEpochMillis The instant every element will be compared
+     * with, as milliseconds from Epoch.
+     * @param output The array where results will be written to.
+     * @return the number of instants that are after the specified one.
+     * @since 2.4
+     */
+    public static int isAfter(long[] epochMillis, long anotherEpochMillis, boolean[] output) {
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, output.length);
+        int count = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            output[i] = epochMillis[i] > anotherEpochMillis;
+            if (output[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This methods checks which instants of a column are equal to another
+     * instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The column of instants, as milliseconds from Epoch.
+     * @param anotherEpochMillis The instant every element will be compared
+     * with, as milliseconds from Epoch.
+     * @param output The array where results will be written to.
+     * @return the number of instants that are equal to the specified one.
+     * @since 2.4
+     */
+    public static int isEqualTo(long[] epochMillis, long anotherEpochMillis, boolean[] output) {
+        JGlobalDateTimeBatch.checkLength(epochMillis.length, output.length);
+        int count = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            output[i] = epochMillis[i] == anotherEpochMillis;
+            if (output[i]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This methods truncates an instant to the specified precission, as seen
+     * from the specified Zone ID. It is the single instant version of
+     * truncate(long[], ZoneId, ChronoUnit, long[]).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMilli The instant, as milliseconds from Epoch.
+     * @param zoneId The Zone ID the truncation is done in.
+     * @param precission The desired precission.
+     * @return the truncated instant, as milliseconds from Epoch.
+     * @throws UnsupportedTemporalTypeException if the precission is larger
+     * than a day.
+     * @since 2.4
+     */
+    static long truncate(long epochMilli, ZoneId zoneId, ChronoUnit precission) {
+        long unitMillis = JGlobalDateTimeBatch.getTruncationMillis(precission);
+        if (unitMillis <= 1) {
+            return epochMilli;
+        }
+        if (unitMillis <= JGlobalDateTimeBatch.MILLIS_PER_SECOND) {
+            return epochMilli - Math.floorMod(epochMilli, unitMillis);
+        }
+        JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+        long epochSecond = Math.floorDiv(epochMilli, JGlobalDateTimeBatch.MILLIS_PER_SECOND);
+        if (zoneTransitions.isIndexed(epochSecond)) {
+            int index = zoneTransitions.indexOf(epochSecond, 0);
+            long offsetMillis = zoneTransitions.getOffsetSecondsAt(index) * JGlobalDateTimeBatch.MILLIS_PER_SECOND;
+            long localMillis = epochMilli + offsetMillis;
+            long truncated = (localMillis - Math.floorMod(localMillis, unitMillis)) - offsetMillis;
+            if (zoneTransitions.indexOf(Math.floorDiv(truncated, JGlobalDateTimeBatch.MILLIS_PER_SECOND), index) == index) {
+                return truncated;
+            }
+        }
+        return JGlobalDateTimeBatch.truncateWithZonedDateTime(epochMilli, zoneId, precission);
+    }
+
+    /**
+     * This methods truncates an instant to the specified precission, as seen
+     * from the specified Zone ID, using ZonedDateTime. It is used for the
+     * instants that are close to an offset transition.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMilli The instant, as milliseconds from Epoch.
+     * @param zoneId The Zone ID the truncation is done in.
+     * @param precission The desired precission.
+     * @return the truncated instant, as milliseconds from Epoch.
+     * @since 2.4
+     */
+    private static long truncateWithZonedDateTime(long epochMilli, ZoneId zoneId, ChronoUnit precission) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), zoneId).truncatedTo(precission).toInstant().toEpochMilli();
+    }
+
+    /**
+     * This methods gets the length, in milliseconds, of a truncation unit,
+     * checking that it can be used to truncate a datetime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param precission The truncation unit.
+     * @return the length of the unit, in milliseconds, or 1 for units shorter
+     * than a millisecond.
+     * @throws UnsupportedTemporalTypeException if the unit is larger than a
+     * day.
+     * @since 2.4
+     */
+    private static long getTruncationMillis(ChronoUnit precission) {
+        if (precission.getDuration().getSeconds() > JGlobalDateTimeCalendar.SECONDS_PER_DAY) {
+            throw new UnsupportedTemporalTypeException("Unit is too large to be used for truncation");
+        }
+        return Math.max(1, precission.getDuration().toMillis());
+    }
+
+    /**
+     * This methods checks that an array is, at least, as long as the input
+     * array.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param inputLength The length of the input array.
+     * @param length The length of the array to be checked.
+     * @throws IllegalArgumentException if the array is shorter than the input
+     * array.
+     * @since 2.4
+     */
+    private static void checkLength(int inputLength, int length) {
+        if (length < inputLength) {
+            throw new IllegalArgumentException("Arrays have to be, at least, as long as the input array (" + inputLength + ")");
+        }
+    }
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+}
@@ -0,0 +1,319 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a set of counters keyed by the bucket (or the
+ * window) of a JGlobalDateTimeBuckets, to aggregate datetimes by minute, hour,
+ * day... Counters are kept in an open addressing hash table of primitive longs,
+ * so counting a datetime does not create any object. Each counter can be used
+ * either to count datetimes or to add arbitrary amounts, as a sum. This class
+ * is not thread-safe; each thread can count into its own instance and then
+ * add it to a global one with addAll().
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeBucketCounter {
+
+    /**
+     * This is the constructor of the class. It creates a new, empty, set of
+     * counters for the specified buckets.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param buckets The buckets datetimes are assigned to.
+     * @throws IllegalArgumentException if the buckets are null.
+     * @since 2.4
+     */
+    public JGlobalDateTimeBucketCounter(JGlobalDateTimeBuckets buckets) {
+        if (buckets == null) {
+            throw new IllegalArgumentException("The buckets cannot be null");
+        }
+        this.buckets = buckets;
+        this.keys = new long[JGlobalDateTimeBucketCounter.INITIAL_CAPACITY];
+        this.values = new long[JGlobalDateTimeBucketCounter.INITIAL_CAPACITY];
+        this.used = new boolean[JGlobalDateTimeBucketCounter.INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * This methods counts a datetime in the bucket its normalized instant
+     * falls in (tumbling windows).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The datetime to be counted.
+     * @since 2.4
+     */
+    public void count(JGlobalDateTime dateTime) {
+        this.add(this.buckets.bucketOf(dateTime), 1L);
+    }
+
+    /**
+     * This methods counts a column of instants, as milliseconds from Epoch,
+     * each one of them in the bucket it falls in.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The instants, as milliseconds from Epoch.
+     * @since 2.4
+     */
+    public void count(long[] epochMillis) {
+        for (int i = 0; i < epochMillis.length; i++) {
+            this.add(this.buckets.bucketOf(epochMillis[i]), 1L);
+        }
+    }
+
+    /**
+     * This methods counts a datetime in every sliding window its normalized
+     * instant falls in. See JGlobalDateTimeBuckets.slidingWindowsOf().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The datetime to be counted.
+     * @param windowBuckets The number of buckets each window spans.
+     * @throws IllegalArgumentException if the number of buckets is not
+     * positive.
+     * @since 2.4
+     */
+    public void countSliding(JGlobalDateTime dateTime, int windowBuckets) {
+        if (windowBuckets <= 0) {
+            throw new IllegalArgumentException("Windows have to span, at least, one bucket");
+        }
+        long lastWindow = this.buckets.bucketOf(dateTime);
+        for (long window = lastWindow - (windowBuckets - 1); window <= lastWindow; window++) {
+            this.add(window, 1L);
+        }
+    }
+
+    /**
+     * This methods adds an amount to the counter of the bucket the normalized
+     * instant of a datetime falls in.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The datetime.
+     * @param amount The amount to be added.
+     * @since 2.4
+     */
+    public void add(JGlobalDateTime dateTime, long amount) {
+        this.add(this.buckets.bucketOf(dateTime), amount);
+    }
+
+    /**
+     * This methods adds an amount to the counter of a bucket (or window).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @param amount The amount to be added.
+     * @since 2.4
+     */
+    public void add(long bucket, long amount) {
+        int mask = this.keys.length - 1;
+        int position = JGlobalDateTimeBucketCounter.hash(bucket) & mask;
+        while (this.used[position]) {
+            if (this.keys[position] == bucket) {
+                this.values[position] += amount;
+                return;
+            }
+            position = (position + 1) & mask;
+        }
+        this.used[position] = true;
+        this.keys[position] = bucket;
+        this.values[position] = amount;
+        this.size++;
+        if ((this.size << 1) > this.keys.length) {
+            this.rehash(this.keys.length << 1);
+        }
+    }
+
+    /**
+     * This methods adds every counter of another set of counters to the
+     * corresponding counter of this one.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param counter The other set of counters.
+     * @since 2.4
+     */
+    public void addAll(JGlobalDateTimeBucketCounter counter) {
+        for (int i = 0; i < counter.keys.length; i++) {
+            if (counter.used[i]) {
+                this.add(counter.keys[i], counter.values[i]);
+            }
+        }
+    }
+
+    /**
+     * This methods gets the value of the counter of a bucket (or window).
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @return the value of the counter, or zero if nothing has been counted
+     * in that bucket.
+     * @since 2.4
+     */
+    public long get(long bucket) {
+        int mask = this.keys.length - 1;
+        int position = JGlobalDateTimeBucketCounter.hash(bucket) & mask;
+        while (this.used[position]) {
+            if (this.keys[position] == bucket) {
+                return this.values[position];
+            }
+            position = (position + 1) & mask;
+        }
+        return 0L;
+    }
+
+    /**
+     * This methods gets the buckets (or windows) that have a counter, in
+     * ascending order.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a new array with the buckets that have a counter.
+     * @since 2.4
+     */
+    public long[] getBuckets() {
+        long[] found = new long[this.size];
+        int count = 0;
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.used[i]) {
+                found[count++] = this.keys[i];
+            }
+        }
+        Arrays.sort(found);
+        return found;
+    }
+
+    /**
+     * This methods performs the specified action for every counter, in no
+     * particular order, without creating any intermediate object.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param action The action to be performed for every counter.
+     * @since 2.4
+     */
+    public void forEach(CounterConsumer action) {
+        for (int i = 0; i < this.keys.length; i++) {
+            if (this.used[i]) {
+                action.accept(this.keys[i], this.values[i]);
+            }
+        }
+    }
+
+    /**
+     * This methods gets the number of buckets (or windows) that have a
+     * counter.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of counters.
+     * @since 2.4
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * This methods removes every counter.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public void clear() {
+        Arrays.fill(this.used, false);
+        this.size = 0;
+    }
+
+    /**
+     * This methods gets the buckets datetimes are assigned to.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the buckets.
+     * @since 2.4
+     */
+    public JGlobalDateTimeBuckets getBucketDefinition() {
+        return this.buckets;
+    }
+
+    /**
+     * This methods moves every counter to a new hash table of the specified
+     * capacity.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param capacity The new capacity. It has to be a power of two.
+     * @since 2.4
+     */
+    private void rehash(int capacity) {
+        long[] oldKeys = this.keys;
+        long[] oldValues = this.values;
+        boolean[] oldUsed = this.used;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        this.used = new boolean[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldUsed[i]) {
+                int position = JGlobalDateTimeBucketCounter.hash(oldKeys[i]) & mask;
+                while (this.used[position]) {
+                    position = (position + 1) & mask;
+                }
+                this.used[position] = true;
+                this.keys[position] = oldKeys[i];
+                this.values[position] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * This methods spreads the bits of a bucket, so that consecutive buckets
+     * do not end up in consecutive positions of the hash table.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @return the hash of the bucket.
+     * @since 2.4
+     */
+    private static int hash(long bucket) {
+        long mixed = bucket * 0x9E3779B97F4A7C15L;
+        return (int) (mixed ^ (mixed >>> 32));
+    }
+
+    /**
+     * This interface represents an action to be performed for every counter
+     * of a JGlobalDateTimeBucketCounter.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    @FunctionalInterface
+    public interface CounterConsumer {
+
+        /**
+         * This methods performs the action for a counter.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param bucket The bucket (or window) of the counter.
+         * @param value The value of the counter.
+         * @since 2.4
+         */
+        void accept(long bucket, long value);
+    }
+
+    private final JGlobalDateTimeBuckets buckets;
+    private long[] keys;
+    private long[] values;
+    private boolean[] used;
+    private int size;
+
+    private static final int INITIAL_CAPACITY = 16;
+}
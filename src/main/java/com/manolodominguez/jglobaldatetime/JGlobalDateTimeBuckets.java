@@ -0,0 +1,389 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * This class implements the assignment of instants to consecutive time
+ * buckets of a fixed length (minutes, hours, days...) of a Zone ID, without
+ * creating any object per instant. Each bucket is identified by a long and
+ * consecutive buckets have consecutive identifiers.
+ *
+ * Day buckets are divided in the local time line of the zone: each bucket is
+ * the number of buckets between 1970-01-01T00:00:00, in the local time line,
+ * and its start, so a day bucket is always a whole local day, even when it
+ * lasts 23 or 25 hours because of a daylight saving time transition.
+ *
+ * Shorter buckets are divided in the instant time line, aligned with the
+ * offset of the zone at each instant: a bucket starts where the local time,
+ * with that offset, is a multiple of the length of the buckets, as
+ * ZonedDateTime.truncatedTo() does for a single unit. Therefore, both
+ * occurrences of a repeated local hour (at the end of daylight saving time)
+ * fall in different hour buckets. Each bucket is the number of buckets
+ * between Epoch and its start, shifted by the offset of the zone modulo the
+ * length of the buckets, so every bucket lasts exactly its length unless that
+ * remainder changes inside it (for instance, one hour offset changes and two
+ * hours buckets). Then, the bucket is shortened or lengthened up to the next
+ * local boundary, but buckets never overlap nor go back.
+ *
+ * Tumbling windows are buckets themselves; sliding windows are groups of
+ * consecutive buckets, identified by their first bucket. Instances of this
+ * class are immutable and thread-safe.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeBuckets {
+
+    /**
+     * This is the constructor of the class. It creates new buckets of the
+     * specified length in the default reference Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The length of the buckets, in the specified unit.
+     * @param unit The unit the length of the buckets is expressed in.
+     * @throws IllegalArgumentException if the unit is null or the length is
+     * not positive or it is not a whole number of milliseconds.
+     * @throws UnsupportedTemporalTypeException if the unit is larger than a
+     * day.
+     * @since 2.4
+     */
+    public JGlobalDateTimeBuckets(long amount, ChronoUnit unit) {
+        this(amount, unit, JGlobalDateTime.DEFAULT_REFERENCE_ZONE);
+    }
+
+    /**
+     * This is the constructor of the class. It creates new buckets of the
+     * specified length in the specified Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param amount The length of the buckets, in the specified unit.
+     * @param unit The unit the length of the buckets is expressed in.
+     * @param zoneId The Zone ID whose local time buckets are aligned with.
+     * @throws IllegalArgumentException if the unit or the Zone ID are null or
+     * the length is not positive or it is not a whole number of milliseconds.
+     * @throws UnsupportedTemporalTypeException if the unit is larger than a
+     * day.
+     * @since 2.4
+     */
+    public JGlobalDateTimeBuckets(long amount, ChronoUnit unit, ZoneId zoneId) {
+        if (unit == null) {
+            throw new IllegalArgumentException("The unit cannot be null");
+        }
+        if (zoneId == null) {
+            throw new IllegalArgumentException("The Zone ID cannot be null");
+        }
+        if (amount <= 0) {
+            throw new IllegalArgumentException("The length of the buckets has to be positive");
+        }
+        if (unit.getDuration().getSeconds() > JGlobalDateTimeCalendar.SECONDS_PER_DAY) {
+            throw new UnsupportedTemporalTypeException("Unit is too large to be used for bucketing");
+        }
+        Duration length = unit.getDuration().multipliedBy(amount);
+        if ((length.getNano() % NANOS_PER_MILLI) != 0) {
+            throw new IllegalArgumentException("The length of the buckets has to be a whole number of milliseconds");
+        }
+        long lengthMillis = length.toMillis();
+        this.zoneId = zoneId;
+        this.zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+        this.lengthMillis = lengthMillis;
+        this.lengthSeconds = ((lengthMillis % MILLIS_PER_SECOND) == 0) ? (lengthMillis / MILLIS_PER_SECOND) : 0L;
+        this.localTimeLine = (unit == ChronoUnit.DAYS);
+    }
+
+    /**
+     * This methods gets the bucket the normalized instant of the specified
+     * JGlobalDateTime falls in. Buckets are computed in the Zone ID of these
+     * buckets, whatever the reference Zone ID of the JGlobalDateTime is.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The datetime.
+     * @return the bucket the datetime falls in.
+     * @since 2.4
+     */
+    public long bucketOf(JGlobalDateTime dateTime) {
+        return this.bucketOf(dateTime.getNormalizedEpochSecond(), dateTime.getNormalizedNano());
+    }
+
+    /**
+     * This methods gets the bucket an instant, as milliseconds from Epoch,
+     * falls in.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMilli The instant, as milliseconds from Epoch.
+     * @return the bucket the instant falls in.
+     * @since 2.4
+     */
+    public long bucketOf(long epochMilli) {
+        if (!this.localTimeLine) {
+            return this.instantBucketOf(epochMilli, MILLIS_PER_SECOND, this.lengthMillis);
+        }
+        return Math.floorDiv(this.zoneTransitions.toLocalEpochMilli(epochMilli), this.lengthMillis);
+    }
+
+    /**
+     * This methods gets the bucket an instant, as seconds and nanoseconds from
+     * Epoch, falls in.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @return the bucket the instant falls in.
+     * @since 2.4
+     */
+    public long bucketOf(long epochSecond, int nano) {
+        if (!this.localTimeLine) {
+            if (this.lengthSeconds > 0) {
+                return this.instantBucketOf(epochSecond, 1L, this.lengthSeconds);
+            }
+            return this.instantBucketOf(Math.addExact(Math.multiplyExact(epochSecond, MILLIS_PER_SECOND), nano / NANOS_PER_MILLI), MILLIS_PER_SECOND, this.lengthMillis);
+        }
+        long localEpochSecond = this.zoneTransitions.toLocalEpochSecond(epochSecond);
+        if (this.lengthSeconds > 0) {
+            return Math.floorDiv(localEpochSecond, this.lengthSeconds);
+        }
+        return Math.floorDiv(Math.addExact(Math.multiplyExact(localEpochSecond, MILLIS_PER_SECOND), nano / NANOS_PER_MILLI), this.lengthMillis);
+    }
+
+    /**
+     * This methods gets the bucket each element of a column of instants falls
+     * in, as bucketOf(long) would do for every one of them.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The instants, as milliseconds from Epoch.
+     * @param output The array where buckets will be written to. It has to be,
+     * at least, as long as the input array and it can be the input array
+     * itself.
+     * @throws IllegalArgumentException if the output array is shorter than the
+     * input array.
+     * @since 2.4
+     */
+    public void bucketsOf(long[] epochMillis, long[] output) {
+        if (!this.localTimeLine) {
+            if (output.length < epochMillis.length) {
+                throw new IllegalArgumentException("Arrays have to be, at least, as long as the input array (" + epochMillis.length + ")");
+            }
+            for (int i = 0; i < epochMillis.length; i++) {
+                output[i] = this.instantBucketOf(epochMillis[i], MILLIS_PER_SECOND, this.lengthMillis);
+            }
+            return;
+        }
+        this.zoneTransitions.toLocalEpochMillis(epochMillis, output);
+        for (int i = 0; i < epochMillis.length; i++) {
+            output[i] = Math.floorDiv(output[i], this.lengthMillis);
+        }
+    }
+
+    /**
+     * This methods gets the sliding windows the normalized instant of the
+     * specified JGlobalDateTime falls in. Each window spans the specified
+     * number of consecutive buckets and slides one bucket at a time, so the
+     * datetime falls in as many windows as buckets a window spans. Windows are
+     * identified by their first bucket and are written in ascending order.
+     * For instance, one hour windows sliding every fifteen minutes are
+     * windows of four fifteen minutes buckets.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The datetime.
+     * @param windowBuckets The number of buckets each window spans.
+     * @param output The array where windows will be written to.
+     * @param offset The position of the output array the first window will be
+     * written to.
+     * @return the number of windows written, that is, windowBuckets.
+     * @throws IllegalArgumentException if the number of buckets is not
+     * positive.
+     * @throws IndexOutOfBoundsException if the output array does not have
+     * room for every window.
+     * @since 2.4
+     */
+    public int slidingWindowsOf(JGlobalDateTime dateTime, int windowBuckets, long[] output, int offset) {
+        if (windowBuckets <= 0) {
+            throw new IllegalArgumentException("Windows have to span, at least, one bucket");
+        }
+        if ((offset < 0) || (offset > (output.length - windowBuckets))) {
+            throw new IndexOutOfBoundsException("There is no room for " + windowBuckets + " windows at position " + offset);
+        }
+        long firstWindow = this.bucketOf(dateTime) - (windowBuckets - 1);
+        for (int i = 0; i < windowBuckets; i++) {
+            output[offset + i] = firstWindow + i;
+        }
+        return windowBuckets;
+    }
+
+    /**
+     * This methods gets the instant a bucket starts at, as milliseconds from
+     * Epoch. If the local start of a day bucket does not exist, because of a
+     * daylight saving time transition, the bucket starts when the transition
+     * ends; if it happens twice, the bucket starts at its first occurrence.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @return the start of the bucket (inclusive), as milliseconds from Epoch.
+     * @since 2.4
+     */
+    public long getStartEpochMilli(long bucket) {
+        if (!this.localTimeLine) {
+            return this.getInstantStartEpochMilli(bucket);
+        }
+        long localStartMillis = Math.multiplyExact(bucket, this.lengthMillis);
+        long epochSecond = this.zoneTransitions.toEpochSecond(Math.floorDiv(localStartMillis, MILLIS_PER_SECOND));
+        return Math.addExact(Math.multiplyExact(epochSecond, MILLIS_PER_SECOND), Math.floorMod(localStartMillis, MILLIS_PER_SECOND));
+    }
+
+    /**
+     * This methods gets the instant a bucket ends at, that is, the start of
+     * the next bucket, as milliseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @return the end of the bucket (exclusive), as milliseconds from Epoch.
+     * @since 2.4
+     */
+    public long getEndEpochMilli(long bucket) {
+        return this.getStartEpochMilli(Math.addExact(bucket, 1L));
+    }
+
+    /**
+     * This methods gets the instant a bucket starts at, as a ZonedDateTime in
+     * the Zone ID of these buckets.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @return the start of the bucket.
+     * @since 2.4
+     */
+    public ZonedDateTime getStart(long bucket) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(this.getStartEpochMilli(bucket)), this.zoneId);
+    }
+
+    /**
+     * This methods gets the first instant of a bucket of the instant time
+     * line. Without an offset change nearby, it is the instant whose local
+     * time is the start of the bucket; otherwise, it is searched for, as
+     * buckets of the instant time line never go back.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param bucket The bucket.
+     * @return the start of the bucket (inclusive), as milliseconds from Epoch.
+     * @since 2.4
+     */
+    private long getInstantStartEpochMilli(long bucket) {
+        long nominalStart = Math.multiplyExact(bucket, this.lengthMillis);
+        long offsetMillis = this.zoneTransitions.getOffsetSeconds(Math.floorDiv(nominalStart, MILLIS_PER_SECOND)) * MILLIS_PER_SECOND;
+        long start = nominalStart - Math.floorMod(offsetMillis, this.lengthMillis);
+        if ((this.bucketOf(start) == bucket) && (this.bucketOf(start - 1) < bucket)) {
+            return start;
+        }
+        // Every instant before (bucket - 1) * length is in an earlier bucket
+        // and the nominal start is in this bucket or a later one.
+        long before = nominalStart - this.lengthMillis - 1;
+        long after = nominalStart;
+        while ((after - before) > 1) {
+            long middle = before + ((after - before) >> 1);
+            if (this.bucketOf(middle) < bucket) {
+                before = middle;
+            } else {
+                after = middle;
+            }
+        }
+        return after;
+    }
+
+    /**
+     * This methods gets the bucket of the instant time line an instant falls
+     * in. The instant and the length of the buckets are expressed in the same
+     * unit, seconds or milliseconds, and the offset of the zone at the instant
+     * aligns buckets with its local time. When that offset is not the one at
+     * the nominal start of the bucket, an offset change happened in between
+     * and the instant stays in the bucket of the last instant before the
+     * change, if it is a later one, so that buckets never go back.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param time The instant, as seconds or milliseconds from Epoch.
+     * @param unitsPerSecond 1 if the instant is expressed in seconds or 1000
+     * if it is expressed in milliseconds.
+     * @param length The length of the buckets, in the same unit.
+     * @return the bucket the instant falls in.
+     * @since 2.4
+     */
+    private long instantBucketOf(long time, long unitsPerSecond, long length) {
+        long epochSecond = Math.floorDiv(time, unitsPerSecond);
+        int offsetSeconds = this.zoneTransitions.getOffsetSeconds(epochSecond);
+        long remainder = Math.floorMod(offsetSeconds * unitsPerSecond, length);
+        long bucket = Math.floorDiv(Math.addExact(time, remainder), length);
+        long startEpochSecond = Math.floorDiv((bucket * length) - remainder, unitsPerSecond);
+        int startOffsetSeconds = this.zoneTransitions.getOffsetSeconds(startEpochSecond);
+        if (startOffsetSeconds == offsetSeconds) {
+            return bucket;
+        }
+        // First second with the current offset.
+        long before = startEpochSecond;
+        long after = epochSecond;
+        while ((after - before) > 1) {
+            long middle = before + ((after - before) >> 1);
+            if (this.zoneTransitions.getOffsetSeconds(middle) == startOffsetSeconds) {
+                before = middle;
+            } else {
+                after = middle;
+            }
+        }
+        long startRemainder = Math.floorMod(startOffsetSeconds * unitsPerSecond, length);
+        long bucketBeforeChange = Math.floorDiv(((after * unitsPerSecond) - 1) + startRemainder, length);
+        return Math.max(bucket, bucketBeforeChange);
+    }
+
+    /**
+     * This methods gets the Zone ID whose local time buckets are aligned
+     * with.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the Zone ID.
+     * @since 2.4
+     */
+    public ZoneId getZoneID() {
+        return this.zoneId;
+    }
+
+    /**
+     * This methods gets the nominal length of the buckets. Day buckets around
+     * daylight saving time transitions, and shorter buckets around offset
+     * changes that are not a multiple of it, can be shorter or longer.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the length of the buckets, in milliseconds.
+     * @since 2.4
+     */
+    public long getLengthMillis() {
+        return this.lengthMillis;
+    }
+
+    private final ZoneId zoneId;
+    private final JGlobalDateTimeZoneTransitions zoneTransitions;
+    private final long lengthMillis;
+    // Zero when the length is not a whole number of seconds.
+    private final long lengthSeconds;
+    // Only day buckets are divided in the local time line.
+    private final boolean localTimeLine;
+
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+}
@@ -0,0 +1,184 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class implements a coarse Clock whose current instant is read from the
+ * system clock periodically, by a background daemon thread, instead of every
+ * time it is requested. Reading it is just a volatile read, so it is suitable
+ * for checks done over millions of JGlobalDateTime per second (for instance,
+ * alreadyHappened()) when an error of up to one refresh period is acceptable.
+ * The background thread is stopped by calling close().
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeCachedClock extends Clock implements AutoCloseable {
+
+    /**
+     * This is the constructor of the class. It creates a new cached clock, in
+     * UTC, that is refreshed from the system clock with the specified period.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param refreshPeriod The time between consecutive refreshes.
+     * @param unit The unit the refresh period is expressed in.
+     * @throws IllegalArgumentException if the refresh period is not positive.
+     * @since 2.4
+     */
+    public JGlobalDateTimeCachedClock(long refreshPeriod, TimeUnit unit) {
+        if (refreshPeriod <= 0) {
+            throw new IllegalArgumentException("The refresh period has to be positive");
+        }
+        this.ticker = new Ticker(refreshPeriod, unit);
+        this.zoneId = ZoneOffset.UTC;
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new view, in the
+     * specified zone, of an existing cached clock. It is used by withZone().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param ticker The refresher shared with the existing cached clock.
+     * @param zoneId The Zone ID of the new clock.
+     * @since 2.4
+     */
+    private JGlobalDateTimeCachedClock(Ticker ticker, ZoneId zoneId) {
+        this.ticker = ticker;
+        this.zoneId = zoneId;
+    }
+
+    /**
+     * This methods gets the current instant of this clock, as milliseconds
+     * from Epoch. It is the value read from the system clock in the last
+     * refresh.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the current instant, as milliseconds from Epoch.
+     * @since 2.4
+     */
+    @Override
+    public long millis() {
+        return this.ticker.currentMillis;
+    }
+
+    /**
+     * This methods gets the current instant of this clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the current instant.
+     * @since 2.4
+     */
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(this.millis());
+    }
+
+    /**
+     * This methods gets the Zone ID of this clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the Zone ID of this clock.
+     * @since 2.4
+     */
+    @Override
+    public ZoneId getZone() {
+        return this.zoneId;
+    }
+
+    /**
+     * This methods gets a copy of this clock using the specified Zone ID. Both
+     * clocks share the same background refresh; closing any of them stops
+     * both.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zone The Zone ID of the new clock.
+     * @return a clock with the same instant and the specified Zone ID.
+     * @since 2.4
+     */
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (zone.equals(this.zoneId)) {
+            return this;
+        }
+        return new JGlobalDateTimeCachedClock(this.ticker, zone);
+    }
+
+    /**
+     * This methods stops the background refresh of this clock. Afterwards, the
+     * clock keeps returning the last instant read from the system clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    @Override
+    public void close() {
+        this.ticker.executor.shutdownNow();
+    }
+
+    /**
+     * This class implements the background refresh of a cached clock. It is
+     * shared by all the views, in different zones, of the same clock.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class Ticker implements Runnable {
+
+        /**
+         * This is the constructor of the class. It reads the system clock and
+         * schedules the following refreshes.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param refreshPeriod The time between consecutive refreshes.
+         * @param unit The unit the refresh period is expressed in.
+         * @since 2.4
+         */
+        Ticker(long refreshPeriod, TimeUnit unit) {
+            this.currentMillis = System.currentTimeMillis();
+            this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "jglobaldatetime-cached-clock");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.executor.scheduleAtFixedRate(this, refreshPeriod, refreshPeriod, unit);
+        }
+
+        /**
+         * This methods refreshes the cached instant from the system clock.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        @Override
+        public void run() {
+            this.currentMillis = System.currentTimeMillis();
+        }
+
+        private volatile long currentMillis;
+        private final ScheduledExecutorService executor;
+    }
+
+    private final Ticker ticker;
+    private final ZoneId zoneId;
+}
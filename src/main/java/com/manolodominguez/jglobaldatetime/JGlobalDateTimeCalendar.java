@@ -0,0 +1,178 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+/**
+ * This class implements the ISO calendar arithmetic JGlobalDateTime needs to
+ * convert between dates and days since Epoch without creating LocalDate
+ * objects. Algorithms are the same than those used by java.time.LocalDate.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+final class JGlobalDateTimeCalendar {
+
+    /**
+     * This is the constructor of the class. It is private because this class
+     * only has static methods and should not be instantiated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeCalendar() {
+    }
+
+    /**
+     * This methods checks whether a year is a leap year in the ISO calendar.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param year The year.
+     * @return true, if the year is a leap year. Otherwise, false.
+     * @since 2.4
+     */
+    static boolean isLeapYear(long year) {
+        return ((year & 3) == 0) && (((year % 100) != 0) || ((year % 400) == 0));
+    }
+
+    /**
+     * This methods gets the number of days of a month in the ISO calendar.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param year The year.
+     * @param month The month, from 1 to 12.
+     * @return the number of days of the month.
+     * @since 2.4
+     */
+    static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return JGlobalDateTimeCalendar.isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * This methods computes the number of days since Epoch of a date in the
+     * ISO calendar.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param year The year.
+     * @param month The month, from 1 to 12.
+     * @param day The day of month.
+     * @return the number of days since Epoch.
+     * @since 2.4
+     */
+    static long toEpochDay(long year, int month, int day) {
+        long total = 365 * year;
+        if (year >= 0) {
+            total += ((year + 3) / 4) - ((year + 99) / 100) + ((year + 399) / 400);
+        } else {
+            total -= (year / -4) - (year / -100) + (year / -400);
+        }
+        total += ((367 * month) - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total--;
+            if (!JGlobalDateTimeCalendar.isLeapYear(year)) {
+                total--;
+            }
+        }
+        return total - JGlobalDateTimeCalendar.DAYS_0000_TO_1970;
+    }
+
+    /**
+     * This methods computes the date in the ISO calendar that corresponds to a
+     * number of days since Epoch. The date is returned packed in a long value
+     * to avoid creating objects; use getYear(), getMonth() and getDay() to
+     * unpack it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochDay The number of days since Epoch.
+     * @return the packed date.
+     * @since 2.4
+     */
+    static long toPackedDate(long epochDay) {
+        long zeroDay = (epochDay + JGlobalDateTimeCalendar.DAYS_0000_TO_1970) - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            long adjustCycles = ((zeroDay + 1) / JGlobalDateTimeCalendar.DAYS_PER_CYCLE) - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * JGlobalDateTimeCalendar.DAYS_PER_CYCLE;
+        }
+        long yearEstimate = ((400 * zeroDay) + 591) / JGlobalDateTimeCalendar.DAYS_PER_CYCLE;
+        long dayOfYearEstimate = zeroDay - ((365 * yearEstimate) + (yearEstimate / 4) - (yearEstimate / 100) + (yearEstimate / 400));
+        if (dayOfYearEstimate < 0) {
+            yearEstimate--;
+            dayOfYearEstimate = zeroDay - ((365 * yearEstimate) + (yearEstimate / 4) - (yearEstimate / 100) + (yearEstimate / 400));
+        }
+        yearEstimate += adjust;
+        int marchDayOfYear0 = (int) dayOfYearEstimate;
+        int marchMonth0 = ((marchDayOfYear0 * 5) + 2) / 153;
+        int month = ((marchMonth0 + 2) % 12) + 1;
+        int day = (marchDayOfYear0 - (((marchMonth0 * 306) + 5) / 10)) + 1;
+        long year = yearEstimate + (marchMonth0 / 10);
+        return (year << 9) | (month << 5) | day;
+    }
+
+    /**
+     * This methods gets the year of a packed date.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param packedDate The packed date, as returned by toPackedDate().
+     * @return the year.
+     * @since 2.4
+     */
+    static long getYear(long packedDate) {
+        return packedDate >> 9;
+    }
+
+    /**
+     * This methods gets the month of a packed date.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param packedDate The packed date, as returned by toPackedDate().
+     * @return the month, from 1 to 12.
+     * @since 2.4
+     */
+    static int getMonth(long packedDate) {
+        return (int) ((packedDate >> 5) & 0xF);
+    }
+
+    /**
+     * This methods gets the day of month of a packed date.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param packedDate The packed date, as returned by toPackedDate().
+     * @return the day of month.
+     * @since 2.4
+     */
+    static int getDay(long packedDate) {
+        return (int) (packedDate & 0x1F);
+    }
+
+    static final long SECONDS_PER_DAY = 86400L;
+    static final int SECONDS_PER_HOUR = 3600;
+    static final int SECONDS_PER_MINUTE = 60;
+
+    private static final long DAYS_0000_TO_1970 = 719528L;
+    private static final long DAYS_PER_CYCLE = 146097L;
+}
@@ -0,0 +1,562 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements a compact binary representation of JGlobalDateTime,
+ * that keeps its whole status: normalized and original instants, reference and
+ * original Zone IDs and precission. Each JGlobalDateTime is written as a
+ * header byte followed by variable length integers:
+ *
+ * - Header: flags in the low nibble and the ordinal of the precission in the
+ * high one.
+ * - Normalized instant: seconds from Epoch (zigzag varint) and, if not zero,
+ * the nanosecond of second (varint).
+ * - Reference Zone ID, as an index of the zone dictionary (varint).
+ * - Only if it differs from the normalized one, the original instant, as the
+ * difference in seconds with the normalized instant (zigzag varint) and, if not
+ * zero, its nanosecond of second (varint).
+ * - Only if it differs from the reference one, the original Zone ID, as an
+ * index of the zone dictionary (varint).
+ *
+ * The zone dictionary starts with the shared zones specified when the codec is
+ * created. The first time a zone that is not in the dictionary is written, its
+ * index is the current size of the dictionary and it is followed by the zone
+ * ID (length and ASCII characters); from then on, both the writer and the
+ * reader use the same index for that zone. So, a sequence of JGlobalDateTime
+ * has to be read in the same order it was written, by a codec created with the
+ * same shared zones, and reset() has to be called on both sides at the
+ * boundaries of independent messages. Nothing is allocated per JGlobalDateTime
+ * except the decoded instance itself. This class is not thread-safe.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeCodec {
+
+    /**
+     * This is the constructor of the class. It creates a new codec whose zone
+     * dictionary is initially empty.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public JGlobalDateTimeCodec() {
+        this(new ZoneId[0]);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new codec whose zone
+     * dictionary initially contains the specified zones, so that they are
+     * never written inline. Writer and reader have to be created with the same
+     * shared zones, in the same order.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param sharedZoneIDs The zones known in advance by both sides.
+     * @throws IllegalArgumentException if a zone is null or it is repeated.
+     * @since 2.4
+     */
+    public JGlobalDateTimeCodec(ZoneId... sharedZoneIDs) {
+        this.sharedZoneIDs = sharedZoneIDs.clone();
+        for (int i = 0; i < this.sharedZoneIDs.length; i++) {
+            if (this.sharedZoneIDs[i] == null) {
+                throw new IllegalArgumentException("Shared zones cannot be null");
+            }
+            for (int j = 0; j < i; j++) {
+                if (this.sharedZoneIDs[j].equals(this.sharedZoneIDs[i])) {
+                    throw new IllegalArgumentException("Shared zones cannot be repeated");
+                }
+            }
+        }
+        this.writeIndexes = new HashMap<>();
+        this.readZoneIDs = new ArrayList<>();
+        this.scratch = new byte[JGlobalDateTimeCodec.INITIAL_SCRATCH_LENGTH];
+        this.reset();
+    }
+
+    /**
+     * This methods resets the zone dictionary of this codec to the shared
+     * zones, both for writing and for reading. It has to be called at the
+     * boundaries of independent messages, on both sides.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public void reset() {
+        this.writeIndexes.clear();
+        this.readZoneIDs.clear();
+        for (int i = 0; i < this.sharedZoneIDs.length; i++) {
+            this.writeIndexes.put(this.sharedZoneIDs[i], i);
+            this.readZoneIDs.add(this.sharedZoneIDs[i]);
+        }
+    }
+
+    /**
+     * This methods writes the binary representation of a JGlobalDateTime into
+     * a ByteBuffer. Either the whole representation is written or nothing is
+     * written at all.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The JGlobalDateTime to be written.
+     * @param output The buffer the representation will be written to.
+     * @throws BufferOverflowException if the buffer has not enough room.
+     * @since 2.4
+     */
+    public void write(JGlobalDateTime dateTime, ByteBuffer output) {
+        int length = this.encode(dateTime);
+        output.put(this.scratch, 0, length);
+        this.commitWrittenZones();
+    }
+
+    /**
+     * This methods writes the binary representation of a JGlobalDateTime into
+     * a DataOutput.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The JGlobalDateTime to be written.
+     * @param output The DataOutput the representation will be written to.
+     * @throws IOException if the representation cannot be written.
+     * @since 2.4
+     */
+    public void write(JGlobalDateTime dateTime, DataOutput output) throws IOException {
+        int length = this.encode(dateTime);
+        output.write(this.scratch, 0, length);
+        this.commitWrittenZones();
+    }
+
+    /**
+     * This methods reads a JGlobalDateTime from its binary representation in a
+     * ByteBuffer. If the buffer does not contain the whole representation, its
+     * position is not modified, so that the read can be retried once more
+     * bytes are available.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param input The buffer the representation will be read from.
+     * @return the JGlobalDateTime read.
+     * @throws BufferUnderflowException if the buffer does not contain the
+     * whole representation.
+     * @throws JGlobalDateTimeException if the bytes are not a valid binary
+     * representation of a JGlobalDateTime.
+     * @since 2.4
+     */
+    public JGlobalDateTime read(ByteBuffer input) throws JGlobalDateTimeException {
+        int position = input.position();
+        try {
+            return this.decode(input, null);
+        } catch (BufferUnderflowException ex) {
+            input.position(position);
+            throw ex;
+        } catch (IOException ex) {
+            // Never thrown when reading from a ByteBuffer.
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_UNEXPECTED_ERROR);
+        }
+    }
+
+    /**
+     * This methods reads a JGlobalDateTime from its binary representation in a
+     * DataInput.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param input The DataInput the representation will be read from.
+     * @return the JGlobalDateTime read.
+     * @throws IOException if the representation cannot be read (for instance,
+     * an EOFException if the input ends before the whole representation).
+     * @throws JGlobalDateTimeException if the bytes are not a valid binary
+     * representation of a JGlobalDateTime.
+     * @since 2.4
+     */
+    public JGlobalDateTime read(DataInput input) throws IOException, JGlobalDateTimeException {
+        return this.decode(null, input);
+    }
+
+    /**
+     * This methods encodes a JGlobalDateTime into the scratch array of this
+     * codec. The zones that are not in the dictionary yet are written inline
+     * but they are not added to the dictionary until commitWrittenZones() is
+     * called, once the representation has been successfully written.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The JGlobalDateTime to be encoded.
+     * @return the length of the representation.
+     * @since 2.4
+     */
+    private int encode(JGlobalDateTime dateTime) {
+        long normalizedEpochSecond = dateTime.getNormalizedEpochSecond();
+        int normalizedNano = dateTime.getNormalizedNano();
+        long originalEpochSecond = dateTime.getOriginalEpochSecond();
+        int originalNano = dateTime.getOriginalNano();
+        ZoneId referenceZoneID = dateTime.getReferenceZoneID();
+        ZoneId originalZoneID = dateTime.getOriginalZoneID();
+        boolean originalInstant = (originalEpochSecond != normalizedEpochSecond) || (originalNano != normalizedNano);
+        boolean originalZone = !originalZoneID.equals(referenceZoneID);
+        int header = dateTime.getReferencePrecission().ordinal() << JGlobalDateTimeCodec.PRECISSION_SHIFT;
+        if (normalizedNano != 0) {
+            header |= JGlobalDateTimeCodec.FLAG_NORMALIZED_NANO;
+        }
+        if (originalInstant) {
+            header |= JGlobalDateTimeCodec.FLAG_ORIGINAL_INSTANT;
+            if (originalNano != 0) {
+                header |= JGlobalDateTimeCodec.FLAG_ORIGINAL_NANO;
+            }
+        }
+        if (originalZone) {
+            header |= JGlobalDateTimeCodec.FLAG_ORIGINAL_ZONE;
+        }
+        this.pendingWriteCount = 0;
+        this.ensureScratch(JGlobalDateTimeCodec.MAX_FIXED_LENGTH);
+        this.scratch[0] = (byte) header;
+        int position = 1;
+        position = this.putVarLong(JGlobalDateTimeCodec.zigZag(normalizedEpochSecond), position);
+        if (normalizedNano != 0) {
+            position = this.putVarLong(normalizedNano, position);
+        }
+        position = this.putZoneID(referenceZoneID, position);
+        if (originalInstant) {
+            position = this.putVarLong(JGlobalDateTimeCodec.zigZag(originalEpochSecond - normalizedEpochSecond), position);
+            if (originalNano != 0) {
+                position = this.putVarLong(originalNano, position);
+            }
+        }
+        if (originalZone) {
+            position = this.putZoneID(originalZoneID, position);
+        }
+        return position;
+    }
+
+    /**
+     * This methods adds to the dictionary the zones that were written inline
+     * by the last call to encode().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private void commitWrittenZones() {
+        for (int i = 0; i < this.pendingWriteCount; i++) {
+            this.writeIndexes.put(this.pendingWriteZoneIDs[i], this.writeIndexes.size());
+            this.pendingWriteZoneIDs[i] = null;
+        }
+        this.pendingWriteCount = 0;
+    }
+
+    /**
+     * This methods puts a zone into the scratch array, as its index in the
+     * dictionary or, if it is not there yet, as a new index followed by the
+     * zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The zone to be put.
+     * @param position The position of the scratch array it will be put at.
+     * @return the position that follows the zone.
+     * @since 2.4
+     */
+    private int putZoneID(ZoneId zoneId, int position) {
+        Integer index = this.writeIndexes.get(zoneId);
+        if (index != null) {
+            return this.putVarLong(index, position);
+        }
+        for (int i = 0; i < this.pendingWriteCount; i++) {
+            if (this.pendingWriteZoneIDs[i].equals(zoneId)) {
+                return this.putVarLong(this.writeIndexes.size() + i, position);
+            }
+        }
+        String id = zoneId.getId();
+        int length = id.length();
+        this.ensureScratch(position + JGlobalDateTimeCodec.MAX_FIXED_LENGTH + length);
+        int newPosition = this.putVarLong(this.writeIndexes.size() + this.pendingWriteCount, position);
+        newPosition = this.putVarLong(length, newPosition);
+        for (int i = 0; i < length; i++) {
+            this.scratch[newPosition++] = (byte) id.charAt(i);
+        }
+        this.pendingWriteZoneIDs[this.pendingWriteCount++] = zoneId;
+        return newPosition;
+    }
+
+    /**
+     * This methods puts a non-negative value into the scratch array as a
+     * varint: seven bits per byte, least significant group first, with the
+     * most significant bit set in every byte but the last one.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param value The value to be put, taken as unsigned.
+     * @param position The position of the scratch array it will be put at.
+     * @return the position that follows the value.
+     * @since 2.4
+     */
+    private int putVarLong(long value, int position) {
+        long remaining = value;
+        int newPosition = position;
+        while ((remaining & ~JGlobalDateTimeCodec.VARINT_PAYLOAD_MASK) != 0) {
+            this.scratch[newPosition++] = (byte) ((remaining & JGlobalDateTimeCodec.VARINT_PAYLOAD_MASK) | JGlobalDateTimeCodec.VARINT_CONTINUATION);
+            remaining >>>= JGlobalDateTimeCodec.VARINT_PAYLOAD_BITS;
+        }
+        this.scratch[newPosition++] = (byte) remaining;
+        return newPosition;
+    }
+
+    /**
+     * This methods makes sure the scratch array has, at least, the specified
+     * length, keeping its content.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param length The minimum length.
+     * @since 2.4
+     */
+    private void ensureScratch(int length) {
+        if (this.scratch.length < length) {
+            this.scratch = Arrays.copyOf(this.scratch, Math.max(length, this.scratch.length * 2));
+        }
+    }
+
+    /**
+     * This methods decodes a JGlobalDateTime from either a ByteBuffer or a
+     * DataInput (the other one has to be null). The zones defined inline are
+     * only added to the dictionary once the whole representation has been
+     * read.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param buffer The buffer the representation will be read from, or null.
+     * @param input The DataInput the representation will be read from, or
+     * null.
+     * @return the JGlobalDateTime read.
+     * @throws IOException if the DataInput cannot be read.
+     * @throws JGlobalDateTimeException if the bytes are not a valid binary
+     * representation of a JGlobalDateTime.
+     * @since 2.4
+     */
+    private JGlobalDateTime decode(ByteBuffer buffer, DataInput input) throws IOException, JGlobalDateTimeException {
+        this.pendingReadCount = 0;
+        int header = JGlobalDateTimeCodec.nextByte(buffer, input) & JGlobalDateTimeCodec.BYTE_MASK;
+        int precissionOrdinal = header >>> JGlobalDateTimeCodec.PRECISSION_SHIFT;
+        // Four bits can hold every ChronoUnit, but only precissions up to a
+        // day can be written.
+        if (precissionOrdinal > JGlobalDateTimeCodec.MAX_PRECISSION_ORDINAL) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+        }
+        long normalizedEpochSecond = JGlobalDateTimeCodec.unZigZag(JGlobalDateTimeCodec.getVarLong(buffer, input));
+        int normalizedNano = 0;
+        if ((header & JGlobalDateTimeCodec.FLAG_NORMALIZED_NANO) != 0) {
+            normalizedNano = JGlobalDateTimeCodec.getNano(buffer, input);
+        }
+        ZoneId referenceZoneID = this.getZoneID(buffer, input);
+        long originalEpochSecond = normalizedEpochSecond;
+        int originalNano = normalizedNano;
+        if ((header & JGlobalDateTimeCodec.FLAG_ORIGINAL_INSTANT) != 0) {
+            originalEpochSecond = normalizedEpochSecond + JGlobalDateTimeCodec.unZigZag(JGlobalDateTimeCodec.getVarLong(buffer, input));
+            originalNano = 0;
+            if ((header & JGlobalDateTimeCodec.FLAG_ORIGINAL_NANO) != 0) {
+                originalNano = JGlobalDateTimeCodec.getNano(buffer, input);
+            }
+        }
+        ZoneId originalZoneID = referenceZoneID;
+        if ((header & JGlobalDateTimeCodec.FLAG_ORIGINAL_ZONE) != 0) {
+            originalZoneID = this.getZoneID(buffer, input);
+        }
+        if (!JGlobalDateTimeCodec.isValidEpochSecond(normalizedEpochSecond) || !JGlobalDateTimeCodec.isValidEpochSecond(originalEpochSecond)) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+        }
+        for (int i = 0; i < this.pendingReadCount; i++) {
+            this.readZoneIDs.add(this.pendingReadZoneIDs[i]);
+            this.pendingReadZoneIDs[i] = null;
+        }
+        this.pendingReadCount = 0;
+        return new JGlobalDateTime(originalEpochSecond, originalNano, originalZoneID, normalizedEpochSecond, normalizedNano, referenceZoneID, JGlobalDateTimeCodec.PRECISSIONS[precissionOrdinal]);
+    }
+
+    /**
+     * This methods gets a zone from either a ByteBuffer or a DataInput, as an
+     * index of the dictionary or, if it is a new index, as the zone ID that
+     * follows it. New zones are kept apart until the whole representation has
+     * been read.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param buffer The buffer the zone will be read from, or null.
+     * @param input The DataInput the zone will be read from, or null.
+     * @return the zone read.
+     * @throws IOException if the DataInput cannot be read.
+     * @throws JGlobalDateTimeException if the index or the zone ID are not
+     * valid.
+     * @since 2.4
+     */
+    private ZoneId getZoneID(ByteBuffer buffer, DataInput input) throws IOException, JGlobalDateTimeException {
+        long index = JGlobalDateTimeCodec.getVarLong(buffer, input);
+        int size = this.readZoneIDs.size();
+        if ((index >= 0) && (index < size)) {
+            return this.readZoneIDs.get((int) index);
+        }
+        if ((index >= size) && (index < (size + this.pendingReadCount))) {
+            return this.pendingReadZoneIDs[(int) (index - size)];
+        }
+        long length = JGlobalDateTimeCodec.getVarLong(buffer, input);
+        if ((index != (size + this.pendingReadCount)) || (length <= 0) || (length > JGlobalDateTimeCodec.MAX_ZONE_ID_LENGTH)) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+        }
+        byte[] id = new byte[(int) length];
+        for (int i = 0; i < id.length; i++) {
+            id[i] = JGlobalDateTimeCodec.nextByte(buffer, input);
+        }
+        ZoneId zoneId;
+        try {
+            zoneId = JGlobalDateTimeZoneCache.getZoneID(new String(id, StandardCharsets.US_ASCII));
+        } catch (DateTimeException ex) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
+        }
+        this.pendingReadZoneIDs[this.pendingReadCount++] = zoneId;
+        return zoneId;
+    }
+
+    /**
+     * This methods gets a nanosecond of second, as a varint, from either a
+     * ByteBuffer or a DataInput.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param buffer The buffer the value will be read from, or null.
+     * @param input The DataInput the value will be read from, or null.
+     * @return the nanosecond of second read.
+     * @throws IOException if the DataInput cannot be read.
+     * @throws JGlobalDateTimeException if the value is not a valid nanosecond
+     * of second.
+     * @since 2.4
+     */
+    private static int getNano(ByteBuffer buffer, DataInput input) throws IOException, JGlobalDateTimeException {
+        long nano = JGlobalDateTimeCodec.getVarLong(buffer, input);
+        if ((nano <= 0) || (nano >= JGlobalDateTimeCodec.NANOS_PER_SECOND)) {
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+        }
+        return (int) nano;
+    }
+
+    /**
+     * This methods gets a varint from either a ByteBuffer or a DataInput.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param buffer The buffer the value will be read from, or null.
+     * @param input The DataInput the value will be read from, or null.
+     * @return the value read, taken as unsigned.
+     * @throws IOException if the DataInput cannot be read.
+     * @throws JGlobalDateTimeException if the varint is longer than 64 bits.
+     * @since 2.4
+     */
+    private static long getVarLong(ByteBuffer buffer, DataInput input) throws IOException, JGlobalDateTimeException {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += JGlobalDateTimeCodec.VARINT_PAYLOAD_BITS) {
+            byte nextByte = JGlobalDateTimeCodec.nextByte(buffer, input);
+            value |= (nextByte & JGlobalDateTimeCodec.VARINT_PAYLOAD_MASK) << shift;
+            if ((nextByte & JGlobalDateTimeCodec.VARINT_CONTINUATION) == 0) {
+                return value;
+            }
+        }
+        throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+    }
+
+    /**
+     * This methods gets the next byte from either a ByteBuffer or a DataInput.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param buffer The buffer the byte will be read from, or null.
+     * @param input The DataInput the byte will be read from, or null.
+     * @return the byte read.
+     * @throws IOException if the DataInput cannot be read.
+     * @since 2.4
+     */
+    private static byte nextByte(ByteBuffer buffer, DataInput input) throws IOException {
+        if (buffer != null) {
+            return buffer.get();
+        }
+        return input.readByte();
+    }
+
+    /**
+     * This methods checks whether a number of seconds from Epoch is within the
+     * range supported by Instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The number of seconds from Epoch.
+     * @return true, if it is within the supported range. Otherwise, false.
+     * @since 2.4
+     */
+    private static boolean isValidEpochSecond(long epochSecond) {
+        return (epochSecond >= Instant.MIN.getEpochSecond()) && (epochSecond <= Instant.MAX.getEpochSecond());
+    }
+
+    /**
+     * This methods maps a signed value to an unsigned one so that values close
+     * to zero, either positive or negative, are encoded as short varints.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param value The signed value.
+     * @return the zigzag encoded value.
+     * @since 2.4
+     */
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> (Long.SIZE - 1));
+    }
+
+    /**
+     * This methods reverts the mapping done by zigZag().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param value The zigzag encoded value.
+     * @return the signed value.
+     * @since 2.4
+     */
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private final ZoneId[] sharedZoneIDs;
+    private final Map<ZoneId, Integer> writeIndexes;
+    private final List<ZoneId> readZoneIDs;
+    private final ZoneId[] pendingWriteZoneIDs = new ZoneId[JGlobalDateTimeCodec.MAX_ZONES_PER_DATETIME];
+    private final ZoneId[] pendingReadZoneIDs = new ZoneId[JGlobalDateTimeCodec.MAX_ZONES_PER_DATETIME];
+    private int pendingWriteCount;
+    private int pendingReadCount;
+    private byte[] scratch;
+
+    private static final int FLAG_NORMALIZED_NANO = 0x01;
+    private static final int FLAG_ORIGINAL_INSTANT = 0x02;
+    private static final int FLAG_ORIGINAL_NANO = 0x04;
+    private static final int FLAG_ORIGINAL_ZONE = 0x08;
+    private static final int PRECISSION_SHIFT = 4;
+    private static final int BYTE_MASK = 0xFF;
+    private static final long VARINT_PAYLOAD_MASK = 0x7FL;
+    private static final int VARINT_PAYLOAD_BITS = 7;
+    private static final int VARINT_CONTINUATION = 0x80;
+    private static final int MAX_VARINT_LENGTH = 10;
+    private static final int MAX_ZONES_PER_DATETIME = 2;
+    private static final int MAX_FIXED_LENGTH = 1 + (8 * MAX_VARINT_LENGTH);
+    private static final int MAX_ZONE_ID_LENGTH = 255;
+    private static final int INITIAL_SCRATCH_LENGTH = 128;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final ChronoUnit[] PRECISSIONS = ChronoUnit.values();
+    private static final int MAX_PRECISSION_ORDINAL = ChronoUnit.DAYS.ordinal();
+}
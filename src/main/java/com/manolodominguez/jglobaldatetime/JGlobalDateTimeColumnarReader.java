@@ -0,0 +1,769 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+
+/**
+ * This class implements a reader of the columnar files written by
+ * JGlobalDateTimeColumnarWriter. The file is memory-mapped, so rows are read
+ * straight from the page cache, without copies: each value can be read by row
+ * number, each column of a block can be seen as a primitive buffer and the
+ * rows can be scanned with a Cursor, a reusable flyweight that works as a
+ * JGlobalDateTime for comparison purposes without creating any object per row.
+ * Files larger than 2 GB are mapped in several segments. Nanoseconds and zone
+ * indexes of every block are checked once, when the file is opened, so rows
+ * are read later without further checks. Once opened, the reader can be used
+ * by several threads at the same time; cursors cannot.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeColumnarReader implements AutoCloseable {
+
+    /**
+     * This is the constructor of the class. It creates a new reader of the
+     * specified file, mapping it into memory.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param path The file to be read.
+     * @throws IOException if the file cannot be read.
+     * @throws JGlobalDateTimeException if the file is not a valid columnar
+     * file or it contains invalid Zone IDs.
+     * @since 2.4
+     */
+    public JGlobalDateTimeColumnarReader(Path path) throws IOException, JGlobalDateTimeException {
+        this(path, JGlobalDateTimeColumnarReader.MAX_SEGMENT_BYTES);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new reader of the
+     * specified file, mapping it into memory in segments of, at most, the
+     * specified size, or of a single block if blocks are larger than that.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param path The file to be read.
+     * @param maxSegmentBytes The maximum size of each mapped segment.
+     * @throws IOException if the file cannot be read.
+     * @throws JGlobalDateTimeException if the file is not a valid columnar
+     * file or it contains invalid Zone IDs.
+     * @since 2.4
+     */
+    JGlobalDateTimeColumnarReader(Path path, int maxSegmentBytes) throws IOException, JGlobalDateTimeException {
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long fileSize = this.channel.size();
+            if (fileSize < JGlobalDateTimeColumnarWriter.HEADER_BYTES) {
+                throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+            }
+            ByteBuffer header = this.read(0, JGlobalDateTimeColumnarWriter.HEADER_BYTES);
+            int magic = header.getInt();
+            int version = header.getInt();
+            this.blockRows = header.getInt();
+            header.getInt();
+            this.rowCount = header.getLong();
+            long dictionaryPosition = header.getLong();
+            if ((magic != JGlobalDateTimeColumnarWriter.MAGIC) || (version != JGlobalDateTimeColumnarWriter.VERSION)
+                    || (this.blockRows <= 0) || (this.blockRows > JGlobalDateTimeColumnarWriter.MAX_BLOCK_ROWS) || (this.rowCount < 0)
+                    || (this.rowCount > ((fileSize - JGlobalDateTimeColumnarWriter.HEADER_BYTES) / JGlobalDateTimeColumnarWriter.ROW_BYTES))
+                    || (dictionaryPosition != (JGlobalDateTimeColumnarWriter.HEADER_BYTES + (this.rowCount * JGlobalDateTimeColumnarWriter.ROW_BYTES)))
+                    || ((fileSize - dictionaryPosition) > JGlobalDateTimeColumnarReader.MAX_DICTIONARY_BYTES)) {
+                throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+            }
+            this.zoneIDs = this.readDictionary(dictionaryPosition, (int) (fileSize - dictionaryPosition));
+            this.blockBytes = this.blockRows * JGlobalDateTimeColumnarWriter.ROW_BYTES;
+            this.blocksPerSegment = Math.max(1, Math.min(maxSegmentBytes, JGlobalDateTimeColumnarReader.MAX_SEGMENT_BYTES) / this.blockBytes);
+            this.blockCount = (int) ((this.rowCount + this.blockRows - 1) / this.blockRows);
+            this.lastBlockRows = (this.blockCount == 0) ? 0 : (int) (this.rowCount - ((long) (this.blockCount - 1) * this.blockRows));
+            this.segments = new MappedByteBuffer[(this.blockCount + this.blocksPerSegment - 1) / this.blocksPerSegment];
+            for (int i = 0; i < this.segments.length; i++) {
+                int lastBlock = Math.min(this.blockCount, (i + 1) * this.blocksPerSegment) - 1;
+                long start = this.getBlockPosition(i * this.blocksPerSegment);
+                long end = this.getBlockPosition(lastBlock) + ((long) this.getBlockRows(lastBlock) * JGlobalDateTimeColumnarWriter.ROW_BYTES);
+                this.segments[i] = this.channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+                this.segments[i].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            this.checkBlocks();
+        } catch (IOException | JGlobalDateTimeException | RuntimeException ex) {
+            this.channel.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * This methods gets the number of rows of the file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of rows of the file.
+     * @since 2.4
+     */
+    public long getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * This methods gets the number of blocks of the file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of blocks of the file.
+     * @since 2.4
+     */
+    public int getBlockCount() {
+        return this.blockCount;
+    }
+
+    /**
+     * This methods gets the number of rows of the specified block. It is the
+     * same for every block but, maybe, the last one.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @return the number of rows of the block.
+     * @throws IndexOutOfBoundsException if the block does not exist.
+     * @since 2.4
+     */
+    public int getBlockRows(int block) {
+        this.checkBlock(block);
+        return (block == (this.blockCount - 1)) ? this.lastBlockRows : this.blockRows;
+    }
+
+    /**
+     * This methods gets the number of the first row of the specified block.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @return the number of the first row of the block.
+     * @throws IndexOutOfBoundsException if the block does not exist.
+     * @since 2.4
+     */
+    public long getBlockFirstRow(int block) {
+        this.checkBlock(block);
+        return (long) block * this.blockRows;
+    }
+
+    /**
+     * This methods gets a read-only view of the column of seconds from Epoch
+     * of the specified block, without copying it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @return the seconds from Epoch of the rows of the block.
+     * @throws IndexOutOfBoundsException if the block does not exist.
+     * @since 2.4
+     */
+    public LongBuffer getEpochSeconds(int block) {
+        return this.getColumn(block, 0, JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES).asLongBuffer();
+    }
+
+    /**
+     * This methods gets a read-only view of the column of nanoseconds of
+     * second of the specified block, without copying it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @return the nanoseconds of second of the rows of the block.
+     * @throws IndexOutOfBoundsException if the block does not exist.
+     * @since 2.4
+     */
+    public IntBuffer getNanos(int block) {
+        return this.getColumn(block, JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES, JGlobalDateTimeColumnarWriter.NANO_BYTES).asIntBuffer();
+    }
+
+    /**
+     * This methods gets a read-only view of the column of zone indexes of the
+     * specified block, without copying it. Zone indexes can be translated
+     * with getDictionaryZoneID().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @return the zone indexes of the rows of the block.
+     * @throws IndexOutOfBoundsException if the block does not exist.
+     * @since 2.4
+     */
+    public IntBuffer getZoneIndexes(int block) {
+        return this.getColumn(block, JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES + JGlobalDateTimeColumnarWriter.NANO_BYTES, JGlobalDateTimeColumnarWriter.ZONE_INDEX_BYTES).asIntBuffer();
+    }
+
+    /**
+     * This methods gets the number of zones of the zone dictionary of the
+     * file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of zones of the dictionary.
+     * @since 2.4
+     */
+    public int getZoneCount() {
+        return this.zoneIDs.length;
+    }
+
+    /**
+     * This methods gets the zone that corresponds to the specified index of
+     * the zone dictionary of the file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneIndex The index.
+     * @return the zone.
+     * @throws IndexOutOfBoundsException if the index does not exist.
+     * @since 2.4
+     */
+    public ZoneId getDictionaryZoneID(int zoneIndex) {
+        return this.zoneIDs[zoneIndex];
+    }
+
+    /**
+     * This methods gets the instant of the specified row, as seconds from
+     * Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @return the instant of the row, as seconds from Epoch.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    public long getEpochSecond(long row) {
+        return this.getSegment(row).getLong(this.getPosition(row, 0, JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES));
+    }
+
+    /**
+     * This methods gets the nanosecond of second of the instant of the
+     * specified row.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @return the nanosecond of second of the instant of the row.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    public int getNano(long row) {
+        return this.getSegment(row).getInt(this.getPosition(row, JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES, JGlobalDateTimeColumnarWriter.NANO_BYTES));
+    }
+
+    /**
+     * This methods gets the zone the instant of the specified row is
+     * expressed in.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @return the zone of the row.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    public ZoneId getZoneID(long row) {
+        return this.zoneIDs[this.getSegment(row).getInt(this.getPosition(row, JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES + JGlobalDateTimeColumnarWriter.NANO_BYTES, JGlobalDateTimeColumnarWriter.ZONE_INDEX_BYTES))];
+    }
+
+    /**
+     * This methods gets the instant of the specified row, as the number of
+     * milliseconds since Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @return the instant of the row, as milliseconds since Epoch.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    public long toEpochMilli(long row) {
+        return JGlobalDateTimeColumnarReader.toEpochMilli(this.getEpochSecond(row), this.getNano(row));
+    }
+
+    /**
+     * This methods creates a new JGlobalDateTime from the specified row. It
+     * is equivalent to creating it from the zoned datetime the row represents.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @return a new JGlobalDateTime.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    public JGlobalDateTime toJGlobalDateTime(long row) {
+        return JGlobalDateTimeColumnarReader.toJGlobalDateTime(this.getEpochSecond(row), this.getNano(row), this.getZoneID(row));
+    }
+
+    /**
+     * This methods creates a new cursor over the rows of the file, positioned
+     * before the first one.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a new cursor.
+     * @since 2.4
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * This methods closes the file. Mapped segments are released by the
+     * garbage collector once they are not used anymore, so neither the reader
+     * nor its cursors can be used after closing it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws IOException if the file cannot be closed.
+     * @since 2.4
+     */
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+
+    /**
+     * This class implements a cursor over the rows of a columnar file. It is a
+     * reusable flyweight: moving it to another row does not create any object,
+     * and it can be compared with JGlobalDateTime instances as if it was one
+     * of them. A cursor is not thread-safe.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    public final class Cursor {
+
+        /**
+         * This is the constructor of the class. It creates a new cursor
+         * positioned before the first row.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        private Cursor() {
+            this.row = -1;
+            this.blockEndRow = 0;
+        }
+
+        /**
+         * This methods moves the cursor to the next row.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if there is a next row. Otherwise, false, and the
+         * cursor is left after the last row.
+         * @since 2.4
+         */
+        public boolean next() {
+            if (this.row >= (JGlobalDateTimeColumnarReader.this.rowCount - 1)) {
+                this.row = JGlobalDateTimeColumnarReader.this.rowCount;
+                return false;
+            }
+            this.row++;
+            if (this.row >= this.blockEndRow) {
+                this.loadBlock();
+            }
+            return true;
+        }
+
+        /**
+         * This methods moves the cursor to the specified row.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param newRow The row.
+         * @throws IndexOutOfBoundsException if the row does not exist.
+         * @since 2.4
+         */
+        public void moveTo(long newRow) {
+            JGlobalDateTimeColumnarReader.this.checkRow(newRow);
+            this.row = newRow;
+            if ((this.row < this.blockFirstRow) || (this.row >= this.blockEndRow)) {
+                this.loadBlock();
+            }
+        }
+
+        /**
+         * This methods gets the row the cursor is positioned at.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the row the cursor is positioned at.
+         * @since 2.4
+         */
+        public long getRow() {
+            return this.row;
+        }
+
+        /**
+         * This methods gets the instant of the current row, as seconds from
+         * Epoch.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the instant of the current row, as seconds from Epoch.
+         * @since 2.4
+         */
+        public long getEpochSecond() {
+            return this.segment.getLong(this.epochSecondsStart + ((int) (this.row - this.blockFirstRow) * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES));
+        }
+
+        /**
+         * This methods gets the nanosecond of second of the instant of the
+         * current row.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the nanosecond of second of the instant of the current row.
+         * @since 2.4
+         */
+        public int getNano() {
+            return this.segment.getInt(this.nanosStart + ((int) (this.row - this.blockFirstRow) * JGlobalDateTimeColumnarWriter.NANO_BYTES));
+        }
+
+        /**
+         * This methods gets the zone the instant of the current row is
+         * expressed in.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the zone of the current row.
+         * @since 2.4
+         */
+        public ZoneId getZoneID() {
+            return JGlobalDateTimeColumnarReader.this.zoneIDs[this.segment.getInt(this.zoneIndexesStart + ((int) (this.row - this.blockFirstRow) * JGlobalDateTimeColumnarWriter.ZONE_INDEX_BYTES))];
+        }
+
+        /**
+         * This methods gets the instant of the current row, as the number of
+         * milliseconds since Epoch.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the instant of the current row, as milliseconds since Epoch.
+         * @since 2.4
+         */
+        public long toEpochMilli() {
+            return JGlobalDateTimeColumnarReader.toEpochMilli(this.getEpochSecond(), this.getNano());
+        }
+
+        /**
+         * This methods compares the instant of the current row with the
+         * instant of a JGlobalDateTime, with nanosecond resolution.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param anotherZonedDateTime The JGlobalDateTime to compare with.
+         * @return a negative value if the current row is before the specified
+         * JGlobalDateTime, zero if they represent the same instant and a
+         * positive value otherwise.
+         * @since 2.4
+         */
+        public int compareTo(JGlobalDateTime anotherZonedDateTime) {
+            int result = Long.compare(this.getEpochSecond(), anotherZonedDateTime.getNormalizedEpochSecond());
+            if (result != 0) {
+                return result;
+            }
+            return Integer.compare(this.getNano(), anotherZonedDateTime.getNormalizedNano());
+        }
+
+        /**
+         * This methods checks whether the current row represents the same
+         * instant as the specified JGlobalDateTime.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param anotherZonedDateTime The JGlobalDateTime to compare with.
+         * @return true, if both represent the same instant. Otherwise, false.
+         * @since 2.4
+         */
+        public boolean isEqualTo(JGlobalDateTime anotherZonedDateTime) {
+            return this.compareTo(anotherZonedDateTime) == 0;
+        }
+
+        /**
+         * This methods checks whether the current row is before the specified
+         * JGlobalDateTime.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param anotherZonedDateTime The JGlobalDateTime to compare with.
+         * @return true, if the current row is before the specified
+         * JGlobalDateTime. Otherwise, false.
+         * @since 2.4
+         */
+        public boolean isBefore(JGlobalDateTime anotherZonedDateTime) {
+            return this.compareTo(anotherZonedDateTime) < 0;
+        }
+
+        /**
+         * This methods checks whether the current row is after the specified
+         * JGlobalDateTime.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param anotherZonedDateTime The JGlobalDateTime to compare with.
+         * @return true, if the current row is after the specified
+         * JGlobalDateTime. Otherwise, false.
+         * @since 2.4
+         */
+        public boolean isAfter(JGlobalDateTime anotherZonedDateTime) {
+            return this.compareTo(anotherZonedDateTime) > 0;
+        }
+
+        /**
+         * This methods creates a new JGlobalDateTime from the current row.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return a new JGlobalDateTime.
+         * @since 2.4
+         */
+        public JGlobalDateTime toJGlobalDateTime() {
+            return JGlobalDateTimeColumnarReader.toJGlobalDateTime(this.getEpochSecond(), this.getNano(), this.getZoneID());
+        }
+
+        /**
+         * This methods loads the positions of the columns of the block that
+         * contains the current row.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        private void loadBlock() {
+            JGlobalDateTimeColumnarReader reader = JGlobalDateTimeColumnarReader.this;
+            int block = (int) (this.row / reader.blockRows);
+            int rows = reader.getBlockRows(block);
+            this.segment = reader.segments[block / reader.blocksPerSegment];
+            this.blockFirstRow = (long) block * reader.blockRows;
+            this.blockEndRow = this.blockFirstRow + rows;
+            this.epochSecondsStart = (block % reader.blocksPerSegment) * reader.blockBytes;
+            this.nanosStart = this.epochSecondsStart + (rows * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES);
+            this.zoneIndexesStart = this.nanosStart + (rows * JGlobalDateTimeColumnarWriter.NANO_BYTES);
+        }
+
+        private long row;
+        private ByteBuffer segment;
+        private long blockFirstRow;
+        private long blockEndRow;
+        private int epochSecondsStart;
+        private int nanosStart;
+        private int zoneIndexesStart;
+    }
+
+    /**
+     * This methods gets a view of a column of the specified block.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @param columnOffset The bytes per row of the columns that precede the
+     * requested one.
+     * @param width The bytes per row of the requested column.
+     * @return a read-only, little endian, view of the column.
+     * @since 2.4
+     */
+    private ByteBuffer getColumn(int block, int columnOffset, int width) {
+        int rows = this.getBlockRows(block);
+        ByteBuffer column = this.segments[block / this.blocksPerSegment].duplicate();
+        int start = ((block % this.blocksPerSegment) * this.blockBytes) + (rows * columnOffset);
+        column.limit(start + (rows * width));
+        column.position(start);
+        return column.slice().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * This methods gets the mapped segment that contains the specified row.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @return the segment that contains the row.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    private ByteBuffer getSegment(long row) {
+        this.checkRow(row);
+        return this.segments[(int) (row / this.blockRows) / this.blocksPerSegment];
+    }
+
+    /**
+     * This methods gets the position, in its segment, of the value of a column
+     * for the specified row.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @param columnOffset The bytes per row of the columns that precede the
+     * requested one.
+     * @param width The bytes per row of the requested column.
+     * @return the position of the value in its segment.
+     * @since 2.4
+     */
+    private int getPosition(long row, int columnOffset, int width) {
+        int block = (int) (row / this.blockRows);
+        int rows = (block == (this.blockCount - 1)) ? this.lastBlockRows : this.blockRows;
+        int rowInBlock = (int) (row - ((long) block * this.blockRows));
+        return ((block % this.blocksPerSegment) * this.blockBytes) + (rows * columnOffset) + (rowInBlock * width);
+    }
+
+    /**
+     * This methods gets the position of the specified block in the file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @return the position of the block in the file.
+     * @since 2.4
+     */
+    private long getBlockPosition(int block) {
+        return JGlobalDateTimeColumnarWriter.HEADER_BYTES + ((long) block * this.blockBytes);
+    }
+
+    /**
+     * This methods reads the zone dictionary of the file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param position The position of the dictionary in the file.
+     * @param length The length of the dictionary, in bytes.
+     * @return the zones of the dictionary, in index order.
+     * @throws IOException if the dictionary cannot be read.
+     * @throws JGlobalDateTimeException if the dictionary is not valid.
+     * @since 2.4
+     */
+    private ZoneId[] readDictionary(long position, int length) throws IOException, JGlobalDateTimeException {
+        ByteBuffer dictionary = this.read(position, length);
+        try {
+            int count = dictionary.getInt();
+            if ((count < 0) || (count > (dictionary.remaining() / Short.BYTES))) {
+                throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+            }
+            ZoneId[] dictionaryZoneIDs = new ZoneId[count];
+            for (int i = 0; i < count; i++) {
+                byte[] id = new byte[dictionary.getShort() & JGlobalDateTimeColumnarReader.SHORT_MASK];
+                dictionary.get(id);
+                dictionaryZoneIDs[i] = JGlobalDateTimeZoneCache.getZoneID(new String(id, StandardCharsets.US_ASCII));
+            }
+            return dictionaryZoneIDs;
+        } catch (RuntimeException ex) {
+            // Buffer underflows and invalid Zone IDs.
+            if (ex instanceof DateTimeException) {
+                throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_ZONE);
+            }
+            throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+        }
+    }
+
+    /**
+     * This methods reads a region of the file into a new little endian
+     * buffer.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param position The position of the region in the file.
+     * @param length The length of the region, in bytes.
+     * @return a buffer with the content of the region, ready to be read.
+     * @throws IOException if the region cannot be read.
+     * @throws JGlobalDateTimeException if the file ends before the region.
+     * @since 2.4
+     */
+    private ByteBuffer read(long position, int length) throws IOException, JGlobalDateTimeException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (this.channel.read(buffer, position + buffer.position()) < 0) {
+                throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * This methods checks, once, the values of every block that are read
+     * without further checks: nanoseconds of second have to be in range and
+     * zone indexes have to be in the zone dictionary.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws JGlobalDateTimeException if a block contains invalid values.
+     * @since 2.4
+     */
+    private void checkBlocks() throws JGlobalDateTimeException {
+        for (int block = 0; block < this.blockCount; block++) {
+            IntBuffer nanos = this.getNanos(block);
+            IntBuffer zoneIndexes = this.getZoneIndexes(block);
+            for (int i = 0; i < zoneIndexes.limit(); i++) {
+                int nano = nanos.get(i);
+                int zoneIndex = zoneIndexes.get(i);
+                if ((nano < 0) || (nano >= JGlobalDateTimeColumnarReader.NANOS_PER_SECOND) || (zoneIndex < 0) || (zoneIndex >= this.zoneIDs.length)) {
+                    throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT);
+                }
+            }
+        }
+    }
+
+    /**
+     * This methods checks that the specified block exists.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param block The block.
+     * @throws IndexOutOfBoundsException if the block does not exist.
+     * @since 2.4
+     */
+    private void checkBlock(int block) {
+        if ((block < 0) || (block >= this.blockCount)) {
+            throw new IndexOutOfBoundsException("Block " + block + " does not exist");
+        }
+    }
+
+    /**
+     * This methods checks that the specified row exists.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param row The row.
+     * @throws IndexOutOfBoundsException if the row does not exist.
+     * @since 2.4
+     */
+    private void checkRow(long row) {
+        if ((row < 0) || (row >= this.rowCount)) {
+            throw new IndexOutOfBoundsException("Row " + row + " does not exist");
+        }
+    }
+
+    /**
+     * This methods converts an instant, as seconds from Epoch and nanosecond
+     * of second, to milliseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second.
+     * @return the instant, as milliseconds from Epoch.
+     * @since 2.4
+     */
+    private static long toEpochMilli(long epochSecond, int nano) {
+        return Math.addExact(Math.multiplyExact(epochSecond, JGlobalDateTimeColumnarReader.MILLIS_PER_SECOND), nano / JGlobalDateTimeColumnarReader.NANOS_PER_MILLI);
+    }
+
+    /**
+     * This methods creates a JGlobalDateTime from an instant and the zone it
+     * is expressed in, as the JGlobalDateTime(ZonedDateTime) constructor
+     * would do.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second.
+     * @param zoneId The zone.
+     * @return a new JGlobalDateTime.
+     * @since 2.4
+     */
+    private static JGlobalDateTime toJGlobalDateTime(long epochSecond, int nano, ZoneId zoneId) {
+        return JGlobalDateTime.newInstance(epochSecond, nano, zoneId);
+    }
+
+    private final FileChannel channel;
+    private final long rowCount;
+    private final int blockRows;
+    private final int blockBytes;
+    private final int blockCount;
+    private final int lastBlockRows;
+    private final int blocksPerSegment;
+    private final MappedByteBuffer[] segments;
+    private final ZoneId[] zoneIDs;
+
+    private static final int MAX_SEGMENT_BYTES = 1 << 30;
+    private static final int MAX_DICTIONARY_BYTES = 1 << 24;
+    private static final int SHORT_MASK = 0xFFFF;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+    private static final int NANOS_PER_SECOND = 1000000000;
+}
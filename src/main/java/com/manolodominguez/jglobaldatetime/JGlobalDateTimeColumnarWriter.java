@@ -0,0 +1,291 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This class implements a writer of columnar files of instants, to be read by
+ * JGlobalDateTimeColumnarReader. Each row is an instant (seconds from Epoch
+ * and nanosecond of second) and the zone it is expressed in, so that reading
+ * it back is equivalent to creating a JGlobalDateTime from the original
+ * zoned datetime. The file is little endian and consists of:
+ *
+ * - A header: magic number, version, rows per block, row count and the
+ * position of the zone dictionary.
+ * - Blocks of rows. Each block has three fixed width columns, one after the
+ * other: seconds from Epoch (8 bytes per row), nanoseconds of second (4 bytes
+ * per row) and zone indexes (4 bytes per row). Every block but the last one is
+ * full.
+ * - The zone dictionary: the number of zones followed by the ID of each one of
+ * them (length and ASCII characters), in index order.
+ *
+ * Rows are buffered until a block is full, so the file is not complete until
+ * the writer is closed. This class is not thread-safe.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeColumnarWriter implements AutoCloseable {
+
+    /**
+     * This is the constructor of the class. It creates a new writer that
+     * writes to the specified file, using the default number of rows per
+     * block. If the file exists, it is truncated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param path The file to be written.
+     * @throws IOException if the file cannot be opened.
+     * @since 2.4
+     */
+    public JGlobalDateTimeColumnarWriter(Path path) throws IOException {
+        this(path, JGlobalDateTimeColumnarWriter.DEFAULT_BLOCK_ROWS);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new writer that
+     * writes to the specified file, using the specified number of rows per
+     * block. If the file exists, it is truncated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param path The file to be written.
+     * @param blockRows The number of rows per block.
+     * @throws IOException if the file cannot be opened.
+     * @throws IllegalArgumentException if the number of rows per block is not
+     * positive or it is too large.
+     * @since 2.4
+     */
+    public JGlobalDateTimeColumnarWriter(Path path, int blockRows) throws IOException {
+        if ((blockRows <= 0) || (blockRows > JGlobalDateTimeColumnarWriter.MAX_BLOCK_ROWS)) {
+            throw new IllegalArgumentException("Rows per block have to be between 1 and " + JGlobalDateTimeColumnarWriter.MAX_BLOCK_ROWS);
+        }
+        this.blockRows = blockRows;
+        this.block = ByteBuffer.allocateDirect(blockRows * JGlobalDateTimeColumnarWriter.ROW_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.header = ByteBuffer.allocate(JGlobalDateTimeColumnarWriter.HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        this.zoneIndexes = new HashMap<>();
+        this.zoneIDs = new ArrayList<>();
+        this.rowCount = 0;
+        this.blockRowCount = 0;
+        this.closed = false;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.writeHeader(0, 0);
+    }
+
+    /**
+     * This methods appends a row with the normalized instant of a
+     * JGlobalDateTime and its original Zone ID. For a JGlobalDateTime that has
+     * not been moved since its creation, reading the row back is equivalent to
+     * creating it again from its original zoned datetime.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The JGlobalDateTime to be appended.
+     * @throws IOException if a block cannot be written.
+     * @since 2.4
+     */
+    public void append(JGlobalDateTime dateTime) throws IOException {
+        this.append(dateTime.getNormalizedEpochSecond(), dateTime.getNormalizedNano(), dateTime.getOriginalZoneID());
+    }
+
+    /**
+     * This methods appends a row with the specified instant and zone.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @param zoneId The zone the instant is expressed in.
+     * @throws IOException if a block cannot be written.
+     * @throws IllegalArgumentException if the nanosecond of second is out of
+     * range.
+     * @throws IllegalStateException if the writer has been closed.
+     * @since 2.4
+     */
+    public void append(long epochSecond, int nano, ZoneId zoneId) throws IOException {
+        if (this.closed) {
+            throw new IllegalStateException("The writer has been closed");
+        }
+        if ((nano < 0) || (nano >= JGlobalDateTimeColumnarWriter.NANOS_PER_SECOND)) {
+            throw new IllegalArgumentException("The nanosecond of second is out of range");
+        }
+        Integer zoneIndex = this.zoneIndexes.get(zoneId);
+        if (zoneIndex == null) {
+            zoneIndex = this.zoneIDs.size();
+            this.zoneIndexes.put(zoneId, zoneIndex);
+            this.zoneIDs.add(zoneId);
+        }
+        int row = this.blockRowCount;
+        this.block.putLong(row * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES, epochSecond);
+        this.block.putInt((this.blockRows * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES) + (row * JGlobalDateTimeColumnarWriter.NANO_BYTES), nano);
+        this.block.putInt((this.blockRows * (JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES + JGlobalDateTimeColumnarWriter.NANO_BYTES)) + (row * JGlobalDateTimeColumnarWriter.ZONE_INDEX_BYTES), zoneIndex);
+        this.blockRowCount++;
+        this.rowCount++;
+        if (this.blockRowCount == this.blockRows) {
+            this.writeBlock();
+        }
+    }
+
+    /**
+     * This methods gets the number of rows appended so far.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of rows appended so far.
+     * @since 2.4
+     */
+    public long getRowCount() {
+        return this.rowCount;
+    }
+
+    /**
+     * This methods writes the last block, the zone dictionary and the final
+     * header, and closes the file. Calling it more than once has no effect.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws IOException if the file cannot be written.
+     * @since 2.4
+     */
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        try {
+            if (this.blockRowCount > 0) {
+                this.writeBlock();
+            }
+            long dictionaryPosition = this.channel.position();
+            int dictionaryBytes = Integer.BYTES;
+            for (ZoneId zoneId : this.zoneIDs) {
+                dictionaryBytes += Short.BYTES + zoneId.getId().length();
+            }
+            ByteBuffer dictionary = ByteBuffer.allocate(dictionaryBytes).order(ByteOrder.LITTLE_ENDIAN);
+            dictionary.putInt(this.zoneIDs.size());
+            for (ZoneId zoneId : this.zoneIDs) {
+                String id = zoneId.getId();
+                dictionary.putShort((short) id.length());
+                for (int i = 0; i < id.length(); i++) {
+                    dictionary.put((byte) id.charAt(i));
+                }
+            }
+            dictionary.flip();
+            JGlobalDateTimeColumnarWriter.writeFully(this.channel, dictionary);
+            this.channel.position(0);
+            this.writeHeader(this.rowCount, dictionaryPosition);
+        } finally {
+            this.channel.close();
+        }
+    }
+
+    /**
+     * This methods writes the buffered block to the file. If the block is not
+     * full, its columns are written one after the other, without gaps.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws IOException if the block cannot be written.
+     * @since 2.4
+     */
+    private void writeBlock() throws IOException {
+        int nanosStart = this.blockRows * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES;
+        int zoneIndexesStart = nanosStart + (this.blockRows * JGlobalDateTimeColumnarWriter.NANO_BYTES);
+        this.writeColumn(0, this.blockRowCount * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES);
+        this.writeColumn(nanosStart, this.blockRowCount * JGlobalDateTimeColumnarWriter.NANO_BYTES);
+        this.writeColumn(zoneIndexesStart, this.blockRowCount * JGlobalDateTimeColumnarWriter.ZONE_INDEX_BYTES);
+        this.blockRowCount = 0;
+    }
+
+    /**
+     * This methods writes a region of the buffered block to the file.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param start The position of the region in the block.
+     * @param length The length of the region, in bytes.
+     * @throws IOException if the region cannot be written.
+     * @since 2.4
+     */
+    private void writeColumn(int start, int length) throws IOException {
+        this.block.limit(start + length);
+        this.block.position(start);
+        JGlobalDateTimeColumnarWriter.writeFully(this.channel, this.block);
+        this.block.clear();
+    }
+
+    /**
+     * This methods writes the header of the file at the current position of
+     * the channel.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param rows The number of rows of the file.
+     * @param dictionaryPosition The position of the zone dictionary.
+     * @throws IOException if the header cannot be written.
+     * @since 2.4
+     */
+    private void writeHeader(long rows, long dictionaryPosition) throws IOException {
+        this.header.clear();
+        this.header.putInt(JGlobalDateTimeColumnarWriter.MAGIC);
+        this.header.putInt(JGlobalDateTimeColumnarWriter.VERSION);
+        this.header.putInt(this.blockRows);
+        this.header.putInt(0);
+        this.header.putLong(rows);
+        this.header.putLong(dictionaryPosition);
+        this.header.flip();
+        JGlobalDateTimeColumnarWriter.writeFully(this.channel, this.header);
+    }
+
+    /**
+     * This methods writes all the remaining bytes of a buffer to a channel.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param channel The channel.
+     * @param buffer The buffer.
+     * @throws IOException if the bytes cannot be written.
+     * @since 2.4
+     */
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private final FileChannel channel;
+    private final int blockRows;
+    private final ByteBuffer block;
+    private final ByteBuffer header;
+    private final Map<ZoneId, Integer> zoneIndexes;
+    private final List<ZoneId> zoneIDs;
+    private long rowCount;
+    private int blockRowCount;
+    private boolean closed;
+
+    static final int MAGIC = 0x4A474454;
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 32;
+    static final int EPOCH_SECOND_BYTES = Long.BYTES;
+    static final int NANO_BYTES = Integer.BYTES;
+    static final int ZONE_INDEX_BYTES = Integer.BYTES;
+    static final int ROW_BYTES = EPOCH_SECOND_BYTES + NANO_BYTES + ZONE_INDEX_BYTES;
+    static final int MAX_BLOCK_ROWS = 1 << 24;
+    private static final int DEFAULT_BLOCK_ROWS = 1 << 16;
+    private static final int NANOS_PER_SECOND = 1000000000;
+}
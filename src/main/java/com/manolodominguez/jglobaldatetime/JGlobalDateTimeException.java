@@ -38,6 +38,96 @@ public class JGlobalDateTimeException extends Exception {
         this.reasonCode = reasonCode;
     }
 
+    /**
+     * This is the constructor of the class. It creates a new instance of
+     * JGlobalDateTimeException that, optionally, does not capture the stack
+     * trace. Suppressed exceptions are never recorded.
+     *
+     * @param message The message associated to the exception.
+     * @param reasonCode The reason code associated to the exception.
+     * @param writableStackTrace Whether the stack trace is captured.
+     * @author Manuel Domínguez-Dorado ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeException(String message, int reasonCode, boolean writableStackTrace) {
+        super(message, null, false, writableStackTrace);
+        this.reasonCode = reasonCode;
+    }
+
+    /**
+     * This method enables or disables the stackless mode. In stackless mode,
+     * the exceptions thrown by JGlobalDateTime classes do not capture the
+     * stack trace and, for the supported reason codes, they are preallocated
+     * instances shared by all threads; so they are cheap to throw but they
+     * must not be modified (initCause()...) nor used to find where they were
+     * thrown. It is disabled by default.
+     *
+     * @param stackless true, to enable the stackless mode. Otherwise, false.
+     * @author Manuel Domínguez-Dorado ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public static void setStacklessMode(boolean stackless) {
+        JGlobalDateTimeException.stacklessMode = stackless;
+    }
+
+    /**
+     * This method checks whether the stackless mode is enabled.
+     *
+     * @return true, if the stackless mode is enabled. Otherwise, false.
+     * @author Manuel Domínguez-Dorado ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public static boolean isStacklessMode() {
+        return JGlobalDateTimeException.stacklessMode;
+    }
+
+    /**
+     * This method gets an exception for the specified reason code, with its
+     * corresponding message. In stackless mode, it is a preallocated instance.
+     *
+     * @param reasonCode The reason code associated to the exception. It has
+     * to be one of the constants defined in JGlobalDateTimeException class.
+     * @return an exception for the specified reason code.
+     * @author Manuel Domínguez-Dorado ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    static JGlobalDateTimeException newInstance(int reasonCode) {
+        if (JGlobalDateTimeException.stacklessMode) {
+            return JGlobalDateTimeException.PREALLOCATED[reasonCode];
+        }
+        return new JGlobalDateTimeException(JGlobalDateTimeException.REASON_MESSAGES[reasonCode], reasonCode);
+    }
+
+    /**
+     * This method gets an exception with the specified message and reason
+     * code. In stackless mode, it does not capture the stack trace.
+     *
+     * @param message The message associated to the exception.
+     * @param reasonCode The reason code associated to the exception.
+     * @return an exception with the specified message and reason code.
+     * @author Manuel Domínguez-Dorado ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    static JGlobalDateTimeException newInstance(String message, int reasonCode) {
+        if (JGlobalDateTimeException.stacklessMode) {
+            return new JGlobalDateTimeException(message, reasonCode, false);
+        }
+        return new JGlobalDateTimeException(message, reasonCode);
+    }
+
+    /**
+     * This method gets the message that corresponds to a reason code.
+     *
+     * @param reasonCode The reason code. It has to be one of the constants
+     * defined in JGlobalDateTimeException class.
+     * @return the message that corresponds to the reason code.
+     * @author Manuel Domínguez-Dorado ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    static String getReasonMessage(int reasonCode) {
+        return JGlobalDateTimeException.REASON_MESSAGES[reasonCode];
+    }
+
     /**
      * This method gets the reason code associated to the exception.
      *
@@ -59,6 +149,7 @@ public class JGlobalDateTimeException extends Exception {
     public static final int RC_UNEXPECTED_ERROR = 1;
     public static final int RC_INVALID_ZONE = 2;
     public static final int RC_INVALID_ZONEDDATETIME_STRING = 3;
+    public static final int RC_INVALID_BINARY_FORMAT = 4;
 
     /**
      * Supported reason messages for the exception. To be internationalized.
@@ -67,4 +158,16 @@ public class JGlobalDateTimeException extends Exception {
     public static final String RM_UNEXPECTED_ERROR = "Unexpected error";
     public static final String RM_INVALID_ZONE = "The specified ZoneId is not valid";
     public static final String RM_INVALID_ZONEDDATETIME_STRING = "The specified string is not a valid ZonedDateTime string";
+    public static final String RM_INVALID_BINARY_FORMAT = "The specified bytes are not a valid JGlobalDateTime binary representation";
+
+    private static final String[] REASON_MESSAGES = {RM_OK, RM_UNEXPECTED_ERROR, RM_INVALID_ZONE, RM_INVALID_ZONEDDATETIME_STRING, RM_INVALID_BINARY_FORMAT};
+    private static final JGlobalDateTimeException[] PREALLOCATED = new JGlobalDateTimeException[REASON_MESSAGES.length];
+
+    static {
+        for (int i = 0; i < REASON_MESSAGES.length; i++) {
+            PREALLOCATED[i] = new JGlobalDateTimeException(REASON_MESSAGES[i], i, false);
+        }
+    }
+
+    private static volatile boolean stacklessMode = false;
 }
@@ -0,0 +1,383 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class implements the formatters JGlobalDateTime uses to generate the
+ * text representation of its datetimes. They write directly into caller
+ * supplied buffers and do not create intermediate objects.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+final class JGlobalDateTimeFormatter {
+
+    /**
+     * This is the constructor of the class. It is private because this class
+     * only has static methods and should not be instantiated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeFormatter() {
+    }
+
+    /**
+     * This methods writes a local date and time in MySQL DATETIME format, with
+     * all its fields zero-padded and nanoseconds precission. For instance
+     * "2015-02-16 18:01:12.022034000".
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param localEpochSecond The local date and time, as seconds from
+     * 1970-01-01T00:00:00 in the local time line.
+     * @param nano The nanosecond of second.
+     * @param output The buffer the formatted date and time will be written to.
+     * @param offset The position of the buffer where the first character will
+     * be written.
+     * @return the number of characters written.
+     * @throws IndexOutOfBoundsException if the buffer has not enough room for
+     * the formatted date and time. In that case nothing is written.
+     * @since 2.4
+     */
+    static int formatMySQLDateTime(long localEpochSecond, int nano, char[] output, int offset) {
+        long epochDay = Math.floorDiv(localEpochSecond, JGlobalDateTimeCalendar.SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localEpochSecond, JGlobalDateTimeCalendar.SECONDS_PER_DAY);
+        long packedDate = JGlobalDateTimeCalendar.toPackedDate(epochDay);
+        long year = JGlobalDateTimeCalendar.getYear(packedDate);
+        int yearLength = JGlobalDateTimeFormatter.yearLength(year);
+        int length = yearLength + JGlobalDateTimeFormatter.MYSQL_DATETIME_LENGTH_WITHOUT_YEAR;
+        if ((offset < 0) || ((output.length - offset) < length)) {
+            throw new IndexOutOfBoundsException("Not enough room to write a MySQL DATETIME at position " + offset);
+        }
+        int position = JGlobalDateTimeFormatter.writeYear(year, yearLength, output, offset);
+        output[position++] = '-';
+        position = JGlobalDateTimeFormatter.writeDigits(JGlobalDateTimeCalendar.getMonth(packedDate), 2, output, position);
+        output[position++] = '-';
+        position = JGlobalDateTimeFormatter.writeDigits(JGlobalDateTimeCalendar.getDay(packedDate), 2, output, position);
+        output[position++] = ' ';
+        position = JGlobalDateTimeFormatter.writeDigits(secondOfDay / JGlobalDateTimeCalendar.SECONDS_PER_HOUR, 2, output, position);
+        output[position++] = ':';
+        position = JGlobalDateTimeFormatter.writeDigits((secondOfDay / JGlobalDateTimeCalendar.SECONDS_PER_MINUTE) % 60, 2, output, position);
+        output[position++] = ':';
+        position = JGlobalDateTimeFormatter.writeDigits(secondOfDay % 60, 2, output, position);
+        output[position++] = '.';
+        position = JGlobalDateTimeFormatter.writeDigits(nano, 9, output, position);
+        return position - offset;
+    }
+
+    /**
+     * This methods writes a local date and time in the format of
+     * LocalDateTime.toString(), that is, the first part of
+     * ZonedDateTime.toString(): seconds are omitted when both them and the
+     * nanoseconds are zero, and the fraction of second, when present, has
+     * three, six or nine digits. For instance "2015-04-06T21:20:18.811".
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param localEpochSecond The local date and time, as seconds from
+     * 1970-01-01T00:00:00 in the local time line.
+     * @param nano The nanosecond of second.
+     * @param output The buffer the formatted date and time will be written to.
+     * @param offset The position of the buffer where the first character will
+     * be written.
+     * @return the number of characters written.
+     * @throws IndexOutOfBoundsException if the buffer has not enough room for
+     * the formatted date and time. In that case nothing is written.
+     * @since 2.4
+     */
+    static int formatISOLocalDateTime(long localEpochSecond, int nano, char[] output, int offset) {
+        long epochDay = Math.floorDiv(localEpochSecond, JGlobalDateTimeCalendar.SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(localEpochSecond, JGlobalDateTimeCalendar.SECONDS_PER_DAY);
+        long packedDate = JGlobalDateTimeCalendar.toPackedDate(epochDay);
+        long year = JGlobalDateTimeCalendar.getYear(packedDate);
+        // LocalDate.toString() writes four digits, plus the sign when it is
+        // negative, for years within +/-9999, and all of them, always with a
+        // sign, otherwise.
+        int yearLength = JGlobalDateTimeFormatter.yearLength(year);
+        if (year > 9999) {
+            yearLength++;
+        } else if ((year < 0) && (year > -1000)) {
+            yearLength = 5;
+        }
+        if ((offset < 0) || ((output.length - offset) < (yearLength + JGlobalDateTimeFormatter.MAX_ISO_DATETIME_LENGTH_WITHOUT_YEAR))) {
+            throw new IndexOutOfBoundsException("Not enough room to write an ISO datetime at position " + offset);
+        }
+        int position = offset;
+        if (year > 9999) {
+            output[position++] = '+';
+            position = JGlobalDateTimeFormatter.writeDigits(year, yearLength - 1, output, position);
+        } else if (year < 0) {
+            output[position++] = '-';
+            position = JGlobalDateTimeFormatter.writeDigits(-year, yearLength - 1, output, position);
+        } else {
+            position = JGlobalDateTimeFormatter.writeDigits(year, yearLength, output, position);
+        }
+        output[position++] = '-';
+        position = JGlobalDateTimeFormatter.writeDigits(JGlobalDateTimeCalendar.getMonth(packedDate), 2, output, position);
+        output[position++] = '-';
+        position = JGlobalDateTimeFormatter.writeDigits(JGlobalDateTimeCalendar.getDay(packedDate), 2, output, position);
+        output[position++] = 'T';
+        position = JGlobalDateTimeFormatter.writeDigits(secondOfDay / JGlobalDateTimeCalendar.SECONDS_PER_HOUR, 2, output, position);
+        output[position++] = ':';
+        position = JGlobalDateTimeFormatter.writeDigits((secondOfDay / JGlobalDateTimeCalendar.SECONDS_PER_MINUTE) % 60, 2, output, position);
+        int second = secondOfDay % 60;
+        if ((second > 0) || (nano > 0)) {
+            output[position++] = ':';
+            position = JGlobalDateTimeFormatter.writeDigits(second, 2, output, position);
+            if (nano > 0) {
+                output[position++] = '.';
+                if ((nano % 1000000) == 0) {
+                    position = JGlobalDateTimeFormatter.writeDigits(nano / 1000000, 3, output, position);
+                } else if ((nano % 1000) == 0) {
+                    position = JGlobalDateTimeFormatter.writeDigits(nano / 1000, 6, output, position);
+                } else {
+                    position = JGlobalDateTimeFormatter.writeDigits(nano, 9, output, position);
+                }
+            }
+        }
+        return position - offset;
+    }
+
+    /**
+     * This methods gets the text that follows the local date and time in
+     * ZonedDateTime.toString() for the specified offset and Zone ID: the
+     * offset, as ZoneOffset.getId() writes it, followed by the Zone ID between
+     * brackets unless the Zone ID is the offset itself. For instance
+     * "+02:00[Europe/Madrid]" or "Z". Suffixes are computed once per Zone ID
+     * and offset and then cached. As JGlobalDateTimeZoneCache does, the cache
+     * is bounded: suffixes of new Zone IDs once it holds MAX_ENTRIES of them,
+     * or of new offsets of a Zone ID that already has MAX_OFFSETS_PER_ZONE,
+     * are computed every time.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param offsetSeconds The offset, in seconds.
+     * @param zoneId The Zone ID.
+     * @return the text following the local date and time.
+     * @since 2.4
+     */
+    static String getZoneSuffix(int offsetSeconds, ZoneId zoneId) {
+        ZoneSuffixes zoneSuffixes = JGlobalDateTimeFormatter.ZONE_SUFFIXES.get(zoneId);
+        if (zoneSuffixes != null) {
+            String suffix = zoneSuffixes.get(offsetSeconds);
+            if (suffix != null) {
+                return suffix;
+            }
+        }
+        String offsetId = ZoneOffset.ofTotalSeconds(offsetSeconds).getId();
+        String suffix = (zoneId instanceof ZoneOffset) ? offsetId : offsetId + '[' + zoneId.getId() + ']';
+        if (zoneSuffixes == null) {
+            if (JGlobalDateTimeFormatter.ZONE_SUFFIXES.size() < JGlobalDateTimeZoneCache.MAX_ENTRIES) {
+                JGlobalDateTimeFormatter.ZONE_SUFFIXES.putIfAbsent(zoneId, new ZoneSuffixes(offsetSeconds, suffix));
+            }
+        } else if (zoneSuffixes.size() < JGlobalDateTimeFormatter.MAX_OFFSETS_PER_ZONE) {
+            // Concurrent misses may drop each other's suffix; it is computed
+            // again the next time it is requested.
+            JGlobalDateTimeFormatter.ZONE_SUFFIXES.put(zoneId, zoneSuffixes.with(offsetSeconds, suffix));
+        }
+        return suffix;
+    }
+
+    /**
+     * This methods gets the number of Zone IDs whose suffixes are cached.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of Zone IDs whose suffixes are cached.
+     * @since 2.4
+     */
+    static int getCachedZoneSuffixes() {
+        return JGlobalDateTimeFormatter.ZONE_SUFFIXES.size();
+    }
+
+    /**
+     * This methods gets a per-thread scratch buffer that is large enough to
+     * hold any of the formats generated by this class.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the scratch buffer of the current thread.
+     * @since 2.4
+     */
+    static char[] getScratchBuffer() {
+        return JGlobalDateTimeFormatter.SCRATCH_BUFFER.get();
+    }
+
+    /**
+     * This methods gets the number of characters needed to write a year: four
+     * zero-padded digits for years from 0 to 9999 and all the digits, plus the
+     * sign when it is negative, otherwise.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param year The year.
+     * @return the number of characters needed to write the year.
+     * @since 2.4
+     */
+    private static int yearLength(long year) {
+        if ((year >= 0) && (year <= 9999)) {
+            return 4;
+        }
+        long absoluteYear = Math.abs(year);
+        int length = (year < 0) ? 1 : 0;
+        while (absoluteYear > 0) {
+            length++;
+            absoluteYear /= 10;
+        }
+        return length;
+    }
+
+    /**
+     * This methods writes a year using the specified number of characters.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param year The year.
+     * @param yearLength The number of characters, as returned by yearLength().
+     * @param output The buffer the year will be written to.
+     * @param offset The position of the buffer where the year will be written.
+     * @return the position of the buffer after the year.
+     * @since 2.4
+     */
+    private static int writeYear(long year, int yearLength, char[] output, int offset) {
+        if (year < 0) {
+            output[offset] = '-';
+            return JGlobalDateTimeFormatter.writeDigits(-year, yearLength - 1, output, offset + 1);
+        }
+        return JGlobalDateTimeFormatter.writeDigits(year, yearLength, output, offset);
+    }
+
+    /**
+     * This methods writes a non-negative value as a fixed number of decimal
+     * digits, padding it with zeros on the left.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param value The value to be written.
+     * @param digits The number of digits to be written.
+     * @param output The buffer the value will be written to.
+     * @param offset The position of the buffer where the value will be
+     * written.
+     * @return the position of the buffer after the value.
+     * @since 2.4
+     */
+    static int writeDigits(long value, int digits, char[] output, int offset) {
+        long remaining = value;
+        for (int i = (offset + digits) - 1; i >= offset; i--) {
+            output[i] = (char) ('0' + (remaining % 10));
+            remaining /= 10;
+        }
+        return offset + digits;
+    }
+
+    /**
+     * This class implements the immutable set of zone suffixes, one per
+     * offset, of a Zone ID. A zone only has a few different offsets, so they
+     * are looked up linearly.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class ZoneSuffixes {
+
+        /**
+         * This is the constructor of the class. It creates a new set with a
+         * single suffix.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param offsetSeconds The offset, in seconds.
+         * @param suffix The suffix of that offset.
+         * @since 2.4
+         */
+        ZoneSuffixes(int offsetSeconds, String suffix) {
+            this(new int[]{offsetSeconds}, new String[]{suffix});
+        }
+
+        /**
+         * This is the constructor of the class. It creates a new set with the
+         * specified suffixes.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param offsets The offsets, in seconds.
+         * @param suffixes The suffix of each offset.
+         * @since 2.4
+         */
+        private ZoneSuffixes(int[] offsets, String[] suffixes) {
+            this.offsets = offsets;
+            this.suffixes = suffixes;
+        }
+
+        /**
+         * This methods gets the number of suffixes in the set.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the number of suffixes.
+         * @since 2.4
+         */
+        int size() {
+            return this.offsets.length;
+        }
+
+        /**
+         * This methods gets the suffix of an offset.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param offsetSeconds The offset, in seconds.
+         * @return the suffix of the offset, or null if it is not in the set.
+         * @since 2.4
+         */
+        String get(int offsetSeconds) {
+            for (int i = 0; i < this.offsets.length; i++) {
+                if (this.offsets[i] == offsetSeconds) {
+                    return this.suffixes[i];
+                }
+            }
+            return null;
+        }
+
+        /**
+         * This methods gets a new set with the suffixes of this one plus the
+         * specified one.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param offsetSeconds The offset, in seconds.
+         * @param suffix The suffix of that offset.
+         * @return the new set of suffixes.
+         * @since 2.4
+         */
+        ZoneSuffixes with(int offsetSeconds, String suffix) {
+            int[] newOffsets = Arrays.copyOf(this.offsets, this.offsets.length + 1);
+            String[] newSuffixes = Arrays.copyOf(this.suffixes, this.suffixes.length + 1);
+            newOffsets[this.offsets.length] = offsetSeconds;
+            newSuffixes[this.suffixes.length] = suffix;
+            return new ZoneSuffixes(newOffsets, newSuffixes);
+        }
+
+        private final int[] offsets;
+        private final String[] suffixes;
+    }
+
+    /**
+     * Maximum number of characters of a MySQL DATETIME generated by this
+     * class.
+     */
+    static final int MAX_MYSQL_DATETIME_LENGTH = 35;
+
+    private static final int MYSQL_DATETIME_LENGTH_WITHOUT_YEAR = 25;
+    private static final int MAX_ISO_DATETIME_LENGTH_WITHOUT_YEAR = 25;
+    private static final int MAX_OFFSETS_PER_ZONE = 16;
+    private static final ConcurrentHashMap<ZoneId, ZoneSuffixes> ZONE_SUFFIXES = new ConcurrentHashMap<>();
+    private static final int SCRATCH_BUFFER_LENGTH = 128;
+    private static final ThreadLocal<char[]> SCRATCH_BUFFER = ThreadLocal.withInitial(() -> new char[JGlobalDateTimeFormatter.SCRATCH_BUFFER_LENGTH]);
+}
@@ -0,0 +1,317 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+/**
+ * This class implements the binding of JGlobalDateTime to JDBC statements and
+ * the reading of JGlobalDateTime from JDBC result sets, without converting
+ * them to strings and keeping their nanoseconds.
+ *
+ * JGlobalDateTime can be bound either as OffsetDateTime (for columns with
+ * time zone, the exact instant is stored) or as Timestamp (for columns
+ * without time zone, the normalized date and time in the reference Zone ID of
+ * each JGlobalDateTime is stored, as toNormalizedMySQLDateTime() would
+ * represent it). Timestamp columns are read back as date and times in the
+ * Zone ID this class is created for, that should be the reference Zone ID
+ * they were written with.
+ *
+ * Timestamp are exchanged with the JDBC driver through a proleptic gregorian
+ * UTC calendar, so that the driver does not apply any zone rule; local date
+ * and times are converted to and from instants with the java.time zone rules.
+ * The calendar is reused among calls, so this class is not thread-safe. An
+ * instance should be used per thread or per connection.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeJdbc {
+
+    /**
+     * This is the constructor of the class. It creates a new instance that
+     * reads Timestamp columns as date and times in the default reference Zone
+     * ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public JGlobalDateTimeJdbc() {
+        this(JGlobalDateTime.DEFAULT_REFERENCE_ZONE);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new instance that
+     * reads Timestamp columns as date and times in the specified Zone ID.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The Zone ID the date and times of Timestamp columns are
+     * expressed in.
+     * @throws IllegalArgumentException if the Zone ID is null.
+     * @since 2.4
+     */
+    public JGlobalDateTimeJdbc(ZoneId zoneId) {
+        if (zoneId == null) {
+            throw new IllegalArgumentException("The Zone ID cannot be null");
+        }
+        this.zoneId = JGlobalDateTimeZoneCache.getZoneID(zoneId);
+        this.zoneTransitions = JGlobalDateTimeZoneTransitions.of(this.zoneId);
+        this.calendar = new GregorianCalendar(TimeZone.getTimeZone(ZoneOffset.UTC));
+        this.calendar.setGregorianChange(new Date(Long.MIN_VALUE));
+    }
+
+    /**
+     * This methods binds the normalized date and time of a JGlobalDateTime to
+     * a parameter of a statement, as a Timestamp, in its current reference
+     * Zone ID. A null JGlobalDateTime is bound as SQL NULL.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param statement The statement.
+     * @param parameterIndex The index of the parameter (1 for the first one).
+     * @param dateTime The JGlobalDateTime to be bound.
+     * @throws SQLException if the parameter cannot be set.
+     * @since 2.4
+     */
+    public void setTimestamp(PreparedStatement statement, int parameterIndex, JGlobalDateTime dateTime) throws SQLException {
+        if (dateTime == null) {
+            statement.setNull(parameterIndex, Types.TIMESTAMP);
+            return;
+        }
+        long localEpochSecond = dateTime.getNormalizedEpochSecond() + dateTime.getReferenceOffsetSeconds();
+        Timestamp timestamp = new Timestamp(localEpochSecond * JGlobalDateTimeJdbc.MILLIS_PER_SECOND);
+        timestamp.setNanos(dateTime.getNormalizedNano());
+        statement.setTimestamp(parameterIndex, timestamp, this.calendar);
+    }
+
+    /**
+     * This methods binds the normalized date and time of a JGlobalDateTime to
+     * a parameter of a statement, as an OffsetDateTime with the offset of its
+     * current reference Zone ID. A null JGlobalDateTime is bound as SQL NULL.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param statement The statement.
+     * @param parameterIndex The index of the parameter (1 for the first one).
+     * @param dateTime The JGlobalDateTime to be bound.
+     * @throws SQLException if the parameter cannot be set.
+     * @since 2.4
+     */
+    public void setOffsetDateTime(PreparedStatement statement, int parameterIndex, JGlobalDateTime dateTime) throws SQLException {
+        if (dateTime == null) {
+            statement.setNull(parameterIndex, Types.TIMESTAMP_WITH_TIMEZONE);
+            return;
+        }
+        ZoneOffset offset = ZoneOffset.ofTotalSeconds(dateTime.getReferenceOffsetSeconds());
+        statement.setObject(parameterIndex, OffsetDateTime.ofInstant(Instant.ofEpochSecond(dateTime.getNormalizedEpochSecond(), dateTime.getNormalizedNano()), offset));
+    }
+
+    /**
+     * This methods adds a set of JGlobalDateTime to the batch of a statement,
+     * one row per JGlobalDateTime, binding each one of them to the specified
+     * parameter as setTimestamp() does. Other parameters of the statement keep
+     * the values they had before calling this method.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param statement The statement.
+     * @param parameterIndex The index of the parameter (1 for the first one).
+     * @param dateTimes The JGlobalDateTime to be added to the batch.
+     * @throws SQLException if a parameter cannot be set or a row cannot be
+     * added to the batch.
+     * @since 2.4
+     */
+    public void addTimestampBatch(PreparedStatement statement, int parameterIndex, JGlobalDateTime[] dateTimes) throws SQLException {
+        for (JGlobalDateTime dateTime : dateTimes) {
+            this.setTimestamp(statement, parameterIndex, dateTime);
+            statement.addBatch();
+        }
+    }
+
+    /**
+     * This methods adds a set of JGlobalDateTime to the batch of a statement,
+     * one row per JGlobalDateTime, binding each one of them to the specified
+     * parameter as setOffsetDateTime() does. Other parameters of the statement
+     * keep the values they had before calling this method.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param statement The statement.
+     * @param parameterIndex The index of the parameter (1 for the first one).
+     * @param dateTimes The JGlobalDateTime to be added to the batch.
+     * @throws SQLException if a parameter cannot be set or a row cannot be
+     * added to the batch.
+     * @since 2.4
+     */
+    public void addOffsetDateTimeBatch(PreparedStatement statement, int parameterIndex, JGlobalDateTime[] dateTimes) throws SQLException {
+        for (JGlobalDateTime dateTime : dateTimes) {
+            this.setOffsetDateTime(statement, parameterIndex, dateTime);
+            statement.addBatch();
+        }
+    }
+
+    /**
+     * This methods reads a Timestamp column of the current row of a result
+     * set into an existing JGlobalDateTime, that is re-initialized as if it
+     * were created from a ZonedDateTime with that date and time in the Zone ID
+     * of this instance. If the column is SQL NULL, the JGlobalDateTime is not
+     * modified.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param resultSet The result set, positioned on a row.
+     * @param columnIndex The index of the column (1 for the first one).
+     * @param dateTime The JGlobalDateTime to be re-initialized.
+     * @return true, if the column was not SQL NULL. Otherwise, false.
+     * @throws SQLException if the column cannot be read.
+     * @since 2.4
+     */
+    public boolean readTimestamp(ResultSet resultSet, int columnIndex, JGlobalDateTime dateTime) throws SQLException {
+        Timestamp timestamp = resultSet.getTimestamp(columnIndex, this.calendar);
+        if (timestamp == null) {
+            return false;
+        }
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_TIMESTAMP);
+        dateTime.reset(this.toEpochSecond(timestamp), timestamp.getNanos(), this.zoneId);
+        return true;
+    }
+
+    /**
+     * This methods reads an OffsetDateTime column of the current row of a
+     * result set into an existing JGlobalDateTime, that is re-initialized as if
+     * it were created from a ZonedDateTime with that instant and offset. If the
+     * column is SQL NULL, the JGlobalDateTime is not modified.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param resultSet The result set, positioned on a row.
+     * @param columnIndex The index of the column (1 for the first one).
+     * @param dateTime The JGlobalDateTime to be re-initialized.
+     * @return true, if the column was not SQL NULL. Otherwise, false.
+     * @throws SQLException if the column cannot be read.
+     * @since 2.4
+     */
+    public boolean readOffsetDateTime(ResultSet resultSet, int columnIndex, JGlobalDateTime dateTime) throws SQLException {
+        OffsetDateTime offsetDateTime = resultSet.getObject(columnIndex, OffsetDateTime.class);
+        if (offsetDateTime == null) {
+            return false;
+        }
+        JGlobalDateTimeMetrics.countConstruction(JGlobalDateTimeMetrics.INPUT_ZONED_DATE_TIME);
+        dateTime.reset(offsetDateTime.toEpochSecond(), offsetDateTime.getNano(), JGlobalDateTimeZoneCache.getZoneID(offsetDateTime.getOffset()));
+        return true;
+    }
+
+    /**
+     * This methods reads a Timestamp column of the next rows of a result set
+     * into a set of JGlobalDateTime, as readTimestamp() does. The cursor is
+     * moved forward once per row read, until the end of the result set or
+     * until there is a row for every element of the array. Existing elements
+     * are re-initialized and null elements are replaced by new
+     * JGlobalDateTime; elements for SQL NULL columns are set to null.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param resultSet The result set, positioned before the first row to be
+     * read.
+     * @param columnIndex The index of the column (1 for the first one).
+     * @param dateTimes The array where read JGlobalDateTime will be written
+     * to.
+     * @return the number of rows read. If it is lower than the length of the
+     * array, the end of the result set has been reached.
+     * @throws SQLException if a row cannot be read.
+     * @since 2.4
+     */
+    public int readTimestamps(ResultSet resultSet, int columnIndex, JGlobalDateTime[] dateTimes) throws SQLException {
+        int count = 0;
+        while ((count < dateTimes.length) && resultSet.next()) {
+            if (dateTimes[count] == null) {
+                dateTimes[count] = new JGlobalDateTime(0L, 0, this.zoneId, 0L, 0, this.zoneId, JGlobalDateTime.DEFAULT_PRECISSION);
+            }
+            if (!this.readTimestamp(resultSet, columnIndex, dateTimes[count])) {
+                dateTimes[count] = null;
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * This methods reads a Timestamp column of the next rows of a result set
+     * into a primitive column of instants (seconds from Epoch and nanosecond
+     * of second), as readTimestamp() interprets them. The cursor is moved
+     * forward once per row read, until the end of the result set or until the
+     * arrays are full. SQL NULL columns are written as NULL_EPOCH_SECOND and
+     * zero nanoseconds.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param resultSet The result set, positioned before the first row to be
+     * read.
+     * @param columnIndex The index of the column (1 for the first one).
+     * @param epochSeconds The array where instants, as seconds from Epoch,
+     * will be written to.
+     * @param nanos The array where nanoseconds of second will be written to.
+     * It has to be, at least, as long as the epochSeconds array.
+     * @return the number of rows read. If it is lower than the length of the
+     * arrays, the end of the result set has been reached.
+     * @throws SQLException if a row cannot be read.
+     * @throws IllegalArgumentException if the nanos array is shorter than the
+     * epochSeconds array.
+     * @since 2.4
+     */
+    public int readTimestamps(ResultSet resultSet, int columnIndex, long[] epochSeconds, int[] nanos) throws SQLException {
+        if (nanos.length < epochSeconds.length) {
+            throw new IllegalArgumentException("Arrays have to be, at least, as long as the input array (" + epochSeconds.length + ")");
+        }
+        int count = 0;
+        while ((count < epochSeconds.length) && resultSet.next()) {
+            Timestamp timestamp = resultSet.getTimestamp(columnIndex, this.calendar);
+            if (timestamp == null) {
+                epochSeconds[count] = JGlobalDateTimeJdbc.NULL_EPOCH_SECOND;
+                nanos[count] = 0;
+            } else {
+                epochSeconds[count] = this.toEpochSecond(timestamp);
+                nanos[count] = timestamp.getNanos();
+            }
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * This methods converts a Timestamp read through the UTC calendar, that
+     * holds a local date and time of the Zone ID of this instance, to the
+     * instant it represents, as ZonedDateTime.ofLocal() would do.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param timestamp The Timestamp.
+     * @return the instant, as seconds from Epoch.
+     * @since 2.4
+     */
+    private long toEpochSecond(Timestamp timestamp) {
+        return this.zoneTransitions.toEpochSecond(Math.floorDiv(timestamp.getTime(), JGlobalDateTimeJdbc.MILLIS_PER_SECOND));
+    }
+
+    private final ZoneId zoneId;
+    private final JGlobalDateTimeZoneTransitions zoneTransitions;
+    private final GregorianCalendar calendar;
+
+    public static final long NULL_EPOCH_SECOND = Long.MIN_VALUE;
+    private static final long MILLIS_PER_SECOND = 1000L;
+}
@@ -0,0 +1,593 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * This class implements optional metrics about the hot paths of
+ * JGlobalDateTime: how many JGlobalDateTime are created (or re-initialized)
+ * from each input type, how many ZonedDateTime strings are parsed and why
+ * they are rejected, how many times the reference Zone ID is changed and how
+ * long parsing and conversions take. Metrics are disabled by default; while
+ * disabled, the only cost for JGlobalDateTime is the read of a volatile flag;
+ * while enabled, each parsing and conversion also reads System.nanoTime()
+ * twice.
+ * Counters are LongAdder, so that concurrent updates do not contend, and
+ * latencies are recorded in log-linear histograms (each power of two is split
+ * into eight buckets, so percentiles are accurate to 12.5%). Metrics can be
+ * read by means of the static methods of this class or through JMX, once
+ * registered with registerMBean().
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeMetrics {
+
+    /**
+     * This is the constructor of the class. It is private because this class
+     * only has static methods and should not be instantiated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeMetrics() {
+    }
+
+    /**
+     * This methods enables or disables the recording of metrics. Metrics
+     * recorded so far are kept.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param enabled true, to record metrics. Otherwise, false.
+     * @since 2.4
+     */
+    public static void setEnabled(boolean enabled) {
+        JGlobalDateTimeMetrics.enabled = enabled;
+    }
+
+    /**
+     * This methods checks whether metrics are being recorded.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return true, if metrics are being recorded. Otherwise, false.
+     * @since 2.4
+     */
+    public static boolean isEnabled() {
+        return JGlobalDateTimeMetrics.enabled;
+    }
+
+    /**
+     * This methods gets the number of JGlobalDateTime created, or
+     * re-initialized by means of reset(), from the specified input type.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param inputType The input type. It has to be one of the INPUT_*
+     * constants defined in this class.
+     * @return the number of JGlobalDateTime created from that input type.
+     * @since 2.4
+     */
+    public static long getConstructionCount(int inputType) {
+        return Recorder.CONSTRUCTIONS[inputType].sum();
+    }
+
+    /**
+     * This methods gets the number of ZonedDateTime strings whose parsing has
+     * finished with the specified reason code. The number of successfully
+     * parsed strings is the one of JGlobalDateTimeException.RC_OK.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param reasonCode The reason code. It has to be one of the reason codes
+     * parsing can finish with: JGlobalDateTimeException.RC_OK,
+     * RC_UNEXPECTED_ERROR, RC_INVALID_ZONE or RC_INVALID_ZONEDDATETIME_STRING.
+     * @return the number of strings parsed with that result.
+     * @since 2.4
+     */
+    public static long getParseCount(int reasonCode) {
+        return Recorder.PARSES[reasonCode].sum();
+    }
+
+    /**
+     * This methods gets the number of reference Zone ID changes, that is, of
+     * calls to changeZoneID().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of reference Zone ID changes.
+     * @since 2.4
+     */
+    public static long getZoneChangeCount() {
+        return Recorder.CONVERSION_LATENCY.getCount();
+    }
+
+    /**
+     * This methods gets the specified percentile of the latency of
+     * ZonedDateTime string parsing.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param percentile The percentile, from 0 to 100.
+     * @return the latency, in nanoseconds, or 0 if nothing has been recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     * @since 2.4
+     */
+    public static long getParseLatency(double percentile) {
+        return Recorder.PARSE_LATENCY.getPercentile(percentile);
+    }
+
+    /**
+     * This methods gets the specified percentile of the latency of reference
+     * Zone ID conversions.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param percentile The percentile, from 0 to 100.
+     * @return the latency, in nanoseconds, or 0 if nothing has been recorded.
+     * @throws IllegalArgumentException if the percentile is out of range.
+     * @since 2.4
+     */
+    public static long getConversionLatency(double percentile) {
+        return Recorder.CONVERSION_LATENCY.getPercentile(percentile);
+    }
+
+    /**
+     * This methods clears all metrics recorded so far. Metrics recorded
+     * concurrently with this method may be lost.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public static void clear() {
+        for (LongAdder counter : Recorder.CONSTRUCTIONS) {
+            counter.reset();
+        }
+        for (LongAdder counter : Recorder.PARSES) {
+            counter.reset();
+        }
+        Recorder.PARSE_LATENCY.clear();
+        Recorder.CONVERSION_LATENCY.clear();
+    }
+
+    /**
+     * This methods registers the metrics in the platform MBeanServer, as
+     * "com.manolodominguez.jglobaldatetime:type=Metrics". Registering them
+     * more than once has no effect. Registering them does not enable them.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws IllegalStateException if the MBean cannot be registered.
+     * @since 2.4
+     */
+    public static synchronized void registerMBean() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            mBeanServer.registerMBean(new Management(), new ObjectName(JGlobalDateTimeMetrics.OBJECT_NAME));
+        } catch (InstanceAlreadyExistsException ex) {
+            // Already registered.
+        } catch (JMException ex) {
+            throw new IllegalStateException("JGlobalDateTime metrics cannot be registered", ex);
+        }
+    }
+
+    /**
+     * This methods unregisters the metrics from the platform MBeanServer.
+     * Unregistering them when they are not registered has no effect.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @throws IllegalStateException if the MBean cannot be unregistered.
+     * @since 2.4
+     */
+    public static synchronized void unregisterMBean() {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            mBeanServer.unregisterMBean(new ObjectName(JGlobalDateTimeMetrics.OBJECT_NAME));
+        } catch (InstanceNotFoundException ex) {
+            // Not registered.
+        } catch (JMException ex) {
+            throw new IllegalStateException("JGlobalDateTime metrics cannot be unregistered", ex);
+        }
+    }
+
+    /**
+     * This methods records the creation, or re-initialization, of a
+     * JGlobalDateTime from the specified input type, if metrics are enabled.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param inputType The input type. One of the INPUT_* constants.
+     * @since 2.4
+     */
+    static void countConstruction(int inputType) {
+        if (JGlobalDateTimeMetrics.enabled) {
+            Recorder.CONSTRUCTIONS[inputType].increment();
+        }
+    }
+
+    /**
+     * This methods records the result and latency of the parsing of a
+     * ZonedDateTime string. It has to be called only if metrics were enabled
+     * when parsing started.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param reasonCode The result of the parsing, as a reason code.
+     * @param latencyNanos The time spent parsing, in nanoseconds.
+     * @since 2.4
+     */
+    static void recordParse(int reasonCode, long latencyNanos) {
+        Recorder.PARSES[reasonCode].increment();
+        Recorder.PARSE_LATENCY.record(latencyNanos);
+    }
+
+    /**
+     * This methods records a reference Zone ID change and the latency of the
+     * corresponding conversion. It has to be called only if metrics were
+     * enabled when the conversion started.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param latencyNanos The time spent in the conversion, in nanoseconds.
+     * @since 2.4
+     */
+    static void recordZoneChange(long latencyNanos) {
+        Recorder.CONVERSION_LATENCY.record(latencyNanos);
+    }
+
+    /**
+     * This class holds the recorded metrics. It is a separate class so that
+     * counters and histograms are only created the first time metrics are
+     * recorded or read.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class Recorder {
+
+        /**
+         * This is the constructor of the class. It is private because this
+         * class only has static fields and should not be instantiated.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        private Recorder() {
+        }
+
+        /**
+         * This methods creates an array of new counters.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param length The number of counters.
+         * @return the new counters.
+         * @since 2.4
+         */
+        private static LongAdder[] newCounters(int length) {
+            LongAdder[] counters = new LongAdder[length];
+            for (int i = 0; i < length; i++) {
+                counters[i] = new LongAdder();
+            }
+            return counters;
+        }
+
+        private static final LongAdder[] CONSTRUCTIONS = Recorder.newCounters(JGlobalDateTimeMetrics.INPUT_TYPE_NAMES.length);
+        private static final LongAdder[] PARSES = Recorder.newCounters(JGlobalDateTimeMetrics.PARSE_RESULT_NAMES.length);
+        private static final LatencyHistogram PARSE_LATENCY = new LatencyHistogram();
+        private static final LatencyHistogram CONVERSION_LATENCY = new LatencyHistogram();
+    }
+
+    /**
+     * This class implements a concurrent, log-linear, latency histogram. Values
+     * lower than 16 have a bucket each; larger ones are grouped in eight
+     * buckets per power of two.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class LatencyHistogram {
+
+        /**
+         * This is the constructor of the class. It creates a new, empty,
+         * histogram.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        LatencyHistogram() {
+            this.buckets = Recorder.newCounters(LatencyHistogram.BUCKETS);
+            this.max = new LongAccumulator(Math::max, 0L);
+        }
+
+        /**
+         * This methods records a value.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param value The value. Negative values are recorded as 0.
+         * @since 2.4
+         */
+        void record(long value) {
+            long nonNegative = Math.max(0L, value);
+            this.buckets[LatencyHistogram.indexOf(nonNegative)].increment();
+            this.max.accumulate(nonNegative);
+        }
+
+        /**
+         * This methods gets the number of recorded values.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the number of recorded values.
+         * @since 2.4
+         */
+        long getCount() {
+            long count = 0;
+            for (LongAdder bucket : this.buckets) {
+                count += bucket.sum();
+            }
+            return count;
+        }
+
+        /**
+         * This methods gets the largest recorded value.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the largest recorded value, or 0 if nothing has been
+         * recorded.
+         * @since 2.4
+         */
+        long getMax() {
+            return this.max.get();
+        }
+
+        /**
+         * This methods gets the specified percentile of the recorded values.
+         * It is the upper bound of the bucket the percentile falls in.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param percentile The percentile, from 0 to 100.
+         * @return the percentile, or 0 if nothing has been recorded.
+         * @throws IllegalArgumentException if the percentile is out of range.
+         * @since 2.4
+         */
+        long getPercentile(double percentile) {
+            if (!((percentile >= 0.0) && (percentile <= 100.0))) {
+                throw new IllegalArgumentException("Percentile has to be between 0 and 100");
+            }
+            long[] counts = new long[LatencyHistogram.BUCKETS];
+            long total = 0;
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                counts[i] = this.buckets[i].sum();
+                total += counts[i];
+            }
+            if (total == 0) {
+                return 0L;
+            }
+            long target = Math.max(1L, (long) Math.ceil((percentile / 100.0) * total));
+            long accumulated = 0;
+            for (int i = 0; i < LatencyHistogram.BUCKETS; i++) {
+                accumulated += counts[i];
+                if (accumulated >= target) {
+                    return Math.min(LatencyHistogram.upperBoundOf(i), this.getMax());
+                }
+            }
+            return this.getMax();
+        }
+
+        /**
+         * This methods clears the histogram.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        void clear() {
+            for (LongAdder bucket : this.buckets) {
+                bucket.reset();
+            }
+            this.max.reset();
+        }
+
+        /**
+         * This methods gets the bucket a value belongs to.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param value The value. It cannot be negative.
+         * @return the index of the bucket.
+         * @since 2.4
+         */
+        private static int indexOf(long value) {
+            if (value < LatencyHistogram.LINEAR_BUCKETS) {
+                return (int) value;
+            }
+            int exponent = 63 - Long.numberOfLeadingZeros(value);
+            int subBucket = (int) (value >>> (exponent - LatencyHistogram.SUB_BUCKET_BITS)) & (LatencyHistogram.SUB_BUCKETS - 1);
+            return LatencyHistogram.LINEAR_BUCKETS + ((exponent - LatencyHistogram.FIRST_EXPONENT) * LatencyHistogram.SUB_BUCKETS) + subBucket;
+        }
+
+        /**
+         * This methods gets the largest value that belongs to a bucket.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param index The index of the bucket.
+         * @return the largest value of the bucket.
+         * @since 2.4
+         */
+        private static long upperBoundOf(int index) {
+            if (index < LatencyHistogram.LINEAR_BUCKETS) {
+                return index;
+            }
+            int exponent = ((index - LatencyHistogram.LINEAR_BUCKETS) / LatencyHistogram.SUB_BUCKETS) + LatencyHistogram.FIRST_EXPONENT;
+            int subBucket = (index - LatencyHistogram.LINEAR_BUCKETS) % LatencyHistogram.SUB_BUCKETS;
+            int shift = exponent - LatencyHistogram.SUB_BUCKET_BITS;
+            return (((long) (LatencyHistogram.SUB_BUCKETS + subBucket)) << shift) + ((1L << shift) - 1);
+        }
+
+        private final LongAdder[] buckets;
+        private final LongAccumulator max;
+
+        private static final int SUB_BUCKET_BITS = 3;
+        private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+        private static final int FIRST_EXPONENT = LatencyHistogram.SUB_BUCKET_BITS + 1;
+        private static final int LINEAR_BUCKETS = 1 << LatencyHistogram.FIRST_EXPONENT;
+        private static final int BUCKETS = LatencyHistogram.LINEAR_BUCKETS + ((63 - LatencyHistogram.FIRST_EXPONENT) * LatencyHistogram.SUB_BUCKETS);
+    }
+
+    /**
+     * This class implements the JMX view of the metrics.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class Management implements JGlobalDateTimeMetricsMXBean {
+
+        /**
+         * This methods checks whether metrics are being recorded.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if metrics are being recorded. Otherwise, false.
+         * @since 2.4
+         */
+        @Override
+        public boolean isEnabled() {
+            return JGlobalDateTimeMetrics.isEnabled();
+        }
+
+        /**
+         * This methods enables or disables the recording of metrics.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param enabled true, to record metrics. Otherwise, false.
+         * @since 2.4
+         */
+        @Override
+        public void setEnabled(boolean enabled) {
+            JGlobalDateTimeMetrics.setEnabled(enabled);
+        }
+
+        /**
+         * This methods gets the number of JGlobalDateTime created or re-initialized, by
+         * input type.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the counts, with the name of the input type as key.
+         * @since 2.4
+         */
+        @Override
+        public Map<String, Long> getConstructionCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < JGlobalDateTimeMetrics.INPUT_TYPE_NAMES.length; i++) {
+                counts.put(JGlobalDateTimeMetrics.INPUT_TYPE_NAMES[i], JGlobalDateTimeMetrics.getConstructionCount(i));
+            }
+            return counts;
+        }
+
+        /**
+         * This methods gets the number of ZonedDateTime strings parsed, by result.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the counts, with the name of the result as key.
+         * @since 2.4
+         */
+        @Override
+        public Map<String, Long> getParseCounts() {
+            Map<String, Long> counts = new LinkedHashMap<>();
+            for (int i = 0; i < JGlobalDateTimeMetrics.PARSE_RESULT_NAMES.length; i++) {
+                counts.put(JGlobalDateTimeMetrics.PARSE_RESULT_NAMES[i], JGlobalDateTimeMetrics.getParseCount(i));
+            }
+            return counts;
+        }
+
+        /**
+         * This methods gets the number of reference Zone ID changes.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the number of calls to changeZoneID().
+         * @since 2.4
+         */
+        @Override
+        public long getZoneChangeCount() {
+            return JGlobalDateTimeMetrics.getZoneChangeCount();
+        }
+
+        /**
+         * This methods gets a summary of the latency of ZonedDateTime string parsing.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the summary, in nanoseconds.
+         * @since 2.4
+         */
+        @Override
+        public Map<String, Long> getParseLatency() {
+            return Management.summarize(Recorder.PARSE_LATENCY);
+        }
+
+        /**
+         * This methods gets a summary of the latency of reference Zone ID
+         * conversions.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the summary, in nanoseconds.
+         * @since 2.4
+         */
+        @Override
+        public Map<String, Long> getConversionLatency() {
+            return Management.summarize(Recorder.CONVERSION_LATENCY);
+        }
+
+        /**
+         * This methods clears all metrics recorded so far.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        @Override
+        public void clear() {
+            JGlobalDateTimeMetrics.clear();
+        }
+
+        /**
+         * This methods summarizes a latency histogram.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param histogram The histogram.
+         * @return the number of samples, some percentiles and the maximum
+         * value of the histogram.
+         * @since 2.4
+         */
+        private static Map<String, Long> summarize(LatencyHistogram histogram) {
+            Map<String, Long> summary = new LinkedHashMap<>();
+            summary.put("count", histogram.getCount());
+            summary.put("p50", histogram.getPercentile(50.0));
+            summary.put("p90", histogram.getPercentile(90.0));
+            summary.put("p99", histogram.getPercentile(99.0));
+            summary.put("p999", histogram.getPercentile(99.9));
+            summary.put("max", histogram.getMax());
+            return summary;
+        }
+    }
+
+    public static final int INPUT_CURRENT_TIME = 0;
+    public static final int INPUT_ZONED_DATE_TIME = 1;
+    public static final int INPUT_JGLOBALDATETIME = 2;
+    public static final int INPUT_STRING = 3;
+    public static final int INPUT_MILLIS = 4;
+    public static final int INPUT_TIMESTAMP = 5;
+
+    private static final String[] INPUT_TYPE_NAMES = {"currentTime", "zonedDateTime", "jGlobalDateTime", "string", "millis", "timestamp"};
+    private static final String[] PARSE_RESULT_NAMES = {"ok", "unexpectedError", "invalidZone", "invalidZonedDateTimeString"};
+    private static final String OBJECT_NAME = "com.manolodominguez.jglobaldatetime:type=Metrics";
+
+    private static volatile boolean enabled = false;
+}
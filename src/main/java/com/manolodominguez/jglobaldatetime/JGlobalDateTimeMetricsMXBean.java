@@ -0,0 +1,108 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.util.Map;
+
+/**
+ * This interface defines the management interface, for JMX, of the
+ * JGlobalDateTime metrics. Once registered by means of
+ * JGlobalDateTimeMetrics.registerMBean(), it is available as
+ * "com.manolodominguez.jglobaldatetime:type=Metrics".
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public interface JGlobalDateTimeMetricsMXBean {
+
+    /**
+     * This methods checks whether metrics are being recorded.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return true, if metrics are being recorded. Otherwise, false.
+     * @since 2.4
+     */
+    boolean isEnabled();
+
+    /**
+     * This methods enables or disables the recording of metrics.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param enabled true, to record metrics. Otherwise, false.
+     * @since 2.4
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * This methods gets the number of JGlobalDateTime created or
+     * re-initialized, by input type.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of JGlobalDateTime created or re-initialized, with
+     * the name of the input type as key.
+     * @since 2.4
+     */
+    Map<String, Long> getConstructionCounts();
+
+    /**
+     * This methods gets the number of ZonedDateTime strings parsed, by result.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of ZonedDateTime strings parsed, with the reason
+     * message of the result as key.
+     * @since 2.4
+     */
+    Map<String, Long> getParseCounts();
+
+    /**
+     * This methods gets the number of reference Zone ID changes.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of calls to changeZoneID().
+     * @since 2.4
+     */
+    long getZoneChangeCount();
+
+    /**
+     * This methods gets a summary of the latency of ZonedDateTime string
+     * parsing.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of samples and the 50th, 90th, 99th and 99.9th
+     * percentiles and the maximum latency, in nanoseconds.
+     * @since 2.4
+     */
+    Map<String, Long> getParseLatency();
+
+    /**
+     * This methods gets a summary of the latency of reference Zone ID
+     * conversions.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of samples and the 50th, 90th, 99th and 99.9th
+     * percentiles and the maximum latency, in nanoseconds.
+     * @since 2.4
+     */
+    Map<String, Long> getConversionLatency();
+
+    /**
+     * This methods clears all metrics recorded so far.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    void clear();
+}
@@ -0,0 +1,377 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRulesException;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * This class implements a parser for ZonedDateTime strings specialized in the
+ * exact shape generated by ZonedDateTime.toString(), with and without the
+ * trailing region. For instance:
+ *
+ * 2015-04-06T14:20:18.811-05:00[America/Chicago]
+ * 2017-04-06T21:20:18+02:00
+ * 2017-04-06T19:20Z[UTC]
+ *
+ * Those strings are parsed field by field without using any DateTimeFormatter
+ * and the resulting instant is computed arithmetically. Any other input
+ * (expanded years, lower case separators, offsets that do not match the
+ * region, invalid values...) is delegated to ZonedDateTime.parse() so that
+ * results and errors are exactly the same than those of the JDK parser.
+ *
+ * Instances are not thread safe; each thread uses its own one (see
+ * JGlobalDateTime.PARSERS).
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+final class JGlobalDateTimeParser {
+
+    /**
+     * This methods parses the specified ZonedDateTime string. Once parsed, the
+     * resulting instant and zone can be retrieved using the getters of this
+     * class. Invalid strings are detected without throwing any exception in
+     * the common case: strings the JDK parser would reject for their syntax
+     * are found with DateTimeFormatter.parseUnresolved(), and only strings
+     * that are syntactically valid reach ZonedDateTime.parse(). The result
+     * and the latency are recorded in JGlobalDateTimeMetrics, if enabled.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param text The ZonedDateTime string to be parsed.
+     * @return JGlobalDateTimeException.RC_OK if the string has been parsed.
+     * Otherwise, the reason code why it is not valid.
+     * @since 2.4
+     */
+    int parse(CharSequence text) {
+        if (!JGlobalDateTimeMetrics.isEnabled()) {
+            return this.parseText(text);
+        }
+        long start = System.nanoTime();
+        int reasonCode = this.parseText(text);
+        JGlobalDateTimeMetrics.recordParse(reasonCode, System.nanoTime() - start);
+        return reasonCode;
+    }
+
+    /**
+     * This methods parses the specified ZonedDateTime string, as parse() does,
+     * without recording any metric.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param text The ZonedDateTime string to be parsed.
+     * @return JGlobalDateTimeException.RC_OK if the string has been parsed.
+     * Otherwise, the reason code why it is not valid.
+     * @since 2.4
+     */
+    private int parseText(CharSequence text) {
+        if (this.parseFast(text)) {
+            return JGlobalDateTimeException.RC_OK;
+        }
+        try {
+            ParsePosition position = new ParsePosition(0);
+            TemporalAccessor unresolved = DateTimeFormatter.ISO_ZONED_DATE_TIME.parseUnresolved(text, position);
+            if ((unresolved == null) || (position.getErrorIndex() >= 0) || (position.getIndex() < text.length())) {
+                return JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING;
+            }
+            ZonedDateTime zonedDateTime = ZonedDateTime.parse(text);
+            this.epochSecond = zonedDateTime.toEpochSecond();
+            this.nano = zonedDateTime.getNano();
+            this.zoneID = JGlobalDateTimeZoneCache.getZoneID(zonedDateTime.getZone());
+            return JGlobalDateTimeException.RC_OK;
+        } catch (ZoneRulesException ex) {
+            return JGlobalDateTimeException.RC_INVALID_ZONE;
+        } catch (DateTimeException ex) {
+            return JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING;
+        }
+    }
+
+    /**
+     * This methods gets the parsed instant, as seconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the parsed instant, as seconds from Epoch.
+     * @since 2.4
+     */
+    long getEpochSecond() {
+        return this.epochSecond;
+    }
+
+    /**
+     * This methods gets the nanosecond of second of the parsed instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the nanosecond of second of the parsed instant.
+     * @since 2.4
+     */
+    int getNano() {
+        return this.nano;
+    }
+
+    /**
+     * This methods gets the parsed Zone ID. It is the region, when present, or
+     * the parsed offset otherwise.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the parsed Zone ID.
+     * @since 2.4
+     */
+    ZoneId getZoneID() {
+        return this.zoneID;
+    }
+
+    /**
+     * This methods tries to parse the specified string without using the JDK
+     * parser.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param text The ZonedDateTime string to be parsed.
+     * @return true, if the string has been parsed. False if it has to be
+     * parsed by the JDK parser.
+     * @since 2.4
+     */
+    private boolean parseFast(CharSequence text) {
+        int length = text.length();
+        // Shortest supported input is "yyyy-MM-ddTHH:mmZ".
+        if (length < 17) {
+            return false;
+        }
+        int year = JGlobalDateTimeParser.digits(text, 0, 4);
+        int month = JGlobalDateTimeParser.digits(text, 5, 2);
+        int day = JGlobalDateTimeParser.digits(text, 8, 2);
+        int hour = JGlobalDateTimeParser.digits(text, 11, 2);
+        int minute = JGlobalDateTimeParser.digits(text, 14, 2);
+        if ((year < 0) || (month < 1) || (month > 12) || (day < 1) || (day > JGlobalDateTimeCalendar.lengthOfMonth(year, month))
+                || (hour < 0) || (hour > 23) || (minute < 0) || (minute > 59)
+                || (text.charAt(4) != '-') || (text.charAt(7) != '-') || (text.charAt(10) != 'T') || (text.charAt(13) != ':')) {
+            return false;
+        }
+        int position = 16;
+        int second = 0;
+        int nanoOfSecond = 0;
+        if (text.charAt(position) == ':') {
+            second = JGlobalDateTimeParser.digits(text, position + 1, 2);
+            if ((second < 0) || (second > 59)) {
+                return false;
+            }
+            position += 3;
+            if ((position < length) && (text.charAt(position) == '.')) {
+                position++;
+                int fractionDigits = 0;
+                while ((position < length) && (fractionDigits < 9) && JGlobalDateTimeParser.isDigit(text.charAt(position))) {
+                    nanoOfSecond = (nanoOfSecond * 10) + (text.charAt(position) - '0');
+                    fractionDigits++;
+                    position++;
+                }
+                if (fractionDigits == 0) {
+                    return false;
+                }
+                nanoOfSecond *= JGlobalDateTimeParser.FRACTION_SCALES[fractionDigits];
+            }
+        }
+        if (position >= length) {
+            return false;
+        }
+        int offsetSeconds;
+        char sign = text.charAt(position);
+        if (sign == 'Z') {
+            offsetSeconds = 0;
+            position++;
+        } else if ((sign == '+') || (sign == '-')) {
+            int offsetHours = JGlobalDateTimeParser.digits(text, position + 1, 2);
+            int offsetMinutes = JGlobalDateTimeParser.digits(text, position + 4, 2);
+            if ((offsetHours < 0) || (offsetMinutes < 0) || (offsetMinutes > 59) || (text.charAt(position + 3) != ':')) {
+                return false;
+            }
+            position += 6;
+            int offsetSecondsField = 0;
+            if ((position < length) && (text.charAt(position) == ':')) {
+                offsetSecondsField = JGlobalDateTimeParser.digits(text, position + 1, 2);
+                if ((offsetSecondsField < 0) || (offsetSecondsField > 59)) {
+                    return false;
+                }
+                position += 3;
+            }
+            offsetSeconds = (offsetHours * JGlobalDateTimeCalendar.SECONDS_PER_HOUR) + (offsetMinutes * JGlobalDateTimeCalendar.SECONDS_PER_MINUTE) + offsetSecondsField;
+            if (offsetSeconds > JGlobalDateTimeParser.MAX_OFFSET_SECONDS) {
+                return false;
+            }
+            if (sign == '-') {
+                offsetSeconds = -offsetSeconds;
+            }
+        } else {
+            return false;
+        }
+        long parsedEpochSecond = (JGlobalDateTimeCalendar.toEpochDay(year, month, day) * JGlobalDateTimeCalendar.SECONDS_PER_DAY)
+                + (hour * JGlobalDateTimeCalendar.SECONDS_PER_HOUR) + (minute * JGlobalDateTimeCalendar.SECONDS_PER_MINUTE) + second - offsetSeconds;
+        ZoneId parsedZoneID;
+        if (position == length) {
+            parsedZoneID = ZoneOffset.ofTotalSeconds(offsetSeconds);
+        } else {
+            parsedZoneID = this.resolveRegion(text, position, length);
+            if (parsedZoneID == null) {
+                return false;
+            }
+            // The JDK parser keeps the instant given by the offset. Only
+            // offsets that are valid for the region at that instant are
+            // accepted here, so that the result is the one of every JDK.
+            if (JGlobalDateTimeZoneTransitions.of(parsedZoneID).getOffsetSeconds(parsedEpochSecond) != offsetSeconds) {
+                return false;
+            }
+        }
+        this.epochSecond = parsedEpochSecond;
+        this.nano = nanoOfSecond;
+        this.zoneID = parsedZoneID;
+        return true;
+    }
+
+    /**
+     * This methods resolves the region that is enclosed in brackets between
+     * the specified positions of a ZonedDateTime string. Only plain region IDs
+     * are resolved; prefixed offsets as "UTC+01:00" are left to the JDK parser.
+     * The last resolved region is kept, so that consecutive strings of the
+     * same region are resolved without any lookup.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param text The ZonedDateTime string.
+     * @param start The position of the opening bracket.
+     * @param end The length of the string.
+     * @return the resolved ZoneId or null if the region has to be resolved by
+     * the JDK parser.
+     * @since 2.4
+     */
+    private ZoneId resolveRegion(CharSequence text, int start, int end) {
+        int regionStart = start + 1;
+        int regionEnd = end - 1;
+        int regionLength = regionEnd - regionStart;
+        if ((text.charAt(start) != '[') || (text.charAt(regionEnd) != ']') || (regionLength < 2)) {
+            return null;
+        }
+        char first = text.charAt(regionStart);
+        if (!(((first >= 'A') && (first <= 'Z')) || ((first >= 'a') && (first <= 'z')))) {
+            return null;
+        }
+        for (int i = regionStart + 1; i < regionEnd; i++) {
+            char c = text.charAt(i);
+            if (!(((c >= 'A') && (c <= 'Z')) || ((c >= 'a') && (c <= 'z')) || JGlobalDateTimeParser.isDigit(c)
+                    || (c == '/') || (c == '_') || (c == '-') || (c == '+'))) {
+                return null;
+            }
+        }
+        ZoneId lastZoneID = this.lastRegion;
+        if ((lastZoneID != null) && JGlobalDateTimeParser.regionMatches(text, regionStart, regionLength, lastZoneID.getId())) {
+            return lastZoneID;
+        }
+        String region = text.subSequence(regionStart, regionEnd).toString();
+        if ((region.startsWith("UT") || region.startsWith("GMT")) && !region.equals("UTC") && !region.equals("GMT") && !region.equals("UT")) {
+            return null;
+        }
+        if (!JGlobalDateTimeParser.AVAILABLE_REGION_IDS.contains(region)) {
+            // Unknown, or registered later, regions are left to the JDK
+            // parser, instead of paying for a ZoneRulesException here.
+            return null;
+        }
+        try {
+            ZoneId zoneID = JGlobalDateTimeZoneCache.getZoneID(region);
+            if (!zoneID.getId().equals(region)) {
+                return null;
+            }
+            this.lastRegion = zoneID;
+            return zoneID;
+        } catch (DateTimeException ex) {
+            return null;
+        }
+    }
+
+    /**
+     * This methods checks whether a region of a ZonedDateTime string is equal
+     * to the specified region ID, without creating intermediate Strings.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param text The ZonedDateTime string.
+     * @param start The position of the first character of the region.
+     * @param length The length of the region.
+     * @param regionId The region ID to compare with.
+     * @return true, if both regions are equal. Otherwise, false.
+     * @since 2.4
+     */
+    private static boolean regionMatches(CharSequence text, int start, int length, String regionId) {
+        if (regionId.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(start + i) != regionId.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * This methods reads a fixed number of decimal digits from a string.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param text The string to be read.
+     * @param start The position of the first digit.
+     * @param count The number of digits to be read.
+     * @return the value of the digits or -1 if any of the characters is not a
+     * decimal digit or the string is not long enough.
+     * @since 2.4
+     */
+    private static int digits(CharSequence text, int start, int count) {
+        if ((start + count) > text.length()) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = start; i < (start + count); i++) {
+            char c = text.charAt(i);
+            if (!JGlobalDateTimeParser.isDigit(c)) {
+                return -1;
+            }
+            value = (value * 10) + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * This methods checks whether a character is an ASCII decimal digit.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param c The character to be checked.
+     * @return true, if the character is a decimal digit. Otherwise, false.
+     * @since 2.4
+     */
+    private static boolean isDigit(char c) {
+        return (c >= '0') && (c <= '9');
+    }
+
+    private long epochSecond;
+    private int nano;
+    private ZoneId zoneID;
+    private ZoneId lastRegion;
+
+    private static final Set<String> AVAILABLE_REGION_IDS = Collections.unmodifiableSet(ZoneId.getAvailableZoneIds());
+
+    private static final int MAX_OFFSET_SECONDS = 18 * JGlobalDateTimeCalendar.SECONDS_PER_HOUR;
+    private static final int[] FRACTION_SCALES = {1, 100000000, 10000000, 1000000, 100000, 10000, 1000, 100, 10, 1};
+}
@@ -0,0 +1,131 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+/**
+ * This class implements a bounded pool of reusable JGlobalDateTime. It is
+ * intended for pipelines that process a large number of records with a fixed
+ * set of instances: an instance is acquired, re-initialized with one of its
+ * reset() methods, used and released back to the pool, so that no
+ * JGlobalDateTime is created per record. Acquired instances keep the status
+ * they had when they were released, so they have to be re-initialized before
+ * being used. Instances of this class are not thread-safe; each thread can
+ * get its own pool by means of forCurrentThread().
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimePool {
+
+    /**
+     * This is the constructor of the class. It creates a new, empty, pool
+     * that holds up to the specified number of released instances.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param capacity The maximum number of instances held by the pool.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     * @since 2.4
+     */
+    public JGlobalDateTimePool(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("The capacity has to be positive");
+        }
+        this.instances = new JGlobalDateTime[capacity];
+        this.available = 0;
+    }
+
+    /**
+     * This methods gets the pool of the current thread. It is created, with
+     * the default capacity, the first time each thread calls this method.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the pool of the current thread.
+     * @since 2.4
+     */
+    public static JGlobalDateTimePool forCurrentThread() {
+        return JGlobalDateTimePool.THREAD_POOLS.get();
+    }
+
+    /**
+     * This methods gets a JGlobalDateTime from the pool. If the pool is empty,
+     * a new one is created. In both cases, its status is unspecified until it
+     * is re-initialized with one of its reset() methods.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return a JGlobalDateTime that is owned by the caller until it is
+     * released.
+     * @since 2.4
+     */
+    public JGlobalDateTime acquire() {
+        if (this.available == 0) {
+            return new JGlobalDateTime(0L, 0, JGlobalDateTime.DEFAULT_REFERENCE_ZONE, 0L, 0, JGlobalDateTime.DEFAULT_REFERENCE_ZONE, JGlobalDateTime.DEFAULT_PRECISSION);
+        }
+        this.available--;
+        JGlobalDateTime globalDateTime = this.instances[this.available];
+        this.instances[this.available] = null;
+        return globalDateTime;
+    }
+
+    /**
+     * This methods gives back a JGlobalDateTime to the pool, so that it can be
+     * acquired again. If the pool is full, the instance is discarded. The
+     * caller must not use the instance after releasing it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param globalDateTime The JGlobalDateTime to be released.
+     * @throws IllegalArgumentException if the JGlobalDateTime is null.
+     * @since 2.4
+     */
+    public void release(JGlobalDateTime globalDateTime) {
+        if (globalDateTime == null) {
+            throw new IllegalArgumentException("Null JGlobalDateTime cannot be released");
+        }
+        if (this.available < this.instances.length) {
+            this.instances[this.available] = globalDateTime;
+            this.available++;
+        }
+    }
+
+    /**
+     * This methods gets the number of instances that can be acquired without
+     * creating new ones.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of instances held by the pool.
+     * @since 2.4
+     */
+    public int getAvailable() {
+        return this.available;
+    }
+
+    /**
+     * This methods gets the maximum number of instances held by the pool.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the capacity of the pool.
+     * @since 2.4
+     */
+    public int getCapacity() {
+        return this.instances.length;
+    }
+
+    private final JGlobalDateTime[] instances;
+    private int available;
+
+    public static final int DEFAULT_CAPACITY = 64;
+
+    private static final ThreadLocal<JGlobalDateTimePool> THREAD_POOLS = ThreadLocal.withInitial(() -> new JGlobalDateTimePool(JGlobalDateTimePool.DEFAULT_CAPACITY));
+}
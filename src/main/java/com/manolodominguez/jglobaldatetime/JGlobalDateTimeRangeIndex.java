@@ -0,0 +1,533 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * This class implements a sorted index of payloads keyed by the normalized
+ * instant of a JGlobalDateTime, with nanosecond resolution. Instants are kept
+ * in primitive arrays (seconds and nanoseconds from Epoch) sorted in
+ * ascending order, so that the payloads whose instant falls within a time
+ * range are found in O(log n) time and iterated without any comparison.
+ * Insertions are buffered and merged into the index, as a batch, the next time
+ * it is queried. Payloads with the same instant are kept in insertion order.
+ * This class is not thread-safe.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ * @param <T> The type of the payloads.
+ */
+public final class JGlobalDateTimeRangeIndex<T> {
+
+    /**
+     * This is the constructor of the class. It creates a new, empty, index.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public JGlobalDateTimeRangeIndex() {
+        this(JGlobalDateTimeRangeIndex.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new, empty, index
+     * with room for the specified number of entries.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param initialCapacity The initial capacity of the index.
+     * @throws IllegalArgumentException if the capacity is negative.
+     * @since 2.4
+     */
+    public JGlobalDateTimeRangeIndex(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("The capacity cannot be negative");
+        }
+        this.epochSeconds = new long[initialCapacity];
+        this.nanos = new int[initialCapacity];
+        this.payloads = new Object[initialCapacity];
+        this.size = 0;
+        this.pendingEpochSeconds = new long[JGlobalDateTimeRangeIndex.DEFAULT_CAPACITY];
+        this.pendingNanos = new int[JGlobalDateTimeRangeIndex.DEFAULT_CAPACITY];
+        this.pendingPayloads = new Object[JGlobalDateTimeRangeIndex.DEFAULT_CAPACITY];
+        this.pendingSize = 0;
+        this.modifications = 0;
+    }
+
+    /**
+     * This methods adds a payload to the index, keyed by the normalized
+     * instant of the specified JGlobalDateTime at the moment of the call.
+     * Later changes in that JGlobalDateTime do not affect the index.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTime The datetime the payload is keyed by.
+     * @param payload The payload.
+     * @since 2.4
+     */
+    public void add(JGlobalDateTime dateTime, T payload) {
+        if (this.pendingSize == this.pendingEpochSeconds.length) {
+            int capacity = JGlobalDateTimeRangeIndex.grow(this.pendingSize, this.pendingSize + 1);
+            this.pendingEpochSeconds = Arrays.copyOf(this.pendingEpochSeconds, capacity);
+            this.pendingNanos = Arrays.copyOf(this.pendingNanos, capacity);
+            this.pendingPayloads = Arrays.copyOf(this.pendingPayloads, capacity);
+        }
+        this.pendingEpochSeconds[this.pendingSize] = dateTime.getNormalizedEpochSecond();
+        this.pendingNanos[this.pendingSize] = dateTime.getNormalizedNano();
+        this.pendingPayloads[this.pendingSize] = payload;
+        this.pendingSize++;
+        this.modifications++;
+    }
+
+    /**
+     * This methods adds a batch of payloads to the index, each one of them
+     * keyed by the normalized instant of the JGlobalDateTime at the same
+     * position.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dateTimes The datetimes the payloads are keyed by.
+     * @param batchPayloads The payloads. It has to be as long as the array of
+     * datetimes.
+     * @throws IllegalArgumentException if both arrays have different lengths.
+     * @since 2.4
+     */
+    public void addAll(JGlobalDateTime[] dateTimes, T[] batchPayloads) {
+        if (dateTimes.length != batchPayloads.length) {
+            throw new IllegalArgumentException("Datetimes and payloads have to have the same length");
+        }
+        for (int i = 0; i < dateTimes.length; i++) {
+            this.add(dateTimes[i], batchPayloads[i]);
+        }
+    }
+
+    /**
+     * This methods gets the number of payloads in the index.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of payloads in the index.
+     * @since 2.4
+     */
+    public int size() {
+        return this.size + this.pendingSize;
+    }
+
+    /**
+     * This methods removes every payload from the index.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public void clear() {
+        Arrays.fill(this.payloads, 0, this.size, null);
+        Arrays.fill(this.pendingPayloads, 0, this.pendingSize, null);
+        this.size = 0;
+        this.pendingSize = 0;
+        this.modifications++;
+    }
+
+    /**
+     * This methods counts the payloads whose instant is within a time range:
+     * not before the start of the range and before its end.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param from The start of the range (inclusive).
+     * @param to The end of the range (exclusive).
+     * @return the number of payloads within the range.
+     * @since 2.4
+     */
+    public int count(JGlobalDateTime from, JGlobalDateTime to) {
+        return this.count(from.getNormalizedEpochSecond(), from.getNormalizedNano(), to.getNormalizedEpochSecond(), to.getNormalizedNano());
+    }
+
+    /**
+     * This methods counts the payloads whose instant is within a time range,
+     * expressed as milliseconds from Epoch: not before the start of the range
+     * and before its end.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param fromEpochMilli The start of the range (inclusive).
+     * @param toEpochMilli The end of the range (exclusive).
+     * @return the number of payloads within the range.
+     * @since 2.4
+     */
+    public int count(long fromEpochMilli, long toEpochMilli) {
+        return this.count(Math.floorDiv(fromEpochMilli, MILLIS_PER_SECOND), (int) Math.floorMod(fromEpochMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI,
+                Math.floorDiv(toEpochMilli, MILLIS_PER_SECOND), (int) Math.floorMod(toEpochMilli, MILLIS_PER_SECOND) * NANOS_PER_MILLI);
+    }
+
+    /**
+     * This methods gets the payloads whose instant is within a time range, in
+     * ascending order of instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param from The start of the range (inclusive).
+     * @param to The end of the range (exclusive).
+     * @return a new list with the payloads within the range.
+     * @since 2.4
+     */
+    public List<T> find(JGlobalDateTime from, JGlobalDateTime to) {
+        this.mergePending();
+        int start = this.lowerBound(from.getNormalizedEpochSecond(), from.getNormalizedNano());
+        int end = Math.max(start, this.lowerBound(to.getNormalizedEpochSecond(), to.getNormalizedNano()));
+        List<T> found = new ArrayList<>(end - start);
+        for (int i = start; i < end; i++) {
+            found.add(this.getPayload(i));
+        }
+        return found;
+    }
+
+    /**
+     * This methods performs the specified action for every payload whose
+     * instant is within a time range, in ascending order of instant, without
+     * creating any intermediate collection.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param from The start of the range (inclusive).
+     * @param to The end of the range (exclusive).
+     * @param action The action to be performed for every payload.
+     * @since 2.4
+     */
+    public void forEach(JGlobalDateTime from, JGlobalDateTime to, Consumer<? super T> action) {
+        this.mergePending();
+        int start = this.lowerBound(from.getNormalizedEpochSecond(), from.getNormalizedNano());
+        int end = Math.max(start, this.lowerBound(to.getNormalizedEpochSecond(), to.getNormalizedNano()));
+        for (int i = start; i < end; i++) {
+            action.accept(this.getPayload(i));
+        }
+    }
+
+    /**
+     * This methods gets an iterator over the payloads whose instant is within
+     * a time range, in ascending order of instant. The iterator fails if the
+     * index is modified while it is being used.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param from The start of the range (inclusive).
+     * @param to The end of the range (exclusive).
+     * @return an iterator over the payloads within the range.
+     * @since 2.4
+     */
+    public Iterator<T> iterator(JGlobalDateTime from, JGlobalDateTime to) {
+        this.mergePending();
+        int start = this.lowerBound(from.getNormalizedEpochSecond(), from.getNormalizedNano());
+        int end = Math.max(start, this.lowerBound(to.getNormalizedEpochSecond(), to.getNormalizedNano()));
+        return new RangeIterator(start, end);
+    }
+
+    /**
+     * This methods iterates over the index in consecutive windows of the
+     * specified length, starting at the specified instant. For every window
+     * that contains, at least, one payload, the action receives the start of
+     * the window, as seconds from Epoch, and the payloads within it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param from The start of the first window (inclusive).
+     * @param to The end of the last window (exclusive).
+     * @param windowSeconds The length of each window, in seconds.
+     * @param action The action to be performed for every non-empty window.
+     * @throws IllegalArgumentException if the length of the windows is not
+     * positive.
+     * @since 2.4
+     */
+    public void forEachWindow(JGlobalDateTime from, JGlobalDateTime to, long windowSeconds, WindowConsumer<T> action) {
+        if (windowSeconds <= 0) {
+            throw new IllegalArgumentException("The length of the windows has to be positive");
+        }
+        this.mergePending();
+        long fromEpochSecond = from.getNormalizedEpochSecond();
+        int fromNano = from.getNormalizedNano();
+        int position = this.lowerBound(fromEpochSecond, fromNano);
+        int end = Math.max(position, this.lowerBound(to.getNormalizedEpochSecond(), to.getNormalizedNano()));
+        List<T> window = new ArrayList<>();
+        while (position < end) {
+            // Windows without payloads are skipped.
+            long windowIndex = Math.floorDiv(this.epochSeconds[position] - fromEpochSecond - ((this.nanos[position] < fromNano) ? 1 : 0), windowSeconds);
+            long windowStart = fromEpochSecond + (windowIndex * windowSeconds);
+            int windowEnd = Math.min(end, this.lowerBound(windowStart + windowSeconds, fromNano));
+            window.clear();
+            for (int i = position; i < windowEnd; i++) {
+                window.add(this.getPayload(i));
+            }
+            action.accept(windowStart, window);
+            position = windowEnd;
+        }
+    }
+
+    /**
+     * This interface is implemented by the actions that receive the windows
+     * of JGlobalDateTimeRangeIndex.forEachWindow().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     * @param <T> The type of the payloads.
+     */
+    @FunctionalInterface
+    public interface WindowConsumer<T> {
+
+        /**
+         * This methods receives a window. The list of payloads is reused for
+         * the next window; it must be copied if it has to be kept.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param windowStartEpochSecond The start of the window, as seconds
+         * from Epoch.
+         * @param payloads The payloads within the window, in ascending order
+         * of instant.
+         * @since 2.4
+         */
+        void accept(long windowStartEpochSecond, List<T> payloads);
+    }
+
+    /**
+     * This methods counts the payloads whose instant is within a time range
+     * expressed as seconds and nanoseconds from Epoch.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param fromEpochSecond The start of the range, as seconds from Epoch.
+     * @param fromNano The nanosecond of second of the start of the range.
+     * @param toEpochSecond The end of the range, as seconds from Epoch.
+     * @param toNano The nanosecond of second of the end of the range.
+     * @return the number of payloads within the range.
+     * @since 2.4
+     */
+    private int count(long fromEpochSecond, int fromNano, long toEpochSecond, int toNano) {
+        this.mergePending();
+        int start = this.lowerBound(fromEpochSecond, fromNano);
+        int end = Math.max(start, this.lowerBound(toEpochSecond, toNano));
+        return end - start;
+    }
+
+    /**
+     * This methods gets the position of the first entry of the index whose
+     * instant is not before the specified one, using binary search.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @return the position of the first entry not before the instant, or the
+     * size of the index if there is no such entry.
+     * @since 2.4
+     */
+    private int lowerBound(long epochSecond, int nano) {
+        int low = 0;
+        int high = this.size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if ((this.epochSeconds[middle] < epochSecond) || ((this.epochSeconds[middle] == epochSecond) && (this.nanos[middle] < nano))) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * This methods merges the pending insertions into the sorted arrays of the
+     * index. Pending entries are sorted by instant, keeping their insertion
+     * order for equal instants, and then merged from the end of the arrays, so
+     * that no entry is moved more than once.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private void mergePending() {
+        if (this.pendingSize == 0) {
+            return;
+        }
+        int[] order = this.sortPending();
+        int total = this.size + this.pendingSize;
+        if (total > this.epochSeconds.length) {
+            int capacity = JGlobalDateTimeRangeIndex.grow(this.epochSeconds.length, total);
+            this.epochSeconds = Arrays.copyOf(this.epochSeconds, capacity);
+            this.nanos = Arrays.copyOf(this.nanos, capacity);
+            this.payloads = Arrays.copyOf(this.payloads, capacity);
+        }
+        int current = this.size - 1;
+        int pending = this.pendingSize - 1;
+        for (int position = total - 1; pending >= 0; position--) {
+            int next = order[pending];
+            // Pending entries go after the existing ones with the same instant.
+            if ((current >= 0) && ((this.epochSeconds[current] > this.pendingEpochSeconds[next])
+                    || ((this.epochSeconds[current] == this.pendingEpochSeconds[next]) && (this.nanos[current] > this.pendingNanos[next])))) {
+                this.epochSeconds[position] = this.epochSeconds[current];
+                this.nanos[position] = this.nanos[current];
+                this.payloads[position] = this.payloads[current];
+                current--;
+            } else {
+                this.epochSeconds[position] = this.pendingEpochSeconds[next];
+                this.nanos[position] = this.pendingNanos[next];
+                this.payloads[position] = this.pendingPayloads[next];
+                pending--;
+            }
+        }
+        this.size = total;
+        Arrays.fill(this.pendingPayloads, 0, this.pendingSize, null);
+        this.pendingSize = 0;
+    }
+
+    /**
+     * This methods gets the order of the pending entries, sorted by instant.
+     * Entries with the same instant keep their insertion order.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the positions of the pending entries, in ascending order of
+     * instant.
+     * @since 2.4
+     */
+    private int[] sortPending() {
+        int[] order = new int[this.pendingSize];
+        long[] keys = new long[this.pendingSize];
+        boolean packable = true;
+        for (int i = 0; i < this.pendingSize; i++) {
+            order[i] = i;
+            long epochSecond = this.pendingEpochSeconds[i];
+            if ((epochSecond < JGlobalDateTimeRangeIndex.MIN_KEY_EPOCH_SECOND) || (epochSecond > JGlobalDateTimeRangeIndex.MAX_KEY_EPOCH_SECOND)) {
+                packable = false;
+            } else {
+                keys[i] = (epochSecond * JGlobalDateTimeRangeIndex.NANOS_PER_SECOND) + this.pendingNanos[i];
+            }
+        }
+        if (packable) {
+            JGlobalDateTimeSort.sort(keys, order);
+            return order;
+        }
+        // Some instant does not fit in a single long key.
+        Integer[] boxedOrder = new Integer[this.pendingSize];
+        for (int i = 0; i < this.pendingSize; i++) {
+            boxedOrder[i] = i;
+        }
+        Arrays.sort(boxedOrder, (first, second) -> {
+            int result = Long.compare(this.pendingEpochSeconds[first], this.pendingEpochSeconds[second]);
+            return (result != 0) ? result : Integer.compare(this.pendingNanos[first], this.pendingNanos[second]);
+        });
+        for (int i = 0; i < this.pendingSize; i++) {
+            order[i] = boxedOrder[i];
+        }
+        return order;
+    }
+
+    /**
+     * This methods gets the payload at the specified position of the sorted
+     * arrays.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param position The position.
+     * @return the payload at that position.
+     * @since 2.4
+     */
+    @SuppressWarnings("unchecked")
+    private T getPayload(int position) {
+        return (T) this.payloads[position];
+    }
+
+    /**
+     * This methods computes the new capacity of an array that has to grow.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param currentCapacity The current capacity.
+     * @param minCapacity The minimum capacity needed.
+     * @return the new capacity.
+     * @since 2.4
+     */
+    private static int grow(int currentCapacity, int minCapacity) {
+        return Math.max(minCapacity, currentCapacity + (currentCapacity >> 1) + 1);
+    }
+
+    /**
+     * This class implements an iterator over a range of positions of the
+     * sorted arrays of the index.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private final class RangeIterator implements Iterator<T> {
+
+        /**
+         * This is the constructor of the class. It creates a new iterator over
+         * the specified range of positions.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param start The first position (inclusive).
+         * @param end The last position (exclusive).
+         * @since 2.4
+         */
+        RangeIterator(int start, int end) {
+            this.position = start;
+            this.end = end;
+            this.expectedModifications = JGlobalDateTimeRangeIndex.this.modifications;
+        }
+
+        /**
+         * This methods checks whether there are more payloads in the range.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if there are more payloads. Otherwise, false.
+         * @since 2.4
+         */
+        @Override
+        public boolean hasNext() {
+            return this.position < this.end;
+        }
+
+        /**
+         * This methods gets the next payload of the range.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the next payload.
+         * @throws NoSuchElementException if there are no more payloads.
+         * @throws ConcurrentModificationException if the index has been
+         * modified since the iterator was created.
+         * @since 2.4
+         */
+        @Override
+        public T next() {
+            if (this.expectedModifications != JGlobalDateTimeRangeIndex.this.modifications) {
+                throw new ConcurrentModificationException();
+            }
+            if (this.position >= this.end) {
+                throw new NoSuchElementException();
+            }
+            return JGlobalDateTimeRangeIndex.this.getPayload(this.position++);
+        }
+
+        private int position;
+        private final int end;
+        private final int expectedModifications;
+    }
+
+    private long[] epochSeconds;
+    private int[] nanos;
+    private Object[] payloads;
+    private int size;
+    private long[] pendingEpochSeconds;
+    private int[] pendingNanos;
+    private Object[] pendingPayloads;
+    private int pendingSize;
+    private int modifications;
+
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long MIN_KEY_EPOCH_SECOND = (Long.MIN_VALUE / NANOS_PER_SECOND) + 1;
+    private static final long MAX_KEY_EPOCH_SECOND = (Long.MAX_VALUE / NANOS_PER_SECOND) - 1;
+}
@@ -0,0 +1,598 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.Clock;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * This class implements a scheduler that runs tasks when the normalized
+ * instant of a JGlobalDateTime arrives, as alreadyHappened() would detect it,
+ * without polling. Pending timers are kept in a hierarchical timing wheel:
+ * several levels of 64 slots each, where every level covers 64 times the time
+ * span of the previous one. Scheduling and cancelling a timer take constant
+ * time, whatever the number of pending timers, and timers are only moved to a
+ * lower level a few times before they are due. The wheel is advanced, one
+ * tick at a time, by a background daemon thread that reads the current date
+ * from a Clock, so timers are fired with a resolution of one tick. Due tasks
+ * are dispatched onto the specified Executor; on JDK 21 or later,
+ * Executors.newVirtualThreadPerTaskExecutor() runs each one of them on its own
+ * virtual thread. Instances of this class are thread-safe. The background
+ * thread is stopped by calling close().
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeScheduler implements AutoCloseable {
+
+    /**
+     * This is the constructor of the class. It creates a new scheduler, with
+     * the default tick duration, that takes the current date from the default
+     * clock of JGlobalDateTime and dispatches due tasks onto the specified
+     * executor.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param executor The executor due tasks are dispatched onto.
+     * @throws IllegalArgumentException if the executor is null.
+     * @since 2.4
+     */
+    public JGlobalDateTimeScheduler(Executor executor) {
+        this(executor, JGlobalDateTimeScheduler.DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new scheduler, with
+     * the specified tick duration, that takes the current date from the
+     * default clock of JGlobalDateTime and dispatches due tasks onto the
+     * specified executor.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param executor The executor due tasks are dispatched onto.
+     * @param tickDuration The resolution of the scheduler.
+     * @param unit The unit the tick duration is expressed in.
+     * @throws IllegalArgumentException if the executor is null or the tick
+     * duration is shorter than a millisecond.
+     * @since 2.4
+     */
+    public JGlobalDateTimeScheduler(Executor executor, long tickDuration, TimeUnit unit) {
+        this(executor, tickDuration, unit, JGlobalDateTime.getDefaultClock());
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new scheduler, with
+     * the specified tick duration, that takes the current date from the
+     * specified clock and dispatches due tasks onto the specified executor.
+     * The executor can be a direct one (Runnable::run), so that tasks are run
+     * by the background thread of the scheduler; in that case, tasks have to
+     * be short, because no other timer is fired while a task is running.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param executor The executor due tasks are dispatched onto.
+     * @param tickDuration The resolution of the scheduler.
+     * @param unit The unit the tick duration is expressed in.
+     * @param clock The clock the current date is taken from.
+     * @throws IllegalArgumentException if the executor or the clock are null
+     * or the tick duration is shorter than a millisecond.
+     * @since 2.4
+     */
+    public JGlobalDateTimeScheduler(Executor executor, long tickDuration, TimeUnit unit, Clock clock) {
+        if (executor == null) {
+            throw new IllegalArgumentException("The executor cannot be null");
+        }
+        if (clock == null) {
+            throw new IllegalArgumentException("The clock cannot be null");
+        }
+        if (unit.toMillis(tickDuration) < 1) {
+            throw new IllegalArgumentException("The tick duration has to be at least one millisecond");
+        }
+        this.executor = executor;
+        this.clock = clock;
+        this.tickMillis = unit.toMillis(tickDuration);
+        this.startMillis = clock.millis();
+        this.additions = new ConcurrentLinkedQueue<>();
+        this.cancellations = new ConcurrentLinkedQueue<>();
+        this.pendingTimers = new AtomicLong();
+        this.closed = false;
+        this.wheel = new Timer[JGlobalDateTimeScheduler.LEVELS * JGlobalDateTimeScheduler.WHEEL_SIZE];
+        this.currentTick = 0L;
+        this.placedTimers = 0L;
+        this.worker = new Thread(this::run, "jglobaldatetime-scheduler");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * This methods schedules a task to be run when the normalized instant of
+     * the specified JGlobalDateTime, at the moment of the call, arrives. Later
+     * changes in that JGlobalDateTime do not affect the timer. If the instant
+     * has already arrived, the task is run in the next tick.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dueTime The datetime the task is due at.
+     * @param task The task to be run.
+     * @return the timer, that can be used to cancel the task.
+     * @throws IllegalArgumentException if the task is null.
+     * @throws IllegalStateException if the scheduler has been closed.
+     * @since 2.4
+     */
+    public Timer schedule(JGlobalDateTime dueTime, Runnable task) {
+        return this.schedule(JGlobalDateTimeScheduler.toCeilingEpochMilli(dueTime.getNormalizedEpochSecond(), dueTime.getNormalizedNano()), task);
+    }
+
+    /**
+     * This methods schedules a task to be run when the specified instant,
+     * expressed as milliseconds from Epoch, arrives. If the instant has
+     * already arrived, the task is run in the next tick.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param dueEpochMilli The instant the task is due at, as milliseconds
+     * from Epoch.
+     * @param task The task to be run.
+     * @return the timer, that can be used to cancel the task.
+     * @throws IllegalArgumentException if the task is null.
+     * @throws IllegalStateException if the scheduler has been closed, even
+     * concurrently with this call; then, the timer is discarded.
+     * @since 2.4
+     */
+    public Timer schedule(long dueEpochMilli, Runnable task) {
+        if (task == null) {
+            throw new IllegalArgumentException("The task cannot be null");
+        }
+        if (this.closed) {
+            throw new IllegalStateException("The scheduler has been closed");
+        }
+        Timer timer = new Timer(this, task, dueEpochMilli, this.toDeadlineTick(dueEpochMilli));
+        this.pendingTimers.incrementAndGet();
+        this.additions.add(timer);
+        if (this.closed) {
+            // The scheduler has been closed meanwhile, maybe after the
+            // background thread discarded the pending timers for the last
+            // time; the timer would stay pending forever.
+            timer.discard();
+            if (!timer.isFired()) {
+                throw new IllegalStateException("The scheduler has been closed");
+            }
+        }
+        return timer;
+    }
+
+    /**
+     * This methods gets the number of timers that have been scheduled and
+     * have been neither fired nor cancelled yet.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of pending timers.
+     * @since 2.4
+     */
+    public long getPendingTimers() {
+        return this.pendingTimers.get();
+    }
+
+    /**
+     * This methods gets the resolution of this scheduler.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the tick duration, in milliseconds.
+     * @since 2.4
+     */
+    public long getTickMillis() {
+        return this.tickMillis;
+    }
+
+    /**
+     * This methods stops the background thread of this scheduler. Pending
+     * timers are discarded without running their tasks and no more timers can
+     * be scheduled. Tasks already dispatched onto the executor are not
+     * affected, and the executor is not shut down.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    @Override
+    public void close() {
+        this.closed = true;
+        LockSupport.unpark(this.worker);
+    }
+
+    /**
+     * This methods is the main loop of the background thread. On every tick,
+     * it removes the cancelled timers from the wheel, skips the ticks elapsed
+     * since the last one if the wheel is empty, places the new timers in the
+     * wheel and advances it up to the current date, firing due timers. New
+     * timers are placed after skipping ticks, so that, after an idle period,
+     * they are not placed against a stale tick that would force the wheel to
+     * walk every missed tick before firing them.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private void run() {
+        while (!this.closed) {
+            this.processCancellations();
+            long targetTick = Math.floorDiv(this.clock.millis() - this.startMillis, this.tickMillis);
+            if ((this.placedTimers == 0) && (targetTick > this.currentTick)) {
+                // Nothing to be fired; there is no need to walk every tick.
+                this.currentTick = targetTick;
+            }
+            this.processAdditions();
+            while (!this.closed && (this.currentTick < targetTick)) {
+                this.currentTick++;
+                this.advance();
+            }
+            long sleepMillis = (this.startMillis + ((this.currentTick + 1) * this.tickMillis)) - this.clock.millis();
+            LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(Math.max(1L, Math.min(sleepMillis, this.tickMillis))));
+        }
+        Timer timer;
+        while ((timer = this.additions.poll()) != null) {
+            timer.discard();
+        }
+        for (int i = 0; i < this.wheel.length; i++) {
+            for (timer = this.wheel[i]; timer != null; timer = timer.next) {
+                timer.discard();
+            }
+            this.wheel[i] = null;
+        }
+        this.cancellations.clear();
+    }
+
+    /**
+     * This methods places in the wheel the timers scheduled since the last
+     * tick.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private void processAdditions() {
+        Timer timer;
+        while ((timer = this.additions.poll()) != null) {
+            this.place(timer);
+        }
+    }
+
+    /**
+     * This methods removes from the wheel the timers cancelled since the last
+     * tick.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private void processCancellations() {
+        Timer timer;
+        while ((timer = this.cancellations.poll()) != null) {
+            if (timer.slot >= 0) {
+                this.unlink(timer);
+            }
+        }
+    }
+
+    /**
+     * This methods advances the wheel to the current tick. The slots of the
+     * upper levels that start at the current tick are moved to lower levels
+     * and then the timers of the current slot of the first level are fired.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private void advance() {
+        int topLevel = 0;
+        while ((topLevel < (JGlobalDateTimeScheduler.LEVELS - 1)) && ((this.currentTick & ((1L << ((topLevel + 1) * JGlobalDateTimeScheduler.WHEEL_BITS)) - 1)) == 0)) {
+            topLevel++;
+        }
+        for (int level = topLevel; level > 0; level--) {
+            int slot = (level * JGlobalDateTimeScheduler.WHEEL_SIZE) + (int) ((this.currentTick >>> (level * JGlobalDateTimeScheduler.WHEEL_BITS)) & JGlobalDateTimeScheduler.WHEEL_MASK);
+            Timer timer = this.detach(slot);
+            while (timer != null) {
+                Timer next = timer.next;
+                timer.next = null;
+                this.place(timer);
+                timer = next;
+            }
+        }
+        Timer timer = this.detach((int) (this.currentTick & JGlobalDateTimeScheduler.WHEEL_MASK));
+        while (timer != null) {
+            Timer next = timer.next;
+            timer.next = null;
+            this.fire(timer);
+            timer = next;
+        }
+    }
+
+    /**
+     * This methods places a timer in the wheel, in the level given by the
+     * highest bit in which its deadline differs from the current tick, or
+     * fires it if it is already due. Timers that are not pending any more are
+     * dropped.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param timer The timer to be placed.
+     * @since 2.4
+     */
+    private void place(Timer timer) {
+        if (timer.state != Timer.PENDING) {
+            return;
+        }
+        long deadlineTick = timer.deadlineTick;
+        if (deadlineTick <= this.currentTick) {
+            this.fire(timer);
+            return;
+        }
+        int level = (63 - Long.numberOfLeadingZeros(deadlineTick ^ this.currentTick)) / JGlobalDateTimeScheduler.WHEEL_BITS;
+        int slot = (level * JGlobalDateTimeScheduler.WHEEL_SIZE) + (int) ((deadlineTick >>> (level * JGlobalDateTimeScheduler.WHEEL_BITS)) & JGlobalDateTimeScheduler.WHEEL_MASK);
+        Timer head = this.wheel[slot];
+        timer.previous = null;
+        timer.next = head;
+        if (head != null) {
+            head.previous = timer;
+        }
+        this.wheel[slot] = timer;
+        timer.slot = slot;
+        this.placedTimers++;
+    }
+
+    /**
+     * This methods removes a timer from the slot of the wheel it is in.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param timer The timer to be removed.
+     * @since 2.4
+     */
+    private void unlink(Timer timer) {
+        if (timer.previous == null) {
+            this.wheel[timer.slot] = timer.next;
+        } else {
+            timer.previous.next = timer.next;
+        }
+        if (timer.next != null) {
+            timer.next.previous = timer.previous;
+        }
+        timer.previous = null;
+        timer.next = null;
+        timer.slot = -1;
+        this.placedTimers--;
+    }
+
+    /**
+     * This methods removes every timer from a slot of the wheel.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param slot The slot.
+     * @return the first timer of the slot, linked to the rest of them through
+     * its next field, or null if the slot was empty.
+     * @since 2.4
+     */
+    private Timer detach(int slot) {
+        Timer head = this.wheel[slot];
+        this.wheel[slot] = null;
+        for (Timer timer = head; timer != null; timer = timer.next) {
+            timer.previous = null;
+            timer.slot = -1;
+            this.placedTimers--;
+        }
+        return head;
+    }
+
+    /**
+     * This methods fires a timer, dispatching its task onto the executor,
+     * unless it has been cancelled meanwhile. Exceptions thrown by the
+     * executor, or by the task when the executor runs it directly, are logged
+     * and do not stop the scheduler.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param timer The timer to be fired.
+     * @since 2.4
+     */
+    private void fire(Timer timer) {
+        if (!Timer.STATE.compareAndSet(timer, Timer.PENDING, Timer.FIRED)) {
+            return;
+        }
+        this.pendingTimers.decrementAndGet();
+        try {
+            this.executor.execute(timer.task);
+        } catch (RuntimeException ex) {
+            logger.warn("A scheduled task could not be run", ex);
+        }
+    }
+
+    /**
+     * This methods converts an instant to the tick of this scheduler in which
+     * it arrives, that is, the first tick that does not start before it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMilli The instant, as milliseconds from Epoch.
+     * @return the tick, or zero if it starts before the scheduler was
+     * created.
+     * @since 2.4
+     */
+    private long toDeadlineTick(long epochMilli) {
+        long elapsedMillis;
+        try {
+            elapsedMillis = Math.subtractExact(epochMilli, this.startMillis);
+        } catch (ArithmeticException ex) {
+            return (epochMilli < 0) ? 0L : Long.MAX_VALUE;
+        }
+        if (elapsedMillis <= 0) {
+            return 0L;
+        }
+        return ((elapsedMillis - 1) / this.tickMillis) + 1;
+    }
+
+    /**
+     * This methods converts an instant, as seconds and nanoseconds from Epoch,
+     * to milliseconds from Epoch, rounding up, so that the instant has already
+     * arrived when the resulting millisecond does. Instants out of the range
+     * of a long are saturated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @param nano The nanosecond of second of the instant.
+     * @return the instant as milliseconds from Epoch, rounded up.
+     * @since 2.4
+     */
+    private static long toCeilingEpochMilli(long epochSecond, int nano) {
+        try {
+            return Math.addExact(Math.multiplyExact(epochSecond, MILLIS_PER_SECOND), (nano + (NANOS_PER_MILLI - 1)) / NANOS_PER_MILLI);
+        } catch (ArithmeticException ex) {
+            return (epochSecond < 0) ? Long.MIN_VALUE : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * This class implements a timer of a JGlobalDateTimeScheduler: a task and
+     * the instant it is due at. It can be cancelled from any thread until it
+     * is fired.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    public static final class Timer {
+
+        /**
+         * This is the constructor of the class. It creates a new pending
+         * timer.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param scheduler The scheduler the timer belongs to.
+         * @param task The task to be run.
+         * @param dueEpochMilli The instant the task is due at, as milliseconds
+         * from Epoch.
+         * @param deadlineTick The tick of the scheduler in which the task is
+         * due.
+         * @since 2.4
+         */
+        Timer(JGlobalDateTimeScheduler scheduler, Runnable task, long dueEpochMilli, long deadlineTick) {
+            this.scheduler = scheduler;
+            this.task = task;
+            this.dueEpochMilli = dueEpochMilli;
+            this.deadlineTick = deadlineTick;
+            this.state = Timer.PENDING;
+            this.slot = -1;
+        }
+
+        /**
+         * This methods cancels this timer, so that its task is not run. It is
+         * removed from the wheel of the scheduler in the next tick.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if the timer has been cancelled. Otherwise (it had
+         * already been fired, cancelled or discarded), false.
+         * @since 2.4
+         */
+        public boolean cancel() {
+            if (!Timer.STATE.compareAndSet(this, Timer.PENDING, Timer.CANCELLED)) {
+                return false;
+            }
+            this.scheduler.pendingTimers.decrementAndGet();
+            this.scheduler.cancellations.add(this);
+            return true;
+        }
+
+        /**
+         * This methods checks whether this timer has been cancelled.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if the timer has been cancelled. Otherwise, false.
+         * @since 2.4
+         */
+        public boolean isCancelled() {
+            return this.state == Timer.CANCELLED;
+        }
+
+        /**
+         * This methods checks whether this timer has been fired, that is,
+         * whether its task has been dispatched onto the executor.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if the timer has been fired. Otherwise, false.
+         * @since 2.4
+         */
+        public boolean isFired() {
+            return this.state == Timer.FIRED;
+        }
+
+        /**
+         * This methods gets the instant the task of this timer is due at.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the instant, as milliseconds from Epoch.
+         * @since 2.4
+         */
+        public long getDueEpochMilli() {
+            return this.dueEpochMilli;
+        }
+
+        /**
+         * This methods marks this timer as discarded, because its scheduler
+         * has been closed before it was fired.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        void discard() {
+            if (Timer.STATE.compareAndSet(this, Timer.PENDING, Timer.DISCARDED)) {
+                this.scheduler.pendingTimers.decrementAndGet();
+            }
+        }
+
+        private final JGlobalDateTimeScheduler scheduler;
+        private final Runnable task;
+        private final long dueEpochMilli;
+        private final long deadlineTick;
+        private volatile int state;
+        // Only used by the background thread of the scheduler.
+        private Timer previous;
+        private Timer next;
+        private int slot;
+
+        private static final int PENDING = 0;
+        private static final int FIRED = 1;
+        private static final int CANCELLED = 2;
+        private static final int DISCARDED = 3;
+        private static final AtomicIntegerFieldUpdater<Timer> STATE = AtomicIntegerFieldUpdater.newUpdater(Timer.class, "state");
+    }
+
+    private final Executor executor;
+    private final Clock clock;
+    private final long tickMillis;
+    private final long startMillis;
+    private final Queue<Timer> additions;
+    private final Queue<Timer> cancellations;
+    private final AtomicLong pendingTimers;
+    private volatile boolean closed;
+    private final Thread worker;
+    // Only used by the background thread.
+    private final Timer[] wheel;
+    private long currentTick;
+    private long placedTimers;
+
+    public static final long DEFAULT_TICK_MILLIS = 10L;
+
+    private static final int WHEEL_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final long WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = (Long.SIZE + WHEEL_BITS - 1) / WHEEL_BITS;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+
+    private static final Logger logger = LoggerFactory.getLogger(JGlobalDateTimeScheduler.class);
+}
@@ -0,0 +1,480 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class implements sorting and merging of large collections of
+ * JGlobalDateTime by the instant they represent, with nanosecond resolution
+ * (the order of JGlobalDateTime.compareTo()). Sorting extracts a primitive key
+ * from every element and sorts the keys with a stable merge sort that is run
+ * in parallel, on the common fork-join pool, for large collections. Merging
+ * combines already sorted streams (for instance, one per region) into a single
+ * sorted one.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeSort {
+
+    /**
+     * This is the constructor of the class. It is private because this class
+     * only has static methods and should not be instantiated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeSort() {
+    }
+
+    /**
+     * This methods sorts an array of JGlobalDateTime by the instant they
+     * represent. The sort is stable: JGlobalDateTime representing the same
+     * instant keep their relative order.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param values The array to be sorted.
+     * @since 2.4
+     */
+    public static void sort(JGlobalDateTime[] values) {
+        int length = values.length;
+        if (length < 2) {
+            return;
+        }
+        long[] keys = new long[length];
+        for (int i = 0; i < length; i++) {
+            long epochSecond = values[i].getNormalizedEpochSecond();
+            if ((epochSecond < JGlobalDateTimeSort.MIN_KEY_EPOCH_SECOND) || (epochSecond > JGlobalDateTimeSort.MAX_KEY_EPOCH_SECOND)) {
+                // The instant does not fit in a single long key.
+                Arrays.sort(values, JGlobalDateTime.INSTANT_COMPARATOR);
+                return;
+            }
+            keys[i] = (epochSecond * JGlobalDateTimeSort.NANOS_PER_SECOND) + values[i].getNormalizedNano();
+        }
+        int[] indexes = new int[length];
+        for (int i = 0; i < length; i++) {
+            indexes[i] = i;
+        }
+        JGlobalDateTimeSort.sort(keys, indexes);
+        JGlobalDateTime[] unsorted = values.clone();
+        for (int i = 0; i < length; i++) {
+            values[i] = unsorted[indexes[i]];
+        }
+    }
+
+    /**
+     * This methods sorts a list of JGlobalDateTime by the instant they
+     * represent. The sort is stable: JGlobalDateTime representing the same
+     * instant keep their relative order.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param values The list to be sorted. It has to support the set
+     * operation.
+     * @since 2.4
+     */
+    public static void sort(List<JGlobalDateTime> values) {
+        JGlobalDateTime[] array = values.toArray(new JGlobalDateTime[values.size()]);
+        JGlobalDateTimeSort.sort(array);
+        ListIterator<JGlobalDateTime> iterator = values.listIterator();
+        for (JGlobalDateTime value : array) {
+            iterator.next();
+            iterator.set(value);
+        }
+    }
+
+    /**
+     * This methods sorts an array of primitive keys together with an array of
+     * indexes, so that the index that was at the position of a key is moved
+     * along with it. Equal keys keep their relative order. Arrays larger than
+     * a threshold are sorted in parallel.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param keys The keys to be sorted.
+     * @param indexes The indexes to be moved along with the keys. It has to be
+     * as long as the array of keys.
+     * @throws IllegalArgumentException if both arrays have different lengths.
+     * @since 2.4
+     */
+    public static void sort(long[] keys, int[] indexes) {
+        if (keys.length != indexes.length) {
+            throw new IllegalArgumentException("Keys and indexes have to have the same length");
+        }
+        int length = keys.length;
+        if (length < 2) {
+            return;
+        }
+        long[] keysBuffer = new long[length];
+        int[] indexesBuffer = new int[length];
+        MergeSortTask task = new MergeSortTask(keys, indexes, keysBuffer, indexesBuffer, 0, length);
+        if (length < JGlobalDateTimeSort.PARALLEL_THRESHOLD) {
+            task.compute();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+    }
+
+    /**
+     * This methods merges several lists of JGlobalDateTime, each one of them
+     * already sorted by instant, into a new sorted list. When several lists
+     * contain the same instant, the elements of the list that comes first are
+     * placed first.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param sortedLists The sorted lists to be merged.
+     * @return a new list with all the elements, sorted by instant.
+     * @since 2.4
+     */
+    public static List<JGlobalDateTime> merge(List<? extends List<JGlobalDateTime>> sortedLists) {
+        int size = 0;
+        List<Iterator<JGlobalDateTime>> iterators = new ArrayList<>(sortedLists.size());
+        for (List<JGlobalDateTime> sortedList : sortedLists) {
+            size += sortedList.size();
+            iterators.add(sortedList.iterator());
+        }
+        List<JGlobalDateTime> merged = new ArrayList<>(size);
+        Iterator<JGlobalDateTime> iterator = JGlobalDateTimeSort.merge(iterators);
+        while (iterator.hasNext()) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
+
+    /**
+     * This methods merges, lazily, several streams of JGlobalDateTime, each
+     * one of them already sorted by instant, into a single sorted stream. Each
+     * element is obtained in O(log k) time, being k the number of streams.
+     * When several streams contain the same instant, the elements of the
+     * stream that comes first are returned first.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param sortedIterators The sorted streams to be merged.
+     * @return an iterator over all the elements, sorted by instant.
+     * @since 2.4
+     */
+    public static Iterator<JGlobalDateTime> merge(Collection<? extends Iterator<JGlobalDateTime>> sortedIterators) {
+        return new MergingIterator(sortedIterators);
+    }
+
+    /**
+     * This class implements the fork-join task that sorts a range of an array
+     * of keys, and the array of indexes that goes with it, using merge sort.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class MergeSortTask extends RecursiveAction {
+
+        /**
+         * This is the constructor of the class. It creates a new task to sort
+         * the specified range.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param keys The keys to be sorted.
+         * @param indexes The indexes that go with the keys.
+         * @param keysBuffer An auxiliary array as long as the keys one.
+         * @param indexesBuffer An auxiliary array as long as the indexes one.
+         * @param from The first position of the range (inclusive).
+         * @param to The last position of the range (exclusive).
+         * @since 2.4
+         */
+        MergeSortTask(long[] keys, int[] indexes, long[] keysBuffer, int[] indexesBuffer, int from, int to) {
+            this.keys = keys;
+            this.indexes = indexes;
+            this.keysBuffer = keysBuffer;
+            this.indexesBuffer = indexesBuffer;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * This methods sorts the range of the task, splitting it into two
+         * subtasks that are run in parallel while it is large enough.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        @Override
+        protected void compute() {
+            if ((this.to - this.from) <= JGlobalDateTimeSort.SEQUENTIAL_THRESHOLD) {
+                this.sortSequentially(this.from, this.to);
+                return;
+            }
+            int middle = (this.from + this.to) >>> 1;
+            RecursiveAction.invokeAll(new MergeSortTask(this.keys, this.indexes, this.keysBuffer, this.indexesBuffer, this.from, middle),
+                    new MergeSortTask(this.keys, this.indexes, this.keysBuffer, this.indexesBuffer, middle, this.to));
+            this.merge(this.from, middle, this.to);
+        }
+
+        /**
+         * This methods sorts a range in the current thread.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param start The first position of the range (inclusive).
+         * @param end The last position of the range (exclusive).
+         * @since 2.4
+         */
+        private void sortSequentially(int start, int end) {
+            if ((end - start) <= JGlobalDateTimeSort.INSERTION_THRESHOLD) {
+                for (int i = start + 1; i < end; i++) {
+                    long key = this.keys[i];
+                    int index = this.indexes[i];
+                    int j = i - 1;
+                    while ((j >= start) && (this.keys[j] > key)) {
+                        this.keys[j + 1] = this.keys[j];
+                        this.indexes[j + 1] = this.indexes[j];
+                        j--;
+                    }
+                    this.keys[j + 1] = key;
+                    this.indexes[j + 1] = index;
+                }
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            this.sortSequentially(start, middle);
+            this.sortSequentially(middle, end);
+            this.merge(start, middle, end);
+        }
+
+        /**
+         * This methods merges two consecutive sorted ranges.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param start The first position of the first range (inclusive).
+         * @param middle The first position of the second range.
+         * @param end The last position of the second range (exclusive).
+         * @since 2.4
+         */
+        private void merge(int start, int middle, int end) {
+            if (this.keys[middle - 1] <= this.keys[middle]) {
+                // Both ranges are already in order.
+                return;
+            }
+            int left = start;
+            int right = middle;
+            int position = start;
+            while ((left < middle) && (right < end)) {
+                if (this.keys[right] < this.keys[left]) {
+                    this.keysBuffer[position] = this.keys[right];
+                    this.indexesBuffer[position++] = this.indexes[right++];
+                } else {
+                    this.keysBuffer[position] = this.keys[left];
+                    this.indexesBuffer[position++] = this.indexes[left++];
+                }
+            }
+            // Whatever remains in the right range is already in place.
+            int remaining = middle - left;
+            System.arraycopy(this.keys, left, this.keysBuffer, position, remaining);
+            System.arraycopy(this.indexes, left, this.indexesBuffer, position, remaining);
+            position += remaining;
+            System.arraycopy(this.keysBuffer, start, this.keys, start, position - start);
+            System.arraycopy(this.indexesBuffer, start, this.indexes, start, position - start);
+        }
+
+        private final long[] keys;
+        private final int[] indexes;
+        private final long[] keysBuffer;
+        private final int[] indexesBuffer;
+        private final int from;
+        private final int to;
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    /**
+     * This class implements an iterator that merges several sorted iterators
+     * of JGlobalDateTime using a binary min-heap of their current elements.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class MergingIterator implements Iterator<JGlobalDateTime> {
+
+        /**
+         * This is the constructor of the class. It reads the first element of
+         * every iterator and builds the heap.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param sortedIterators The sorted iterators to be merged.
+         * @since 2.4
+         */
+        MergingIterator(Collection<? extends Iterator<JGlobalDateTime>> sortedIterators) {
+            this.iterators = new ArrayList<>(sortedIterators);
+            int streams = this.iterators.size();
+            this.heads = new JGlobalDateTime[streams];
+            this.headEpochSeconds = new long[streams];
+            this.headNanos = new int[streams];
+            this.heap = new int[streams];
+            this.size = 0;
+            for (int i = 0; i < streams; i++) {
+                Iterator<JGlobalDateTime> iterator = this.iterators.get(i);
+                if (iterator.hasNext()) {
+                    this.setHead(i, iterator.next());
+                    this.heap[this.size] = i;
+                    this.siftUp(this.size++);
+                }
+            }
+        }
+
+        /**
+         * This methods checks whether there are more elements to be returned.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if there are more elements. Otherwise, false.
+         * @since 2.4
+         */
+        @Override
+        public boolean hasNext() {
+            return this.size > 0;
+        }
+
+        /**
+         * This methods gets the next element, the one with the lowest instant
+         * among the current elements of all iterators.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the next element.
+         * @throws NoSuchElementException if there are no more elements.
+         * @since 2.4
+         */
+        @Override
+        public JGlobalDateTime next() {
+            if (this.size == 0) {
+                throw new NoSuchElementException();
+            }
+            int stream = this.heap[0];
+            JGlobalDateTime next = this.heads[stream];
+            Iterator<JGlobalDateTime> iterator = this.iterators.get(stream);
+            if (iterator.hasNext()) {
+                this.setHead(stream, iterator.next());
+            } else {
+                this.heads[stream] = null;
+                this.heap[0] = this.heap[--this.size];
+            }
+            if (this.size > 0) {
+                this.siftDown(0);
+            }
+            return next;
+        }
+
+        /**
+         * This methods moves an entry of the heap up until its parent is not
+         * greater than it.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param position The position of the entry in the heap.
+         * @since 2.4
+         */
+        private void siftUp(int position) {
+            int stream = this.heap[position];
+            while (position > 0) {
+                int parent = (position - 1) >>> 1;
+                if (!this.isLess(stream, this.heap[parent])) {
+                    break;
+                }
+                this.heap[position] = this.heap[parent];
+                position = parent;
+            }
+            this.heap[position] = stream;
+        }
+
+        /**
+         * This methods moves an entry of the heap down until its children are
+         * not less than it.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param position The position of the entry in the heap.
+         * @since 2.4
+         */
+        private void siftDown(int position) {
+            int stream = this.heap[position];
+            int half = this.size >>> 1;
+            while (position < half) {
+                int child = (position << 1) + 1;
+                int right = child + 1;
+                if ((right < this.size) && this.isLess(this.heap[right], this.heap[child])) {
+                    child = right;
+                }
+                if (!this.isLess(this.heap[child], stream)) {
+                    break;
+                }
+                this.heap[position] = this.heap[child];
+                position = child;
+            }
+            this.heap[position] = stream;
+        }
+
+        /**
+         * This methods checks whether the current element of a stream goes
+         * before the current element of another one. Equal instants are
+         * ordered by stream, so that the merge is stable.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param stream A stream.
+         * @param anotherStream Another stream.
+         * @return true, if the current element of the first stream goes first.
+         * Otherwise, false.
+         * @since 2.4
+         */
+        private boolean isLess(int stream, int anotherStream) {
+            if (this.headEpochSeconds[stream] != this.headEpochSeconds[anotherStream]) {
+                return this.headEpochSeconds[stream] < this.headEpochSeconds[anotherStream];
+            }
+            if (this.headNanos[stream] != this.headNanos[anotherStream]) {
+                return this.headNanos[stream] < this.headNanos[anotherStream];
+            }
+            return stream < anotherStream;
+        }
+
+        /**
+         * This methods sets the current element of a stream, keeping its
+         * instant in primitive arrays so that the heap is ordered without
+         * dereferencing the elements.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param stream The stream.
+         * @param head The new current element of the stream.
+         * @since 2.4
+         */
+        private void setHead(int stream, JGlobalDateTime head) {
+            this.heads[stream] = head;
+            this.headEpochSeconds[stream] = head.getNormalizedEpochSecond();
+            this.headNanos[stream] = head.getNormalizedNano();
+        }
+
+        private final List<Iterator<JGlobalDateTime>> iterators;
+        private final JGlobalDateTime[] heads;
+        private final long[] headEpochSeconds;
+        private final int[] headNanos;
+        private final int[] heap;
+        private int size;
+    }
+
+    private static final long NANOS_PER_SECOND = 1000000000L;
+    private static final long MIN_KEY_EPOCH_SECOND = (Long.MIN_VALUE / NANOS_PER_SECOND) + 1;
+    private static final long MAX_KEY_EPOCH_SECOND = (Long.MAX_VALUE / NANOS_PER_SECOND) - 1;
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 13;
+    private static final int INSERTION_THRESHOLD = 32;
+}
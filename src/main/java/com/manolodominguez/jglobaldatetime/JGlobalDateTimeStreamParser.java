@@ -0,0 +1,683 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * This class implements a streaming parser of newline delimited ZonedDateTime
+ * strings, as those accepted by the JGlobalDateTime(String) constructor, one
+ * per line. Bytes are read in blocks from an InputStream or a
+ * ReadableByteChannel and each line is parsed in place, without creating any
+ * String, so no object is created per line in the common case, and invalid
+ * lines are detected without throwing any exception. Parsed
+ * instants are normalized (truncated to the precission in the reference Zone
+ * ID) and emitted to a Sink or as a LongStream of milliseconds from Epoch.
+ * Empty lines are ignored and a trailing carriage return is removed from each
+ * line. Invalid lines are reported to an ErrorHandler, that decides whether
+ * parsing goes on, stops or fails, instead of throwing an exception per line.
+ * This class is not thread-safe.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeStreamParser {
+
+    /**
+     * This is the constructor of the class. It creates a new parser that uses
+     * the default reference Zone ID and precission and skips invalid lines.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public JGlobalDateTimeStreamParser() {
+        this(JGlobalDateTimeStreamParser.SKIP);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new parser that uses
+     * the default reference Zone ID and precission and reports invalid lines to
+     * the specified error handler.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param errorHandler The handler invalid lines are reported to.
+     * @throws IllegalArgumentException if the error handler is null.
+     * @since 2.4
+     */
+    public JGlobalDateTimeStreamParser(ErrorHandler errorHandler) {
+        this(JGlobalDateTime.DEFAULT_REFERENCE_ZONE, JGlobalDateTime.getDefaultPrecission(), errorHandler);
+    }
+
+    /**
+     * This is the constructor of the class. It creates a new parser that
+     * normalizes instants using the specified reference Zone ID and precission
+     * and reports invalid lines to the specified error handler.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param referenceZoneID The reference Zone ID.
+     * @param precission The precission (seconds, minutes, days...).
+     * @param errorHandler The handler invalid lines are reported to.
+     * @throws IllegalArgumentException if any argument is null.
+     * @throws UnsupportedTemporalTypeException if the precission is larger
+     * than a day.
+     * @since 2.4
+     */
+    public JGlobalDateTimeStreamParser(ZoneId referenceZoneID, ChronoUnit precission, ErrorHandler errorHandler) {
+        if (referenceZoneID == null) {
+            throw new IllegalArgumentException("The reference Zone ID cannot be null");
+        }
+        if (errorHandler == null) {
+            throw new IllegalArgumentException("The error handler cannot be null");
+        }
+        JGlobalDateTime.checkPrecission(precission);
+        this.referenceZoneID = referenceZoneID;
+        this.precission = precission;
+        this.errorHandler = errorHandler;
+        this.parser = new JGlobalDateTimeParser();
+        this.lineCount = 0;
+        this.errorCount = 0;
+    }
+
+    /**
+     * This methods parses all the lines of an InputStream, emitting each
+     * valid one to the specified sink. The stream is not closed.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param input The InputStream to be parsed.
+     * @param sink The sink parsed instants are emitted to.
+     * @return the number of instants emitted to the sink.
+     * @throws IOException if the stream cannot be read.
+     * @throws JGlobalDateTimeException if the error handler fails on an
+     * invalid line.
+     * @since 2.4
+     */
+    public long parse(InputStream input, Sink sink) throws IOException, JGlobalDateTimeException {
+        return this.parse(new LineScanner(input, null), sink);
+    }
+
+    /**
+     * This methods parses all the lines of a blocking ReadableByteChannel,
+     * emitting each valid one to the specified sink. The channel is not closed.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param input The channel to be parsed.
+     * @param sink The sink parsed instants are emitted to.
+     * @return the number of instants emitted to the sink.
+     * @throws IOException if the channel cannot be read.
+     * @throws JGlobalDateTimeException if the error handler fails on an
+     * invalid line.
+     * @since 2.4
+     */
+    public long parse(ReadableByteChannel input, Sink sink) throws IOException, JGlobalDateTimeException {
+        return this.parse(new LineScanner(null, input), sink);
+    }
+
+    /**
+     * This methods gets a sequential LongStream with the normalized instants,
+     * as milliseconds from Epoch, of the lines of an InputStream. Lines are
+     * read lazily, as the LongStream is consumed, and the InputStream is not
+     * closed. Read errors are thrown as UncheckedIOException and failures of
+     * the error handler as DateTimeParseException.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param input The InputStream to be parsed.
+     * @return a LongStream with the parsed instants.
+     * @since 2.4
+     */
+    public LongStream epochMillis(InputStream input) {
+        return this.epochMillis(new LineScanner(input, null));
+    }
+
+    /**
+     * This methods gets a sequential LongStream with the normalized instants,
+     * as milliseconds from Epoch, of the lines of a blocking
+     * ReadableByteChannel. Lines are read lazily, as the LongStream is
+     * consumed, and the channel is not closed. Read errors are thrown as
+     * UncheckedIOException and failures of the error handler as
+     * DateTimeParseException.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param input The channel to be parsed.
+     * @return a LongStream with the parsed instants.
+     * @since 2.4
+     */
+    public LongStream epochMillis(ReadableByteChannel input) {
+        return this.epochMillis(new LineScanner(null, input));
+    }
+
+    /**
+     * This methods gets the number of non-empty lines read by the last parse,
+     * including the invalid ones.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of non-empty lines read.
+     * @since 2.4
+     */
+    public long getLineCount() {
+        return this.lineCount;
+    }
+
+    /**
+     * This methods gets the number of invalid lines found by the last parse.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of invalid lines.
+     * @since 2.4
+     */
+    public long getErrorCount() {
+        return this.errorCount;
+    }
+
+    /**
+     * This interface is implemented by the receivers of the instants parsed
+     * by a JGlobalDateTimeStreamParser.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    @FunctionalInterface
+    public interface Sink {
+
+        /**
+         * This methods receives a parsed and normalized instant.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param epochSecond The instant, as seconds from Epoch.
+         * @param nano The nanosecond of second of the instant.
+         * @param originalZoneID The zone the instant was expressed in.
+         * @since 2.4
+         */
+        void accept(long epochSecond, int nano, ZoneId originalZoneID);
+    }
+
+    /**
+     * This interface is implemented by the handlers of the invalid lines found
+     * by a JGlobalDateTimeStreamParser.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    @FunctionalInterface
+    public interface ErrorHandler {
+
+        /**
+         * This methods receives an invalid line.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param lineNumber The number of the line, starting at 1.
+         * @param line The content of the line. It is only valid during the
+         * call; it has to be copied (toString()) if it has to be kept.
+         * @param reasonCode The reason why the line is not valid, as one of the
+         * reason codes of JGlobalDateTimeException.
+         * @return true, if parsing has to go on. False, if it has to stop
+         * silently.
+         * @throws JGlobalDateTimeException if parsing has to fail.
+         * @since 2.4
+         */
+        boolean onError(long lineNumber, CharSequence line, int reasonCode) throws JGlobalDateTimeException;
+    }
+
+    /**
+     * This methods parses all the lines of the specified scanner.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param scanner The scanner.
+     * @param sink The sink parsed instants are emitted to.
+     * @return the number of instants emitted to the sink.
+     * @throws IOException if the input cannot be read.
+     * @throws JGlobalDateTimeException if the error handler fails on an
+     * invalid line.
+     * @since 2.4
+     */
+    private long parse(LineScanner scanner, Sink sink) throws IOException, JGlobalDateTimeException {
+        this.lineCount = 0;
+        this.errorCount = 0;
+        long emitted = 0;
+        while (this.next(scanner)) {
+            sink.accept(this.epochSecond, this.nano, this.zoneID);
+            emitted++;
+        }
+        return emitted;
+    }
+
+    /**
+     * This methods creates a lazy LongStream over the lines of the specified
+     * scanner.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param scanner The scanner.
+     * @return a LongStream with the parsed instants, as milliseconds from
+     * Epoch.
+     * @since 2.4
+     */
+    private LongStream epochMillis(LineScanner scanner) {
+        this.lineCount = 0;
+        this.errorCount = 0;
+        Spliterator.OfLong spliterator = new Spliterators.AbstractLongSpliterator(Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(LongConsumer action) {
+                JGlobalDateTimeStreamParser streamParser = JGlobalDateTimeStreamParser.this;
+                try {
+                    if (!streamParser.next(scanner)) {
+                        return false;
+                    }
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                } catch (JGlobalDateTimeException ex) {
+                    throw new DateTimeParseException(ex.getMessage(), scanner, 0, ex);
+                }
+                action.accept(Math.addExact(Math.multiplyExact(streamParser.epochSecond, JGlobalDateTimeStreamParser.MILLIS_PER_SECOND), streamParser.nano / JGlobalDateTimeStreamParser.NANOS_PER_MILLI));
+                return true;
+            }
+        };
+        return StreamSupport.longStream(spliterator, false);
+    }
+
+    /**
+     * This methods parses the next valid line of the specified scanner,
+     * reporting the invalid ones to the error handler. The parsed instant is
+     * left in the epochSecond, nano and zoneID attributes.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param scanner The scanner.
+     * @return true, if a line has been parsed. False, at the end of the input
+     * or if the error handler has stopped parsing.
+     * @throws IOException if the input cannot be read.
+     * @throws JGlobalDateTimeException if the error handler fails on an
+     * invalid line.
+     * @since 2.4
+     */
+    private boolean next(LineScanner scanner) throws IOException, JGlobalDateTimeException {
+        while (!scanner.isStopped() && scanner.nextLine()) {
+            this.lineCount++;
+            int reasonCode;
+            if (scanner.isTruncated()) {
+                reasonCode = JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING;
+            } else {
+                reasonCode = this.parser.parse(scanner);
+                if (reasonCode == JGlobalDateTimeException.RC_OK) {
+                    try {
+                        this.normalize(this.parser.getEpochSecond(), this.parser.getNano());
+                        this.zoneID = this.parser.getZoneID();
+                        return true;
+                    } catch (DateTimeException | ArithmeticException ex) {
+                        reasonCode = JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING;
+                    }
+                }
+            }
+            this.errorCount++;
+            if (!this.errorHandler.onError(scanner.getLineNumber(), scanner, reasonCode)) {
+                scanner.stop();
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This methods truncates a parsed instant to the precission, in the
+     * reference Zone ID, leaving the result in the epochSecond and nano
+     * attributes.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param parsedEpochSecond The parsed instant, as seconds from Epoch.
+     * @param parsedNano The nanosecond of second of the parsed instant.
+     * @throws ArithmeticException if the instant is too far to be truncated
+     * in milliseconds.
+     * @since 2.4
+     */
+    private void normalize(long parsedEpochSecond, int parsedNano) {
+        if (this.precission == ChronoUnit.NANOS) {
+            this.epochSecond = parsedEpochSecond;
+            this.nano = parsedNano;
+        } else if (this.precission.getDuration().getSeconds() == 0) {
+            this.epochSecond = parsedEpochSecond;
+            this.nano = parsedNano - (parsedNano % this.precission.getDuration().getNano());
+        } else {
+            long truncated = JGlobalDateTimeBatch.truncate(Math.multiplyExact(parsedEpochSecond, JGlobalDateTimeStreamParser.MILLIS_PER_SECOND), this.referenceZoneID, this.precission);
+            this.epochSecond = Math.floorDiv(truncated, JGlobalDateTimeStreamParser.MILLIS_PER_SECOND);
+            this.nano = 0;
+        }
+    }
+
+    /**
+     * This class implements a line by line reader of an InputStream or a
+     * ReadableByteChannel. It is also a CharSequence that represents the
+     * current line, seen as ISO-8859-1 characters, so that it can be parsed
+     * without copying it.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @version 1.0
+     */
+    private static final class LineScanner implements CharSequence {
+
+        /**
+         * This is the constructor of the class. It creates a new scanner of
+         * either an InputStream or a ReadableByteChannel (the other one has to
+         * be null).
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param stream The InputStream to be read, or null.
+         * @param channel The channel to be read, or null.
+         * @since 2.4
+         */
+        LineScanner(InputStream stream, ReadableByteChannel channel) {
+            this.stream = stream;
+            this.channel = channel;
+            this.buffer = new byte[JGlobalDateTimeStreamParser.BUFFER_LENGTH];
+            this.channelBuffer = (channel != null) ? ByteBuffer.wrap(this.buffer) : null;
+            this.end = 0;
+            this.nextLineStart = 0;
+            this.lineStart = 0;
+            this.lineLength = 0;
+            this.scanPosition = 0;
+            this.lineNumber = 0;
+            this.truncated = false;
+            this.skipping = false;
+            this.endOfInput = false;
+            this.stopped = false;
+        }
+
+        /**
+         * This methods moves to the next non-empty line. A line that does not
+         * fit in the buffer is returned truncated, and the rest of it is
+         * discarded.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if there is a next line. Otherwise, false.
+         * @throws IOException if the input cannot be read.
+         * @since 2.4
+         */
+        boolean nextLine() throws IOException {
+            while (true) {
+                int newLine = this.indexOfNewLine();
+                if (newLine >= 0) {
+                    int start = this.nextLineStart;
+                    this.nextLineStart = newLine + 1;
+                    this.scanPosition = this.nextLineStart;
+                    if (this.skipping) {
+                        this.skipping = false;
+                    } else {
+                        this.lineNumber++;
+                        this.setLine(start, newLine, false);
+                        if (this.lineLength > 0) {
+                            return true;
+                        }
+                    }
+                } else if (this.endOfInput) {
+                    int start = this.nextLineStart;
+                    this.nextLineStart = this.end;
+                    if (this.skipping || (start == this.end)) {
+                        return false;
+                    }
+                    this.lineNumber++;
+                    this.setLine(start, this.end, false);
+                    return this.lineLength > 0;
+                } else if (this.skipping) {
+                    this.nextLineStart = this.end;
+                    this.fill();
+                } else if ((this.nextLineStart == 0) && (this.end == this.buffer.length)) {
+                    this.lineNumber++;
+                    this.setLine(0, this.end, true);
+                    this.nextLineStart = this.end;
+                    this.scanPosition = this.end;
+                    this.skipping = true;
+                    return true;
+                } else {
+                    this.fill();
+                }
+            }
+        }
+
+        /**
+         * This methods gets the number of the current line, starting at 1.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the number of the current line.
+         * @since 2.4
+         */
+        long getLineNumber() {
+            return this.lineNumber;
+        }
+
+        /**
+         * This methods checks whether the current line has been truncated
+         * because it does not fit in the buffer.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if the current line has been truncated. Otherwise,
+         * false.
+         * @since 2.4
+         */
+        boolean isTruncated() {
+            return this.truncated;
+        }
+
+        /**
+         * This methods stops the scanner, so that no more lines are read.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @since 2.4
+         */
+        void stop() {
+            this.stopped = true;
+        }
+
+        /**
+         * This methods checks whether the scanner has been stopped.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return true, if the scanner has been stopped. Otherwise, false.
+         * @since 2.4
+         */
+        boolean isStopped() {
+            return this.stopped;
+        }
+
+        /**
+         * This methods gets the length of the current line.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the length of the current line.
+         * @since 2.4
+         */
+        @Override
+        public int length() {
+            return this.lineLength;
+        }
+
+        /**
+         * This methods gets a character of the current line.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param index The position of the character.
+         * @return the character at that position.
+         * @throws IndexOutOfBoundsException if the position is out of the
+         * line.
+         * @since 2.4
+         */
+        @Override
+        public char charAt(int index) {
+            if ((index < 0) || (index >= this.lineLength)) {
+                throw new IndexOutOfBoundsException("Index " + index + " is out of the line");
+            }
+            return (char) (this.buffer[this.lineStart + index] & JGlobalDateTimeStreamParser.BYTE_MASK);
+        }
+
+        /**
+         * This methods gets a part of the current line, as a new String.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param start The position of the first character (inclusive).
+         * @param end The position of the last character (exclusive).
+         * @return the part of the line.
+         * @throws IndexOutOfBoundsException if the positions are out of the
+         * line.
+         * @since 2.4
+         */
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            if ((start < 0) || (end > this.lineLength) || (start > end)) {
+                throw new IndexOutOfBoundsException("Positions " + start + " to " + end + " are out of the line");
+            }
+            return new String(this.buffer, this.lineStart + start, end - start, StandardCharsets.ISO_8859_1);
+        }
+
+        /**
+         * This methods gets the current line, as a new String.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the current line.
+         * @since 2.4
+         */
+        @Override
+        public String toString() {
+            return new String(this.buffer, this.lineStart, this.lineLength, StandardCharsets.ISO_8859_1);
+        }
+
+        /**
+         * This methods sets the current line, removing its trailing carriage
+         * return.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @param start The position of the line in the buffer.
+         * @param end The position that follows the line in the buffer.
+         * @param truncatedLine Whether the line has been truncated.
+         * @since 2.4
+         */
+        private void setLine(int start, int end, boolean truncatedLine) {
+            int lineEnd = end;
+            if ((lineEnd > start) && (this.buffer[lineEnd - 1] == '\r')) {
+                lineEnd--;
+            }
+            this.lineStart = start;
+            this.lineLength = lineEnd - start;
+            this.truncated = truncatedLine;
+        }
+
+        /**
+         * This methods looks for the next new line character in the buffer,
+         * from the position where the last search ended.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @return the position of the new line character, or -1 if there is
+         * not any in the buffer.
+         * @since 2.4
+         */
+        private int indexOfNewLine() {
+            for (int i = this.scanPosition; i < this.end; i++) {
+                if (this.buffer[i] == '\n') {
+                    return i;
+                }
+            }
+            this.scanPosition = this.end;
+            return -1;
+        }
+
+        /**
+         * This methods moves the unread part of the buffer to its beginning
+         * and reads more bytes after it.
+         *
+         * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+         * @throws IOException if the input cannot be read.
+         * @since 2.4
+         */
+        private void fill() throws IOException {
+            if (this.nextLineStart > 0) {
+                System.arraycopy(this.buffer, this.nextLineStart, this.buffer, 0, this.end - this.nextLineStart);
+                this.end -= this.nextLineStart;
+                this.scanPosition -= this.nextLineStart;
+                this.nextLineStart = 0;
+            }
+            int read;
+            if (this.stream != null) {
+                read = this.stream.read(this.buffer, this.end, this.buffer.length - this.end);
+            } else {
+                this.channelBuffer.limit(this.buffer.length);
+                this.channelBuffer.position(this.end);
+                read = this.channel.read(this.channelBuffer);
+            }
+            if (read < 0) {
+                this.endOfInput = true;
+            } else {
+                this.end += read;
+            }
+        }
+
+        private final InputStream stream;
+        private final ReadableByteChannel channel;
+        private final byte[] buffer;
+        private final ByteBuffer channelBuffer;
+        private int end;
+        private int nextLineStart;
+        private int scanPosition;
+        private int lineStart;
+        private int lineLength;
+        private long lineNumber;
+        private boolean truncated;
+        private boolean skipping;
+        private boolean endOfInput;
+        private boolean stopped;
+    }
+
+    private final ZoneId referenceZoneID;
+    private final ChronoUnit precission;
+    private final ErrorHandler errorHandler;
+    private final JGlobalDateTimeParser parser;
+    private long lineCount;
+    private long errorCount;
+    private long epochSecond;
+    private int nano;
+    private ZoneId zoneID;
+
+    /**
+     * Error handler that skips invalid lines.
+     */
+    public static final ErrorHandler SKIP = (lineNumber, line, reasonCode) -> true;
+
+    /**
+     * Error handler that stops parsing, without any error, at the first
+     * invalid line.
+     */
+    public static final ErrorHandler STOP = (lineNumber, line, reasonCode) -> false;
+
+    /**
+     * Error handler that fails at the first invalid line, throwing a
+     * JGlobalDateTimeException with the reason code of the error.
+     */
+    public static final ErrorHandler FAIL = (lineNumber, line, reasonCode) -> {
+        throw JGlobalDateTimeException.newInstance(JGlobalDateTimeException.getReasonMessage(reasonCode) + " (line " + lineNumber + ")", reasonCode);
+    };
+
+    private static final int BUFFER_LENGTH = 64 * 1024;
+    private static final int BYTE_MASK = 0xFF;
+    private static final long MILLIS_PER_SECOND = 1000L;
+    private static final int NANOS_PER_MILLI = 1000000;
+}
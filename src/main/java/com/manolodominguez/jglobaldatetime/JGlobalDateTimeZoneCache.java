@@ -0,0 +1,162 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.ZoneId;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a bounded, lock-free cache of ZoneId instances indexed
+ * by their String representation. It is used by JGlobalDateTime to avoid
+ * parsing zone names and querying the zone rules provider every time a zone is
+ * specified as a String. Once the cache is full, new zones are still resolved
+ * but they are not cached anymore. Cache hits and misses of zones specified
+ * as Strings are counted so that its effectiveness can be checked.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeZoneCache {
+
+    /**
+     * This is the constructor of the class. It is private because this class
+     * only has static methods and should not be instantiated.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    private JGlobalDateTimeZoneCache() {
+    }
+
+    /**
+     * This methods gets the ZoneId corresponding to the specified String,
+     * resolving and caching it when it is not cached yet.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The zone ID, as a String (for instance "Europe/Madrid" or
+     * "+02:00").
+     * @return the ZoneId corresponding to the specified String.
+     * @throws java.time.DateTimeException if the specified String has an
+     * invalid format.
+     * @throws java.time.zone.ZoneRulesException if the specified String is a
+     * region ID that cannot be found.
+     * @since 2.4
+     */
+    public static ZoneId getZoneID(String zoneId) {
+        ZoneId cachedZoneId = JGlobalDateTimeZoneCache.CACHE.get(zoneId);
+        if (cachedZoneId != null) {
+            JGlobalDateTimeZoneCache.HITS.increment();
+            return cachedZoneId;
+        }
+        JGlobalDateTimeZoneCache.MISSES.increment();
+        ZoneId resolvedZoneId = ZoneId.of(zoneId);
+        if (JGlobalDateTimeZoneCache.CACHE.size() < JGlobalDateTimeZoneCache.MAX_ENTRIES) {
+            cachedZoneId = JGlobalDateTimeZoneCache.CACHE.putIfAbsent(zoneId, resolvedZoneId);
+            if (cachedZoneId != null) {
+                return cachedZoneId;
+            }
+        }
+        return resolvedZoneId;
+    }
+
+    /**
+     * This methods gets the cached instance of a ZoneId that is equal to the
+     * specified one, so that instances holding it share the same ZoneId
+     * object. The ZoneId is already resolved, so it is cached as is, if there
+     * is room for it, and this lookup is not counted as a cache hit or miss.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The ZoneId whose cached instance is requested.
+     * @return the cached instance equal to the specified ZoneId or the
+     * specified ZoneId itself if it cannot be cached.
+     * @since 2.4
+     */
+    public static ZoneId getZoneID(ZoneId zoneId) {
+        String id = zoneId.getId();
+        ZoneId cachedZoneId = JGlobalDateTimeZoneCache.CACHE.get(id);
+        if (cachedZoneId == null) {
+            if (JGlobalDateTimeZoneCache.CACHE.size() >= JGlobalDateTimeZoneCache.MAX_ENTRIES) {
+                return zoneId;
+            }
+            cachedZoneId = JGlobalDateTimeZoneCache.CACHE.putIfAbsent(id, zoneId);
+            if (cachedZoneId == null) {
+                return zoneId;
+            }
+        }
+        if (cachedZoneId.equals(zoneId)) {
+            return cachedZoneId;
+        }
+        return zoneId;
+    }
+
+    /**
+     * This methods gets the number of times a requested zone was found in the
+     * cache.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of cache hits.
+     * @since 2.4
+     */
+    public static long getHits() {
+        return JGlobalDateTimeZoneCache.HITS.sum();
+    }
+
+    /**
+     * This methods gets the number of times a requested zone was not found in
+     * the cache and had to be resolved.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of cache misses.
+     * @since 2.4
+     */
+    public static long getMisses() {
+        return JGlobalDateTimeZoneCache.MISSES.sum();
+    }
+
+    /**
+     * This methods gets the number of zones currently cached.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the number of zones currently cached.
+     * @since 2.4
+     */
+    public static int size() {
+        return JGlobalDateTimeZoneCache.CACHE.size();
+    }
+
+    /**
+     * This methods removes every cached zone and resets the hit and miss
+     * counters.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @since 2.4
+     */
+    public static void clear() {
+        JGlobalDateTimeZoneCache.CACHE.clear();
+        JGlobalDateTimeZoneCache.HITS.reset();
+        JGlobalDateTimeZoneCache.MISSES.reset();
+    }
+
+    /**
+     * Maximum number of zones the cache can hold.
+     */
+    public static final int MAX_ENTRIES = 1024;
+
+    private static final ConcurrentHashMap<String, ZoneId> CACHE = new ConcurrentHashMap<>();
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+}
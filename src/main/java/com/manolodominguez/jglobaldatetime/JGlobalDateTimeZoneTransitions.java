@@ -0,0 +1,409 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class implements a compact index of the offset transitions of a zone:
+ * a sorted array with the instants of every transition and another one with
+ * the offset in force between each pair of consecutive transitions. Offsets
+ * are resolved through a direct index of buckets of about 48 days over that
+ * array, without walking the zone rules and without creating objects.
+ * Indexes are built once per zone, include every transition until the year
+ * 2100 and are cached; instants after that year are resolved using the zone
+ * rules.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public final class JGlobalDateTimeZoneTransitions {
+
+    /**
+     * This is the constructor of the class. It creates a new transition index
+     * for the specified Zone ID. It is private; use of() to get the cached
+     * index of a zone.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The Zone ID.
+     * @since 2.4
+     */
+    private JGlobalDateTimeZoneTransitions(ZoneId zoneId) {
+        this.zoneId = zoneId;
+        this.rules = zoneId.getRules();
+        if (this.rules.isFixedOffset()) {
+            this.transitions = new long[0];
+            this.offsets = new int[]{this.rules.getOffset(Instant.EPOCH).getTotalSeconds()};
+            this.localThresholds = new long[0];
+            this.buckets = new int[0];
+            this.firstTransition = Long.MAX_VALUE;
+            this.horizon = Long.MAX_VALUE;
+            this.monotonicLocalThresholds = true;
+            return;
+        }
+        List<ZoneOffsetTransition> zoneTransitions = new ArrayList<>(this.rules.getTransitions());
+        Instant cursor = zoneTransitions.isEmpty() ? Instant.ofEpochSecond(JGlobalDateTimeZoneTransitions.FIRST_RULE_BASED_EPOCH_SECOND) : zoneTransitions.get(zoneTransitions.size() - 1).getInstant();
+        ZoneOffsetTransition next = this.rules.nextTransition(cursor);
+        while ((next != null) && (next.toEpochSecond() < JGlobalDateTimeZoneTransitions.HORIZON_EPOCH_SECOND)) {
+            zoneTransitions.add(next);
+            next = this.rules.nextTransition(next.getInstant());
+        }
+        int count = zoneTransitions.size();
+        this.transitions = new long[count];
+        this.offsets = new int[count + 1];
+        this.localThresholds = new long[count];
+        if (count == 0) {
+            this.offsets[0] = this.rules.getOffset(Instant.EPOCH).getTotalSeconds();
+        } else {
+            this.offsets[0] = zoneTransitions.get(0).getOffsetBefore().getTotalSeconds();
+        }
+        boolean monotonic = true;
+        for (int i = 0; i < count; i++) {
+            ZoneOffsetTransition transition = zoneTransitions.get(i);
+            this.transitions[i] = transition.toEpochSecond();
+            this.offsets[i + 1] = transition.getOffsetAfter().getTotalSeconds();
+            this.localThresholds[i] = this.transitions[i] + Math.max(this.offsets[i], this.offsets[i + 1]);
+            if ((i > 0) && (this.localThresholds[i] <= this.localThresholds[i - 1])) {
+                monotonic = false;
+            }
+        }
+        this.horizon = JGlobalDateTimeZoneTransitions.HORIZON_EPOCH_SECOND;
+        this.monotonicLocalThresholds = monotonic;
+        // Each bucket stores the position of the first transition that is not
+        // before the start of the bucket, so that lookups only have to scan
+        // the few transitions of a single bucket.
+        this.firstTransition = (count == 0) ? this.horizon : Math.min(this.transitions[0], this.horizon);
+        int bucketCount = (int) ((this.horizon - this.firstTransition) >>> JGlobalDateTimeZoneTransitions.BUCKET_SHIFT) + 1;
+        this.buckets = new int[bucketCount];
+        int position = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            long bucketStart = this.firstTransition + ((long) i << JGlobalDateTimeZoneTransitions.BUCKET_SHIFT);
+            while ((position < count) && (this.transitions[position] < bucketStart)) {
+                position++;
+            }
+            this.buckets[i] = position;
+        }
+    }
+
+    /**
+     * This methods gets the transition index of the specified Zone ID,
+     * building it the first time it is requested.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param zoneId The Zone ID.
+     * @return the transition index of the Zone ID.
+     * @since 2.4
+     */
+    public static JGlobalDateTimeZoneTransitions of(ZoneId zoneId) {
+        JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.INDEXES.get(zoneId);
+        if (zoneTransitions == null) {
+            zoneTransitions = JGlobalDateTimeZoneTransitions.INDEXES.computeIfAbsent(zoneId, JGlobalDateTimeZoneTransitions::new);
+        }
+        return zoneTransitions;
+    }
+
+    /**
+     * This methods gets the Zone ID this transition index belongs to.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @return the Zone ID.
+     * @since 2.4
+     */
+    public ZoneId getZoneID() {
+        return this.zoneId;
+    }
+
+    /**
+     * This methods gets the offset of the zone at the specified instant.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @return the offset of the zone at that instant, in seconds.
+     * @since 2.4
+     */
+    public int getOffsetSeconds(long epochSecond) {
+        if (epochSecond >= this.horizon) {
+            return this.rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        return this.offsets[this.indexOf(epochSecond)];
+    }
+
+    /**
+     * This methods converts an instant to the local date and time it
+     * represents in the zone, as seconds from 1970-01-01T00:00:00 in the local
+     * time line.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @return the local date and time, as seconds from 1970-01-01T00:00:00.
+     * @since 2.4
+     */
+    public long toLocalEpochSecond(long epochSecond) {
+        return epochSecond + this.getOffsetSeconds(epochSecond);
+    }
+
+    /**
+     * This methods converts an instant to the local date and time it
+     * represents in the zone, as milliseconds from 1970-01-01T00:00:00 in the
+     * local time line.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMilli The instant, as milliseconds from Epoch.
+     * @return the local date and time, as milliseconds from
+     * 1970-01-01T00:00:00.
+     * @since 2.4
+     */
+    public long toLocalEpochMilli(long epochMilli) {
+        return epochMilli + (this.getOffsetSeconds(Math.floorDiv(epochMilli, JGlobalDateTimeZoneTransitions.MILLIS_PER_SECOND)) * JGlobalDateTimeZoneTransitions.MILLIS_PER_SECOND);
+    }
+
+    /**
+     * This methods converts a local date and time of the zone to the instant
+     * it represents, following the same rules than ZonedDateTime.ofLocal():
+     * local date and times that happen twice (overlaps) are resolved using the
+     * offset before the transition and local date and times that do not exist
+     * (gaps) are moved forward by the length of the gap.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param localEpochSecond The local date and time, as seconds from
+     * 1970-01-01T00:00:00 in the local time line.
+     * @return the instant, as seconds from Epoch.
+     * @since 2.4
+     */
+    public long toEpochSecond(long localEpochSecond) {
+        if (!this.monotonicLocalThresholds || (localEpochSecond >= (this.horizon - JGlobalDateTimeCalendar.SECONDS_PER_DAY))) {
+            LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+            return ZonedDateTime.ofLocal(localDateTime, this.zoneId, null).toEpochSecond();
+        }
+        // First transition whose local window ends after the local date and
+        // time; the offset in force before it is the one to be used. No
+        // transition before the local date and time minus the maximum offset
+        // can be that one.
+        int index = this.indexOf(localEpochSecond - JGlobalDateTimeZoneTransitions.MAX_OFFSET_SECONDS);
+        while ((index < this.localThresholds.length) && (this.localThresholds[index] <= localEpochSecond)) {
+            index++;
+        }
+        return localEpochSecond - this.offsets[index];
+    }
+
+    /**
+     * This methods gets the offset of the zone at each instant of a column.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSeconds The instants, as seconds from Epoch.
+     * @param output The array the offsets, in seconds, will be written to. It
+     * has to be, at least, as long as the input array.
+     * @since 2.4
+     */
+    public void getOffsetSeconds(long[] epochSeconds, int[] output) {
+        JGlobalDateTimeZoneTransitions.checkLength(epochSeconds.length, output.length);
+        int hint = 0;
+        for (int i = 0; i < epochSeconds.length; i++) {
+            long epochSecond = epochSeconds[i];
+            if (epochSecond >= this.horizon) {
+                output[i] = this.getOffsetSeconds(epochSecond);
+            } else {
+                hint = this.indexOf(epochSecond, hint);
+                output[i] = this.offsets[hint];
+            }
+        }
+    }
+
+    /**
+     * This methods converts a column of instants to the local date and times
+     * they represent in the zone.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSeconds The instants, as seconds from Epoch.
+     * @param output The array the local date and times, as seconds from
+     * 1970-01-01T00:00:00, will be written to. It has to be, at least, as long
+     * as the input array and it can be the input array itself.
+     * @since 2.4
+     */
+    public void toLocalEpochSeconds(long[] epochSeconds, long[] output) {
+        JGlobalDateTimeZoneTransitions.checkLength(epochSeconds.length, output.length);
+        int hint = 0;
+        for (int i = 0; i < epochSeconds.length; i++) {
+            long epochSecond = epochSeconds[i];
+            if (epochSecond >= this.horizon) {
+                output[i] = this.toLocalEpochSecond(epochSecond);
+            } else {
+                hint = this.indexOf(epochSecond, hint);
+                output[i] = epochSecond + this.offsets[hint];
+            }
+        }
+    }
+
+    /**
+     * This methods converts a column of instants to the local date and times
+     * they represent in the zone.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochMillis The instants, as milliseconds from Epoch.
+     * @param output The array the local date and times, as milliseconds from
+     * 1970-01-01T00:00:00, will be written to. It has to be, at least, as long
+     * as the input array and it can be the input array itself.
+     * @since 2.4
+     */
+    public void toLocalEpochMillis(long[] epochMillis, long[] output) {
+        JGlobalDateTimeZoneTransitions.checkLength(epochMillis.length, output.length);
+        int hint = 0;
+        for (int i = 0; i < epochMillis.length; i++) {
+            long epochSecond = Math.floorDiv(epochMillis[i], JGlobalDateTimeZoneTransitions.MILLIS_PER_SECOND);
+            int offsetSeconds;
+            if (epochSecond >= this.horizon) {
+                offsetSeconds = this.getOffsetSeconds(epochSecond);
+            } else {
+                hint = this.indexOf(epochSecond, hint);
+                offsetSeconds = this.offsets[hint];
+            }
+            output[i] = epochMillis[i] + (offsetSeconds * JGlobalDateTimeZoneTransitions.MILLIS_PER_SECOND);
+        }
+    }
+
+    /**
+     * This methods converts a column of local date and times of the zone to
+     * the instants they represent, following the rules of toEpochSecond().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param localEpochSeconds The local date and times, as seconds from
+     * 1970-01-01T00:00:00 in the local time line.
+     * @param output The array the instants, as seconds from Epoch, will be
+     * written to. It has to be, at least, as long as the input array and it
+     * can be the input array itself.
+     * @since 2.4
+     */
+    public void toEpochSeconds(long[] localEpochSeconds, long[] output) {
+        JGlobalDateTimeZoneTransitions.checkLength(localEpochSeconds.length, output.length);
+        for (int i = 0; i < localEpochSeconds.length; i++) {
+            output[i] = this.toEpochSecond(localEpochSeconds[i]);
+        }
+    }
+
+    /**
+     * This methods gets the position, in the offsets array, of the offset in
+     * force at the specified instant, scanning the transitions of the bucket
+     * the instant belongs to.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch. It has to be
+     * before the horizon of the index.
+     * @return the position of the offset in force at that instant.
+     * @since 2.4
+     */
+    private int indexOf(long epochSecond) {
+        if (epochSecond < this.firstTransition) {
+            return 0;
+        }
+        int index = this.buckets[(int) ((epochSecond - this.firstTransition) >>> JGlobalDateTimeZoneTransitions.BUCKET_SHIFT)];
+        while ((index < this.transitions.length) && (this.transitions[index] <= epochSecond)) {
+            index++;
+        }
+        return index;
+    }
+
+    /**
+     * This methods gets the position, in the offsets array, of the offset in
+     * force at the specified instant, checking first the position found for a
+     * previous instant. When instants of a column are close to each other, the
+     * bucket lookup is avoided most of the times.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch. It has to be
+     * before the horizon of the index.
+     * @param hint The position found for a previous instant.
+     * @return the position of the offset in force at that instant.
+     * @since 2.4
+     */
+    int indexOf(long epochSecond, int hint) {
+        if (((hint == 0) || (epochSecond >= this.transitions[hint - 1])) && ((hint == this.transitions.length) || (epochSecond < this.transitions[hint]))) {
+            return hint;
+        }
+        return this.indexOf(epochSecond);
+    }
+
+    /**
+     * This methods checks whether the specified instant is covered by the
+     * transitions of this index, so that its offset can be resolved by
+     * indexOf() and getOffsetSecondsAt().
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param epochSecond The instant, as seconds from Epoch.
+     * @return true, if the instant is before the horizon of the index.
+     * Otherwise, false.
+     * @since 2.4
+     */
+    boolean isIndexed(long epochSecond) {
+        return epochSecond < this.horizon;
+    }
+
+    /**
+     * This methods gets the offset stored at the specified position of the
+     * offsets array.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param index The position, as returned by indexOf().
+     * @return the offset, in seconds.
+     * @since 2.4
+     */
+    int getOffsetSecondsAt(int index) {
+        return this.offsets[index];
+    }
+
+    /**
+     * This methods checks that an array is, at least, as long as the input
+     * array.
+     *
+     * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+     * @param inputLength The length of the input array.
+     * @param length The length of the array to be checked.
+     * @throws IllegalArgumentException if the array is shorter than the input
+     * array.
+     * @since 2.4
+     */
+    private static void checkLength(int inputLength, int length) {
+        if (length < inputLength) {
+            throw new IllegalArgumentException("Arrays have to be, at least, as long as the input array (" + inputLength + ")");
+        }
+    }
+
+    private final ZoneId zoneId;
+    private final ZoneRules rules;
+    private final long[] transitions;
+    private final int[] offsets;
+    private final long[] localThresholds;
+    private final int[] buckets;
+    private final long firstTransition;
+    private final long horizon;
+    private final boolean monotonicLocalThresholds;
+
+    private static final ConcurrentHashMap<ZoneId, JGlobalDateTimeZoneTransitions> INDEXES = new ConcurrentHashMap<>();
+
+    private static final long HORIZON_EPOCH_SECOND = 4102444800L;
+    private static final long FIRST_RULE_BASED_EPOCH_SECOND = -2208988800L;
+    private static final int BUCKET_SHIFT = 22;
+    private static final long MAX_OFFSET_SECONDS = 18L * 3600L;
+    private static final long MILLIS_PER_SECOND = 1000L;
+}
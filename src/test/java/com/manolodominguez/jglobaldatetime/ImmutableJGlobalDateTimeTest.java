@@ -0,0 +1,84 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of ImmutableJGlobalDateTime.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class ImmutableJGlobalDateTimeTest {
+
+    @Test
+    public void testEqualsAndHashCode() throws JGlobalDateTimeException {
+        ImmutableJGlobalDateTime first = new ImmutableJGlobalDateTime(CHICAGO);
+        ImmutableJGlobalDateTime second = new ImmutableJGlobalDateTime(CHICAGO);
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        assertEquals(0, first.compareTo(second));
+        assertNotEquals(first, null);
+        assertNotEquals(first, CHICAGO);
+    }
+
+    @Test
+    public void testSameInstantDifferentState() throws JGlobalDateTimeException {
+        ImmutableJGlobalDateTime chicago = new ImmutableJGlobalDateTime(CHICAGO);
+        ImmutableJGlobalDateTime madrid = new ImmutableJGlobalDateTime(MADRID);
+        ImmutableJGlobalDateTime tokyo = chicago.changeZoneID(ZoneId.of("Asia/Tokyo"));
+        ImmutableJGlobalDateTime millis = chicago.changeDefaultPrecission(ChronoUnit.MILLIS);
+        ImmutableJGlobalDateTime[] sameInstant = {chicago, madrid, tokyo, millis};
+        for (ImmutableJGlobalDateTime first : sameInstant) {
+            for (ImmutableJGlobalDateTime second : sameInstant) {
+                assertTrue(first.isEqualTo(second));
+                assertEquals(0, ImmutableJGlobalDateTime.INSTANT_COMPARATOR.compare(first, second));
+                // compareTo() is consistent with equals().
+                assertEquals(first.equals(second), first.compareTo(second) == 0);
+                assertEquals(Integer.signum(first.compareTo(second)), -Integer.signum(second.compareTo(first)));
+            }
+        }
+        assertNotEquals(chicago, madrid);
+        assertNotEquals(chicago, tokyo);
+        assertNotEquals(chicago, millis);
+    }
+
+    @Test
+    public void testNormalizedInstantIsCompared() throws JGlobalDateTimeException {
+        ImmutableJGlobalDateTime nanos = new ImmutableJGlobalDateTime(CHICAGO);
+        ImmutableJGlobalDateTime seconds = nanos.changeDefaultPrecission(ChronoUnit.SECONDS);
+        assertNotEquals(nanos, seconds);
+        assertTrue(seconds.compareTo(nanos) < 0);
+        assertEquals(seconds, nanos.changeDefaultPrecission(ChronoUnit.SECONDS));
+    }
+
+    @Test
+    public void testToString() throws JGlobalDateTimeException {
+        ImmutableJGlobalDateTime dateTime = new ImmutableJGlobalDateTime(CHICAGO);
+        assertEquals("ImmutableJGlobalDateTime[original=2017-04-06T14:20:18.811-05:00[America/Chicago], "
+                + "normalized=2017-04-06T21:20:18.811+02:00[Europe/Madrid], precission=Nanos]", dateTime.toString());
+    }
+
+    private static final String CHICAGO = "2017-04-06T14:20:18.811-05:00[America/Chicago]";
+    private static final String MADRID = "2017-04-06T21:20:18.811+02:00[Europe/Madrid]";
+}
@@ -0,0 +1,228 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeBatch. The result for
+ * every element has to be the same a JGlobalDateTime created from it gives.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeBatchTest {
+
+    @Test
+    public void testNormalize() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        ChronoUnit defaultPrecission = JGlobalDateTime.getDefaultPrecission();
+        try {
+            for (ChronoUnit precission : PRECISSIONS) {
+                JGlobalDateTime.setDefaultPrecission(precission);
+                long[] epochMillis = JGlobalDateTimeBatchTest.epochMillis(random, JGlobalDateTime.DEFAULT_REFERENCE_ZONE);
+                long[] output = new long[epochMillis.length];
+                JGlobalDateTimeBatch.normalize(epochMillis, output);
+                for (int i = 0; i < epochMillis.length; i++) {
+                    assertEquals(new JGlobalDateTime(epochMillis[i]).toEpochMilli(), output[i], Instant.ofEpochMilli(epochMillis[i]) + " " + precission);
+                }
+                // In place.
+                JGlobalDateTimeBatch.normalize(epochMillis, epochMillis);
+                assertArrayEquals(output, epochMillis);
+            }
+        } finally {
+            JGlobalDateTime.setDefaultPrecission(defaultPrecission);
+        }
+    }
+
+    @Test
+    public void testTruncate() throws JGlobalDateTimeException {
+        Random random = new Random(SEED + 1);
+        for (ZoneId zoneId : ZONE_IDS) {
+            long[] epochMillis = JGlobalDateTimeBatchTest.epochMillis(random, zoneId);
+            for (ChronoUnit precission : PRECISSIONS) {
+                long[] output = new long[epochMillis.length];
+                JGlobalDateTimeBatch.truncate(epochMillis, zoneId, precission, output);
+                for (int i = 0; i < epochMillis.length; i++) {
+                    JGlobalDateTime globalDateTime = new JGlobalDateTime(epochMillis[i]);
+                    globalDateTime.changeZoneID(zoneId);
+                    globalDateTime.changeDefaultPrecission(precission);
+                    assertEquals(globalDateTime.toEpochMilli(), output[i], Instant.ofEpochMilli(epochMillis[i]) + " " + zoneId + " " + precission);
+                    assertEquals(output[i], JGlobalDateTimeBatch.truncate(epochMillis[i], zoneId, precission));
+                }
+                long[] inPlace = epochMillis.clone();
+                JGlobalDateTimeBatch.truncate(inPlace, zoneId, precission, inPlace);
+                assertArrayEquals(output, inPlace);
+            }
+        }
+        assertThrows(UnsupportedTemporalTypeException.class, () -> JGlobalDateTimeBatch.truncate(new long[1], ZoneOffset.UTC, ChronoUnit.WEEKS, new long[1]));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> JGlobalDateTimeBatch.truncate(new long[0], ZoneOffset.UTC, ChronoUnit.MONTHS, new long[0]));
+    }
+
+    @Test
+    public void testToLocalEpochMillis() throws JGlobalDateTimeException {
+        Random random = new Random(SEED + 2);
+        for (ZoneId zoneId : ZONE_IDS) {
+            long[] epochMillis = JGlobalDateTimeBatchTest.epochMillis(random, zoneId);
+            long[] output = new long[epochMillis.length];
+            JGlobalDateTimeBatch.toLocalEpochMillis(epochMillis, zoneId, output);
+            for (int i = 0; i < epochMillis.length; i++) {
+                JGlobalDateTime globalDateTime = new JGlobalDateTime(epochMillis[i]);
+                globalDateTime.changeZoneID(zoneId);
+                LocalDateTime local = globalDateTime.getNormalizedDateTime().toLocalDateTime();
+                assertEquals(local.toInstant(ZoneOffset.UTC).toEpochMilli(), output[i], Instant.ofEpochMilli(epochMillis[i]) + " " + zoneId);
+            }
+            JGlobalDateTimeBatch.toLocalEpochMillis(epochMillis, zoneId, epochMillis);
+            assertArrayEquals(output, epochMillis);
+        }
+    }
+
+    @Test
+    public void testCompare() throws JGlobalDateTimeException {
+        Random random = new Random(SEED + 3);
+        long[] epochMillis = JGlobalDateTimeBatchTest.epochMillis(random, ZoneId.of("America/New_York"));
+        long[] anotherEpochMillis = epochMillis.clone();
+        for (int i = 0; i < anotherEpochMillis.length; i++) {
+            // Equal, one millisecond apart and far apart.
+            anotherEpochMillis[i] += (random.nextInt(3) == 0) ? 0 : (random.nextBoolean() ? random.nextInt(3) - 1 : random.nextLong() >> 24);
+        }
+        int[] output = new int[epochMillis.length];
+        JGlobalDateTimeBatch.compare(epochMillis, anotherEpochMillis, output);
+        for (int i = 0; i < epochMillis.length; i++) {
+            JGlobalDateTime globalDateTime = new JGlobalDateTime(epochMillis[i]);
+            JGlobalDateTime anotherGlobalDateTime = new JGlobalDateTime(anotherEpochMillis[i]);
+            assertEquals(Integer.signum(globalDateTime.compareTo(anotherGlobalDateTime)), Integer.signum(output[i]));
+        }
+        for (int pivot = 0; pivot < epochMillis.length; pivot += 97) {
+            long anotherEpochMilli = epochMillis[pivot];
+            JGlobalDateTimeBatch.compare(epochMillis, anotherEpochMilli, output);
+            boolean[] before = new boolean[epochMillis.length];
+            boolean[] after = new boolean[epochMillis.length];
+            boolean[] equal = new boolean[epochMillis.length];
+            int beforeCount = JGlobalDateTimeBatch.isBefore(epochMillis, anotherEpochMilli, before);
+            int afterCount = JGlobalDateTimeBatch.isAfter(epochMillis, anotherEpochMilli, after);
+            int equalCount = JGlobalDateTimeBatch.isEqualTo(epochMillis, anotherEpochMilli, equal);
+            int expectedBeforeCount = 0;
+            int expectedAfterCount = 0;
+            int expectedEqualCount = 0;
+            for (int i = 0; i < epochMillis.length; i++) {
+                JGlobalDateTime globalDateTime = new JGlobalDateTime(epochMillis[i]);
+                assertEquals(Integer.signum(globalDateTime.compareTo(new JGlobalDateTime(anotherEpochMilli))), Integer.signum(output[i]));
+                assertEquals(globalDateTime.isBefore(anotherEpochMilli), before[i]);
+                assertEquals(globalDateTime.isAfter(anotherEpochMilli), after[i]);
+                assertEquals(globalDateTime.isEqualTo(anotherEpochMilli), equal[i]);
+                expectedBeforeCount += before[i] ? 1 : 0;
+                expectedAfterCount += after[i] ? 1 : 0;
+                expectedEqualCount += equal[i] ? 1 : 0;
+            }
+            assertEquals(expectedBeforeCount, beforeCount);
+            assertEquals(expectedAfterCount, afterCount);
+            assertEquals(expectedEqualCount, equalCount);
+            assertEquals(epochMillis.length, beforeCount + afterCount + equalCount);
+        }
+    }
+
+    @Test
+    public void testArraysOfDifferentLengths() {
+        long[] epochMillis = new long[]{-1L, 0L, 1616893200000L, 1616896799999L};
+        // Longer outputs are only written up to the length of the input.
+        long[] output = new long[epochMillis.length + 3];
+        Arrays.fill(output, 42L);
+        JGlobalDateTimeBatch.truncate(epochMillis, ZoneId.of("Europe/Madrid"), ChronoUnit.HOURS, output);
+        assertArrayEquals(new long[]{-3600000L, 0L, 1616893200000L, 1616893200000L, 42L, 42L, 42L}, output);
+        Arrays.fill(output, 42L);
+        JGlobalDateTimeBatch.truncate(epochMillis, ZoneOffset.UTC, ChronoUnit.NANOS, output);
+        assertArrayEquals(new long[]{-1L, 0L, 1616893200000L, 1616896799999L, 42L, 42L, 42L}, output);
+        Arrays.fill(output, 42L);
+        JGlobalDateTimeBatch.toLocalEpochMillis(epochMillis, ZoneOffset.ofHours(1), output);
+        assertArrayEquals(new long[]{3599999L, 3600000L, 1616896800000L, 1616900399999L, 42L, 42L, 42L}, output);
+        int[] comparisons = new int[epochMillis.length + 1];
+        comparisons[epochMillis.length] = 42;
+        JGlobalDateTimeBatch.compare(epochMillis, new long[]{0L, 0L, 0L, 0L, 0L}, comparisons);
+        assertEquals(42, comparisons[epochMillis.length]);
+        boolean[] flags = new boolean[epochMillis.length + 1];
+        flags[epochMillis.length] = true;
+        assertEquals(2, JGlobalDateTimeBatch.isAfter(epochMillis, 0L, flags));
+        assertTrue(flags[epochMillis.length]);
+        // Shorter outputs or columns are rejected.
+        long[] shorter = new long[epochMillis.length - 1];
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.normalize(epochMillis, shorter));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.truncate(epochMillis, ZoneOffset.UTC, ChronoUnit.SECONDS, shorter));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.toLocalEpochMillis(epochMillis, ZoneId.of("Europe/Madrid"), shorter));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.compare(epochMillis, shorter, new int[epochMillis.length]));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.compare(epochMillis, epochMillis, new int[epochMillis.length - 1]));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.compare(epochMillis, 0L, new int[epochMillis.length - 1]));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.isBefore(epochMillis, 0L, new boolean[epochMillis.length - 1]));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.isAfter(epochMillis, 0L, new boolean[epochMillis.length - 1]));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeBatch.isEqualTo(epochMillis, 0L, new boolean[epochMillis.length - 1]));
+        // Empty columns.
+        JGlobalDateTimeBatch.normalize(new long[0], new long[0]);
+        JGlobalDateTimeBatch.toLocalEpochMillis(new long[0], ZoneId.of("Europe/Madrid"), new long[0]);
+        assertEquals(0, JGlobalDateTimeBatch.isBefore(new long[0], 0L, new boolean[0]));
+    }
+
+    // Instants around every transition of the zone between 1900 and 2100,
+    // random ones between years 1 and 3000 and some far from Epoch.
+    private static long[] epochMillis(Random random, ZoneId zoneId) {
+        long[] epochMillis = new long[4000];
+        int length = 0;
+        ZoneRules rules = zoneId.getRules();
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.parse("1900-01-01T00:00:00Z"));
+        while ((transition != null) && (transition.getInstant().getEpochSecond() < TRANSITIONS_END_EPOCH_SECOND) && (length < (epochMillis.length - 2000))) {
+            long transitionMillis = transition.getInstant().toEpochMilli();
+            for (long delta : DELTAS) {
+                epochMillis[length++] = transitionMillis + delta;
+            }
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        while (length < (epochMillis.length - 10)) {
+            epochMillis[length++] = MIN_EPOCH_MILLI + (long) (random.nextDouble() * (MAX_EPOCH_MILLI - MIN_EPOCH_MILLI));
+        }
+        epochMillis[length++] = 0L;
+        epochMillis[length++] = -1L;
+        epochMillis[length++] = 1L;
+        while (length < epochMillis.length) {
+            epochMillis[length++] = (random.nextBoolean() ? 1 : -1) * (FAR_EPOCH_MILLI + (long) (random.nextDouble() * FAR_EPOCH_MILLI));
+        }
+        return epochMillis;
+    }
+
+    private static final long SEED = 20240607L;
+    private static final ChronoUnit[] PRECISSIONS = {ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS,
+        ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS};
+    private static final ZoneId[] ZONE_IDS = {ZoneOffset.UTC, ZoneId.of("Europe/Madrid"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kathmandu"),
+        ZoneId.of("Australia/Lord_Howe"), ZoneId.of("America/Sao_Paulo"), ZoneId.of("Pacific/Apia"), ZoneOffset.ofHoursMinutes(-3, -30)};
+    private static final long[] DELTAS = {-86400001L, -3600001L, -3600000L, -1800000L, -1L, 0L, 1L, 1799999L, 3599999L, 3600000L, 86399999L};
+    private static final long TRANSITIONS_END_EPOCH_SECOND = 4102444800L;
+    private static final long MIN_EPOCH_MILLI = -62135596800000L;
+    private static final long MAX_EPOCH_MILLI = 32503680000000L;
+    private static final long FAR_EPOCH_MILLI = 100000000000000L;
+}
@@ -0,0 +1,146 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeBuckets.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeBucketsTest {
+
+    @Test
+    public void testRepeatedLocalHourFallsInTwoBuckets() throws JGlobalDateTimeException {
+        ZoneId newYork = ZoneId.of("America/New_York");
+        JGlobalDateTimeBuckets buckets = new JGlobalDateTimeBuckets(1, ChronoUnit.HOURS, newYork);
+        ZonedDateTime first = ZonedDateTime.parse("2021-11-07T01:30-04:00[America/New_York]");
+        ZonedDateTime second = first.withLaterOffsetAtOverlap();
+        assertEquals(ZonedDateTime.parse("2021-11-07T01:30-05:00[America/New_York]"), second);
+        long firstBucket = buckets.bucketOf(new JGlobalDateTime(first));
+        long secondBucket = buckets.bucketOf(new JGlobalDateTime(second));
+        assertEquals(firstBucket + 1, secondBucket);
+        assertEquals(first.truncatedTo(ChronoUnit.HOURS), buckets.getStart(firstBucket));
+        assertEquals(second.truncatedTo(ChronoUnit.HOURS), buckets.getStart(secondBucket));
+        assertEquals(Duration.ofHours(1).toMillis(), buckets.getEndEpochMilli(firstBucket) - buckets.getStartEpochMilli(firstBucket));
+        assertEquals(Duration.ofHours(1).toMillis(), buckets.getEndEpochMilli(secondBucket) - buckets.getStartEpochMilli(secondBucket));
+        // Day buckets are still local days.
+        JGlobalDateTimeBuckets days = new JGlobalDateTimeBuckets(1, ChronoUnit.DAYS, newYork);
+        long day = days.bucketOf(new JGlobalDateTime(first));
+        assertEquals(day, days.bucketOf(new JGlobalDateTime(second)));
+        assertEquals(Duration.ofHours(25).toMillis(), days.getEndEpochMilli(day) - days.getStartEpochMilli(day));
+        long springDay = days.bucketOf(new JGlobalDateTime(ZonedDateTime.parse("2021-03-14T12:00-04:00[America/New_York]")));
+        assertEquals(Duration.ofHours(23).toMillis(), days.getEndEpochMilli(springDay) - days.getStartEpochMilli(springDay));
+    }
+
+    @Test
+    public void testSubDayBucketsMatchTruncatedTo() {
+        Random random = new Random(SEED);
+        for (String zone : ZONES) {
+            ZoneId zoneId = ZoneId.of(zone);
+            JGlobalDateTimeBuckets hours = new JGlobalDateTimeBuckets(1, ChronoUnit.HOURS, zoneId);
+            JGlobalDateTimeBuckets minutes = new JGlobalDateTimeBuckets(1, ChronoUnit.MINUTES, zoneId);
+            JGlobalDateTimeBuckets quarters = new JGlobalDateTimeBuckets(15, ChronoUnit.MINUTES, zoneId);
+            for (int i = 0; i < ITERATIONS; i++) {
+                long epochMilli = MIN_EPOCH_MILLI + (long) (random.nextDouble() * (MAX_EPOCH_MILLI - MIN_EPOCH_MILLI));
+                ZonedDateTime dateTime = Instant.ofEpochMilli(epochMilli).atZone(zoneId);
+                assertEquals(dateTime.truncatedTo(ChronoUnit.HOURS), hours.getStart(hours.bucketOf(epochMilli)), dateTime.toString());
+                assertEquals(dateTime.truncatedTo(ChronoUnit.MINUTES), minutes.getStart(minutes.bucketOf(epochMilli)), dateTime.toString());
+                ZonedDateTime quarter = dateTime.truncatedTo(ChronoUnit.MINUTES).minusMinutes(dateTime.getMinute() % 15);
+                assertEquals(quarter, quarters.getStart(quarters.bucketOf(epochMilli)), dateTime.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testBucketsAreConsecutiveAroundOffsetChanges() {
+        // Lord Howe changes its offset by thirty minutes, which is not a
+        // multiple of the length of the buckets, and St. John's changed it at
+        // 00:01, where truncatedTo() goes back to the previous hour.
+        for (String zone : new String[]{"America/New_York", "Australia/Lord_Howe", "America/St_Johns"}) {
+            ZoneId zoneId = ZoneId.of(zone);
+            for (long hours : new long[]{1, 2, 3}) {
+                JGlobalDateTimeBuckets buckets = new JGlobalDateTimeBuckets(hours, ChronoUnit.HOURS, zoneId);
+                long epochMilli = MIN_EPOCH_MILLI;
+                long bucket = buckets.bucketOf(epochMilli);
+                while (epochMilli < FIRST_YEARS_EPOCH_MILLI) {
+                    epochMilli += STEP_MILLIS;
+                    long next = buckets.bucketOf(epochMilli);
+                    if (next != bucket) {
+                        assertEquals(bucket + 1, next, zone);
+                        long start = buckets.getStartEpochMilli(next);
+                        assertEquals(start, buckets.getEndEpochMilli(bucket), zone);
+                        assertEquals(next, buckets.bucketOf(start), zone);
+                        assertEquals(bucket, buckets.bucketOf(start - 1), zone);
+                        bucket = next;
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testBucketOfIsTheSameForEveryInput() throws JGlobalDateTimeException {
+        Random random = new Random(SEED + 1);
+        ZoneId zoneId = ZoneId.of("Europe/Madrid");
+        JGlobalDateTimeBuckets[] definitions = new JGlobalDateTimeBuckets[]{
+            new JGlobalDateTimeBuckets(1, ChronoUnit.HOURS, zoneId),
+            new JGlobalDateTimeBuckets(250, ChronoUnit.MILLIS, zoneId),
+            new JGlobalDateTimeBuckets(1, ChronoUnit.DAYS, zoneId)
+        };
+        long[] epochMillis = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            epochMillis[i] = MIN_EPOCH_MILLI + (long) (random.nextDouble() * (MAX_EPOCH_MILLI - MIN_EPOCH_MILLI));
+        }
+        long[] output = new long[ITERATIONS];
+        for (JGlobalDateTimeBuckets buckets : definitions) {
+            buckets.bucketsOf(epochMillis, output);
+            for (int i = 0; i < ITERATIONS; i++) {
+                long bucket = buckets.bucketOf(epochMillis[i]);
+                assertEquals(bucket, output[i]);
+                assertEquals(bucket, buckets.bucketOf(new JGlobalDateTime(epochMillis[i])));
+                assertEquals(bucket, buckets.bucketOf(Math.floorDiv(epochMillis[i], 1000L), (int) Math.floorMod(epochMillis[i], 1000L) * 1000000));
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> definitions[0].bucketsOf(epochMillis, new long[1]));
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeBuckets(1, null));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeBuckets(1, ChronoUnit.HOURS, null));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeBuckets(0, ChronoUnit.HOURS));
+    }
+
+    private static final long SEED = 20240607L;
+    private static final int ITERATIONS = 20000;
+    private static final String[] ZONES = new String[]{"UTC", "Europe/Madrid", "America/New_York", "Asia/Tehran", "Asia/Kolkata", "Australia/Adelaide", "Pacific/Chatham"};
+    private static final long MIN_EPOCH_MILLI = ZonedDateTime.parse("1990-01-01T00:00Z").toInstant().toEpochMilli();
+    private static final long MAX_EPOCH_MILLI = ZonedDateTime.parse("2030-01-01T00:00Z").toInstant().toEpochMilli();
+    private static final long FIRST_YEARS_EPOCH_MILLI = ZonedDateTime.parse("1994-01-01T00:00Z").toInstant().toEpochMilli();
+    private static final long STEP_MILLIS = Duration.ofMinutes(5).toMillis();
+}
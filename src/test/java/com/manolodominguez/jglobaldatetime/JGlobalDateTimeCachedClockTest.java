@@ -0,0 +1,143 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeCachedClock.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeCachedClockTest {
+
+    @Test
+    public void testRefresh() {
+        long before = System.currentTimeMillis();
+        try (JGlobalDateTimeCachedClock clock = new JGlobalDateTimeCachedClock(REFRESH_MILLIS, TimeUnit.MILLISECONDS)) {
+            long first = clock.millis();
+            assertTrue(first >= before);
+            assertTrue(first <= System.currentTimeMillis());
+            assertEquals(ZoneOffset.UTC, clock.getZone());
+            assertEquals(first, clock.instant().toEpochMilli());
+            // The instant moves forward with the refreshes, never ahead of the
+            // system clock.
+            JGlobalDateTimeCachedClockTest.await(() -> clock.millis() > first);
+            long second = clock.millis();
+            assertTrue(second <= System.currentTimeMillis());
+            JGlobalDateTimeCachedClockTest.await(() -> clock.millis() > second);
+        }
+    }
+
+    @Test
+    public void testWithZoneSharesTheRefresh() {
+        try (JGlobalDateTimeCachedClock clock = new JGlobalDateTimeCachedClock(REFRESH_MILLIS, TimeUnit.MILLISECONDS)) {
+            assertSame(clock, clock.withZone(ZoneOffset.UTC));
+            ZoneId madrid = ZoneId.of("Europe/Madrid");
+            Clock madridClock = clock.withZone(madrid);
+            assertNotSame(clock, madridClock);
+            assertEquals(madrid, madridClock.getZone());
+            assertSame(madridClock, madridClock.withZone(madrid));
+            long first = madridClock.millis();
+            JGlobalDateTimeCachedClockTest.await(() -> madridClock.millis() > first);
+            // Closing a view stops the refresh of every view.
+            ((JGlobalDateTimeCachedClock) madridClock).close();
+            JGlobalDateTimeCachedClockTest.awaitStopped(clock);
+            assertEquals(clock.millis(), madridClock.millis());
+            assertEquals(clock.instant(), madridClock.instant());
+        }
+    }
+
+    @Test
+    public void testCloseStopsTheThread() {
+        Set<Thread> existing = JGlobalDateTimeCachedClockTest.clockThreads();
+        JGlobalDateTimeCachedClock clock = new JGlobalDateTimeCachedClock(REFRESH_MILLIS, TimeUnit.MILLISECONDS);
+        long first = clock.millis();
+        JGlobalDateTimeCachedClockTest.await(() -> clock.millis() > first);
+        Set<Thread> threads = JGlobalDateTimeCachedClockTest.clockThreads();
+        threads.removeAll(existing);
+        assertEquals(1, threads.size());
+        Thread thread = threads.iterator().next();
+        assertTrue(thread.isDaemon());
+        clock.close();
+        JGlobalDateTimeCachedClockTest.await(() -> !thread.isAlive());
+        JGlobalDateTimeCachedClockTest.awaitStopped(clock);
+        // Closing it again does nothing.
+        clock.close();
+    }
+
+    @Test
+    public void testInvalidRefreshPeriod() {
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeCachedClock(0, TimeUnit.MILLISECONDS));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeCachedClock(-1, TimeUnit.SECONDS));
+    }
+
+    // The running background threads of cached clocks.
+    private static Set<Thread> clockThreads() {
+        Set<Thread> threads = new HashSet<>();
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if (thread.getName().equals("jglobaldatetime-cached-clock")) {
+                threads.add(thread);
+            }
+        }
+        return threads;
+    }
+
+    // Checks that the instant of a closed clock does not change anymore.
+    private static void awaitStopped(JGlobalDateTimeCachedClock clock) {
+        long stopped = clock.millis();
+        JGlobalDateTimeCachedClockTest.sleep(20 * REFRESH_MILLIS);
+        // A refresh could be running when the clock was closed.
+        long last = clock.millis();
+        assertTrue(last >= stopped);
+        JGlobalDateTimeCachedClockTest.sleep(20 * REFRESH_MILLIS);
+        assertEquals(last, clock.millis());
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            JGlobalDateTimeCachedClockTest.sleep(1L);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final long REFRESH_MILLIS = 2L;
+    private static final long TIMEOUT_MILLIS = 5000L;
+}
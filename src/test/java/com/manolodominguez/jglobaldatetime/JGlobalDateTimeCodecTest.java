@@ -0,0 +1,137 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeCodec.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeCodecTest {
+
+    @Test
+    public void testRoundTripByteBuffer() throws JGlobalDateTimeException {
+        List<JGlobalDateTime> dateTimes = JGlobalDateTimeCodecTest.dateTimes();
+        for (ZoneId[] sharedZoneIDs : SHARED_ZONE_IDS) {
+            JGlobalDateTimeCodec writer = new JGlobalDateTimeCodec(sharedZoneIDs);
+            JGlobalDateTimeCodec reader = new JGlobalDateTimeCodec(sharedZoneIDs);
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+            for (JGlobalDateTime dateTime : dateTimes) {
+                writer.write(dateTime, buffer);
+            }
+            buffer.flip();
+            for (JGlobalDateTime dateTime : dateTimes) {
+                JGlobalDateTimeCodecTest.assertSameStatus(dateTime, reader.read(buffer));
+            }
+            assertFalse(buffer.hasRemaining());
+        }
+    }
+
+    @Test
+    public void testRoundTripDataStreams() throws IOException, JGlobalDateTimeException {
+        List<JGlobalDateTime> dateTimes = JGlobalDateTimeCodecTest.dateTimes();
+        JGlobalDateTimeCodec writer = new JGlobalDateTimeCodec();
+        JGlobalDateTimeCodec reader = new JGlobalDateTimeCodec();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        for (JGlobalDateTime dateTime : dateTimes) {
+            writer.write(dateTime, output);
+        }
+        output.flush();
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (JGlobalDateTime dateTime : dateTimes) {
+            JGlobalDateTimeCodecTest.assertSameStatus(dateTime, reader.read(input));
+        }
+        assertEquals(-1, input.read());
+    }
+
+    @Test
+    public void testInvalidPrecission() {
+        for (int ordinal = ChronoUnit.DAYS.ordinal() + 1; ordinal < 16; ordinal++) {
+            byte[] bytes = {(byte) (ordinal << 4), 0, 0};
+            JGlobalDateTimeCodec codec = new JGlobalDateTimeCodec(ZoneOffset.UTC);
+            JGlobalDateTimeException exception = assertThrows(JGlobalDateTimeException.class, () -> codec.read(ByteBuffer.wrap(bytes)));
+            assertEquals(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT, exception.getReasonCode());
+            exception = assertThrows(JGlobalDateTimeException.class, () -> codec.read(new DataInputStream(new ByteArrayInputStream(bytes))));
+            assertEquals(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT, exception.getReasonCode());
+        }
+    }
+
+    private static List<JGlobalDateTime> dateTimes() throws JGlobalDateTimeException {
+        List<JGlobalDateTime> originals = new ArrayList<>();
+        originals.add(new JGlobalDateTime());
+        originals.add(new JGlobalDateTime(ZonedDateTime.of(2021, 11, 7, 1, 30, 0, 123456789, ZoneId.of("America/New_York"))));
+        originals.add(new JGlobalDateTime(ZonedDateTime.of(1850, 1, 1, 0, 0, 0, 0, ZoneId.of("Asia/Kolkata"))));
+        originals.add(new JGlobalDateTime(new JGlobalDateTime("2017-04-06T21:20:18.811+02:00[Europe/Madrid]")));
+        originals.add(new JGlobalDateTime("2015-04-06T14:20:18.811-05:00[America/Chicago]"));
+        originals.add(new JGlobalDateTime("-0500-02-28T23:59:59.999999999+05:30:15"));
+        originals.add(new JGlobalDateTime("+12345-06-15T12:00Z"));
+        originals.add(new JGlobalDateTime(-1L));
+        originals.add(new JGlobalDateTime(1500000000123L));
+        Timestamp timestamp = new Timestamp(1500000000123L);
+        timestamp.setNanos(123456789);
+        originals.add(new JGlobalDateTime(timestamp));
+        List<JGlobalDateTime> dateTimes = new ArrayList<>();
+        for (JGlobalDateTime original : originals) {
+            dateTimes.add(original);
+            for (ChronoUnit precission : PRECISSIONS) {
+                for (ZoneId zoneId : ZONE_IDS) {
+                    JGlobalDateTime dateTime = original.getAnExactCopy();
+                    dateTime.changeZoneID(zoneId);
+                    dateTime.changeDefaultPrecission(precission);
+                    dateTimes.add(dateTime);
+                }
+            }
+        }
+        return dateTimes;
+    }
+
+    private static void assertSameStatus(JGlobalDateTime expected, JGlobalDateTime actual) {
+        assertEquals(expected.getOriginalEpochSecond(), actual.getOriginalEpochSecond());
+        assertEquals(expected.getOriginalNano(), actual.getOriginalNano());
+        assertEquals(expected.getOriginalZoneID(), actual.getOriginalZoneID());
+        assertEquals(expected.getNormalizedEpochSecond(), actual.getNormalizedEpochSecond());
+        assertEquals(expected.getNormalizedNano(), actual.getNormalizedNano());
+        assertEquals(expected.getReferenceZoneID(), actual.getReferenceZoneID());
+        assertEquals(expected.getReferencePrecission(), actual.getReferencePrecission());
+    }
+
+    private static final ChronoUnit[] PRECISSIONS = {ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS,
+        ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS};
+    private static final ZoneId[] ZONE_IDS = {ZoneOffset.UTC, ZoneId.of("Europe/Madrid"), ZoneId.of("America/New_York"),
+        ZoneId.of("Asia/Kathmandu"), ZoneOffset.ofHoursMinutes(-3, -30)};
+    private static final ZoneId[][] SHARED_ZONE_IDS = {{}, {ZoneOffset.UTC}, {ZoneId.of("Europe/Madrid"), ZoneId.of("America/Chicago")}};
+}
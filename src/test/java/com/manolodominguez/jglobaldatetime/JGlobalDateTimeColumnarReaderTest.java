@@ -0,0 +1,278 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * This class implements the tests of JGlobalDateTimeColumnarReader, reading
+ * the files written by JGlobalDateTimeColumnarWriter.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeColumnarReaderTest {
+
+    @Test
+    public void testRoundTrip(@TempDir Path directory) throws IOException, JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        Path path = directory.resolve("rows.jgdt");
+        for (int blockRows : BLOCK_ROWS) {
+            // Empty files, a single short block, exactly full blocks and
+            // several blocks with a short final one.
+            for (int rowCount : new int[]{0, 1, blockRows - 1, blockRows, blockRows + 1, (5 * blockRows) + 3}) {
+                Row[] rows = JGlobalDateTimeColumnarReaderTest.write(path, blockRows, rowCount, random);
+                int blockCount = (rowCount + blockRows - 1) / blockRows;
+                // The default segments, segments of two blocks and segments
+                // smaller than a block.
+                for (int maxSegmentBytes : new int[]{Integer.MAX_VALUE, 2 * blockRows * JGlobalDateTimeColumnarWriter.ROW_BYTES, 1}) {
+                    try (JGlobalDateTimeColumnarReader reader = new JGlobalDateTimeColumnarReader(path, maxSegmentBytes)) {
+                        assertEquals(rowCount, reader.getRowCount());
+                        assertEquals(blockCount, reader.getBlockCount());
+                        JGlobalDateTimeColumnarReaderTest.assertBlocks(reader, rows, blockRows);
+                        for (int row = 0; row < rowCount; row++) {
+                            JGlobalDateTimeColumnarReaderTest.assertRow(rows[row], reader, row);
+                        }
+                        JGlobalDateTimeColumnarReaderTest.assertCursor(reader, rows, random);
+                        assertThrows(IndexOutOfBoundsException.class, () -> reader.getEpochSecond(-1));
+                        assertThrows(IndexOutOfBoundsException.class, () -> reader.getZoneID(rowCount));
+                        assertThrows(IndexOutOfBoundsException.class, () -> reader.getBlockRows(blockCount));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTruncatedOrCorruptedHeader(@TempDir Path directory) throws IOException, JGlobalDateTimeException {
+        Path path = directory.resolve("rows.jgdt");
+        JGlobalDateTimeColumnarReaderTest.write(path, 4, 10, new Random(SEED + 1));
+        byte[] bytes = Files.readAllBytes(path);
+        // Truncated header, truncated rows and truncated dictionary.
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, Arrays.copyOf(bytes, 0));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, Arrays.copyOf(bytes, JGlobalDateTimeColumnarWriter.HEADER_BYTES - 1));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, Arrays.copyOf(bytes, JGlobalDateTimeColumnarWriter.HEADER_BYTES + JGlobalDateTimeColumnarWriter.ROW_BYTES));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, Arrays.copyOf(bytes, bytes.length - 1));
+        // Magic number, version, rows per block, row count and position of
+        // the dictionary.
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, 0, 0x4A474455));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, 4, JGlobalDateTimeColumnarWriter.VERSION + 1));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, 8, 0));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, 8, JGlobalDateTimeColumnarWriter.MAX_BLOCK_ROWS + 1));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withLong(bytes, 16, -1L));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withLong(bytes, 16, 11L));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withLong(bytes, 24, ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).getLong(24) + 1));
+        // A dictionary with more zones than bytes.
+        int dictionaryPosition = JGlobalDateTimeColumnarWriter.HEADER_BYTES + (10 * JGlobalDateTimeColumnarWriter.ROW_BYTES);
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, dictionaryPosition, 1000));
+        JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, dictionaryPosition, -1));
+    }
+
+    @Test
+    public void testZoneIndexesOutOfTheDictionary(@TempDir Path directory) throws IOException, JGlobalDateTimeException {
+        Path path = directory.resolve("rows.jgdt");
+        int blockRows = 4;
+        int rowCount = 10;
+        JGlobalDateTimeColumnarReaderTest.write(path, blockRows, rowCount, new Random(SEED + 2));
+        byte[] bytes = Files.readAllBytes(path);
+        int zoneCount;
+        try (JGlobalDateTimeColumnarReader reader = new JGlobalDateTimeColumnarReader(path)) {
+            zoneCount = reader.getZoneCount();
+        }
+        for (int row = 0; row < rowCount; row++) {
+            // Every row of every block, including the short final one.
+            int block = row / blockRows;
+            int rows = Math.min(blockRows, rowCount - (block * blockRows));
+            int blockPosition = JGlobalDateTimeColumnarWriter.HEADER_BYTES + (block * blockRows * JGlobalDateTimeColumnarWriter.ROW_BYTES);
+            int rowInBlock = row - (block * blockRows);
+            int nanoPosition = blockPosition + (rows * JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES) + (rowInBlock * JGlobalDateTimeColumnarWriter.NANO_BYTES);
+            int zoneIndexPosition = blockPosition + (rows * (JGlobalDateTimeColumnarWriter.EPOCH_SECOND_BYTES + JGlobalDateTimeColumnarWriter.NANO_BYTES)) + (rowInBlock * JGlobalDateTimeColumnarWriter.ZONE_INDEX_BYTES);
+            JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, zoneIndexPosition, zoneCount));
+            JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, zoneIndexPosition, -1));
+            JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, nanoPosition, 1000000000));
+            JGlobalDateTimeColumnarReaderTest.assertInvalid(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, nanoPosition, -1));
+            // The last zone of the dictionary is still valid.
+            Files.write(path, JGlobalDateTimeColumnarReaderTest.withInt(bytes, zoneIndexPosition, zoneCount - 1));
+            try (JGlobalDateTimeColumnarReader reader = new JGlobalDateTimeColumnarReader(path)) {
+                assertEquals(reader.getDictionaryZoneID(zoneCount - 1), reader.getZoneID(row));
+            }
+        }
+    }
+
+    private static Row[] write(Path path, int blockRows, int rowCount, Random random) throws IOException, JGlobalDateTimeException {
+        Row[] rows = new Row[rowCount];
+        try (JGlobalDateTimeColumnarWriter writer = new JGlobalDateTimeColumnarWriter(path, blockRows)) {
+            for (int i = 0; i < rowCount; i++) {
+                long epochSecond = MIN_EPOCH_SECOND + (long) (random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND));
+                int nano = (random.nextInt(4) == 0) ? 0 : random.nextInt(1000000000);
+                ZoneId zoneId = ZONE_IDS[random.nextInt(ZONE_IDS.length)];
+                rows[i] = new Row(epochSecond, nano, zoneId);
+                if (random.nextBoolean()) {
+                    writer.append(epochSecond, nano, zoneId);
+                } else {
+                    writer.append(new JGlobalDateTime(rows[i].toZonedDateTime()));
+                }
+            }
+            assertEquals(rowCount, writer.getRowCount());
+        }
+        return rows;
+    }
+
+    private static void assertBlocks(JGlobalDateTimeColumnarReader reader, Row[] rows, int blockRows) {
+        long firstRow = 0;
+        for (int block = 0; block < reader.getBlockCount(); block++) {
+            int expectedRows = (int) Math.min(blockRows, rows.length - firstRow);
+            assertEquals(expectedRows, reader.getBlockRows(block));
+            assertEquals(firstRow, reader.getBlockFirstRow(block));
+            LongBuffer epochSeconds = reader.getEpochSeconds(block);
+            IntBuffer nanos = reader.getNanos(block);
+            IntBuffer zoneIndexes = reader.getZoneIndexes(block);
+            assertEquals(expectedRows, epochSeconds.remaining());
+            assertEquals(expectedRows, nanos.remaining());
+            assertEquals(expectedRows, zoneIndexes.remaining());
+            for (int i = 0; i < expectedRows; i++) {
+                Row row = rows[(int) firstRow + i];
+                assertEquals(row.epochSecond, epochSeconds.get(i));
+                assertEquals(row.nano, nanos.get(i));
+                assertEquals(row.zoneId, reader.getDictionaryZoneID(zoneIndexes.get(i)));
+            }
+            firstRow += expectedRows;
+        }
+        assertEquals(rows.length, firstRow);
+    }
+
+    private static void assertRow(Row expected, JGlobalDateTimeColumnarReader reader, long row) throws JGlobalDateTimeException {
+        assertEquals(expected.epochSecond, reader.getEpochSecond(row));
+        assertEquals(expected.nano, reader.getNano(row));
+        assertEquals(expected.zoneId, reader.getZoneID(row));
+        assertEquals(expected.toZonedDateTime().toInstant().toEpochMilli(), reader.toEpochMilli(row));
+        JGlobalDateTimeColumnarReaderTest.assertSameStatus(new JGlobalDateTime(expected.toZonedDateTime()), reader.toJGlobalDateTime(row));
+    }
+
+    private static void assertCursor(JGlobalDateTimeColumnarReader reader, Row[] rows, Random random) throws JGlobalDateTimeException {
+        JGlobalDateTimeColumnarReader.Cursor cursor = reader.cursor();
+        assertEquals(-1, cursor.getRow());
+        for (int row = 0; row < rows.length; row++) {
+            assertTrue(cursor.next());
+            assertEquals(row, cursor.getRow());
+            JGlobalDateTimeColumnarReaderTest.assertCursorRow(rows[row], cursor);
+        }
+        assertFalse(cursor.next());
+        assertFalse(cursor.next());
+        assertEquals(rows.length, cursor.getRow());
+        // Random jumps, within the same block and across blocks and
+        // segments, followed by a few steps forward.
+        for (int i = 0; (rows.length > 0) && (i < 200); i++) {
+            int row = random.nextInt(rows.length);
+            cursor.moveTo(row);
+            assertEquals(row, cursor.getRow());
+            JGlobalDateTimeColumnarReaderTest.assertCursorRow(rows[row], cursor);
+            for (int step = row + 1; (step < rows.length) && (step <= row + 3); step++) {
+                assertTrue(cursor.next());
+                JGlobalDateTimeColumnarReaderTest.assertCursorRow(rows[step], cursor);
+            }
+        }
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> cursor.moveTo(rows.length));
+    }
+
+    private static void assertCursorRow(Row expected, JGlobalDateTimeColumnarReader.Cursor cursor) throws JGlobalDateTimeException {
+        assertEquals(expected.epochSecond, cursor.getEpochSecond());
+        assertEquals(expected.nano, cursor.getNano());
+        assertEquals(expected.zoneId, cursor.getZoneID());
+        assertEquals(expected.toZonedDateTime().toInstant().toEpochMilli(), cursor.toEpochMilli());
+        JGlobalDateTime dateTime = new JGlobalDateTime(expected.toZonedDateTime());
+        JGlobalDateTimeColumnarReaderTest.assertSameStatus(dateTime, cursor.toJGlobalDateTime());
+        assertTrue(cursor.isEqualTo(dateTime));
+        dateTime.increase(1, ChronoUnit.NANOS);
+        assertTrue(cursor.isBefore(dateTime));
+        dateTime.decrease(2, ChronoUnit.NANOS);
+        assertTrue(cursor.isAfter(dateTime));
+    }
+
+    private static void assertSameStatus(JGlobalDateTime expected, JGlobalDateTime actual) {
+        assertEquals(expected.getOriginalEpochSecond(), actual.getOriginalEpochSecond());
+        assertEquals(expected.getOriginalNano(), actual.getOriginalNano());
+        assertEquals(expected.getOriginalZoneID(), actual.getOriginalZoneID());
+        assertEquals(expected.getNormalizedEpochSecond(), actual.getNormalizedEpochSecond());
+        assertEquals(expected.getNormalizedNano(), actual.getNormalizedNano());
+        assertEquals(expected.getReferenceZoneID(), actual.getReferenceZoneID());
+        assertEquals(expected.getReferencePrecission(), actual.getReferencePrecission());
+    }
+
+    private static void assertInvalid(Path path, byte[] bytes) throws IOException {
+        Files.write(path, bytes);
+        JGlobalDateTimeException exception = assertThrows(JGlobalDateTimeException.class, () -> new JGlobalDateTimeColumnarReader(path).close());
+        assertEquals(JGlobalDateTimeException.RC_INVALID_BINARY_FORMAT, exception.getReasonCode());
+    }
+
+    private static byte[] withInt(byte[] bytes, int position, int value) {
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putInt(position, value);
+        return copy;
+    }
+
+    private static byte[] withLong(byte[] bytes, int position, long value) {
+        byte[] copy = bytes.clone();
+        ByteBuffer.wrap(copy).order(ByteOrder.LITTLE_ENDIAN).putLong(position, value);
+        return copy;
+    }
+
+    // A row as it was written.
+    private static final class Row {
+
+        Row(long epochSecond, int nano, ZoneId zoneId) {
+            this.epochSecond = epochSecond;
+            this.nano = nano;
+            this.zoneId = zoneId;
+        }
+
+        ZonedDateTime toZonedDateTime() {
+            return Instant.ofEpochSecond(this.epochSecond, this.nano).atZone(this.zoneId);
+        }
+
+        private final long epochSecond;
+        private final int nano;
+        private final ZoneId zoneId;
+    }
+
+    private static final long SEED = 20240607L;
+    private static final int[] BLOCK_ROWS = {1, 3, 64};
+    private static final long MIN_EPOCH_SECOND = -5000000000L;
+    private static final long MAX_EPOCH_SECOND = 5000000000L;
+    private static final ZoneId[] ZONE_IDS = {ZoneOffset.UTC, ZoneId.of("UTC"), ZoneId.of("Europe/Madrid"), ZoneId.of("America/New_York"),
+        ZoneId.of("Asia/Kathmandu"), ZoneOffset.ofHoursMinutes(-3, -30)};
+}
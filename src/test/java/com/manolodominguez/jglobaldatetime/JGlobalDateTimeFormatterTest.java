@@ -0,0 +1,171 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of the normalized date and time strings
+ * JGlobalDateTime writes with JGlobalDateTimeFormatter, that have to be the
+ * same ZonedDateTime.toString() generates.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeFormatterTest {
+
+    @Test
+    public void testEveryAvailableZone() throws JGlobalDateTimeException, IOException {
+        Random random = new Random(SEED);
+        List<ZoneId> zones = new ArrayList<>();
+        for (String zone : new TreeSet<>(ZoneId.getAvailableZoneIds())) {
+            zones.add(ZoneId.of(zone));
+        }
+        for (ZoneId zoneId : zones) {
+            for (int i = 0; i < INSTANTS_PER_ZONE; i++) {
+                JGlobalDateTimeFormatterTest.assertSameString(JGlobalDateTimeFormatterTest.randomInstant(random, MIN_YEAR, MAX_YEAR), zoneId);
+            }
+        }
+    }
+
+    @Test
+    public void testOffsetOnlyZones() throws JGlobalDateTimeException, IOException {
+        Random random = new Random(SEED + 1);
+        List<ZoneId> zones = new ArrayList<>();
+        zones.add(ZoneOffset.UTC);
+        zones.add(ZoneOffset.MIN);
+        zones.add(ZoneOffset.MAX);
+        zones.add(ZoneOffset.ofHoursMinutesSeconds(5, 30, 15));
+        zones.add(ZoneOffset.ofHoursMinutesSeconds(-3, -30, -1));
+        zones.add(ZoneOffset.ofHours(-18));
+        zones.add(ZoneId.of("UTC"));
+        zones.add(ZoneId.of("GMT"));
+        zones.add(ZoneId.of("GMT+3"));
+        zones.add(ZoneId.of("UTC-04:30"));
+        zones.add(ZoneId.of("UT+01:02:03"));
+        for (ZoneId zoneId : zones) {
+            for (int i = 0; i < INSTANTS_PER_OFFSET; i++) {
+                JGlobalDateTimeFormatterTest.assertSameString(JGlobalDateTimeFormatterTest.randomInstant(random, MIN_YEAR, MAX_YEAR), zoneId);
+            }
+        }
+    }
+
+    @Test
+    public void testZoneSuffixCacheIsBounded() throws JGlobalDateTimeException, IOException {
+        Random random = new Random(SEED + 3);
+        // More fixed offset zones than the cache can hold.
+        for (int i = 0; i < (2 * JGlobalDateTimeZoneCache.MAX_ENTRIES); i++) {
+            ZoneOffset zoneOffset = ZoneOffset.ofTotalSeconds(random.nextInt((2 * 18 * 3600) + 1) - (18 * 3600));
+            JGlobalDateTimeFormatterTest.assertSameString(JGlobalDateTimeFormatterTest.randomInstant(random, MIN_YEAR, MAX_YEAR), zoneOffset);
+            assertEquals(zoneOffset.getId(), JGlobalDateTimeFormatter.getZoneSuffix(zoneOffset.getTotalSeconds(), zoneOffset));
+        }
+        assertTrue(JGlobalDateTimeFormatter.getCachedZoneSuffixes() <= JGlobalDateTimeZoneCache.MAX_ENTRIES);
+        // More offsets than a region has, each one requested twice.
+        ZoneId zoneId = ZoneId.of("Europe/Madrid");
+        for (int round = 0; round < 2; round++) {
+            for (int offsetSeconds = -18 * 3600; offsetSeconds <= (18 * 3600); offsetSeconds += 1800) {
+                assertEquals(ZoneOffset.ofTotalSeconds(offsetSeconds).getId() + "[Europe/Madrid]", JGlobalDateTimeFormatter.getZoneSuffix(offsetSeconds, zoneId));
+            }
+        }
+    }
+
+    @Test
+    public void testYearsOutOfFourDigits() throws JGlobalDateTimeException, IOException {
+        Random random = new Random(SEED + 2);
+        ZoneId[] zones = new ZoneId[]{ZoneOffset.UTC, ZoneId.of("Europe/Madrid"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kathmandu"), ZoneOffset.ofHoursMinutesSeconds(-9, -59, -59)};
+        for (ZoneId zoneId : zones) {
+            for (int i = 0; i < INSTANTS_PER_OFFSET; i++) {
+                JGlobalDateTimeFormatterTest.assertSameString(JGlobalDateTimeFormatterTest.randomInstant(random, -MAX_EXTRA_YEAR, -1), zoneId);
+                JGlobalDateTimeFormatterTest.assertSameString(JGlobalDateTimeFormatterTest.randomInstant(random, 10000, MAX_EXTRA_YEAR), zoneId);
+            }
+            // Around year zero and around year 10000, where the sign and the
+            // number of digits of the year change.
+            JGlobalDateTimeFormatterTest.assertSameString(LocalDateTime.of(0, 1, 1, 0, 0).toInstant(ZoneOffset.UTC), zoneId);
+            JGlobalDateTimeFormatterTest.assertSameString(LocalDateTime.of(-1, 12, 31, 23, 59, 59, 999999999).toInstant(ZoneOffset.UTC), zoneId);
+            JGlobalDateTimeFormatterTest.assertSameString(LocalDateTime.of(9999, 12, 31, 23, 59, 59, 999999999).toInstant(ZoneOffset.UTC), zoneId);
+            JGlobalDateTimeFormatterTest.assertSameString(LocalDateTime.of(10000, 1, 1, 0, 0).toInstant(ZoneOffset.UTC), zoneId);
+        }
+    }
+
+    private static void assertSameString(Instant instant, ZoneId zoneId) throws JGlobalDateTimeException, IOException {
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(instant.atZone(ZoneOffset.UTC));
+        globalDateTime.changeZoneID(zoneId);
+        String expected = instant.atZone(zoneId).toString();
+        // Before the string is memoized...
+        StringBuilder builder = new StringBuilder("x");
+        globalDateTime.writeNormalizedDateTimeString(builder);
+        assertEquals("x" + expected, builder.toString());
+        StringWriter writer = new StringWriter();
+        globalDateTime.writeNormalizedDateTimeString(writer);
+        assertEquals(expected, writer.toString());
+        StringBuffer buffer = new StringBuffer();
+        globalDateTime.writeNormalizedDateTimeString(buffer);
+        assertEquals(expected, buffer.toString());
+        assertEquals(expected, globalDateTime.toNormalizedDateTimeString());
+        // ...and after that.
+        builder.setLength(0);
+        globalDateTime.writeNormalizedDateTimeString(builder);
+        assertEquals(expected, builder.toString());
+        writer = new StringWriter();
+        globalDateTime.writeNormalizedDateTimeString(writer);
+        assertEquals(expected, writer.toString());
+    }
+
+    private static Instant randomInstant(Random random, int minYear, int maxYear) {
+        int year = minYear + random.nextInt((maxYear - minYear) + 1);
+        long epochSecond = LocalDateTime.of(year, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC) + (long) (random.nextDouble() * SECONDS_PER_YEAR);
+        if (random.nextInt(4) == 0) {
+            // Whole minutes are written without seconds.
+            epochSecond -= Math.floorMod(epochSecond, 60L);
+        }
+        int nano = random.nextInt(1000000000);
+        switch (random.nextInt(4)) {
+            case 0:
+                nano = 0;
+                break;
+            case 1:
+                nano -= nano % 1000000;
+                break;
+            case 2:
+                nano -= nano % 1000;
+                break;
+            default:
+                break;
+        }
+        return Instant.ofEpochSecond(epochSecond, nano);
+    }
+
+    private static final long SEED = 20240607L;
+    private static final int INSTANTS_PER_ZONE = 100;
+    private static final int INSTANTS_PER_OFFSET = 2000;
+    private static final int MIN_YEAR = 1;
+    private static final int MAX_YEAR = 2200;
+    private static final int MAX_EXTRA_YEAR = 999999;
+    private static final long SECONDS_PER_YEAR = 365L * 24L * 60L * 60L;
+}
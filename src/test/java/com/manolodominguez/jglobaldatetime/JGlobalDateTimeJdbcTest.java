@@ -0,0 +1,260 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeJdbc, against an in-memory
+ * H2 database.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeJdbcTest {
+
+    @BeforeEach
+    public void openConnection() throws SQLException {
+        this.connection = DriverManager.getConnection("jdbc:h2:mem:");
+        try (Statement statement = this.connection.createStatement()) {
+            statement.execute("CREATE TABLE DATETIMES (ID BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "TS TIMESTAMP(9), TSTZ TIMESTAMP(9) WITH TIME ZONE)");
+        }
+    }
+
+    @AfterEach
+    public void closeConnection() throws SQLException {
+        this.connection.close();
+    }
+
+    @Test
+    public void testTimestampRoundTrip() throws SQLException, JGlobalDateTimeException {
+        JGlobalDateTime[] dateTimes = JGlobalDateTimeJdbcTest.dateTimes(NEW_YORK);
+        JGlobalDateTimeJdbc jdbc = new JGlobalDateTimeJdbc(NEW_YORK);
+        try (PreparedStatement statement = this.connection.prepareStatement("INSERT INTO DATETIMES (TS) VALUES (?)")) {
+            for (JGlobalDateTime dateTime : dateTimes) {
+                jdbc.setTimestamp(statement, 1, dateTime);
+                statement.executeUpdate();
+            }
+        }
+        try (Statement statement = this.connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT TS FROM DATETIMES ORDER BY ID")) {
+            JGlobalDateTime read = new JGlobalDateTime(0L);
+            for (JGlobalDateTime dateTime : dateTimes) {
+                assertTrue(resultSet.next());
+                assertTrue(jdbc.readTimestamp(resultSet, 1, read));
+                JGlobalDateTimeJdbcTest.assertSameInstant(dateTime, read);
+                assertEquals(NEW_YORK, read.getOriginalZoneID());
+            }
+            assertFalse(resultSet.next());
+        }
+    }
+
+    @Test
+    public void testOffsetDateTimeRoundTrip() throws SQLException, JGlobalDateTimeException {
+        JGlobalDateTime[] dateTimes = JGlobalDateTimeJdbcTest.dateTimes(MADRID);
+        // Both occurrences of the repeated hour keep their own instant.
+        JGlobalDateTime[] overlap = {JGlobalDateTimeJdbcTest.dateTime(OVERLAP_FIRST, NEW_YORK), JGlobalDateTimeJdbcTest.dateTime(OVERLAP_SECOND, NEW_YORK)};
+        JGlobalDateTimeJdbc jdbc = new JGlobalDateTimeJdbc();
+        try (PreparedStatement statement = this.connection.prepareStatement("INSERT INTO DATETIMES (TSTZ) VALUES (?)")) {
+            for (JGlobalDateTime dateTime : dateTimes) {
+                jdbc.setOffsetDateTime(statement, 1, dateTime);
+                statement.executeUpdate();
+            }
+            for (JGlobalDateTime dateTime : overlap) {
+                jdbc.setOffsetDateTime(statement, 1, dateTime);
+                statement.executeUpdate();
+            }
+            jdbc.setOffsetDateTime(statement, 1, null);
+            statement.executeUpdate();
+        }
+        try (Statement statement = this.connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT TSTZ FROM DATETIMES ORDER BY ID")) {
+            JGlobalDateTime read = new JGlobalDateTime(0L);
+            for (JGlobalDateTime dateTime : dateTimes) {
+                assertTrue(resultSet.next());
+                assertTrue(jdbc.readOffsetDateTime(resultSet, 1, read));
+                JGlobalDateTimeJdbcTest.assertSameInstant(dateTime, read);
+                assertEquals(ZoneOffset.ofTotalSeconds(dateTime.getReferenceOffsetSeconds()), read.getOriginalZoneID());
+            }
+            for (JGlobalDateTime dateTime : overlap) {
+                assertTrue(resultSet.next());
+                assertTrue(jdbc.readOffsetDateTime(resultSet, 1, read));
+                JGlobalDateTimeJdbcTest.assertSameInstant(dateTime, read);
+            }
+            assertTrue(resultSet.next());
+            // SQL NULL leaves the JGlobalDateTime unchanged.
+            assertFalse(jdbc.readOffsetDateTime(resultSet, 1, read));
+            JGlobalDateTimeJdbcTest.assertSameInstant(overlap[1], read);
+            assertFalse(resultSet.next());
+        }
+    }
+
+    @Test
+    public void testTimestampBatch() throws SQLException, JGlobalDateTimeException {
+        JGlobalDateTime[] dateTimes = JGlobalDateTimeJdbcTest.withNull(JGlobalDateTimeJdbcTest.dateTimes(MADRID));
+        JGlobalDateTimeJdbc jdbc = new JGlobalDateTimeJdbc(MADRID);
+        try (PreparedStatement statement = this.connection.prepareStatement("INSERT INTO DATETIMES (TS) VALUES (?)")) {
+            jdbc.addTimestampBatch(statement, 1, dateTimes);
+            assertEquals(dateTimes.length, statement.executeBatch().length);
+        }
+        try (Statement statement = this.connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT TS FROM DATETIMES ORDER BY ID")) {
+            JGlobalDateTime[] read = new JGlobalDateTime[dateTimes.length + 1];
+            JGlobalDateTime reused = new JGlobalDateTime(0L);
+            read[0] = reused;
+            assertEquals(dateTimes.length, jdbc.readTimestamps(resultSet, 1, read));
+            assertSame(reused, read[0]);
+            for (int i = 0; i < dateTimes.length; i++) {
+                if (dateTimes[i] == null) {
+                    assertNull(read[i]);
+                } else {
+                    assertNotNull(read[i]);
+                    JGlobalDateTimeJdbcTest.assertSameInstant(dateTimes[i], read[i]);
+                }
+            }
+            assertNull(read[dateTimes.length]);
+        }
+        try (Statement statement = this.connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT TS FROM DATETIMES ORDER BY ID")) {
+            long[] epochSeconds = new long[dateTimes.length];
+            int[] nanos = new int[dateTimes.length];
+            assertEquals(dateTimes.length, jdbc.readTimestamps(resultSet, 1, epochSeconds, nanos));
+            for (int i = 0; i < dateTimes.length; i++) {
+                if (dateTimes[i] == null) {
+                    assertEquals(JGlobalDateTimeJdbc.NULL_EPOCH_SECOND, epochSeconds[i]);
+                    assertEquals(0, nanos[i]);
+                } else {
+                    assertEquals(dateTimes[i].getNormalizedEpochSecond(), epochSeconds[i]);
+                    assertEquals(dateTimes[i].getNormalizedNano(), nanos[i]);
+                }
+            }
+            assertEquals(0, jdbc.readTimestamps(resultSet, 1, epochSeconds, nanos));
+        }
+    }
+
+    @Test
+    public void testOffsetDateTimeBatch() throws SQLException, JGlobalDateTimeException {
+        JGlobalDateTime[] dateTimes = JGlobalDateTimeJdbcTest.withNull(JGlobalDateTimeJdbcTest.dateTimes(NEW_YORK));
+        JGlobalDateTimeJdbc jdbc = new JGlobalDateTimeJdbc();
+        try (PreparedStatement statement = this.connection.prepareStatement("INSERT INTO DATETIMES (TSTZ) VALUES (?)")) {
+            jdbc.addOffsetDateTimeBatch(statement, 1, dateTimes);
+            assertEquals(dateTimes.length, statement.executeBatch().length);
+        }
+        try (Statement statement = this.connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT TSTZ FROM DATETIMES ORDER BY ID")) {
+            for (JGlobalDateTime dateTime : dateTimes) {
+                assertTrue(resultSet.next());
+                JGlobalDateTime read = new JGlobalDateTime(0L);
+                if (dateTime == null) {
+                    assertFalse(jdbc.readOffsetDateTime(resultSet, 1, read));
+                } else {
+                    assertTrue(jdbc.readOffsetDateTime(resultSet, 1, read));
+                    JGlobalDateTimeJdbcTest.assertSameInstant(dateTime, read);
+                }
+            }
+            assertFalse(resultSet.next());
+        }
+    }
+
+    @Test
+    public void testTimestampRepeatedHour() throws SQLException, JGlobalDateTimeException {
+        // Timestamp columns only keep the local date and time, so the second
+        // occurrence of a repeated hour is read back as the first one, as
+        // ZonedDateTime.ofLocal() does.
+        JGlobalDateTimeJdbc jdbc = new JGlobalDateTimeJdbc(NEW_YORK);
+        JGlobalDateTime first = JGlobalDateTimeJdbcTest.dateTime(OVERLAP_FIRST, NEW_YORK);
+        JGlobalDateTime second = JGlobalDateTimeJdbcTest.dateTime(OVERLAP_SECOND, NEW_YORK);
+        try (PreparedStatement statement = this.connection.prepareStatement("INSERT INTO DATETIMES (TS) VALUES (?)")) {
+            jdbc.addTimestampBatch(statement, 1, new JGlobalDateTime[]{first, second});
+            statement.executeBatch();
+        }
+        try (Statement statement = this.connection.createStatement();
+                ResultSet resultSet = statement.executeQuery("SELECT TS FROM DATETIMES ORDER BY ID")) {
+            JGlobalDateTime[] read = new JGlobalDateTime[2];
+            assertEquals(2, jdbc.readTimestamps(resultSet, 1, read));
+            JGlobalDateTimeJdbcTest.assertSameInstant(first, read[0]);
+            JGlobalDateTimeJdbcTest.assertSameInstant(first, read[1]);
+        }
+    }
+
+    private static JGlobalDateTime[] dateTimes(ZoneId referenceZoneID) throws JGlobalDateTimeException {
+        String[] texts = {
+            // Sub-millisecond nanoseconds.
+            "2017-04-06T21:20:18.123456789+02:00[Europe/Madrid]",
+            "2017-04-06T21:20:18.000000001Z",
+            "1970-01-01T00:00Z",
+            "1969-12-31T23:59:59.999999999Z",
+            // Before 1900, when zones had local mean time offsets.
+            "1850-03-01T12:34:56.789012-05:00[America/Chicago]",
+            "1899-12-31T23:59:59.5+01:00",
+            // Daylight saving time, and the first hour after the gap.
+            "2021-07-15T13:45:30.25-04:00[America/New_York]",
+            "2021-03-14T03:00:00.5-04:00[America/New_York]",
+            "2021-03-28T03:15+02:00[Europe/Madrid]",
+            OVERLAP_FIRST.toString()
+        };
+        JGlobalDateTime[] dateTimes = new JGlobalDateTime[texts.length];
+        for (int i = 0; i < texts.length; i++) {
+            dateTimes[i] = new JGlobalDateTime(texts[i]);
+            dateTimes[i].changeZoneID(referenceZoneID);
+        }
+        return dateTimes;
+    }
+
+    private static JGlobalDateTime dateTime(ZonedDateTime zonedDateTime, ZoneId referenceZoneID) throws JGlobalDateTimeException {
+        JGlobalDateTime dateTime = new JGlobalDateTime(zonedDateTime);
+        dateTime.changeZoneID(referenceZoneID);
+        return dateTime;
+    }
+
+    private static JGlobalDateTime[] withNull(JGlobalDateTime[] dateTimes) {
+        JGlobalDateTime[] result = new JGlobalDateTime[dateTimes.length + 1];
+        System.arraycopy(dateTimes, 0, result, 0, 3);
+        System.arraycopy(dateTimes, 3, result, 4, dateTimes.length - 3);
+        return result;
+    }
+
+    private static void assertSameInstant(JGlobalDateTime expected, JGlobalDateTime actual) {
+        assertEquals(expected.getNormalizedEpochSecond(), actual.getOriginalEpochSecond(), expected.toNormalizedDateTimeString());
+        assertEquals(expected.getNormalizedNano(), actual.getOriginalNano(), expected.toNormalizedDateTimeString());
+    }
+
+    private Connection connection;
+
+    private static final ZoneId MADRID = ZoneId.of("Europe/Madrid");
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final ZonedDateTime OVERLAP_FIRST = ZonedDateTime.of(2021, 11, 7, 1, 30, 15, 123456789, NEW_YORK).withEarlierOffsetAtOverlap();
+    private static final ZonedDateTime OVERLAP_SECOND = OVERLAP_FIRST.withLaterOffsetAtOverlap();
+}
@@ -0,0 +1,254 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.sql.Timestamp;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import javax.management.JMX;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeMetrics. Metrics are
+ * global, so every test starts and ends with them disabled and cleared.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeMetricsTest {
+
+    @BeforeEach
+    public void setUp() {
+        JGlobalDateTimeMetrics.setEnabled(false);
+        JGlobalDateTimeMetrics.clear();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        JGlobalDateTimeMetrics.setEnabled(false);
+        JGlobalDateTimeMetrics.clear();
+        JGlobalDateTimeMetrics.unregisterMBean();
+    }
+
+    @Test
+    public void testNothingIsRecordedWhileDisabled() throws JGlobalDateTimeException {
+        assertFalse(JGlobalDateTimeMetrics.isEnabled());
+        JGlobalDateTimeMetricsTest.useEveryHotPath();
+        for (int inputType = 0; inputType < INPUT_TYPES; inputType++) {
+            assertEquals(0L, JGlobalDateTimeMetrics.getConstructionCount(inputType));
+        }
+        for (int reasonCode : PARSE_RESULTS) {
+            assertEquals(0L, JGlobalDateTimeMetrics.getParseCount(reasonCode));
+        }
+        assertEquals(0L, JGlobalDateTimeMetrics.getZoneChangeCount());
+        assertEquals(0L, JGlobalDateTimeMetrics.getParseLatency(50.0));
+        assertEquals(0L, JGlobalDateTimeMetrics.getConversionLatency(50.0));
+    }
+
+    @Test
+    public void testEveryHotPathIsRecordedWhileEnabled() throws JGlobalDateTimeException {
+        JGlobalDateTimeMetrics.setEnabled(true);
+        assertTrue(JGlobalDateTimeMetrics.isEnabled());
+        JGlobalDateTimeMetricsTest.useEveryHotPath();
+        assertEquals(1L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_CURRENT_TIME));
+        assertEquals(2L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_ZONED_DATE_TIME));
+        assertEquals(1L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_JGLOBALDATETIME));
+        assertEquals(5L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_STRING));
+        assertEquals(2L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_MILLIS));
+        assertEquals(2L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_TIMESTAMP));
+        // Constructor, tryParse(), reset() and validate() of a valid string,
+        // and an invalid string and an unknown region.
+        assertEquals(4L, JGlobalDateTimeMetrics.getParseCount(JGlobalDateTimeException.RC_OK));
+        assertEquals(0L, JGlobalDateTimeMetrics.getParseCount(JGlobalDateTimeException.RC_UNEXPECTED_ERROR));
+        assertEquals(2L, JGlobalDateTimeMetrics.getParseCount(JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING));
+        assertEquals(3L, JGlobalDateTimeMetrics.getZoneChangeCount());
+        assertTrue(JGlobalDateTimeMetrics.getParseLatency(100.0) > 0L);
+        assertTrue(JGlobalDateTimeMetrics.getConversionLatency(100.0) > 0L);
+        // Disabling them keeps what has been recorded; clearing them does not.
+        JGlobalDateTimeMetrics.setEnabled(false);
+        JGlobalDateTimeMetricsTest.useEveryHotPath();
+        assertEquals(4L, JGlobalDateTimeMetrics.getParseCount(JGlobalDateTimeException.RC_OK));
+        assertEquals(3L, JGlobalDateTimeMetrics.getZoneChangeCount());
+        JGlobalDateTimeMetrics.clear();
+        assertEquals(0L, JGlobalDateTimeMetrics.getParseCount(JGlobalDateTimeException.RC_OK));
+        assertEquals(0L, JGlobalDateTimeMetrics.getConstructionCount(JGlobalDateTimeMetrics.INPUT_STRING));
+        assertEquals(0L, JGlobalDateTimeMetrics.getZoneChangeCount());
+        assertEquals(0L, JGlobalDateTimeMetrics.getParseLatency(100.0));
+    }
+
+    @Test
+    public void testHistogramBuckets() {
+        List<Long> values = new ArrayList<>();
+        for (long value = 0; value < 300; value++) {
+            values.add(value);
+        }
+        for (int exponent = 4; exponent < 63; exponent++) {
+            values.add((1L << exponent) - 1);
+            values.add(1L << exponent);
+            values.add((1L << exponent) + 1);
+            values.add((1L << exponent) + (1L << (exponent - 3)));
+        }
+        values.add(Long.MAX_VALUE);
+        Random random = new Random(SEED);
+        for (int i = 0; i < 1000; i++) {
+            values.add((random.nextLong() >>> 1) >>> random.nextInt(63));
+        }
+        for (long value : values) {
+            // With a larger value recorded too, the median is the upper bound
+            // of the bucket of the value.
+            long upperBound = JGlobalDateTimeMetricsTest.upperBoundOf(value);
+            assertTrue(upperBound >= value, "Value " + value);
+            if (value < 16) {
+                assertEquals(value, upperBound);
+            } else {
+                // Buckets are, at most, 12.5% wide.
+                assertTrue((upperBound - value) <= (value >>> 3), "Value " + value);
+            }
+            // Every value up to the upper bound is in the same bucket, and
+            // the next one is in the next bucket.
+            assertEquals(upperBound, JGlobalDateTimeMetricsTest.upperBoundOf(upperBound), "Value " + value);
+            if (upperBound < Long.MAX_VALUE) {
+                assertTrue(JGlobalDateTimeMetricsTest.upperBoundOf(upperBound + 1) > upperBound, "Value " + value);
+            }
+        }
+        JGlobalDateTimeMetrics.clear();
+        // Negative values are recorded as 0.
+        JGlobalDateTimeMetrics.recordZoneChange(-5L);
+        assertEquals(0L, JGlobalDateTimeMetrics.getConversionLatency(100.0));
+    }
+
+    @Test
+    public void testPercentiles() {
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeMetrics.getParseLatency(-0.1));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeMetrics.getParseLatency(100.1));
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTimeMetrics.getParseLatency(Double.NaN));
+        assertEquals(0L, JGlobalDateTimeMetrics.getParseLatency(99.0));
+        List<Long> latencies = new ArrayList<>();
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < 10000; i++) {
+            long latency = (long) Math.exp(2 + (random.nextDouble() * 14));
+            latencies.add(latency);
+            JGlobalDateTimeMetrics.recordParse(JGlobalDateTimeException.RC_OK, latency);
+        }
+        Collections.sort(latencies);
+        assertEquals(10000L, JGlobalDateTimeMetrics.getParseCount(JGlobalDateTimeException.RC_OK));
+        long max = latencies.get(latencies.size() - 1);
+        assertEquals(max, JGlobalDateTimeMetrics.getParseLatency(100.0));
+        long[] actual = new long[PERCENTILES.length];
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            actual[i] = JGlobalDateTimeMetrics.getParseLatency(PERCENTILES[i]);
+        }
+        for (int i = 0; i < PERCENTILES.length; i++) {
+            // The exact percentile of the recorded values, rounded up to the
+            // upper bound of its bucket, without exceeding the maximum.
+            long exact = latencies.get((int) Math.max(0, Math.ceil((PERCENTILES[i] / 100.0) * latencies.size()) - 1));
+            assertEquals(Math.min(JGlobalDateTimeMetricsTest.upperBoundOf(exact), max), actual[i], "Percentile " + PERCENTILES[i]);
+        }
+    }
+
+    @Test
+    public void testMBean() throws Exception {
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.manolodominguez.jglobaldatetime:type=Metrics");
+        assertFalse(mBeanServer.isRegistered(name));
+        JGlobalDateTimeMetrics.registerMBean();
+        // Registering it twice does nothing, and it does not enable metrics.
+        JGlobalDateTimeMetrics.registerMBean();
+        assertTrue(mBeanServer.isRegistered(name));
+        JGlobalDateTimeMetricsMXBean mBean = JMX.newMXBeanProxy(mBeanServer, name, JGlobalDateTimeMetricsMXBean.class);
+        assertFalse(mBean.isEnabled());
+        mBean.setEnabled(true);
+        assertTrue(JGlobalDateTimeMetrics.isEnabled());
+        JGlobalDateTimeMetricsTest.useEveryHotPath();
+        Map<String, Long> parseCounts = mBean.getParseCounts();
+        assertEquals(Arrays.asList("ok", "unexpectedError", "invalidZone", "invalidZonedDateTimeString"), new ArrayList<>(parseCounts.keySet()));
+        assertEquals(4L, (long) parseCounts.get("ok"));
+        assertEquals(2L, (long) parseCounts.get("invalidZonedDateTimeString"));
+        Map<String, Long> constructionCounts = mBean.getConstructionCounts();
+        assertEquals(Arrays.asList("currentTime", "zonedDateTime", "jGlobalDateTime", "string", "millis", "timestamp"), new ArrayList<>(constructionCounts.keySet()));
+        assertEquals(5L, (long) constructionCounts.get("string"));
+        assertEquals(3L, mBean.getZoneChangeCount());
+        Map<String, Long> parseLatency = mBean.getParseLatency();
+        assertEquals(Arrays.asList("count", "p50", "p90", "p99", "p999", "max"), new ArrayList<>(parseLatency.keySet()));
+        assertEquals(6L, (long) parseLatency.get("count"));
+        assertEquals(JGlobalDateTimeMetrics.getParseLatency(100.0), (long) parseLatency.get("max"));
+        assertEquals(3L, (long) mBean.getConversionLatency().get("count"));
+        mBean.clear();
+        assertEquals(0L, (long) mBean.getParseCounts().get("ok"));
+        mBean.setEnabled(false);
+        assertFalse(JGlobalDateTimeMetrics.isEnabled());
+        JGlobalDateTimeMetrics.unregisterMBean();
+        assertFalse(mBeanServer.isRegistered(name));
+        // Unregistering it twice does nothing.
+        JGlobalDateTimeMetrics.unregisterMBean();
+    }
+
+    // Goes through every path that records metrics: each constructor and
+    // reset(), valid and invalid strings and Zone ID changes.
+    private static void useEveryHotPath() throws JGlobalDateTimeException {
+        ZonedDateTime zonedDateTime = ZonedDateTime.parse(VALID);
+        JGlobalDateTime globalDateTime = new JGlobalDateTime();
+        globalDateTime.reset(zonedDateTime);
+        JGlobalDateTime copy = new JGlobalDateTime(new JGlobalDateTime(zonedDateTime));
+        new JGlobalDateTime(VALID);
+        JGlobalDateTime.tryParse(VALID).get();
+        globalDateTime.reset(new StringBuilder(VALID));
+        assertEquals(JGlobalDateTimeException.RC_OK, JGlobalDateTime.validate(VALID));
+        assertFalse(JGlobalDateTime.tryParse(INVALID).isPresent());
+        assertThrows(JGlobalDateTimeException.class, () -> new JGlobalDateTime(UNKNOWN_REGION));
+        new JGlobalDateTime(1500000000123L);
+        globalDateTime.reset(-1L);
+        new JGlobalDateTime(new Timestamp(1500000000123L));
+        globalDateTime.reset(new Timestamp(-1L));
+        globalDateTime.changeZoneID(ZoneId.of("Asia/Tokyo"));
+        globalDateTime.changeZoneID(ZoneId.of("UTC"));
+        copy.changeZoneID("America/New_York");
+    }
+
+    // The upper bound of the bucket of a value, measured through the median
+    // of that value and a larger one. It clears every metric.
+    private static long upperBoundOf(long value) {
+        JGlobalDateTimeMetrics.clear();
+        JGlobalDateTimeMetrics.recordZoneChange(value);
+        JGlobalDateTimeMetrics.recordZoneChange(Long.MAX_VALUE);
+        return JGlobalDateTimeMetrics.getConversionLatency(50.0);
+    }
+
+    private static final String VALID = "2015-04-06T14:20:18.811-05:00[America/Chicago]";
+    private static final String INVALID = "2015-04-06T14:20:18.811";
+    private static final String UNKNOWN_REGION = "2015-04-06T14:20:18.811-05:00[America/Nowhere]";
+    private static final int INPUT_TYPES = 6;
+    private static final double[] PERCENTILES = {0.0, 1.0, 25.0, 50.0, 90.0, 99.0, 99.9, 100.0};
+    private static final int[] PARSE_RESULTS = {JGlobalDateTimeException.RC_OK, JGlobalDateTimeException.RC_UNEXPECTED_ERROR,
+        JGlobalDateTimeException.RC_INVALID_ZONE, JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING};
+    private static final long SEED = 20240607L;
+}
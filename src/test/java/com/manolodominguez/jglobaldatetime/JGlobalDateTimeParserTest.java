@@ -0,0 +1,267 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneRulesException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeParser. Random, but
+ * seeded, ZonedDateTime strings are parsed with both JGlobalDateTimeParser
+ * and ZonedDateTime.parse() and the results, or the errors, have to be the
+ * same.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeParserTest {
+
+    @Test
+    public void testToStringShapes() {
+        Random random = new Random(SEED);
+        for (int i = 0; i < ITERATIONS; i++) {
+            ZonedDateTime zonedDateTime = JGlobalDateTimeParserTest.randomZonedDateTime(random);
+            String text = zonedDateTime.toString();
+            JGlobalDateTimeParserTest.assertSameResult(text);
+            // Same datetime, without the trailing region.
+            int bracket = text.indexOf('[');
+            if (bracket > 0) {
+                JGlobalDateTimeParserTest.assertSameResult(text.substring(0, bracket));
+            }
+        }
+    }
+
+    @Test
+    public void testOffsetOnlyZones() {
+        Random random = new Random(SEED + 1);
+        for (int i = 0; i < ITERATIONS; i++) {
+            ZoneOffset offset = ZoneOffset.ofTotalSeconds(random.nextInt((2 * MAX_OFFSET_SECONDS) + 1) - MAX_OFFSET_SECONDS);
+            if (random.nextBoolean()) {
+                // Whole minutes offsets, the usual ones.
+                offset = ZoneOffset.ofTotalSeconds((offset.getTotalSeconds() / 60) * 60);
+            }
+            ZonedDateTime zonedDateTime = ZonedDateTime.ofInstant(JGlobalDateTimeParserTest.randomInstant(random), offset);
+            JGlobalDateTimeParserTest.assertSameResult(zonedDateTime.toString());
+            JGlobalDateTimeParserTest.assertSameResult(zonedDateTime.toString() + "[" + offset.getId() + "]");
+        }
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20Z");
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20Z[UTC]");
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20+01:00[UTC+01:00]");
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20+03:00[GMT+03:00]");
+    }
+
+    @Test
+    public void testFractionLengths() {
+        Random random = new Random(SEED + 2);
+        for (int i = 0; i < ITERATIONS; i++) {
+            ZonedDateTime zonedDateTime = JGlobalDateTimeParserTest.randomZonedDateTime(random);
+            String text = zonedDateTime.toString();
+            int offsetStart = JGlobalDateTimeParserTest.offsetStart(text);
+            String localDateTime = zonedDateTime.toLocalDateTime().withNano(0).toString();
+            if (localDateTime.length() == 16) {
+                localDateTime += ":00";
+            }
+            for (int digits = 0; digits <= 9; digits++) {
+                StringBuilder fraction = new StringBuilder();
+                if (digits > 0) {
+                    fraction.append('.');
+                    for (int j = 0; j < digits; j++) {
+                        fraction.append((char) ('0' + random.nextInt(10)));
+                    }
+                }
+                JGlobalDateTimeParserTest.assertSameResult(localDateTime + fraction + text.substring(offsetStart));
+            }
+        }
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20:00.1234567890Z");
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20:00.Z");
+        JGlobalDateTimeParserTest.assertSameResult("2017-04-06T19:20.5Z");
+    }
+
+    @Test
+    public void testMalformedInputs() {
+        Random random = new Random(SEED + 3);
+        for (int i = 0; i < ITERATIONS; i++) {
+            StringBuilder text = new StringBuilder(JGlobalDateTimeParserTest.randomZonedDateTime(random).toString());
+            int mutations = 1 + random.nextInt(3);
+            for (int j = 0; (j < mutations) && (text.length() > 0); j++) {
+                int position = random.nextInt(text.length());
+                switch (random.nextInt(4)) {
+                    case 0:
+                        text.setCharAt(position, MUTATION_CHARS.charAt(random.nextInt(MUTATION_CHARS.length())));
+                        break;
+                    case 1:
+                        if (text.length() > 1) {
+                            text.deleteCharAt(position);
+                        }
+                        break;
+                    case 2:
+                        text.insert(position, MUTATION_CHARS.charAt(random.nextInt(MUTATION_CHARS.length())));
+                        break;
+                    default:
+                        text.setLength(position);
+                        break;
+                }
+            }
+            JGlobalDateTimeParserTest.assertSameResult(text.toString());
+        }
+        String[] malformed = {"", "2017", "2017-04-06", "2017-04-06T19:20", "2017-02-30T19:20Z", "2017-04-06T24:00Z",
+            "2017-04-06T19:60Z", "2017-04-06T19:20:60Z", "2017-04-06t19:20Z", "2017-04-06T19:20+19:00",
+            "2017-04-06T19:20+01:60", "2017-04-06T19:20+0100", "2017-04-06T19:20+01:00[Europe/Madrid",
+            "2017-04-06T19:20+01:00[]", "2017-04-06T19:20+01:00[Europe/Nowhere]", "2017-04-06T19:20+05:00[Europe/Madrid]",
+            "+12017-04-06T19:20Z", "-0001-04-06T19:20Z", "2017-04-06T19:20Z ", " 2017-04-06T19:20Z"};
+        for (String text : malformed) {
+            JGlobalDateTimeParserTest.assertSameResult(text);
+        }
+    }
+
+    @Test
+    public void testConstructorMatchesParser() throws JGlobalDateTimeException {
+        Random random = new Random(SEED + 4);
+        for (int i = 0; i < (ITERATIONS / 10); i++) {
+            ZonedDateTime zonedDateTime = JGlobalDateTimeParserTest.randomZonedDateTime(random);
+            JGlobalDateTime dateTime = new JGlobalDateTime(zonedDateTime.toString());
+            assertEquals(zonedDateTime.toEpochSecond(), dateTime.getOriginalEpochSecond());
+            assertEquals(zonedDateTime.getNano(), dateTime.getOriginalNano());
+            assertEquals(zonedDateTime.getZone(), dateTime.getOriginalZoneID());
+        }
+        JGlobalDateTimeException exception = assertThrows(JGlobalDateTimeException.class, () -> new JGlobalDateTime("2017-04-06T19:20"));
+        assertEquals(JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING, exception.getReasonCode());
+    }
+
+    @Test
+    public void testReusedParser() {
+        // The same parser, as the one of each thread, reuses the last region
+        // it has resolved. Regions that are prefixes of others, and invalid
+        // ones, come right after them.
+        JGlobalDateTimeParser parser = new JGlobalDateTimeParser();
+        Random random = new Random(SEED + 5);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String region = SIMILAR_REGIONS[random.nextInt(SIMILAR_REGIONS.length)];
+            String text = "2021-11-07T01:30:15.123-04:00[" + region + "]";
+            try {
+                text = ZonedDateTime.parse(text).toString();
+            } catch (DateTimeException ex) {
+                // Kept as is, to be rejected.
+            }
+            JGlobalDateTimeParserTest.assertSameResult(parser, text);
+        }
+    }
+
+    private static void assertSameResult(String text) {
+        JGlobalDateTimeParserTest.assertSameResult(new JGlobalDateTimeParser(), text);
+    }
+
+    private static void assertSameResult(JGlobalDateTimeParser parser, String text) {
+        int reasonCode = parser.parse(text);
+        ZonedDateTime expected;
+        try {
+            expected = ZonedDateTime.parse(text);
+        } catch (ZoneRulesException ex) {
+            assertEquals(JGlobalDateTimeException.RC_INVALID_ZONE, reasonCode, text);
+            return;
+        } catch (DateTimeException ex) {
+            assertEquals(JGlobalDateTimeException.RC_INVALID_ZONEDDATETIME_STRING, reasonCode, text);
+            return;
+        }
+        if (reasonCode != JGlobalDateTimeException.RC_OK) {
+            fail("Rejected with reason code " + reasonCode + ": " + text);
+        }
+        assertEquals(expected.toEpochSecond(), parser.getEpochSecond(), text);
+        assertEquals(expected.getNano(), parser.getNano(), text);
+        assertEquals(expected.getZone(), parser.getZoneID(), text);
+    }
+
+    private static ZonedDateTime randomZonedDateTime(Random random) {
+        ZoneId zoneId;
+        if (random.nextInt(4) == 0) {
+            zoneId = ZoneOffset.ofTotalSeconds((random.nextInt((2 * MAX_OFFSET_SECONDS) + 1) - MAX_OFFSET_SECONDS) / 900 * 900);
+        } else {
+            zoneId = ZoneId.of(REGIONS.get(random.nextInt(REGIONS.size())));
+        }
+        return ZonedDateTime.ofInstant(JGlobalDateTimeParserTest.randomInstant(random), zoneId);
+    }
+
+    private static Instant randomInstant(Random random) {
+        long epochSecond;
+        switch (random.nextInt(4)) {
+            case 0:
+                // Years with more than four digits or before year zero.
+                epochSecond = MIN_EPOCH_SECOND + (long) (random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND));
+                break;
+            case 1:
+                // Whole minutes, printed without seconds.
+                epochSecond = ((long) (random.nextDouble() * YEAR_10000_EPOCH_SECOND) / 60) * 60;
+                return Instant.ofEpochSecond(epochSecond);
+            default:
+                epochSecond = (long) (random.nextDouble() * YEAR_10000_EPOCH_SECOND) + YEAR_0_EPOCH_SECOND;
+                break;
+        }
+        int nano;
+        switch (random.nextInt(4)) {
+            case 0:
+                nano = 0;
+                break;
+            case 1:
+                nano = random.nextInt(1000) * 1000000;
+                break;
+            case 2:
+                nano = random.nextInt(1000000) * 1000;
+                break;
+            default:
+                nano = random.nextInt(1000000000);
+                break;
+        }
+        return Instant.ofEpochSecond(epochSecond, nano);
+    }
+
+    private static int offsetStart(String text) {
+        for (int i = 16; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if ((c == 'Z') || (c == '+') || (c == '-')) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException(text);
+    }
+
+    private static final long SEED = 20240607L;
+    private static final int ITERATIONS = 10000;
+    private static final int MAX_OFFSET_SECONDS = 18 * 3600;
+    private static final long YEAR_0_EPOCH_SECOND = -62167219200L;
+    private static final long YEAR_10000_EPOCH_SECOND = 253402300800L - YEAR_0_EPOCH_SECOND;
+    private static final long MIN_EPOCH_SECOND = -1000000L * 365L * 86400L;
+    private static final long MAX_EPOCH_SECOND = 1000000L * 365L * 86400L;
+    private static final String MUTATION_CHARS = "0123456789-+:.TZtz[]/ aX";
+    private static final String[] SIMILAR_REGIONS = {"America/Indiana/Indianapolis", "America/Indianapolis", "America/Indiana", "Etc/GMT+1", "Etc/GMT+10",
+        "Etc/GMT+1x", "UTC", "UCT", "UT", "Europe/Madrid", "Europe/Madri", "Europe/Madridd", "europe/madrid"};
+    private static final List<String> REGIONS = new ArrayList<>(ZoneId.getAvailableZoneIds());
+
+    static {
+        REGIONS.sort(null);
+    }
+}
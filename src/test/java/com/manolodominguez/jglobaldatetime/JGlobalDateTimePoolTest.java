@@ -0,0 +1,117 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimePool.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimePoolTest {
+
+    @Test
+    public void testAcquireAndRelease() {
+        JGlobalDateTimePool pool = new JGlobalDateTimePool(2);
+        assertEquals(2, pool.getCapacity());
+        assertEquals(0, pool.getAvailable());
+        // An empty pool creates new instances.
+        JGlobalDateTime first = pool.acquire();
+        JGlobalDateTime second = pool.acquire();
+        JGlobalDateTime third = pool.acquire();
+        assertNotSame(first, second);
+        assertNotSame(second, third);
+        pool.release(first);
+        pool.release(second);
+        assertEquals(2, pool.getAvailable());
+        // A full pool drops released instances.
+        pool.release(third);
+        assertEquals(2, pool.getAvailable());
+        // Last released, first acquired.
+        assertSame(second, pool.acquire());
+        assertSame(first, pool.acquire());
+        assertEquals(0, pool.getAvailable());
+        assertNotSame(third, pool.acquire());
+        assertThrows(IllegalArgumentException.class, () -> pool.release(null));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimePool(0));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimePool(-1));
+    }
+
+    @Test
+    public void testReusedInstancesAreLikeNewOnes() throws JGlobalDateTimeException {
+        JGlobalDateTimePool pool = new JGlobalDateTimePool(4);
+        for (int round = 0; round < 3; round++) {
+            List<JGlobalDateTime> acquired = new ArrayList<>();
+            for (String text : TEXTS) {
+                JGlobalDateTime globalDateTime = pool.acquire();
+                // Leave it as a previous user could have left it.
+                globalDateTime.reset(ZonedDateTime.parse("2000-01-01T00:00Z"));
+                globalDateTime.changeZoneID(ZoneId.of("Asia/Tokyo"));
+                globalDateTime.changeDefaultPrecission(ChronoUnit.HOURS);
+                globalDateTime.getNormalizedDateTime();
+                globalDateTime.toNormalizedDateTimeString();
+                globalDateTime.reset(text);
+                JGlobalDateTimePoolTest.assertSameStatus(new JGlobalDateTime(text), globalDateTime);
+                acquired.add(globalDateTime);
+            }
+            for (JGlobalDateTime globalDateTime : acquired) {
+                pool.release(globalDateTime);
+            }
+            assertEquals(pool.getCapacity(), pool.getAvailable());
+        }
+    }
+
+    @Test
+    public void testForCurrentThread() throws InterruptedException {
+        JGlobalDateTimePool pool = JGlobalDateTimePool.forCurrentThread();
+        assertSame(pool, JGlobalDateTimePool.forCurrentThread());
+        assertEquals(JGlobalDateTimePool.DEFAULT_CAPACITY, pool.getCapacity());
+        AtomicReference<JGlobalDateTimePool> otherPool = new AtomicReference<>();
+        Thread thread = new Thread(() -> otherPool.set(JGlobalDateTimePool.forCurrentThread()));
+        thread.start();
+        thread.join();
+        assertNotSame(pool, otherPool.get());
+    }
+
+    private static void assertSameStatus(JGlobalDateTime expected, JGlobalDateTime actual) {
+        assertEquals(expected.getOriginalEpochSecond(), actual.getOriginalEpochSecond());
+        assertEquals(expected.getOriginalNano(), actual.getOriginalNano());
+        assertEquals(expected.getOriginalZoneID(), actual.getOriginalZoneID());
+        assertEquals(expected.getNormalizedEpochSecond(), actual.getNormalizedEpochSecond());
+        assertEquals(expected.getNormalizedNano(), actual.getNormalizedNano());
+        assertEquals(expected.getReferenceZoneID(), actual.getReferenceZoneID());
+        assertEquals(expected.getReferencePrecission(), actual.getReferencePrecission());
+        assertEquals(expected.getNormalizedDateTime(), actual.getNormalizedDateTime());
+        assertEquals(expected.getOriginalDateTime(), actual.getOriginalDateTime());
+        assertEquals(expected.toNormalizedDateTimeString(), actual.toNormalizedDateTimeString());
+    }
+
+    private static final String[] TEXTS = {"2015-04-06T14:20:18.811-05:00[America/Chicago]", "2017-04-06T21:20:18.811+02:00[Europe/Madrid]",
+        "2021-11-07T01:30:15.123456789-04:00[America/New_York]", "-0500-02-28T23:59:59.999999999+05:30:15"};
+}
@@ -0,0 +1,222 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeRangeIndex.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeRangeIndexTest {
+
+    @Test
+    public void testPendingInsertionsAreMerged() {
+        Random random = new Random(SEED);
+        JGlobalDateTimeRangeIndex<Integer> index = new JGlobalDateTimeRangeIndex<>(0);
+        List<long[]> expected = new ArrayList<>();
+        int id = 0;
+        for (int batch = 0; batch < 50; batch++) {
+            // Batches of pending insertions, some of them with instants that
+            // do not fit in a single long key, merged by the next query.
+            int batchSize = random.nextInt(200);
+            for (int i = 0; i < batchSize; i++) {
+                long epochSecond = (random.nextInt(20) == 0) ? FAR_EPOCH_SECOND + random.nextInt(3) : BASE_EPOCH_SECOND + random.nextInt(100);
+                int nano = NANOS[random.nextInt(NANOS.length)];
+                index.add(JGlobalDateTimeRangeIndexTest.dateTimeOf(epochSecond, nano), id);
+                expected.add(new long[]{epochSecond, nano, id});
+                id++;
+            }
+            assertEquals(expected.size(), index.size());
+            // Equal instants keep their insertion order.
+            Collections.sort(expected, (first, second) -> (first[0] != second[0]) ? Long.compare(first[0], second[0]) : Long.compare(first[1], second[1]));
+            List<Integer> all = index.find(JGlobalDateTimeRangeIndexTest.dateTimeOf(Long.MIN_VALUE / 2, 0), JGlobalDateTimeRangeIndexTest.dateTimeOf(Long.MAX_VALUE / 2, 0));
+            assertEquals(expected.size(), all.size());
+            for (int i = 0; i < all.size(); i++) {
+                assertEquals(expected.get(i)[2], (long) all.get(i));
+            }
+        }
+        index.clear();
+        assertEquals(0, index.size());
+        assertTrue(index.find(JGlobalDateTimeRangeIndexTest.dateTimeOf(Long.MIN_VALUE / 2, 0), JGlobalDateTimeRangeIndexTest.dateTimeOf(Long.MAX_VALUE / 2, 0)).isEmpty());
+    }
+
+    @Test
+    public void testRangesWithNanos() {
+        Random random = new Random(SEED + 1);
+        JGlobalDateTimeRangeIndex<Integer> index = new JGlobalDateTimeRangeIndex<>();
+        List<long[]> entries = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            long epochSecond = BASE_EPOCH_SECOND + random.nextInt(20);
+            int nano = NANOS[random.nextInt(NANOS.length)];
+            index.add(JGlobalDateTimeRangeIndexTest.dateTimeOf(epochSecond, nano), i);
+            entries.add(new long[]{epochSecond, nano, i});
+        }
+        for (int i = 0; i < 2000; i++) {
+            // Ranges whose bounds share the second of some entries and differ
+            // in nanos, including empty and reversed ranges.
+            long fromEpochSecond = BASE_EPOCH_SECOND + random.nextInt(22) - 1;
+            int fromNano = NANOS[random.nextInt(NANOS.length)];
+            long toEpochSecond = fromEpochSecond + random.nextInt(4) - 1;
+            int toNano = NANOS[random.nextInt(NANOS.length)];
+            JGlobalDateTime from = JGlobalDateTimeRangeIndexTest.dateTimeOf(fromEpochSecond, fromNano);
+            JGlobalDateTime to = JGlobalDateTimeRangeIndexTest.dateTimeOf(toEpochSecond, toNano);
+            List<Integer> expected = new ArrayList<>();
+            for (long[] entry : entries) {
+                if ((JGlobalDateTimeRangeIndexTest.compare(entry[0], entry[1], fromEpochSecond, fromNano) >= 0) && (JGlobalDateTimeRangeIndexTest.compare(entry[0], entry[1], toEpochSecond, toNano) < 0)) {
+                    expected.add((int) entry[2]);
+                }
+            }
+            Collections.sort(expected, (first, second) -> {
+                long[] firstEntry = entries.get(first);
+                long[] secondEntry = entries.get(second);
+                int result = JGlobalDateTimeRangeIndexTest.compare(firstEntry[0], firstEntry[1], secondEntry[0], secondEntry[1]);
+                return (result != 0) ? result : Integer.compare(first, second);
+            });
+            assertEquals(expected, index.find(from, to));
+            assertEquals(expected.size(), index.count(from, to));
+            List<Integer> visited = new ArrayList<>();
+            index.forEach(from, to, visited::add);
+            assertEquals(expected, visited);
+            List<Integer> iterated = new ArrayList<>();
+            for (Iterator<Integer> iterator = index.iterator(from, to); iterator.hasNext();) {
+                iterated.add(iterator.next());
+            }
+            assertEquals(expected, iterated);
+        }
+        JGlobalDateTime from = JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND + 10, 0);
+        JGlobalDateTime to = JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND + 5, 0);
+        assertEquals(0, index.count(from, to));
+        assertEquals(0, index.count((BASE_EPOCH_SECOND + 10) * 1000L, (BASE_EPOCH_SECOND + 5) * 1000L));
+        List<Integer> visited = new ArrayList<>();
+        index.forEach(from, to, visited::add);
+        assertTrue(visited.isEmpty());
+        assertFalse(index.iterator(from, to).hasNext());
+    }
+
+    @Test
+    public void testWindows() {
+        Random random = new Random(SEED + 2);
+        JGlobalDateTimeRangeIndex<Integer> index = new JGlobalDateTimeRangeIndex<>();
+        List<long[]> entries = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            long epochSecond = BASE_EPOCH_SECOND + random.nextInt(60);
+            int nano = NANOS[random.nextInt(NANOS.length)];
+            index.add(JGlobalDateTimeRangeIndexTest.dateTimeOf(epochSecond, nano), i);
+            entries.add(new long[]{epochSecond, nano, i});
+        }
+        for (int i = 0; i < 500; i++) {
+            // Starts whose nanos are before, equal to and after the nanos of
+            // the entries of the same second.
+            long fromEpochSecond = BASE_EPOCH_SECOND + random.nextInt(10) - 2;
+            int fromNano = NANOS[random.nextInt(NANOS.length)];
+            long toEpochSecond = fromEpochSecond + random.nextInt(70);
+            int toNano = NANOS[random.nextInt(NANOS.length)];
+            long windowSeconds = 1 + random.nextInt(7);
+            long fromTotal = JGlobalDateTimeRangeIndexTest.totalNanos(fromEpochSecond, fromNano);
+            long toTotal = JGlobalDateTimeRangeIndexTest.totalNanos(toEpochSecond, toNano);
+            List<Long> expectedStarts = new ArrayList<>();
+            List<List<Integer>> expectedWindows = new ArrayList<>();
+            List<long[]> sortedEntries = new ArrayList<>(entries);
+            Collections.sort(sortedEntries, (first, second) -> Long.compare(JGlobalDateTimeRangeIndexTest.totalNanos(first[0], first[1]), JGlobalDateTimeRangeIndexTest.totalNanos(second[0], second[1])));
+            for (long[] entry : sortedEntries) {
+                long total = JGlobalDateTimeRangeIndexTest.totalNanos(entry[0], entry[1]);
+                if ((total < fromTotal) || (total >= toTotal)) {
+                    continue;
+                }
+                long windowStart = fromEpochSecond + (Math.floorDiv(total - fromTotal, windowSeconds * NANOS_PER_SECOND) * windowSeconds);
+                if (expectedStarts.isEmpty() || (expectedStarts.get(expectedStarts.size() - 1) != windowStart)) {
+                    expectedStarts.add(windowStart);
+                    expectedWindows.add(new ArrayList<>());
+                }
+                expectedWindows.get(expectedWindows.size() - 1).add((int) entry[2]);
+            }
+            List<Long> starts = new ArrayList<>();
+            List<List<Integer>> windows = new ArrayList<>();
+            index.forEachWindow(JGlobalDateTimeRangeIndexTest.dateTimeOf(fromEpochSecond, fromNano), JGlobalDateTimeRangeIndexTest.dateTimeOf(toEpochSecond, toNano), windowSeconds, (windowStart, payloads) -> {
+                starts.add(windowStart);
+                windows.add(new ArrayList<>(payloads));
+            });
+            assertEquals(expectedStarts, starts);
+            assertEquals(expectedWindows, windows);
+        }
+        assertThrows(IllegalArgumentException.class, () -> index.forEachWindow(JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND, 0), JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND + 60, 0), 0, (windowStart, payloads) -> {
+        }));
+    }
+
+    @Test
+    public void testIteratorFailsOnModification() {
+        JGlobalDateTimeRangeIndex<Integer> index = new JGlobalDateTimeRangeIndex<>();
+        JGlobalDateTime from = JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND, 0);
+        JGlobalDateTime to = JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND + 10, 0);
+        for (int i = 0; i < 5; i++) {
+            index.add(JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND + i, 0), i);
+        }
+        Iterator<Integer> iterator = index.iterator(from, to);
+        assertEquals(0, (int) iterator.next());
+        index.add(JGlobalDateTimeRangeIndexTest.dateTimeOf(BASE_EPOCH_SECOND + 20, 0), 20);
+        assertThrows(ConcurrentModificationException.class, iterator::next);
+        Iterator<Integer> another = index.iterator(from, to);
+        index.clear();
+        assertThrows(ConcurrentModificationException.class, another::next);
+        Iterator<Integer> empty = index.iterator(from, to);
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeRangeIndex<Integer>(-1));
+        JGlobalDateTimeRangeIndex<Integer> index = new JGlobalDateTimeRangeIndex<>();
+        assertThrows(IllegalArgumentException.class, () -> index.addAll(new JGlobalDateTime[1], new Integer[2]));
+    }
+
+    private static JGlobalDateTime dateTimeOf(long epochSecond, int nano) {
+        return new JGlobalDateTime(epochSecond, nano, ZoneOffset.UTC, epochSecond, nano, ZoneOffset.UTC, ChronoUnit.NANOS);
+    }
+
+    private static int compare(long epochSecond, long nano, long anotherEpochSecond, long anotherNano) {
+        int result = Long.compare(epochSecond, anotherEpochSecond);
+        return (result != 0) ? result : Long.compare(nano, anotherNano);
+    }
+
+    private static long totalNanos(long epochSecond, long nano) {
+        return ((epochSecond - BASE_EPOCH_SECOND) * NANOS_PER_SECOND) + nano;
+    }
+
+    private static final long SEED = 20240607L;
+    private static final long BASE_EPOCH_SECOND = 1600000000L;
+    // Year 3000, beyond the instants that fit in a long of nanoseconds.
+    private static final long FAR_EPOCH_SECOND = 32503680000L;
+    private static final int[] NANOS = new int[]{0, 1, 499999999, 500000000, 500000001, 999999999};
+    private static final long NANOS_PER_SECOND = 1000000000L;
+}
@@ -0,0 +1,252 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeScheduler. The current
+ * date is taken from an adjustable clock and tasks are run directly by the
+ * background thread of the scheduler.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeSchedulerTest {
+
+    @Test
+    public void testFire() throws InterruptedException {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        try (JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, clock)) {
+            AtomicInteger runs = new AtomicInteger();
+            JGlobalDateTimeScheduler.Timer timer = scheduler.schedule(START_MILLIS + 1000L, runs::incrementAndGet);
+            assertEquals(1, scheduler.getPendingTimers());
+            assertEquals(START_MILLIS + 1000L, timer.getDueEpochMilli());
+            clock.set(START_MILLIS + 999L);
+            JGlobalDateTimeSchedulerTest.settle();
+            assertFalse(timer.isFired());
+            assertEquals(0, runs.get());
+            clock.set(START_MILLIS + 1000L);
+            JGlobalDateTimeSchedulerTest.await(timer::isFired);
+            JGlobalDateTimeSchedulerTest.await(() -> runs.get() == 1);
+            assertEquals(0, scheduler.getPendingTimers());
+            assertFalse(timer.cancel());
+            assertFalse(timer.isCancelled());
+        }
+    }
+
+    @Test
+    public void testCancel() throws InterruptedException {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        try (JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, clock)) {
+            AtomicInteger runs = new AtomicInteger();
+            JGlobalDateTimeScheduler.Timer cancelled = scheduler.schedule(START_MILLIS + 500L, runs::incrementAndGet);
+            JGlobalDateTimeScheduler.Timer kept = scheduler.schedule(START_MILLIS + 500L, runs::incrementAndGet);
+            assertEquals(2, scheduler.getPendingTimers());
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel());
+            assertTrue(cancelled.isCancelled());
+            assertEquals(1, scheduler.getPendingTimers());
+            clock.set(START_MILLIS + 1000L);
+            JGlobalDateTimeSchedulerTest.await(kept::isFired);
+            JGlobalDateTimeSchedulerTest.settle();
+            assertFalse(cancelled.isFired());
+            assertEquals(1, runs.get());
+            assertEquals(0, scheduler.getPendingTimers());
+        }
+    }
+
+    @Test
+    public void testCascadingAcrossLevels() throws InterruptedException {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        try (JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, clock)) {
+            ConcurrentLinkedQueue<Long> fired = new ConcurrentLinkedQueue<>();
+            // Ticks around the boundaries of the first three levels, scheduled
+            // in reverse order.
+            long[] ticks = new long[]{1L, 2L, 63L, 64L, 65L, 127L, 128L, 4095L, 4096L, 4097L, 262143L, 262144L, 262145L, 300000L};
+            List<JGlobalDateTimeScheduler.Timer> timers = new ArrayList<>();
+            for (int i = ticks.length - 1; i >= 0; i--) {
+                long dueEpochMilli = START_MILLIS + (ticks[i] * TICK_MILLIS);
+                timers.add(scheduler.schedule(dueEpochMilli, () -> fired.add(dueEpochMilli)));
+            }
+            for (int i = 0; i < ticks.length; i++) {
+                long dueEpochMilli = START_MILLIS + (ticks[i] * TICK_MILLIS);
+                clock.set(dueEpochMilli - 1L);
+                JGlobalDateTimeSchedulerTest.settle();
+                assertEquals(i, fired.size(), "Fired before tick " + ticks[i]);
+                clock.set(dueEpochMilli);
+                int expectedSize = i + 1;
+                JGlobalDateTimeSchedulerTest.await(() -> fired.size() == expectedSize);
+                assertEquals(ticks.length - expectedSize, scheduler.getPendingTimers());
+            }
+            List<Long> expected = new ArrayList<>();
+            for (long tick : ticks) {
+                expected.add(START_MILLIS + (tick * TICK_MILLIS));
+            }
+            assertEquals(expected, new ArrayList<>(fired));
+            for (JGlobalDateTimeScheduler.Timer timer : timers) {
+                assertTrue(timer.isFired());
+            }
+        }
+    }
+
+    @Test
+    public void testDueTimesInThePast() throws JGlobalDateTimeException, InterruptedException {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        try (JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, clock)) {
+            AtomicInteger runs = new AtomicInteger();
+            List<JGlobalDateTimeScheduler.Timer> timers = new ArrayList<>();
+            timers.add(scheduler.schedule(START_MILLIS, runs::incrementAndGet));
+            timers.add(scheduler.schedule(START_MILLIS - 1000L, runs::incrementAndGet));
+            timers.add(scheduler.schedule(Long.MIN_VALUE, runs::incrementAndGet));
+            timers.add(scheduler.schedule(new JGlobalDateTime(START_MILLIS - 3600000L), runs::incrementAndGet));
+            // The clock does not move; they are due in the next tick.
+            for (JGlobalDateTimeScheduler.Timer timer : timers) {
+                JGlobalDateTimeSchedulerTest.await(timer::isFired);
+            }
+            assertEquals(timers.size(), runs.get());
+            assertEquals(0, scheduler.getPendingTimers());
+        }
+    }
+
+    @Test
+    public void testTimersAfterAnIdlePeriod() {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        try (JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, 1L, TimeUnit.MILLISECONDS, clock)) {
+            // A century of one millisecond ticks could not be walked one by
+            // one before the timer is due.
+            long now = START_MILLIS + (100L * 365L * 24L * 3600000L);
+            clock.set(now);
+            JGlobalDateTimeScheduler.Timer timer = scheduler.schedule(now + 20L, () -> {
+            });
+            clock.set(now + 20L);
+            JGlobalDateTimeSchedulerTest.await(timer::isFired);
+        }
+    }
+
+    @Test
+    public void testClose() throws InterruptedException {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        AtomicInteger runs = new AtomicInteger();
+        JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, clock);
+        List<JGlobalDateTimeScheduler.Timer> timers = new ArrayList<>();
+        for (long tick = 1; tick <= 100000; tick *= 10) {
+            timers.add(scheduler.schedule(START_MILLIS + (tick * TICK_MILLIS), runs::incrementAndGet));
+        }
+        JGlobalDateTimeSchedulerTest.settle();
+        assertEquals(timers.size(), scheduler.getPendingTimers());
+        scheduler.close();
+        JGlobalDateTimeSchedulerTest.await(() -> scheduler.getPendingTimers() == 0);
+        assertThrows(IllegalStateException.class, () -> scheduler.schedule(START_MILLIS, runs::incrementAndGet));
+        assertEquals(0, scheduler.getPendingTimers());
+        clock.set(START_MILLIS + (1000000L * TICK_MILLIS));
+        JGlobalDateTimeSchedulerTest.settle();
+        for (JGlobalDateTimeScheduler.Timer timer : timers) {
+            assertFalse(timer.isFired());
+            assertFalse(timer.isCancelled());
+            assertFalse(timer.cancel());
+        }
+        assertEquals(0, runs.get());
+        // Closing it again does nothing.
+        scheduler.close();
+    }
+
+    @Test
+    public void testInvalidArguments() {
+        AdjustableClock clock = new AdjustableClock(START_MILLIS);
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeScheduler(null, TICK_MILLIS, TimeUnit.MILLISECONDS, clock));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, null));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeScheduler(Runnable::run, 999L, TimeUnit.MICROSECONDS, clock));
+        try (JGlobalDateTimeScheduler scheduler = new JGlobalDateTimeScheduler(Runnable::run, TICK_MILLIS, TimeUnit.MILLISECONDS, clock)) {
+            assertEquals(TICK_MILLIS, scheduler.getTickMillis());
+            assertThrows(IllegalArgumentException.class, () -> scheduler.schedule(START_MILLIS, null));
+        }
+    }
+
+    private static void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Timed out");
+            try {
+                Thread.sleep(1L);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+    }
+
+    // Gives the background thread of the scheduler time enough to see the
+    // last change of the clock.
+    private static void settle() throws InterruptedException {
+        Thread.sleep(SETTLE_MILLIS);
+    }
+
+    // A clock whose current instant is set by the tests.
+    private static final class AdjustableClock extends Clock {
+
+        AdjustableClock(long epochMilli) {
+            this.epochMilli = new AtomicLong(epochMilli);
+        }
+
+        void set(long newEpochMilli) {
+            this.epochMilli.set(newEpochMilli);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long millis() {
+            return this.epochMilli.get();
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(this.millis());
+        }
+
+        private final AtomicLong epochMilli;
+    }
+
+    private static final long START_MILLIS = 1600000000000L;
+    private static final long TICK_MILLIS = 10L;
+    private static final long TIMEOUT_MILLIS = 5000L;
+    private static final long SETTLE_MILLIS = 50L;
+}
@@ -0,0 +1,88 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeSort.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeSortTest {
+
+    @Test
+    public void testSortIsStable() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        List<JGlobalDateTime> values = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            values.add(new JGlobalDateTime(random.nextInt(1000) * 1000L));
+        }
+        List<JGlobalDateTime> expected = new ArrayList<>(values);
+        Collections.sort(expected, JGlobalDateTime.INSTANT_COMPARATOR);
+        JGlobalDateTimeSort.sort(values);
+        JGlobalDateTimeSortTest.assertSameElements(expected, values);
+    }
+
+    @Test
+    public void testMerge() throws JGlobalDateTimeException {
+        Random random = new Random(SEED + 1);
+        List<List<JGlobalDateTime>> sortedLists = new ArrayList<>();
+        List<JGlobalDateTime> expected = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            List<JGlobalDateTime> sortedList = new ArrayList<>();
+            // Some of them are empty.
+            int size = random.nextInt(4) * random.nextInt(100);
+            for (int j = 0; j < size; j++) {
+                sortedList.add(new JGlobalDateTime(random.nextInt(500) * 1000L));
+            }
+            Collections.sort(sortedList, JGlobalDateTime.INSTANT_COMPARATOR);
+            sortedLists.add(sortedList);
+            expected.addAll(sortedList);
+        }
+        // Equal instants keep the order of the list they come from.
+        Collections.sort(expected, JGlobalDateTime.INSTANT_COMPARATOR);
+        JGlobalDateTimeSortTest.assertSameElements(expected, JGlobalDateTimeSort.merge(sortedLists));
+    }
+
+    @Test
+    public void testMergeNoIterators() {
+        Iterator<JGlobalDateTime> iterator = JGlobalDateTimeSort.merge(new ArrayList<Iterator<JGlobalDateTime>>());
+        assertFalse(iterator.hasNext());
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+
+    private static void assertSameElements(List<JGlobalDateTime> expected, List<JGlobalDateTime> actual) {
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertSame(expected.get(i), actual.get(i));
+        }
+    }
+
+    private static final long SEED = 20240607L;
+}
@@ -0,0 +1,79 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeStreamParser.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeStreamParserTest {
+
+    @Test
+    public void testInvalidArguments() {
+        ZoneId madrid = ZoneId.of("Europe/Madrid");
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeStreamParser(null, ChronoUnit.SECONDS, JGlobalDateTimeStreamParser.SKIP));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeStreamParser(madrid, null, JGlobalDateTimeStreamParser.SKIP));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeStreamParser(madrid, ChronoUnit.SECONDS, null));
+        assertThrows(IllegalArgumentException.class, () -> new JGlobalDateTimeStreamParser(null));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> new JGlobalDateTimeStreamParser(madrid, ChronoUnit.WEEKS, JGlobalDateTimeStreamParser.SKIP));
+    }
+
+    @Test
+    public void testNormalizationMatchesJGlobalDateTime() throws IOException, JGlobalDateTimeException {
+        StringBuilder input = new StringBuilder();
+        for (String line : LINES) {
+            input.append(line).append('\n');
+        }
+        byte[] bytes = input.toString().getBytes(StandardCharsets.US_ASCII);
+        ZoneId newYork = ZoneId.of("America/New_York");
+        for (ChronoUnit precission : PRECISSIONS) {
+            JGlobalDateTimeStreamParser parser = new JGlobalDateTimeStreamParser(newYork, precission, JGlobalDateTimeStreamParser.SKIP);
+            List<long[]> parsed = new ArrayList<>();
+            long emitted = parser.parse(new ByteArrayInputStream(bytes), (epochSecond, nano, originalZoneID) -> parsed.add(new long[]{epochSecond, nano}));
+            assertEquals(LINES.length - 1, emitted);
+            assertEquals(1L, parser.getErrorCount());
+            for (int i = 0; i < (LINES.length - 1); i++) {
+                JGlobalDateTime expected = new JGlobalDateTime(LINES[i]);
+                expected.changeZoneID(newYork);
+                expected.changeDefaultPrecission(precission);
+                assertEquals(expected.getNormalizedEpochSecond(), parsed.get(i)[0], LINES[i] + " " + precission);
+                assertEquals(expected.getNormalizedNano(), parsed.get(i)[1], LINES[i] + " " + precission);
+            }
+        }
+    }
+
+    private static final ChronoUnit[] PRECISSIONS = {ChronoUnit.NANOS, ChronoUnit.MICROS, ChronoUnit.MILLIS, ChronoUnit.SECONDS,
+        ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS};
+    // The last one is not valid.
+    private static final String[] LINES = {"2015-04-06T14:20:18.811-05:00[America/Chicago]", "2021-11-07T01:30:59.123456789-04:00[America/New_York]",
+        "2021-11-07T01:30:59.987654321-05:00[America/New_York]", "2017-04-06T21:20:18.000999+02:00", "1969-12-31T23:59:59.999999999Z",
+        "2017-04-06T21:20:18.811+02:00[Europe/Nowhere]"};
+}
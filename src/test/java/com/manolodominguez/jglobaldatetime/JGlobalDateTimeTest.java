@@ -0,0 +1,433 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.time.zone.ZoneOffsetTransition;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTime.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeTest {
+
+    @Test
+    public void testLastViewIsReused() throws JGlobalDateTimeException {
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+        ZonedDateTime normalized = globalDateTime.getNormalizedDateTime();
+        assertSame(normalized, globalDateTime.getNormalizedDateTime());
+        String string = globalDateTime.toNormalizedDateTimeString();
+        assertSame(string, globalDateTime.toNormalizedDateTimeString());
+        assertEquals(normalized.toString(), string);
+    }
+
+    @Test
+    public void testViewsFollowTheCurrentStatus() throws JGlobalDateTimeException {
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+        ZonedDateTime expected = ORIGINAL.withZoneSameInstant(JGlobalDateTime.DEFAULT_REFERENCE_ZONE);
+        for (int i = 0; i < 3; i++) {
+            // Every change of the instant computes the views again.
+            globalDateTime.increase(90, ChronoUnit.MINUTES);
+            expected = expected.plusMinutes(90);
+            assertEquals(expected, globalDateTime.getNormalizedDateTime());
+            assertEquals(ORIGINAL, globalDateTime.getOriginalDateTime());
+            assertEquals(expected.toString(), globalDateTime.toNormalizedDateTimeString());
+        }
+        for (int i = 0; i < 3; i++) {
+            for (ZoneId zoneId : ZONES) {
+                // Changing the reference Zone ID resets it to the original.
+                globalDateTime.changeZoneID(zoneId);
+                assertEquals(ORIGINAL.withZoneSameInstant(zoneId), globalDateTime.getNormalizedDateTime());
+                assertEquals(ORIGINAL, globalDateTime.getOriginalDateTime());
+                assertEquals(ORIGINAL.withZoneSameInstant(zoneId).toString(), globalDateTime.toNormalizedDateTimeString());
+            }
+        }
+    }
+
+    @Test
+    public void testViewsOfRecentZonesAreReused() throws JGlobalDateTimeException {
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+        ZoneId first = ZoneId.of("Europe/Madrid");
+        ZoneId second = ZoneId.of("UTC");
+        ZoneId third = ZoneId.of("Asia/Kolkata");
+        globalDateTime.changeZoneID(first);
+        ZonedDateTime firstDateTime = globalDateTime.getNormalizedDateTime();
+        String firstString = globalDateTime.toNormalizedDateTimeString();
+        ZonedDateTime original = globalDateTime.getOriginalDateTime();
+        globalDateTime.changeZoneID(second);
+        ZonedDateTime secondDateTime = globalDateTime.getNormalizedDateTime();
+        String secondString = globalDateTime.toNormalizedDateTimeString();
+        for (int i = 0; i < 3; i++) {
+            globalDateTime.changeZoneID(first);
+            assertSame(firstDateTime, globalDateTime.getNormalizedDateTime());
+            assertSame(firstString, globalDateTime.toNormalizedDateTimeString());
+            assertSame(original, globalDateTime.getOriginalDateTime());
+            globalDateTime.changeZoneID(second);
+            assertSame(secondDateTime, globalDateTime.getNormalizedDateTime());
+            assertSame(secondString, globalDateTime.toNormalizedDateTimeString());
+            assertSame(original, globalDateTime.getOriginalDateTime());
+            globalDateTime.changeZoneID(third);
+            assertEquals(ORIGINAL.withZoneSameInstant(third), globalDateTime.getNormalizedDateTime());
+        }
+        assertEquals(ORIGINAL.withZoneSameInstant(first), firstDateTime);
+        assertEquals(ORIGINAL.withZoneSameInstant(second), secondDateTime);
+        // A real change of the instant forgets the views of every zone.
+        globalDateTime.increase(1, ChronoUnit.SECONDS);
+        assertEquals(ORIGINAL.plusSeconds(1).withZoneSameInstant(third), globalDateTime.getNormalizedDateTime());
+        globalDateTime.changeZoneID(first);
+        assertNotSame(firstDateTime, globalDateTime.getNormalizedDateTime());
+        assertEquals(firstDateTime, globalDateTime.getNormalizedDateTime());
+        assertSame(original, globalDateTime.getOriginalDateTime());
+    }
+
+    @Test
+    public void testTimeRelativeChecksWithClocks() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        List<Clock> clocks = new ArrayList<>();
+        for (ZoneId zoneId : CLOCK_ZONES) {
+            // Around the transitions of the zones and far from them, with
+            // fixed clocks and with clocks moved from them.
+            for (ZonedDateTime now : new ZonedDateTime[]{ZonedDateTime.of(2021, 3, 28, 1, 59, 59, 999000000, ZoneOffset.UTC),
+                ZonedDateTime.of(2021, 10, 31, 0, 30, 0, 0, ZoneOffset.UTC), ZonedDateTime.of(2021, 11, 7, 6, 0, 0, 500000000, ZoneOffset.UTC),
+                ZonedDateTime.of(2021, 6, 15, 11, 59, 59, 999000000, ZoneOffset.UTC), ZonedDateTime.of(1969, 12, 31, 23, 59, 59, 0, ZoneOffset.UTC)}) {
+                Clock fixed = Clock.fixed(now.toInstant(), zoneId);
+                clocks.add(fixed);
+                clocks.add(Clock.offset(fixed, Duration.ofMillis(random.nextInt(7200000) - 3600000)));
+                clocks.add(Clock.offset(fixed, Duration.ofDays(-1)));
+            }
+        }
+        for (Clock clock : clocks) {
+            for (ZoneId referenceZoneID : REFERENCE_ZONES) {
+                for (ChronoUnit precission : PRECISSIONS) {
+                    for (ChronoUnit unit : UNITS) {
+                        long amount = 1 + random.nextInt(3);
+                        for (Instant instant : JGlobalDateTimeTest.candidates(clock, referenceZoneID, precission, amount, unit, random)) {
+                            JGlobalDateTime globalDateTime = new JGlobalDateTime(instant.atZone(CLOCK_ZONES[random.nextInt(CLOCK_ZONES.length)]));
+                            globalDateTime.changeZoneID(referenceZoneID);
+                            globalDateTime.changeDefaultPrecission(precission);
+                            JGlobalDateTimeTest.assertTimeRelativeChecks(globalDateTime, clock, amount, unit);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testTimeRelativeChecksWithTheDefaultClock() throws JGlobalDateTimeException {
+        Clock defaultClock = JGlobalDateTime.getDefaultClock();
+        assertEquals(Clock.systemUTC(), defaultClock);
+        assertThrows(IllegalArgumentException.class, () -> JGlobalDateTime.setDefaultClock(null));
+        Clock clock = Clock.fixed(Instant.parse("2021-11-07T06:00:00Z"), ZoneOffset.UTC);
+        JGlobalDateTime.setDefaultClock(clock);
+        try {
+            assertSame(clock, JGlobalDateTime.getDefaultClock());
+            for (long minutes = -150; minutes <= 150; minutes += 15) {
+                JGlobalDateTime globalDateTime = new JGlobalDateTime(ZonedDateTime.ofInstant(clock.instant().plusSeconds(minutes * 60), ZoneId.of("America/New_York")));
+                globalDateTime.changeZoneID(ZoneId.of("America/New_York"));
+                assertEquals(globalDateTime.alreadyHappened(clock), globalDateTime.alreadyHappened());
+                assertEquals(globalDateTime.happenedSinceMoreThan(1, ChronoUnit.HOURS, clock), globalDateTime.happenedSinceMoreThan(1, ChronoUnit.HOURS));
+                assertEquals(globalDateTime.happenedSinceLessThan(1, ChronoUnit.HOURS, clock), globalDateTime.happenedSinceLessThan(1, ChronoUnit.HOURS));
+                assertEquals(globalDateTime.isGoingToHappenInLessThan(1, ChronoUnit.HOURS, clock), globalDateTime.isGoingToHappenInLessThan(1, ChronoUnit.HOURS));
+                assertEquals(globalDateTime.isGoingToHappenInMoreThan(1, ChronoUnit.HOURS, clock), globalDateTime.isGoingToHappenInMoreThan(1, ChronoUnit.HOURS));
+                JGlobalDateTimeTest.assertTimeRelativeChecks(globalDateTime, clock, 1, ChronoUnit.HOURS);
+            }
+        } finally {
+            JGlobalDateTime.setDefaultClock(defaultClock);
+        }
+    }
+
+    @Test
+    public void testResetIsLikeANewInstance() throws JGlobalDateTimeException {
+        ChronoUnit defaultPrecission = JGlobalDateTime.getDefaultPrecission();
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+        try {
+            for (ChronoUnit precission : new ChronoUnit[]{ChronoUnit.NANOS, ChronoUnit.MILLIS, ChronoUnit.MINUTES}) {
+                JGlobalDateTime.setDefaultPrecission(precission);
+                for (long epochMilli : new long[]{0L, -1L, 1636263015123L, -62135596800001L}) {
+                    JGlobalDateTimeTest.dirty(globalDateTime);
+                    globalDateTime.reset(epochMilli);
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(epochMilli), globalDateTime);
+                    Timestamp timestamp = new Timestamp(epochMilli);
+                    timestamp.setNanos(123456789);
+                    JGlobalDateTimeTest.dirty(globalDateTime);
+                    globalDateTime.reset(timestamp);
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(timestamp), globalDateTime);
+                }
+                for (String text : TEXTS) {
+                    JGlobalDateTimeTest.dirty(globalDateTime);
+                    globalDateTime.reset(text);
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(text), globalDateTime);
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(text), JGlobalDateTime.tryParse(text).get());
+                    JGlobalDateTimeTest.dirty(globalDateTime);
+                    globalDateTime.reset(new StringBuilder(text));
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(text), globalDateTime);
+                    ZonedDateTime zonedDateTime = ZonedDateTime.parse(text);
+                    JGlobalDateTimeTest.dirty(globalDateTime);
+                    globalDateTime.reset(zonedDateTime);
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(zonedDateTime), globalDateTime);
+                    JGlobalDateTimeTest.assertSameStatus(new JGlobalDateTime(zonedDateTime), new JGlobalDateTime(text));
+                }
+            }
+        } finally {
+            JGlobalDateTime.setDefaultPrecission(defaultPrecission);
+        }
+    }
+
+    @Test
+    public void testInvalidTextsDoNotModifyTheInstance() throws JGlobalDateTimeException {
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+        JGlobalDateTime copy = new JGlobalDateTime(ORIGINAL);
+        for (String text : INVALID_TEXTS) {
+            // Invalid texts parsed right after valid ones by the same thread.
+            assertEquals(JGlobalDateTimeException.RC_OK, JGlobalDateTime.validate(TEXTS[0]));
+            JGlobalDateTimeException expected = assertThrows(JGlobalDateTimeException.class, () -> new JGlobalDateTime(text));
+            assertEquals(expected.getReasonCode(), JGlobalDateTime.validate(text));
+            assertFalse(JGlobalDateTime.tryParse(text).isPresent());
+            JGlobalDateTimeException exception = assertThrows(JGlobalDateTimeException.class, () -> globalDateTime.reset(text));
+            assertEquals(expected.getReasonCode(), exception.getReasonCode());
+            JGlobalDateTimeTest.assertSameStatus(copy, globalDateTime);
+            exception = assertThrows(JGlobalDateTimeException.class, () -> globalDateTime.isBefore(text));
+            assertEquals(expected.getReasonCode(), exception.getReasonCode());
+        }
+    }
+
+    @Test
+    public void testParsingFromSeveralThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int task = 0; task < 8; task++) {
+                long seed = SEED + task;
+                futures.add(executor.submit(() -> {
+                    Random random = new Random(seed);
+                    JGlobalDateTime reused = new JGlobalDateTime(ORIGINAL);
+                    for (int i = 0; i < 2000; i++) {
+                        ZonedDateTime zonedDateTime = Instant.ofEpochSecond(random.nextInt(), random.nextInt(1000000000)).atZone(ZONES[random.nextInt(ZONES.length)]);
+                        String text = zonedDateTime.toString();
+                        JGlobalDateTime expected = new JGlobalDateTime(zonedDateTime);
+                        JGlobalDateTimeTest.assertSameStatus(expected, new JGlobalDateTime(text));
+                        Optional<JGlobalDateTime> parsed = JGlobalDateTime.tryParse(text);
+                        JGlobalDateTimeTest.assertSameStatus(expected, parsed.get());
+                        reused.reset(text);
+                        JGlobalDateTimeTest.assertSameStatus(expected, reused);
+                        assertFalse(JGlobalDateTime.tryParse(INVALID_TEXTS[i % INVALID_TEXTS.length]).isPresent());
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testChangeDefaultPrecission() throws JGlobalDateTimeException {
+        JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+        JGlobalDateTime other = new JGlobalDateTime(ORIGINAL);
+        ChronoUnit defaultPrecission = JGlobalDateTime.getDefaultPrecission();
+        for (ChronoUnit precission : new ChronoUnit[]{ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.NANOS}) {
+            globalDateTime.changeDefaultPrecission(precission);
+            assertEquals(precission, globalDateTime.getReferencePrecission());
+            assertEquals(ORIGINAL.withZoneSameInstant(globalDateTime.getReferenceZoneID()).truncatedTo(precission), globalDateTime.getNormalizedDateTime());
+            assertEquals(ORIGINAL.truncatedTo(precission), globalDateTime.getOriginalDateTime());
+            // It only applies to this instance.
+            assertEquals(defaultPrecission, JGlobalDateTime.getDefaultPrecission());
+            assertEquals(defaultPrecission, other.getReferencePrecission());
+            assertEquals(ORIGINAL.withZoneSameInstant(other.getReferenceZoneID()), other.getNormalizedDateTime());
+        }
+        // Lowering the precission loses data until a higher one is selected.
+        globalDateTime.changeDefaultPrecission(ChronoUnit.MINUTES);
+        globalDateTime.increase(1500, ChronoUnit.MILLIS);
+        assertEquals(ORIGINAL.withZoneSameInstant(globalDateTime.getReferenceZoneID()).truncatedTo(ChronoUnit.MINUTES), globalDateTime.getNormalizedDateTime());
+        globalDateTime.changeDefaultPrecission(ChronoUnit.MILLIS);
+        globalDateTime.increase(1500, ChronoUnit.MILLIS);
+        assertEquals(ORIGINAL.withZoneSameInstant(globalDateTime.getReferenceZoneID()).plus(1500, ChronoUnit.MILLIS).truncatedTo(ChronoUnit.MILLIS), globalDateTime.getNormalizedDateTime());
+        assertThrows(IllegalArgumentException.class, () -> globalDateTime.changeDefaultPrecission(null));
+        assertThrows(UnsupportedTemporalTypeException.class, () -> globalDateTime.changeDefaultPrecission(ChronoUnit.WEEKS));
+        assertEquals(ChronoUnit.MILLIS, globalDateTime.getReferencePrecission());
+    }
+
+    @Test
+    public void testSetDefaultPrecission() throws JGlobalDateTimeException {
+        ChronoUnit defaultPrecission = JGlobalDateTime.getDefaultPrecission();
+        JGlobalDateTime existing = new JGlobalDateTime(ORIGINAL);
+        try {
+            for (ChronoUnit precission : new ChronoUnit[]{ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES}) {
+                JGlobalDateTime.setDefaultPrecission(precission);
+                assertEquals(precission, JGlobalDateTime.getDefaultPrecission());
+                // New instances are created with it, existing ones keep theirs
+                // until resetToDefaultPrecission() is called.
+                JGlobalDateTime globalDateTime = new JGlobalDateTime(ORIGINAL);
+                assertEquals(precission, globalDateTime.getReferencePrecission());
+                assertEquals(ORIGINAL.truncatedTo(precission), globalDateTime.getOriginalDateTime());
+                assertEquals(ORIGINAL.truncatedTo(precission).withZoneSameInstant(globalDateTime.getReferenceZoneID()).truncatedTo(precission), globalDateTime.getNormalizedDateTime());
+                assertEquals(precission, JGlobalDateTime.tryParse(ORIGINAL.toString()).get().getReferencePrecission());
+                assertEquals(defaultPrecission, existing.getReferencePrecission());
+                existing.resetToDefaultPrecission();
+                assertEquals(precission, existing.getReferencePrecission());
+                assertEquals(ORIGINAL.withZoneSameInstant(existing.getReferenceZoneID()).truncatedTo(precission), existing.getNormalizedDateTime());
+                existing.changeDefaultPrecission(defaultPrecission);
+            }
+            assertThrows(IllegalArgumentException.class, () -> JGlobalDateTime.setDefaultPrecission(null));
+            assertThrows(UnsupportedTemporalTypeException.class, () -> JGlobalDateTime.setDefaultPrecission(ChronoUnit.MONTHS));
+            assertEquals(ChronoUnit.MINUTES, JGlobalDateTime.getDefaultPrecission());
+        } finally {
+            JGlobalDateTime.setDefaultPrecission(defaultPrecission);
+        }
+    }
+
+    @Test
+    public void testTruncationAcrossOffsetTransitions() throws JGlobalDateTimeException {
+        Random random = new Random(SEED);
+        for (ZoneId zoneId : TRANSITION_ZONES) {
+            for (ZonedDateTime transition : JGlobalDateTimeTest.transitions(zoneId)) {
+                for (int i = 0; i < 200; i++) {
+                    // Instants up to a day around the transition, many of
+                    // them within its first and last hours.
+                    long range = (i % 2 == 0) ? 7200L : 172800L;
+                    ZonedDateTime original = transition.plusSeconds(Math.floorMod(random.nextLong(), range) - (range / 2)).plusNanos(random.nextInt(1000000000));
+                    JGlobalDateTime globalDateTime = new JGlobalDateTime(original);
+                    globalDateTime.changeZoneID(zoneId);
+                    for (ChronoUnit precission : PRECISSIONS) {
+                        globalDateTime.changeDefaultPrecission(precission);
+                        ZonedDateTime expected = original.truncatedTo(precission);
+                        String message = original + " " + precission;
+                        assertEquals(expected, globalDateTime.getNormalizedDateTime(), message);
+                        assertEquals(expected, globalDateTime.getOriginalDateTime(), message);
+                        for (ChronoUnit unit : new ChronoUnit[]{ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS}) {
+                            long amount = random.nextInt(7200) - 3600;
+                            expected = expected.plus(amount, unit).truncatedTo(precission);
+                            globalDateTime.increase(amount, unit);
+                            assertEquals(expected, globalDateTime.getNormalizedDateTime(), message + " " + amount + " " + unit);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    // Instants at, and right before and after, the current date of the clock
+    // moved by the amount of time, plus a random one.
+    private static List<Instant> candidates(Clock clock, ZoneId zoneId, ChronoUnit precission, long amount, ChronoUnit unit, Random random) {
+        List<Instant> candidates = new ArrayList<>();
+        for (long movedAmount : new long[]{-amount, 0, amount}) {
+            Instant moved = JGlobalDateTimeTest.referenceNow(clock, zoneId, precission, movedAmount, unit);
+            for (long nanos : new long[]{-1000000, -1, 0, 1, 1000000}) {
+                candidates.add(moved.plusNanos(nanos));
+            }
+        }
+        candidates.add(clock.instant().plusMillis(random.nextInt(7200000) - 3600000));
+        return candidates;
+    }
+
+    // The semantics of the checks when they read the current date with
+    // ZonedDateTime.now().
+    private static void assertTimeRelativeChecks(JGlobalDateTime globalDateTime, Clock clock, long amount, ChronoUnit unit) {
+        Instant instant = globalDateTime.getNormalizedDateTime().toInstant();
+        ZoneId zoneId = globalDateTime.getReferenceZoneID();
+        ChronoUnit precission = globalDateTime.getReferencePrecission();
+        Instant now = JGlobalDateTimeTest.referenceNow(clock, zoneId, precission, 0, unit);
+        Instant past = JGlobalDateTimeTest.referenceNow(clock, zoneId, precission, -amount, unit);
+        Instant future = JGlobalDateTimeTest.referenceNow(clock, zoneId, precission, amount, unit);
+        String message = instant + " " + zoneId + " " + precission + " " + clock + " " + amount + " " + unit;
+        assertEquals(instant.isBefore(now), globalDateTime.alreadyHappened(clock), message);
+        assertEquals(instant.isBefore(past), globalDateTime.happenedSinceMoreThan(amount, unit, clock), message);
+        assertEquals(instant.isBefore(now) && instant.isBefore(past), globalDateTime.happenedSinceLessThan(amount, unit, clock), message);
+        assertEquals(instant.isAfter(now) && instant.isBefore(future), globalDateTime.isGoingToHappenInLessThan(amount, unit, clock), message);
+        assertEquals(instant.isAfter(future), globalDateTime.isGoingToHappenInMoreThan(amount, unit, clock), message);
+    }
+
+    private static Instant referenceNow(Clock clock, ZoneId zoneId, ChronoUnit precission, long amount, ChronoUnit unit) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(clock.millis()), zoneId).plus(amount, unit).truncatedTo(precission).toInstant();
+    }
+
+    // The first offset transitions of the zone in 2021.
+    private static List<ZonedDateTime> transitions(ZoneId zoneId) {
+        List<ZonedDateTime> transitions = new ArrayList<>();
+        ZoneOffsetTransition transition = zoneId.getRules().nextTransition(Instant.parse("2021-01-01T00:00:00Z"));
+        while ((transition != null) && (transitions.size() < 2)) {
+            transitions.add(transition.getInstant().atZone(zoneId));
+            transition = zoneId.getRules().nextTransition(transition.getInstant());
+        }
+        return transitions;
+    }
+
+    // Leaves an instance in a status no constructor leaves it, with views.
+    private static void dirty(JGlobalDateTime globalDateTime) {
+        globalDateTime.changeZoneID(ZoneId.of("Asia/Tokyo"));
+        globalDateTime.changeDefaultPrecission(ChronoUnit.HOURS);
+        globalDateTime.increase(1, ChronoUnit.DAYS);
+        globalDateTime.getNormalizedDateTime();
+        globalDateTime.getOriginalDateTime();
+        globalDateTime.toNormalizedDateTimeString();
+    }
+
+    private static void assertSameStatus(JGlobalDateTime expected, JGlobalDateTime actual) {
+        assertEquals(expected.getOriginalEpochSecond(), actual.getOriginalEpochSecond());
+        assertEquals(expected.getOriginalNano(), actual.getOriginalNano());
+        assertEquals(expected.getOriginalZoneID(), actual.getOriginalZoneID());
+        assertEquals(expected.getNormalizedEpochSecond(), actual.getNormalizedEpochSecond());
+        assertEquals(expected.getNormalizedNano(), actual.getNormalizedNano());
+        assertEquals(expected.getReferenceZoneID(), actual.getReferenceZoneID());
+        assertEquals(expected.getReferencePrecission(), actual.getReferencePrecission());
+        assertEquals(expected.getNormalizedDateTime(), actual.getNormalizedDateTime());
+        assertEquals(expected.getOriginalDateTime(), actual.getOriginalDateTime());
+        assertEquals(expected.toNormalizedDateTimeString(), actual.toNormalizedDateTimeString());
+    }
+
+    private static final ZonedDateTime ORIGINAL = ZonedDateTime.parse("2021-11-07T01:30:15.123456789-04:00[America/New_York]");
+    private static final ZoneId[] ZONES = new ZoneId[]{ZoneId.of("UTC"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kolkata"), ZoneId.of("UTC")};
+    private static final ZoneId[] CLOCK_ZONES = new ZoneId[]{ZoneOffset.UTC, ZoneId.of("Europe/Madrid"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kathmandu")};
+    private static final ZoneId[] REFERENCE_ZONES = new ZoneId[]{ZoneOffset.UTC, ZoneId.of("Europe/Madrid"), ZoneId.of("America/New_York"), ZoneId.of("Asia/Kathmandu"), ZoneOffset.ofHoursMinutes(-3, -30)};
+    private static final ChronoUnit[] PRECISSIONS = new ChronoUnit[]{ChronoUnit.NANOS, ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS};
+    private static final ZoneId[] TRANSITION_ZONES = new ZoneId[]{ZoneId.of("America/New_York"), ZoneId.of("Europe/Madrid"), ZoneId.of("Australia/Lord_Howe"), ZoneId.of("America/St_Johns"),
+        ZoneId.of("Pacific/Chatham")};
+    private static final ChronoUnit[] UNITS = new ChronoUnit[]{ChronoUnit.MILLIS, ChronoUnit.SECONDS, ChronoUnit.MINUTES, ChronoUnit.HOURS, ChronoUnit.HALF_DAYS, ChronoUnit.DAYS, ChronoUnit.WEEKS, ChronoUnit.MONTHS, ChronoUnit.YEARS};
+    private static final String[] TEXTS = {"2015-04-06T14:20:18.811-05:00[America/Chicago]", "2017-04-06T21:20:18+02:00", "2017-04-06T19:20Z[UTC]",
+        "2021-11-07T01:30:15.123456789-04:00[America/New_York]", "2021-11-07T01:30:15.123456789-05:00[America/New_York]", "-0500-02-28T23:59:59.999999999+05:30:15",
+        "+12345-06-15T12:00Z"};
+    private static final String[] INVALID_TEXTS = {"", "2017-04-06", "2017-04-06T21:20:18.811", "2017-02-30T21:20:18.811+02:00[Europe/Madrid]",
+        "2017-04-06T21:20:18.811+02:00[Europe/Nowhere]", "2017-04-06T25:20:18.811+02:00", "not a date"};
+    private static final long SEED = 20240607L;
+}
@@ -0,0 +1,71 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeZoneCache.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeZoneCacheTest {
+
+    @BeforeEach
+    public void clearCache() {
+        JGlobalDateTimeZoneCache.clear();
+    }
+
+    @Test
+    public void testGetZoneIDStringCountsHitsAndMisses() {
+        ZoneId first = JGlobalDateTimeZoneCache.getZoneID("Europe/Madrid");
+        ZoneId second = JGlobalDateTimeZoneCache.getZoneID("Europe/Madrid");
+        assertSame(first, second);
+        assertEquals(ZoneId.of("Europe/Madrid"), first);
+        assertEquals(1L, JGlobalDateTimeZoneCache.getHits());
+        assertEquals(1L, JGlobalDateTimeZoneCache.getMisses());
+    }
+
+    @Test
+    public void testGetZoneIDZoneIdInternsWithoutCounting() {
+        ZoneId madrid = ZoneId.of("Europe/Madrid");
+        assertSame(madrid, JGlobalDateTimeZoneCache.getZoneID(madrid));
+        assertSame(madrid, JGlobalDateTimeZoneCache.getZoneID(ZoneId.of("Europe/Madrid")));
+        assertSame(ZoneOffset.UTC, JGlobalDateTimeZoneCache.getZoneID(ZoneOffset.UTC));
+        assertEquals(0L, JGlobalDateTimeZoneCache.getHits());
+        assertEquals(0L, JGlobalDateTimeZoneCache.getMisses());
+        assertSame(madrid, JGlobalDateTimeZoneCache.getZoneID("Europe/Madrid"));
+        assertEquals(1L, JGlobalDateTimeZoneCache.getHits());
+        assertEquals(0L, JGlobalDateTimeZoneCache.getMisses());
+    }
+
+    @Test
+    public void testConstructionDoesNotCount() throws JGlobalDateTimeException {
+        ZonedDateTime zonedDateTime = ZonedDateTime.now(ZoneId.of("America/New_York"));
+        new JGlobalDateTime(zonedDateTime);
+        new JGlobalDateTime(zonedDateTime);
+        assertEquals(0L, JGlobalDateTimeZoneCache.getHits());
+        assertEquals(0L, JGlobalDateTimeZoneCache.getMisses());
+    }
+}
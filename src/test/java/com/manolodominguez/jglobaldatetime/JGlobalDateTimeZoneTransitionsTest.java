@@ -0,0 +1,200 @@
+/* 
+ * Copyright (C) Manuel Domínguez Dorado - ingeniero@ManoloDominguez.com.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.manolodominguez.jglobaldatetime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.jupiter.api.Test;
+
+/**
+ * This class implements the tests of JGlobalDateTimeZoneTransitions.
+ *
+ * @author Manuel Domínguez-Dorado - ingeniero@manolodominguez.com
+ * @version 1.0
+ */
+public class JGlobalDateTimeZoneTransitionsTest {
+
+    @Test
+    public void testEveryZoneAroundItsTransitions() {
+        for (String zone : new TreeSet<>(ZoneId.getAvailableZoneIds())) {
+            ZoneId zoneId = ZoneId.of(zone);
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+            assertSame(zoneTransitions, JGlobalDateTimeZoneTransitions.of(zoneId));
+            assertEquals(zoneId, zoneTransitions.getZoneID());
+            for (ZoneOffsetTransition transition : JGlobalDateTimeZoneTransitionsTest.transitionsOf(zoneId)) {
+                long epochSecond = transition.toEpochSecond();
+                for (long delta = -1; delta <= 1; delta++) {
+                    JGlobalDateTimeZoneTransitionsTest.assertSameInstant(zoneTransitions, epochSecond + delta);
+                }
+                // Local times inside and around gaps and overlaps.
+                long localBefore = transition.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+                long localAfter = transition.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC);
+                long first = Math.min(localBefore, localAfter) - 1;
+                long last = Math.max(localBefore, localAfter) + 1;
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, first);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, first + ((last - first) / 2));
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, last);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, localBefore);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, localAfter);
+            }
+        }
+    }
+
+    @Test
+    public void testRandomInstantsAndLocalTimes() {
+        Random random = new Random(SEED);
+        for (String zone : ZONES) {
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(ZoneId.of(zone));
+            for (int i = 0; i < ITERATIONS; i++) {
+                long epochSecond = MIN_EPOCH_SECOND + (long) (random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND));
+                JGlobalDateTimeZoneTransitionsTest.assertSameInstant(zoneTransitions, epochSecond);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, epochSecond);
+            }
+        }
+    }
+
+    @Test
+    public void testYear2100CutOver() {
+        // Instants from the year 2100 on are resolved using the zone rules.
+        long horizon = LocalDateTime.of(2100, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        for (String zone : new String[]{"Europe/Madrid", "America/New_York", "Australia/Sydney", "Pacific/Kiritimati", "America/Santiago"}) {
+            ZoneId zoneId = ZoneId.of(zone);
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+            for (long delta = -(3 * SECONDS_PER_DAY); delta <= (3 * SECONDS_PER_DAY); delta += 1799) {
+                JGlobalDateTimeZoneTransitionsTest.assertSameInstant(zoneTransitions, horizon + delta);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, horizon + delta);
+            }
+            // Transitions of the years around the cut-over.
+            ZoneRules rules = zoneId.getRules();
+            ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(horizon - (2 * SECONDS_PER_YEAR)));
+            while ((transition != null) && (transition.toEpochSecond() < (horizon + (2 * SECONDS_PER_YEAR)))) {
+                long epochSecond = transition.toEpochSecond();
+                JGlobalDateTimeZoneTransitionsTest.assertSameInstant(zoneTransitions, epochSecond - 1);
+                JGlobalDateTimeZoneTransitionsTest.assertSameInstant(zoneTransitions, epochSecond);
+                long localBefore = transition.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+                long localAfter = transition.getDateTimeAfter().toEpochSecond(ZoneOffset.UTC);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, localBefore);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, (localBefore + localAfter) / 2);
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, localAfter);
+                transition = rules.nextTransition(transition.getInstant());
+            }
+        }
+    }
+
+    @Test
+    public void testFixedOffsetZones() {
+        Random random = new Random(SEED + 1);
+        ZoneId[] zones = new ZoneId[]{ZoneOffset.UTC, ZoneOffset.ofHoursMinutesSeconds(5, 30, 15), ZoneOffset.MIN, ZoneOffset.MAX, ZoneId.of("UTC"), ZoneId.of("Etc/GMT+5"), ZoneId.of("GMT+3")};
+        for (ZoneId zoneId : zones) {
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(zoneId);
+            int offsetSeconds = zoneId.getRules().getOffset(Instant.EPOCH).getTotalSeconds();
+            for (int i = 0; i < ITERATIONS; i++) {
+                long epochSecond = MIN_EPOCH_SECOND + (long) (random.nextDouble() * ((MAX_EPOCH_SECOND - MIN_EPOCH_SECOND) * 2));
+                assertEquals(offsetSeconds, zoneTransitions.getOffsetSeconds(epochSecond));
+                assertEquals(epochSecond + offsetSeconds, zoneTransitions.toLocalEpochSecond(epochSecond));
+                assertEquals(epochSecond - offsetSeconds, zoneTransitions.toEpochSecond(epochSecond));
+                JGlobalDateTimeZoneTransitionsTest.assertSameLocal(zoneTransitions, epochSecond);
+            }
+        }
+    }
+
+    @Test
+    public void testColumnsMatchSingleValues() {
+        Random random = new Random(SEED + 2);
+        for (String zone : ZONES) {
+            JGlobalDateTimeZoneTransitions zoneTransitions = JGlobalDateTimeZoneTransitions.of(ZoneId.of(zone));
+            long[] epochSeconds = new long[ITERATIONS];
+            long[] epochMillis = new long[ITERATIONS];
+            long start = MIN_EPOCH_SECOND + (long) (random.nextDouble() * (MAX_EPOCH_SECOND - MIN_EPOCH_SECOND));
+            for (int i = 0; i < ITERATIONS; i++) {
+                // Sorted, close instants, as in a column, with some jumps.
+                start += (random.nextInt(10) == 0) ? (random.nextInt(200) - 100) * SECONDS_PER_DAY : random.nextInt(7200);
+                epochSeconds[i] = start;
+                epochMillis[i] = (start * 1000L) + random.nextInt(1000);
+            }
+            int[] offsets = new int[ITERATIONS];
+            long[] locals = new long[ITERATIONS];
+            long[] localMillis = new long[ITERATIONS];
+            long[] instants = new long[ITERATIONS];
+            zoneTransitions.getOffsetSeconds(epochSeconds, offsets);
+            zoneTransitions.toLocalEpochSeconds(epochSeconds, locals);
+            zoneTransitions.toLocalEpochMillis(epochMillis, localMillis);
+            zoneTransitions.toEpochSeconds(locals, instants);
+            for (int i = 0; i < ITERATIONS; i++) {
+                assertEquals(zoneTransitions.getOffsetSeconds(epochSeconds[i]), offsets[i]);
+                assertEquals(zoneTransitions.toLocalEpochSecond(epochSeconds[i]), locals[i]);
+                assertEquals(zoneTransitions.toLocalEpochMilli(epochMillis[i]), localMillis[i]);
+                assertEquals(zoneTransitions.toEpochSecond(locals[i]), instants[i]);
+            }
+            // The output can be the input array itself.
+            zoneTransitions.toLocalEpochSeconds(epochSeconds, epochSeconds);
+            for (int i = 0; i < ITERATIONS; i++) {
+                assertEquals(locals[i], epochSeconds[i]);
+            }
+            assertThrows(IllegalArgumentException.class, () -> zoneTransitions.getOffsetSeconds(new long[2], new int[1]));
+            assertThrows(IllegalArgumentException.class, () -> zoneTransitions.toLocalEpochSeconds(new long[2], new long[1]));
+            assertThrows(IllegalArgumentException.class, () -> zoneTransitions.toLocalEpochMillis(new long[2], new long[1]));
+            assertThrows(IllegalArgumentException.class, () -> zoneTransitions.toEpochSeconds(new long[2], new long[1]));
+        }
+    }
+
+    private static void assertSameInstant(JGlobalDateTimeZoneTransitions zoneTransitions, long epochSecond) {
+        int expected = zoneTransitions.getZoneID().getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        String message = zoneTransitions.getZoneID() + " at " + epochSecond;
+        assertEquals(expected, zoneTransitions.getOffsetSeconds(epochSecond), message);
+        assertEquals(epochSecond + expected, zoneTransitions.toLocalEpochSecond(epochSecond), message);
+        assertEquals((epochSecond * 1000L) + 999L + (expected * 1000L), zoneTransitions.toLocalEpochMilli((epochSecond * 1000L) + 999L), message);
+    }
+
+    private static void assertSameLocal(JGlobalDateTimeZoneTransitions zoneTransitions, long localEpochSecond) {
+        LocalDateTime localDateTime = LocalDateTime.ofEpochSecond(localEpochSecond, 0, ZoneOffset.UTC);
+        long expected = ZonedDateTime.ofLocal(localDateTime, zoneTransitions.getZoneID(), null).toEpochSecond();
+        assertEquals(expected, zoneTransitions.toEpochSecond(localEpochSecond), zoneTransitions.getZoneID() + " at " + localDateTime);
+    }
+
+    private static List<ZoneOffsetTransition> transitionsOf(ZoneId zoneId) {
+        ZoneRules rules = zoneId.getRules();
+        List<ZoneOffsetTransition> transitions = new ArrayList<>(rules.getTransitions());
+        Instant cursor = transitions.isEmpty() ? Instant.ofEpochSecond(MIN_EPOCH_SECOND) : transitions.get(transitions.size() - 1).getInstant();
+        ZoneOffsetTransition next = rules.nextTransition(cursor);
+        while ((next != null) && (next.toEpochSecond() < MAX_EPOCH_SECOND)) {
+            transitions.add(next);
+            next = rules.nextTransition(next.getInstant());
+        }
+        return transitions;
+    }
+
+    private static final long SEED = 20240607L;
+    private static final int ITERATIONS = 20000;
+    private static final String[] ZONES = new String[]{"Europe/Madrid", "America/New_York", "America/St_Johns", "Australia/Lord_Howe", "Asia/Kathmandu", "Pacific/Apia", "America/Sao_Paulo", "Africa/Casablanca", "Europe/Dublin"};
+    private static final long SECONDS_PER_DAY = 86400L;
+    private static final long SECONDS_PER_YEAR = 365L * SECONDS_PER_DAY;
+    private static final long MIN_EPOCH_SECOND = LocalDateTime.of(1800, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long MAX_EPOCH_SECOND = LocalDateTime.of(2300, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+}